@@ -0,0 +1,138 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import com.healthmarketscience.jackcess.BulkLoader;
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Database.FileFormat;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.healthmarketscience.jackcess.util.MemFileChannel;
+
+/**
+ * Utility methods for creating the synthetic databases used by the
+ * benchmarks.  All databases are created in memory (using {@link
+ * MemFileChannel}) so that the benchmarks measure the library, not the disk.
+ *
+ * @author James Ahlborn
+ */
+public class BenchmarkDatabases
+{
+  /** name of the test table */
+  public static final String TABLE_NAME = "BenchTable";
+  /** name of the (non-unique) index on the "code" column */
+  public static final String CODE_INDEX_NAME = "CodeIdx";
+  /** name of the (non-unique) index on the "name" column */
+  public static final String NAME_INDEX_NAME = "NameIdx";
+
+  /** seed for all the random data, so that runs are repeatable */
+  public static final long SEED = 42L;
+
+  private static final String ASCII_CHARS =
+    "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 -_.";
+  private static final String UNICODE_CHARS =
+    "\u00e4\u00f6\u00fc\u00df\u00e9\u00e8\u00f1\u00e7\u0153\u00c5" +
+    "\u03b1\u03b2\u03b3\u0436\u0437\u05d0\u0627\u4e2d\u6587\u3042";
+
+  private BenchmarkDatabases() {}
+
+  /**
+   * Creates a new, empty, in-memory database of the given format.
+   */
+  public static Database create(FileFormat fileFormat) throws IOException {
+    return new DatabaseBuilder()
+      .setFileFormat(fileFormat)
+      .setChannel(MemFileChannel.newChannel())
+      .create();
+  }
+
+  /**
+   * Creates the test table in the given database.  The table has an
+   * autonumber primary key, a numeric index and a text index.
+   */
+  public static Table createTable(Database db) throws IOException {
+    return new TableBuilder(TABLE_NAME)
+      .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+      .addColumn(new ColumnBuilder("code", DataType.LONG))
+      .addColumn(new ColumnBuilder("name", DataType.TEXT))
+      .addColumn(new ColumnBuilder("amount", DataType.DOUBLE))
+      .addColumn(new ColumnBuilder("quantity", DataType.INT))
+      .addColumn(new ColumnBuilder("active", DataType.BOOLEAN))
+      .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+      .addColumn(new ColumnBuilder("notes", DataType.MEMO))
+      .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                .addColumns("id").setPrimaryKey())
+      .addIndex(new IndexBuilder(CODE_INDEX_NAME).addColumns("code"))
+      .addIndex(new IndexBuilder(NAME_INDEX_NAME).addColumns("name"))
+      .toTable(db);
+  }
+
+  /**
+   * Creates a new in-memory database of the given format containing the test
+   * table populated with the given number of rows.
+   */
+  public static Database createPopulated(FileFormat fileFormat, int numRows)
+    throws IOException
+  {
+    Database db = create(fileFormat);
+    Table table = createTable(db);
+    Random rand = new Random(SEED);
+    try(BulkLoader loader = table.newBulkLoader()) {
+      for(int i = 0; i < numRows; ++i) {
+        loader.addRow(createRow(rand, i, false));
+      }
+      loader.commit();
+    }
+    return db;
+  }
+
+  /**
+   * @return a new row of data for the test table.  The "code" column will be
+   *         the given value.
+   */
+  public static Object[] createRow(Random rand, int code, boolean unicode) {
+    return new Object[] {
+      null, code, createString(rand, 8 + rand.nextInt(24), unicode),
+      rand.nextDouble() * 10000d, (short)rand.nextInt(1000),
+      rand.nextBoolean(),
+      LocalDateTime.of(2000, 1, 1, 0, 0).plusMinutes(rand.nextInt(10000000)),
+      ((code % 10) == 0) ? createString(rand, 200, unicode) : null
+    };
+  }
+
+  /**
+   * @return a random String of the given length, optionally including
+   *         non-ASCII characters
+   */
+  public static String createString(Random rand, int len, boolean unicode) {
+    StringBuilder sb = new StringBuilder(len);
+    for(int i = 0; i < len; ++i) {
+      String chars = ((unicode && ((i % 3) == 0)) ?
+                      UNICODE_CHARS : ASCII_CHARS);
+      sb.append(chars.charAt(rand.nextInt(chars.length())));
+    }
+    return sb.toString();
+  }
+}
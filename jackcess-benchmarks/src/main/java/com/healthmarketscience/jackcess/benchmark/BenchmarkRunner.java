@@ -0,0 +1,68 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import com.healthmarketscience.jackcess.Database;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the benchmarks jar.  Accepts all the standard JMH command
+ * line options, but defaults to writing the results in JSON format to the
+ * file {@code jmh-result-<version>.json} (where the version is the version
+ * of the Jackcess library being benchmarked), so that the results can be
+ * tracked per release.
+ *
+ * @author James Ahlborn
+ */
+public class BenchmarkRunner
+{
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmdOpts = new CommandLineOptions(args);
+    if(cmdOpts.shouldHelp() || cmdOpts.shouldList() ||
+       cmdOpts.shouldListWithParams() || cmdOpts.shouldListProfilers() ||
+       cmdOpts.shouldListResultFormats()) {
+      // let jmh handle the informational options
+      Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOpts);
+    if(!cmdOpts.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if(!cmdOpts.getResult().hasValue()) {
+      builder.result("jmh-result-" + getJackcessVersion() + ".json");
+    }
+
+    new Runner(builder.build()).run();
+  }
+
+  private static String getJackcessVersion() {
+    String version = System.getProperty("jackcess.version");
+    if(version == null) {
+      version = Database.class.getPackage().getImplementationVersion();
+    }
+    return ((version != null) ? version : "unknown");
+  }
+}
@@ -0,0 +1,187 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.text.DecimalFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import javax.script.Bindings;
+import javax.script.SimpleBindings;
+
+import com.healthmarketscience.jackcess.expr.EvalContext;
+import com.healthmarketscience.jackcess.expr.Expression;
+import com.healthmarketscience.jackcess.expr.FunctionLookup;
+import com.healthmarketscience.jackcess.expr.Identifier;
+import com.healthmarketscience.jackcess.expr.NumericConfig;
+import com.healthmarketscience.jackcess.expr.TemporalConfig;
+import com.healthmarketscience.jackcess.expr.Value;
+import com.healthmarketscience.jackcess.impl.expr.DefaultFunctions;
+import com.healthmarketscience.jackcess.impl.expr.Expressionator;
+import com.healthmarketscience.jackcess.impl.expr.RandomContext;
+import com.healthmarketscience.jackcess.impl.expr.ValueSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parsing and evaluation of expressions (as used for default
+ * values, calculated columns and validation rules).
+ *
+ * @author James Ahlborn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark
+{
+  @Param({
+    "[amount] * [quantity] > 1000",
+    "IIf([quantity] > 500, [amount] * 1.1, [amount] * 0.9)",
+    "Left([name], 4) & \"-\" & Format([amount], \"0.00\")",
+    "DateAdd(\"d\", 30, #1/1/2020#) + (2 * 3 + 4)"
+  })
+  public String expression;
+
+  private final BenchContext _ctx = new BenchContext();
+  private Expression _expr;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    _expr = parse();
+  }
+
+  private Expression parse() {
+    return Expressionator.parse(Expressionator.Type.EXPRESSION, expression,
+                                null, _ctx);
+  }
+
+  @Benchmark
+  public Object parseAndEval() {
+    return parse().eval(_ctx);
+  }
+
+  @Benchmark
+  public Object eval() {
+    _ctx.nextRow();
+    return _expr.eval(_ctx);
+  }
+
+  /**
+   * EvalContext which provides the values of a simple, changing "row".
+   */
+  private static final class BenchContext
+    implements Expressionator.ParseContext, EvalContext
+  {
+    private final RandomContext _rndCtx = new RandomContext();
+    private final Bindings _bindings = new SimpleBindings();
+    private int _rowNum;
+
+    private void nextRow() {
+      _rowNum = (_rowNum + 1) % 1000;
+    }
+
+    @Override
+    public Value.Type getResultType() {
+      return null;
+    }
+
+    @Override
+    public TemporalConfig getTemporalConfig() {
+      return TemporalConfig.US_TEMPORAL_CONFIG;
+    }
+
+    @Override
+    public DateTimeFormatter createDateFormatter(String formatStr) {
+      return DateTimeFormatter.ofPattern(
+          formatStr, TemporalConfig.US_TEMPORAL_CONFIG.getLocale());
+    }
+
+    @Override
+    public ZoneId getZoneId() {
+      return ZoneId.of("America/New_York");
+    }
+
+    @Override
+    public NumericConfig getNumericConfig() {
+      return NumericConfig.US_NUMERIC_CONFIG;
+    }
+
+    @Override
+    public DecimalFormat createDecimalFormat(String formatStr) {
+      return new DecimalFormat(
+          formatStr, NumericConfig.US_NUMERIC_CONFIG.getDecimalFormatSymbols());
+    }
+
+    @Override
+    public FunctionLookup getFunctionLookup() {
+      return DefaultFunctions.LOOKUP;
+    }
+
+    @Override
+    public Value getThisColumnValue() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Value getIdentifierValue(Identifier identifier) {
+      String name = identifier.getObjectName();
+      if("amount".equalsIgnoreCase(name)) {
+        return ValueSupport.toValue(_rowNum * 1.5d);
+      }
+      if("quantity".equalsIgnoreCase(name)) {
+        return ValueSupport.toValue(_rowNum);
+      }
+      if("name".equalsIgnoreCase(name)) {
+        return ValueSupport.toValue("name" + _rowNum);
+      }
+      throw new IllegalArgumentException("Unknown identifier " + identifier);
+    }
+
+    @Override
+    public float getRandom(Integer seed) {
+      return _rndCtx.getRandom(seed);
+    }
+
+    @Override
+    public Bindings getBindings() {
+      return _bindings;
+    }
+
+    @Override
+    public Object get(String key) {
+      return _bindings.get(key);
+    }
+
+    @Override
+    public void put(String key, Object value) {
+      _bindings.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Database.FileFormat;
+import com.healthmarketscience.jackcess.Index;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks indexed point lookups and range scans, which exercise the index
+ * page reading and searching paths (e.g. {@code IndexData.readDataPage}).
+ *
+ * @author James Ahlborn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark
+{
+  private static final int NUM_KEYS = 1024;
+
+  @Param({"V2000", "V2003", "V2007", "V2010", "V2016"})
+  public FileFormat fileFormat;
+
+  @Param({"10000"})
+  public int numRows;
+
+  @Param({"100"})
+  public int rangeSize;
+
+  private Database _db;
+  private Table _table;
+  private Index _codeIndex;
+  private IndexCursor _pkCursor;
+  private IndexCursor _codeCursor;
+  private final int[] _keys = new int[NUM_KEYS];
+  private int _nextKey;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    _db = BenchmarkDatabases.createPopulated(fileFormat, numRows);
+    _table = _db.getTable(BenchmarkDatabases.TABLE_NAME);
+    _codeIndex = _table.getIndex(BenchmarkDatabases.CODE_INDEX_NAME);
+    _pkCursor = CursorBuilder.createCursor(_table.getPrimaryKeyIndex());
+    _codeCursor = CursorBuilder.createCursor(_codeIndex);
+
+    // pre-compute the keys so that the benchmarks do not include the random
+    // number generation
+    Random rand = new Random(BenchmarkDatabases.SEED);
+    for(int i = 0; i < NUM_KEYS; ++i) {
+      _keys[i] = rand.nextInt(numRows - rangeSize);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    _db.close();
+  }
+
+  private int nextKey() {
+    int key = _keys[_nextKey];
+    _nextKey = (_nextKey + 1) % NUM_KEYS;
+    return key;
+  }
+
+  @Benchmark
+  public Row primaryKeyLookup() throws IOException {
+    // autonumbers start at 1
+    return _pkCursor.findRowByEntry(nextKey() + 1);
+  }
+
+  @Benchmark
+  public Row secondaryIndexLookup() throws IOException {
+    return _codeCursor.findRowByEntry(nextKey());
+  }
+
+  @Benchmark
+  public void rangeScan(Blackhole bh) throws IOException {
+    int start = nextKey();
+    IndexCursor cursor = _table.newCursor()
+      .setIndex(_codeIndex)
+      .setStartEntry(start)
+      .setStartRowInclusive(true)
+      .setEndEntry(start + rangeSize)
+      .setEndRowInclusive(false)
+      .toIndexCursor();
+    for(Row row : cursor) {
+      bh.consume(row);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Database.FileFormat;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.RowView;
+import com.healthmarketscience.jackcess.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks full table scans, which exercise the row decoding paths (e.g.
+ * {@code TableImpl.getRowColumn} and text decoding).
+ *
+ * @author James Ahlborn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScanBenchmark
+{
+  @Param({"V2000", "V2003", "V2007", "V2010", "V2016"})
+  public FileFormat fileFormat;
+
+  @Param({"10000"})
+  public int numRows;
+
+  private Database _db;
+  private Table _table;
+  private Column _amountCol;
+  private Column _quantityCol;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    _db = BenchmarkDatabases.createPopulated(fileFormat, numRows);
+    _table = _db.getTable(BenchmarkDatabases.TABLE_NAME);
+    _amountCol = _table.getColumn("amount");
+    _quantityCol = _table.getColumn("quantity");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    _db.close();
+  }
+
+  @Benchmark
+  public void scanAllColumns(Blackhole bh) throws IOException {
+    for(Row row : CursorBuilder.createCursor(_table)) {
+      bh.consume(row);
+    }
+  }
+
+  @Benchmark
+  public void scanProjectedColumns(Blackhole bh) throws IOException {
+    for(Row row : CursorBuilder.createCursor(_table).newIterable()
+          .setColumnNames(Arrays.asList("amount", "quantity"))) {
+      bh.consume(row);
+    }
+  }
+
+  @Benchmark
+  public double scanRowView() throws IOException {
+    double total = 0d;
+    Cursor cursor = CursorBuilder.createCursor(_table);
+    RowView row = cursor.getCurrentRowView();
+    while(cursor.moveToNextRow()) {
+      total += row.getDouble(_amountCol) * row.getInt(_quantityCol);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long parallelScan() {
+    return _table.parallelStream().count();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Database.FileFormat;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.healthmarketscience.jackcess.impl.IndexData;
+import com.healthmarketscience.jackcess.impl.IndexImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the encoding of text values by the index codecs (e.g. {@code
+ * GeneralIndexCodes}), both for lookups (where only the search value is
+ * encoded) and inserts into a table with a text index.
+ *
+ * @author James Ahlborn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextIndexBenchmark
+{
+  private static final int NUM_VALUES = 1024;
+
+  @Param({"V2000", "V2003", "V2007", "V2010", "V2016"})
+  public FileFormat fileFormat;
+
+  @Param({"false", "true"})
+  public boolean unicode;
+
+  @Param({"5000"})
+  public int numRows;
+
+  private final String[] _values = new String[NUM_VALUES];
+  private int _nextValue;
+  private Database _db;
+  private Table _table;
+  private IndexData _indexData;
+
+  @Setup(Level.Trial)
+  public void setupValues() {
+    Random rand = new Random(BenchmarkDatabases.SEED);
+    for(int i = 0; i < NUM_VALUES; ++i) {
+      _values[i] = BenchmarkDatabases.createString(
+          rand, 8 + rand.nextInt(56), unicode);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setup() throws IOException {
+    _db = BenchmarkDatabases.create(fileFormat);
+    _table = new TableBuilder("TextTable")
+      .addColumn(new ColumnBuilder("name", DataType.TEXT))
+      .addIndex(new IndexBuilder("NameIdx").addColumns("name"))
+      .toTable(_db);
+    _indexData = ((IndexImpl)_table.getIndex("NameIdx")).getIndexData();
+
+    Random rand = new Random(BenchmarkDatabases.SEED + 1);
+    for(int i = 0; i < numRows; ++i) {
+      _table.addRow(BenchmarkDatabases.createString(
+                        rand, 8 + rand.nextInt(56), unicode));
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws IOException {
+    _db.close();
+  }
+
+  private String nextValue() {
+    String value = _values[_nextValue];
+    _nextValue = (_nextValue + 1) % NUM_VALUES;
+    return value;
+  }
+
+  @Benchmark
+  public IndexData.EntryCursor encodeAndFindEntry() throws IOException {
+    Object[] row = new Object[]{nextValue()};
+    return _indexData.cursor(row, true, row, true);
+  }
+
+  @Benchmark
+  public Object[] insertTextRow() throws IOException {
+    return _table.addRow(nextValue());
+  }
+}
@@ -0,0 +1,162 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.healthmarketscience.jackcess.BulkLoader;
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Database.FileFormat;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks row inserts (individually, in batches and using a {@link
+ * BulkLoader}), updates and deletes.  A new database is created for each
+ * iteration so that the table size does not grow without bound.
+ *
+ * @author James Ahlborn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBenchmark
+{
+  private static final int NUM_ROWS = 1024;
+
+  @Param({"V2000", "V2003", "V2007", "V2010", "V2016"})
+  public FileFormat fileFormat;
+
+  @Param({"10000"})
+  public int numRows;
+
+  @Param({"100"})
+  public int batchSize;
+
+  private final List<Object[]> _rows = new ArrayList<Object[]>(NUM_ROWS);
+  private final int[] _keys = new int[NUM_ROWS];
+  private int _nextRow;
+  private Database _db;
+  private Table _table;
+  private Column _amountCol;
+  private IndexCursor _pkCursor;
+  private Cursor _tableCursor;
+
+  @Setup(Level.Trial)
+  public void setupRows() {
+    // pre-compute the rows so that the benchmarks do not include the random
+    // data generation
+    Random rand = new Random(BenchmarkDatabases.SEED);
+    for(int i = 0; i < NUM_ROWS; ++i) {
+      _rows.add(BenchmarkDatabases.createRow(rand, numRows + i, false));
+      _keys[i] = rand.nextInt(numRows) + 1;
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setup() throws IOException {
+    _db = BenchmarkDatabases.createPopulated(fileFormat, numRows);
+    _table = _db.getTable(BenchmarkDatabases.TABLE_NAME);
+    _amountCol = _table.getColumn("amount");
+    _pkCursor = CursorBuilder.createCursor(_table.getPrimaryKeyIndex());
+    _tableCursor = CursorBuilder.createCursor(_table);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws IOException {
+    _db.close();
+  }
+
+  private Object[] nextRow() {
+    // the row is copied as the autonumber value is filled in by the add
+    Object[] row = _rows.get(_nextRow).clone();
+    _nextRow = (_nextRow + 1) % NUM_ROWS;
+    return row;
+  }
+
+  private int nextKey() {
+    int key = _keys[_nextRow];
+    _nextRow = (_nextRow + 1) % NUM_ROWS;
+    return key;
+  }
+
+  @Benchmark
+  public Object[] insertRow() throws IOException {
+    return _table.addRow(nextRow());
+  }
+
+  @Benchmark
+  public List<? extends Object[]> insertBatch() throws IOException {
+    List<Object[]> rows = new ArrayList<Object[]>(batchSize);
+    for(int i = 0; i < batchSize; ++i) {
+      rows.add(nextRow());
+    }
+    return _table.addRows(rows);
+  }
+
+  @Benchmark
+  public int bulkLoadBatch() throws IOException {
+    try(BulkLoader loader = _table.newBulkLoader()) {
+      for(int i = 0; i < batchSize; ++i) {
+        loader.addRow(nextRow());
+      }
+      loader.commit();
+      return loader.getRowCount();
+    }
+  }
+
+  @Benchmark
+  public void updateRow() throws IOException {
+    if(_pkCursor.findFirstRowByEntry(nextKey())) {
+      _pkCursor.setCurrentRowValue(_amountCol, (double)_nextRow);
+    }
+  }
+
+  @Benchmark
+  public Object[] deleteAndInsertRow() throws IOException {
+    // delete the oldest row and add a new one, so the table size is stable
+    if(!_tableCursor.moveToNextRow()) {
+      _tableCursor.reset();
+      _tableCursor.moveToNextRow();
+    }
+    _tableCursor.deleteCurrentRow();
+    return _table.addRow(nextRow());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Utility for efficiently adding large numbers of rows to a {@link Table}.
+ * Rows are appended to the table's data pages as they are added, but the
+ * table's indexes are not updated until the load is committed.  At that
+ * point, the entries for each index are sorted and then added to the index
+ * in order (using the normal index update logic), which avoids the random
+ * index page updates caused by adding rows individually.  Note that this is
+ * <i>not</i> an external sort, the index entries for all the loaded rows are
+ * held in memory until the load is committed, so the number of rows which
+ * can be loaded at once is limited by the available memory.  Also note that
+ * the data pages are written twice (once as the rows are added, and once
+ * more when the load is committed in order to make the rows visible).
+ * <p>
+ * All constraints (unique indexes, foreign keys, validators, etc.) are
+ * checked as each row is added, so a row which violates a constraint is
+ * rejected with an exception (as with {@link Table#addRow}) and the loader
+ * may continue to be used.
+ * <p>
+ * <b>The load must be committed</b> (see {@link #commit}) in order for the
+ * loaded rows to be added to the table.  Until then, the rows are written
+ * to the data pages flagged as deleted, so the table remains consistent
+ * (the rows are not visible, and are not included in the indexes or the row
+ * count of the table) if the load is never committed.  Closing a loader
+ * which has not been committed discards the loaded rows (including any long
+ * value data written for them).  Any autonumbers are generated as the rows
+ * are added (so that they can be returned to the caller), but are re-used if
+ * the load is discarded.  The typical usage is:
+ * <pre>
+ *   try(BulkLoader loader = table.newBulkLoader()) {
+ *     // ... add rows ...
+ *     loader.commit();
+ *   }
+ * </pre>
+ * <p>
+ * The table must not be modified by any other means while the loader is
+ * open (an IllegalStateException will be thrown by the loader if it detects
+ * any other modifications).
+ * <p>
+ * A BulkLoader instance is not thread-safe (see {@link Database} for more
+ * thread-safety details).
+ *
+ * @author James Ahlborn
+ * @usage _intermediate_class_
+ */
+public interface BulkLoader extends Closeable
+{
+  /**
+   * @return the table to which rows are being added
+   */
+  public Table getTable();
+
+  /**
+   * @return the number of rows added by this loader
+   */
+  public int getRowCount();
+
+  /**
+   * Adds a single row to the table (see {@link Table#addRow} for details on
+   * the row values).
+   * @return the given row values if long enough, otherwise a new array.
+   */
+  public Object[] addRow(Object... row) throws IOException;
+
+  /**
+   * Adds a single row to the table (see {@link Table#addRowFromMap} for
+   * details on the row values).
+   * @return the given row map, which will contain any autonumbers generated
+   */
+  public <M extends Map<String,Object>> M addRowFromMap(M row)
+    throws IOException;
+
+  /**
+   * Completes the load, adding the entries for all the loaded rows to the
+   * table's indexes, making the loaded rows visible and updating the table
+   * definition.  No more rows may be added after the load is committed.
+   * <p>
+   * If this method fails, it may be called again to resume the commit.  If
+   * the loader is instead closed, the load is discarded if it failed before
+   * any rows were made visible, otherwise the commit is completed.
+   */
+  public void commit() throws IOException;
+
+  /**
+   * Closes this loader.  If the load has not been committed, the loaded rows
+   * are discarded (the space they use on the data pages may be re-used).
+   * Subsequent calls have no effect.
+   */
+  @Override
+  public void close() throws IOException;
+}
@@ -369,6 +369,15 @@ public interface Cursor extends Iterable<Row>
    */
   public Object getCurrentRowValue(Column column) throws IOException;
 
+  /**
+   * Returns a view of the current row of this cursor which can be used to
+   * read the values of the current row without building a {@link Row}.  The
+   * same RowView instance is returned on every call, and it always reflects
+   * the current row of this cursor.
+   * @usage _intermediate_method_
+   */
+  public RowView getCurrentRowView();
+
   /**
    * Updates a single value in the current row.
    * @throws IllegalStateException if the current row is not valid (at
@@ -70,6 +70,8 @@ public class CursorBuilder {
   private Cursor.Savepoint _savepoint;
   /** ColumnMatcher to be used when matching column values */
   private ColumnMatcher _columnMatcher;
+  /** whether or not an index cursor reads values from the index entries */
+  private boolean _indexOnly;
 
   public CursorBuilder(Table table) {
     _table = (TableImpl)table;
@@ -264,6 +266,21 @@ public class CursorBuilder {
     return setColumnMatcher(CaseInsensitiveColumnMatcher.INSTANCE);
   }
 
+  /**
+   * Sets whether or not the index cursor reads the row values directly from
+   * the index entries (an "index-only" or "covering index" scan), in which
+   * case the table data pages are never read while traversing the cursor.
+   * Only the values of the index columns can be read by such a cursor, so
+   * rows should be read using a projection of those columns (e.g. {@link
+   * com.healthmarketscience.jackcess.util.IterableBuilder#setColumnNames}).
+   * Note, text values cannot be read back from the index entries.  Only
+   * applies to index based cursors.
+   */
+  public CursorBuilder setIndexOnly(boolean indexOnly) {
+    _indexOnly = indexOnly;
+    return this;
+  }
+
   /**
    * Returns a new cursor for the table, constructed to the given
    * specifications.
@@ -274,9 +291,11 @@ public class CursorBuilder {
     if(_index == null) {
       cursor = CursorImpl.createCursor(_table);
     } else {
-      cursor = IndexCursorImpl.createCursor(_table, _index,
-                                            _startRow, _startRowInclusive,
-                                            _endRow, _endRowInclusive);
+      IndexCursorImpl indexCursor = IndexCursorImpl.createCursor(
+          _table, _index, _startRow, _startRowInclusive,
+          _endRow, _endRowInclusive);
+      indexCursor.setIndexOnly(_indexOnly);
+      cursor = indexCursor;
     }
     cursor.setColumnMatcher(_columnMatcher);
     if(_savepoint == null) {
@@ -38,6 +38,8 @@ import com.healthmarketscience.jackcess.query.Query;
 import com.healthmarketscience.jackcess.util.ColumnValidatorFactory;
 import com.healthmarketscience.jackcess.util.ErrorHandler;
 import com.healthmarketscience.jackcess.util.LinkResolver;
+import com.healthmarketscience.jackcess.util.MetricsListener;
+import com.healthmarketscience.jackcess.util.SimpleMetricsListener;
 import com.healthmarketscience.jackcess.util.TableIterableBuilder;
 
 /**
@@ -51,7 +53,10 @@ import com.healthmarketscience.jackcess.util.TableIterableBuilder;
  * <p>
  * Database instances (and all the related objects) are <i>not</i>
  * thread-safe.  However, separate Database instances (and their respective
- * objects) can be used by separate threads without a problem.
+ * objects) can be used by separate threads without a problem.  Alternatively,
+ * a Database may be opened with support for concurrent reads (see {@link
+ * DatabaseBuilder#setConcurrentReads}), in which case multiple threads may
+ * read from the Database at the same time using separate Cursors.
  * <p>
  * Database instances do not implement any "transactional" support, and
  * therefore concurrent editing of the same database file by multiple Database
@@ -357,6 +362,32 @@ public interface Database extends Iterable<Table>, Closeable, Flushable
                                 String linkedTableName)
     throws IOException;
 
+  /**
+   * Writes a compacted copy of this database to the given (new) file, the
+   * equivalent of the "Compact &amp; Repair" operation in Access.  All the
+   * user tables are re-created in the new file, with their rows written
+   * sequentially to densely packed data pages and their index entries added
+   * in sorted order (see {@link BulkLoader}).  The
+   * table/column properties, the autonumber values, the linked tables, the
+   * relationships, the queries and the database properties are preserved.
+   * Deleted rows, free pages and any other unused space are not carried
+   * over.  Any errors reading the row data of this database are handled by
+   * the configured {@link #getErrorHandler ErrorHandler}.
+   * <p>
+   * Note, this database is not modified.  Complex columns (attachments,
+   * multi-value columns, etc) cannot currently be created, so they are copied
+   * as LONG columns holding the complex value foreign keys, and the hidden
+   * tables which hold their values are copied as regular tables (with the
+   * same names).  If the copy fails, the partially written file is deleted.
+   *
+   * @param compactFile the file to create, which must not be the file of
+   *                    this database
+   * @throws UnsupportedOperationException if this database contains objects
+   *         which cannot be re-created
+   * @usage _intermediate_method_
+   */
+  public void compact(File compactFile) throws IOException;
+
   /**
    * Flushes any current changes to the database file (and any linked
    * databases) to disk.
@@ -391,6 +422,28 @@ public interface Database extends Iterable<Table>, Closeable, Flushable
    */
   public void setErrorHandler(ErrorHandler newErrorHandler);
 
+  /**
+   * Gets the currently configured MetricsListener (always non-{@code
+   * null}).
+   * @usage _intermediate_method_
+   */
+  public MetricsListener getMetricsListener();
+
+  /**
+   * Sets a new MetricsListener.  If {@code null}, resets to the {@link
+   * SimpleMetricsListener#INSTANCE}, which ignores all notifications.
+   * @usage _intermediate_method_
+   */
+  public void setMetricsListener(MetricsListener newMetricsListener);
+
+  /**
+   * Returns {@code true} if this Database supports concurrent reads by
+   * multiple threads, {@code false} otherwise.
+   * @see DatabaseBuilder#setConcurrentReads
+   * @usage _intermediate_method_
+   */
+  public boolean isConcurrentReads();
+
   /**
    * Gets the currently configured LinkResolver (always non-{@code null}).
    * This will be used to handle all linked database loading.
@@ -33,6 +33,7 @@ import com.healthmarketscience.jackcess.impl.CodecProvider;
 import com.healthmarketscience.jackcess.impl.DatabaseImpl;
 import com.healthmarketscience.jackcess.impl.PropertyMapImpl;
 import com.healthmarketscience.jackcess.util.MemFileChannel;
+import com.healthmarketscience.jackcess.util.MetricsListener;
 
 /**
  * Builder style class for opening/creating a {@link Database}.
@@ -77,6 +78,18 @@ public class DatabaseBuilder
   private Map<String,PropertyMap.Property> _summaryProps;
   /** database user-defined (if any) */
   private Map<String,PropertyMap.Property> _userProps;
+  /** max bytes of decoded page data to cache (disabled if {@code <= 0}) */
+  private long _pageCacheSize;
+  /** whether or not to memory map read-only mdbs */
+  private boolean _memoryMapped;
+  /** max bytes of index pages to cache (per-index default if {@code <= 0}) */
+  private long _indexPageCacheSize;
+  /** optional listener for operational metrics */
+  private MetricsListener _metricsListener;
+  /** whether or not to support concurrent reads by multiple threads */
+  private boolean _concurrentReads;
+  /** max number of pages read ahead by table scans (disabled if {@code <= 1}) */
+  private int _readAheadPages;
 
 
   public DatabaseBuilder() {
@@ -189,6 +202,96 @@ public class DatabaseBuilder
     return this;
   }
 
+  /**
+   * Sets the maximum number of bytes of decoded page data which will be
+   * cached in memory by the Database.  Caching pages avoids re-reading (and
+   * re-decoding) frequently used pages, which can greatly improve the
+   * performance of read-heavy workloads (e.g. repeated table scans and index
+   * lookups).  A value {@code <= 0} (the default) disables page caching.
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setPageCacheSize(long pageCacheSize) {
+    _pageCacheSize = pageCacheSize;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of bytes of index pages which will be cached by
+   * the Database, shared by all of its indexes.  Pages of frequently used
+   * indexes are kept in memory while pages of rarely used indexes are
+   * released first.  The root and interior pages of the indexes are always
+   * kept in memory once loaded.  A value {@code <= 0} (the default) keeps
+   * the default behavior, where each index caches a small, fixed number of
+   * pages.
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setIndexPageCacheSize(long indexPageCacheSize) {
+    _indexPageCacheSize = indexPageCacheSize;
+    return this;
+  }
+
+  /**
+   * Sets whether or not to memory map the database file when it is opened
+   * read-only ({@link #open} only).  if {@code true}, pages will be read
+   * directly from the mapped file (allowing the OS to manage caching of the
+   * file contents) instead of being copied from the file for every read.
+   * This option is ignored for databases which are not opened read-only or
+   * for FileChannels which do not support memory mapping.
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setMemoryMapped(boolean memoryMapped) {
+    _memoryMapped = memoryMapped;
+    return this;
+  }
+
+  /**
+   * Sets the max number of pages which will be read ahead by table scans.  If
+   * enabled, a forward table scan reads the upcoming pages owned by the table
+   * in batches, where each run of consecutive pages is read from the file
+   * using a single read.  This can greatly reduce the number of reads
+   * performed by a full table scan, which is particularly useful when the
+   * file is on high-latency (e.g. network) storage.  A value {@code <= 1}
+   * (the default) disables read-ahead.
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setReadAheadPages(int readAheadPages) {
+    _readAheadPages = readAheadPages;
+    return this;
+  }
+
+  /**
+   * Sets the listener which will be notified of the low-level operations
+   * (page I/O, index page cache activity, row operations, etc.) performed by
+   * the Database once it is opened/created.  By default, no metrics are
+   * gathered.
+   * @see Database#setMetricsListener
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setMetricsListener(MetricsListener metricsListener) {
+    _metricsListener = metricsListener;
+    return this;
+  }
+
+  /**
+   * Sets whether or not the Database will support concurrent reads by
+   * multiple threads.  If {@code true}, multiple threads may read from the
+   * Database at the same time, as long as each thread uses its own Cursors
+   * (Cursors themselves are not thread-safe, nor are the Table methods which
+   * use the Table's default cursor, e.g. {@link Table#getNextRow}).  Write
+   * operations are still supported, but each write operation will wait for
+   * all current reads to complete and will block all other reads and writes
+   * until it is complete.  Note that each individual Cursor operation is
+   * atomic, but a sequence of operations (e.g. iterating through a table) may
+   * observe the changes made by a concurrent writer (just as in the
+   * single-threaded case).  This option adds a small amount of overhead to
+   * every read operation, so it is disabled by default.
+   * @usage _intermediate_method_
+   */
+  public DatabaseBuilder setConcurrentReads(boolean concurrentReads) {
+    _concurrentReads = concurrentReads;
+    return this;
+  }
+
   /**
    * Sets the database property with the given name to the given value.
    * Attempts to determine the type of the property (see
@@ -249,6 +352,23 @@ public class DatabaseBuilder
     return this;
   }
 
+  /**
+   * Applies any additional configuration to a newly opened/created Database.
+   */
+  private DatabaseImpl configure(DatabaseImpl db) throws IOException {
+    if(_concurrentReads) {
+      db.enableConcurrentReads();
+    }
+    db.getPageChannel().setPageCacheSize(_pageCacheSize);
+    db.getPageChannel().setReadAheadPages(_readAheadPages);
+    db.setIndexPageCacheSize(_indexPageCacheSize);
+    if(_memoryMapped && db.isReadOnly()) {
+      db.getPageChannel().mapChannel();
+    }
+    db.setMetricsListener(_metricsListener);
+    return db;
+  }
+
   private static Map<String,PropertyMap.Property> putProperty(
       Map<String,PropertyMap.Property> props, String name, DataType type,
       Object value)
@@ -264,16 +384,16 @@ public class DatabaseBuilder
    * Opens an existingnew Database using the configured information.
    */
   public Database open() throws IOException {
-    return DatabaseImpl.open(_mdbFile, _readOnly, _channel, _autoSync, _charset,
-                             _timeZone, _codecProvider);
+    return configure(DatabaseImpl.open(_mdbFile, _readOnly, _channel, _autoSync,
+                                       _charset, _timeZone, _codecProvider));
   }
 
   /**
    * Creates a new Database using the configured information.
    */
   public Database create() throws IOException {
-    Database db = DatabaseImpl.create(_fileFormat, _mdbFile, _channel, _autoSync,
-                                      _charset, _timeZone);
+    Database db = configure(DatabaseImpl.create(_fileFormat, _mdbFile, _channel,
+                                                _autoSync, _charset, _timeZone));
     if(_dbProps != null) {
       PropertyMap props = db.getDatabaseProperties();
       props.putAll(_dbProps.values());
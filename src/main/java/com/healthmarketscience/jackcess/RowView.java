@@ -0,0 +1,180 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A reusable, read-only view of the current row of a {@link Cursor}.  Unlike
+ * a {@link Row}, a RowView does not contain any data itself, all values are
+ * read from the cursor's current row on demand.  The primitive accessors
+ * decode the values of the fixed length numeric columns directly from the
+ * underlying page data, without copying or boxing the values.  This makes a
+ * RowView the cheapest way to read large numbers of rows, e.g.:
+ *
+ * <pre>
+ *   Column idCol = table.getColumn("id");
+ *   Column amountCol = table.getColumn("amount");
+ *   Cursor cursor = CursorBuilder.createCursor(table);
+ *   RowView row = cursor.getCurrentRowView();
+ *   while(cursor.moveToNextRow()) {
+ *     if(!row.isNull(amountCol)) {
+ *       total.add(row.getInt(idCol), row.getDouble(amountCol));
+ *     }
+ *   }
+ * </pre>
+ * <p>
+ * The Column based accessors avoid the column lookup required by the name
+ * based accessors.  The primitive accessors return {@code 0} for {@code null}
+ * values (use {@link #isNull} to distinguish {@code null} values).  Values of
+ * other types are converted using the corresponding {@link Number} method.
+ * <p>
+ * A RowView is only valid while the current row of the cursor is valid, and
+ * is not thread-safe.
+ *
+ * @author James Ahlborn
+ * @usage _intermediate_class_
+ */
+public interface RowView
+{
+  /**
+   * @return the id of the current row
+   */
+  public RowId getId();
+
+  /**
+   * @return {@code true} if the value of the given column in the current row
+   *         is {@code null}, {@code false} otherwise
+   */
+  public boolean isNull(String columnName) throws IOException;
+
+  /**
+   * @return {@code true} if the value of the given column in the current row
+   *         is {@code null}, {@code false} otherwise
+   */
+  public boolean isNull(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as an int
+   * (DataTypes BYTE, INT, LONG).
+   */
+  public int getInt(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as an int
+   * (DataTypes BYTE, INT, LONG).
+   */
+  public int getInt(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a long
+   * (DataTypes BYTE, INT, LONG, BIG_INT).
+   */
+  public long getLong(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a long
+   * (DataTypes BYTE, INT, LONG, BIG_INT).
+   */
+  public long getLong(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a double
+   * (DataTypes FLOAT, DOUBLE, as well as the integral types).
+   */
+  public double getDouble(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a double
+   * (DataTypes FLOAT, DOUBLE, as well as the integral types).
+   */
+  public double getDouble(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a boolean
+   * (DataType BOOLEAN).
+   */
+  public boolean getBoolean(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a boolean
+   * (DataType BOOLEAN).
+   */
+  public boolean getBoolean(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a String
+   * (DataTypes TEXT, MEMO, GUID), or the String representation of the value
+   * for other types.  Returns {@code null} for {@code null} values.
+   */
+  public String getString(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row as a String
+   * (DataTypes TEXT, MEMO, GUID), or the String representation of the value
+   * for other types.  Returns {@code null} for {@code null} values.
+   */
+  public String getString(Column column) throws IOException;
+
+  /**
+   * Returns a stream of the raw value of the given long value column
+   * (DataTypes OLE, MEMO) in the current row.  Values which span multiple
+   * pages are read lazily, one page at a time, so the entire value is never
+   * held in memory (a {@link java.nio.channels.ReadableByteChannel} can be
+   * created using {@link java.nio.channels.Channels#newChannel(InputStream)}).
+   * For MEMO columns, the stream contains the encoded text (see {@link
+   * #getCharacterStream}).  The stream must be consumed before the current
+   * row is modified.  Returns {@code null} for {@code null} values.
+   */
+  public InputStream getBinaryStream(String columnName) throws IOException;
+
+  /**
+   * Returns a stream of the raw value of the given long value column
+   * (DataTypes OLE, MEMO) in the current row.  See {@link
+   * #getBinaryStream(String)} for details.
+   */
+  public InputStream getBinaryStream(Column column) throws IOException;
+
+  /**
+   * Returns a reader of the text of the given MEMO column in the current row.
+   * Values which span multiple pages are read and decoded lazily, one page at
+   * a time, so the entire value is never held in memory.  The reader must be
+   * consumed before the current row is modified.  Returns {@code null} for
+   * {@code null} values.
+   */
+  public Reader getCharacterStream(String columnName) throws IOException;
+
+  /**
+   * Returns a reader of the text of the given MEMO column in the current row.
+   * See {@link #getCharacterStream(String)} for details.
+   */
+  public Reader getCharacterStream(Column column) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row (equivalent to
+   * {@link Cursor#getCurrentRowValue}).
+   */
+  public Object get(String columnName) throws IOException;
+
+  /**
+   * Returns the value of the given column in the current row (equivalent to
+   * {@link Cursor#getCurrentRowValue}).
+   */
+  public Object get(Column column) throws IOException;
+}
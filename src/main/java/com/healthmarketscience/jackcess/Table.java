@@ -259,6 +259,13 @@ public interface Table extends Iterable<Row>
   public <M extends Map<String,Object>> List<M> addRowsFromMaps(List<M> rows)
     throws IOException;
 
+  /**
+   * Creates a new {@link BulkLoader} for efficiently adding a large number of
+   * rows to this table.  The loader must be committed to complete the load.
+   * @usage _intermediate_method_
+   */
+  public BulkLoader newBulkLoader();
+
   /**
    * Update the given row.  Provided Row must have previously been returned
    * from this Table.
@@ -297,6 +304,21 @@ public interface Table extends Iterable<Row>
     return StreamSupport.stream(spliterator(), false);
   }
 
+  /**
+   * Returns a possibly parallel Stream of all the rows in this table.  The
+   * Stream is split into ranges of the data pages owned by this table, and
+   * the rows of the separate ranges are read independently (they do not use
+   * the {@link #getDefaultCursor default cursor}).  The table <i>must not be
+   * modified</i> while the Stream is in use.
+   * <p>
+   * Note, unless the Database supports concurrent reads (see {@link
+   * DatabaseBuilder#setConcurrentReads}), this is the only supported form of
+   * concurrent access to a Database (see {@link Database} for details on
+   * thread-safety).
+   * @usage _intermediate_method_
+   */
+  public Stream<Row> parallelStream();
+
   /**
    * After calling this method, {@link #getNextRow} will return the first row
    * in the table, see {@link Cursor#reset} (uses the {@link #getDefaultCursor
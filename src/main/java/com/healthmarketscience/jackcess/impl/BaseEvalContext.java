@@ -159,6 +159,35 @@ public abstract class BaseEvalContext implements EvalContext
   }
 
   protected Value toValue(Object val, DataType dType) {
+
+    // fast path for values which already have the internal type of the
+    // column (the common case when evaluating row values)
+    switch(dType) {
+    case BOOLEAN:
+      if(val instanceof Boolean) {
+        return ValueSupport.toValue(((Boolean)val).booleanValue());
+      }
+      break;
+    case LONG:
+      if(val instanceof Integer) {
+        return ValueSupport.toValue((Integer)val);
+      }
+      break;
+    case DOUBLE:
+      if(val instanceof Double) {
+        return ValueSupport.toValue((Double)val);
+      }
+      break;
+    case TEXT:
+    case MEMO:
+      if(val instanceof String) {
+        return ValueSupport.toValue((String)val);
+      }
+      break;
+    default:
+      // use general conversion
+    }
+
     try {
       // expression engine always uses LocalDateTime, so force that date/time
       // type
@@ -167,6 +196,9 @@ public abstract class BaseEvalContext implements EvalContext
       if(val == null) {
         return ValueSupport.NULL_VAL;
       }
+      if(val instanceof Boolean) {
+        return ValueSupport.toValue(((Boolean)val).booleanValue());
+      }
 
       Value.Type vType = toValueType(dType);
       switch(vType) {
@@ -294,10 +294,12 @@ class CalculatedColumnUtil
     }
 
     @Override
-    protected byte[] readLongValue(byte[] lvalDefinition)
+    protected byte[] readLongValue(byte[] lvalDefinition,
+                                   TempPageHolder lvalBufferH)
       throws IOException
     {
-      return unwrapCalculatedValue(super.readLongValue(lvalDefinition));
+      return unwrapCalculatedValue(super.readLongValue(lvalDefinition,
+                                                       lvalBufferH));
     }
 
     @Override
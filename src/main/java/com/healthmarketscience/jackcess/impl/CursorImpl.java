@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
@@ -79,6 +80,8 @@ public abstract class CursorImpl implements Cursor
   protected PositionImpl _curPos;
   /** ColumnMatcher to be used when matching column values */
   protected ColumnMatcher _columnMatcher = SimpleColumnMatcher.INSTANCE;
+  /** view of the current row, created on first use */
+  private RowViewImpl _rowView;
 
   protected CursorImpl(IdImpl id, TableImpl table, PositionImpl firstPos,
                        PositionImpl lastPos) {
@@ -216,7 +219,12 @@ public abstract class CursorImpl implements Cursor
 
   protected boolean isAtBeginning(boolean moveForward) throws IOException {
     if(getDirHandler(moveForward).getBeginningPosition().equals(_curPos)) {
-      return !recheckPosition(!moveForward);
+      getPageChannel().startRead();
+      try {
+        return !recheckPosition(!moveForward);
+      } finally {
+        getPageChannel().finishRead();
+      }
     }
     return false;
   }
@@ -224,10 +232,15 @@ public abstract class CursorImpl implements Cursor
   @Override
   public boolean isCurrentRowDeleted() throws IOException
   {
-    // we need to ensure that the "deleted" flag has been read for this row
-    // (or re-read if the table has been recently modified)
-    TableImpl.positionAtRowData(_rowState, _curPos.getRowId());
-    return _rowState.isDeleted();
+    getPageChannel().startRead();
+    try {
+      // we need to ensure that the "deleted" flag has been read for this row
+      // (or re-read if the table has been recently modified)
+      TableImpl.positionAtRowData(_rowState, _curPos.getRowId());
+      return _rowState.isDeleted();
+    } finally {
+      getPageChannel().finishRead();
+    }
   }
 
   /**
@@ -357,12 +370,17 @@ public abstract class CursorImpl implements Cursor
   protected boolean moveToAnotherRow(boolean moveForward)
     throws IOException
   {
-    if(_curPos.equals(getDirHandler(moveForward).getEndPosition())) {
-      // already at end, make sure nothing has changed
-      return recheckPosition(moveForward);
-    }
+    getPageChannel().startRead();
+    try {
+      if(_curPos.equals(getDirHandler(moveForward).getEndPosition())) {
+        // already at end, make sure nothing has changed
+        return recheckPosition(moveForward);
+      }
 
-    return moveToAnotherRowImpl(moveForward);
+      return moveToAnotherRowImpl(moveForward);
+    } finally {
+      getPageChannel().finishRead();
+    }
   }
 
   /**
@@ -384,7 +402,12 @@ public abstract class CursorImpl implements Cursor
     throws IOException
   {
     if(!curPos.equals(_curPos) || !prevPos.equals(_prevPos)) {
-      restorePositionImpl(curPos, prevPos);
+      getPageChannel().startRead();
+      try {
+        restorePositionImpl(curPos, prevPos);
+      } finally {
+        getPageChannel().finishRead();
+      }
     }
   }
 
@@ -429,10 +452,19 @@ public abstract class CursorImpl implements Cursor
     _rowState.reset();
     _prevPos = _curPos;
     _curPos = findAnotherPosition(_rowState, _curPos, moveForward);
-    TableImpl.positionAtRowHeader(_rowState, _curPos.getRowId());
+    positionAtCurrentRowHeader();
     return(!_curPos.equals(getDirHandler(moveForward).getEndPosition()));
   }
 
+  /**
+   * Positions the row state at the header of the current row after the
+   * cursor has moved.
+   */
+  protected void positionAtCurrentRowHeader() throws IOException
+  {
+    TableImpl.positionAtRowHeader(_rowState, _curPos.getRowId());
+  }
+
   @Override
   public boolean findRow(RowId rowId) throws IOException
   {
@@ -440,6 +472,7 @@ public abstract class CursorImpl implements Cursor
     PositionImpl curPos = _curPos;
     PositionImpl prevPos = _prevPos;
     boolean found = false;
+    getPageChannel().startRead();
     try {
       reset(MOVE_FORWARD);
       if(TableImpl.positionAtRowHeader(_rowState, rowIdImpl) == null) {
@@ -459,6 +492,7 @@ public abstract class CursorImpl implements Cursor
           LOG.error("Failed restoring position", e);
         }
       }
+      getPageChannel().finishRead();
     }
   }
 
@@ -500,6 +534,7 @@ public abstract class CursorImpl implements Cursor
     PositionImpl curPos = _curPos;
     PositionImpl prevPos = _prevPos;
     boolean found = false;
+    getPageChannel().startRead();
     try {
       if(reset) {
         reset(moveForward);
@@ -515,6 +550,7 @@ public abstract class CursorImpl implements Cursor
           LOG.error("Failed restoring position", e);
         }
       }
+      getPageChannel().finishRead();
     }
   }
 
@@ -541,6 +577,7 @@ public abstract class CursorImpl implements Cursor
     PositionImpl curPos = _curPos;
     PositionImpl prevPos = _prevPos;
     boolean found = false;
+    getPageChannel().startRead();
     try {
       if(reset) {
         reset(moveForward);
@@ -556,6 +593,7 @@ public abstract class CursorImpl implements Cursor
           LOG.error("Failed restoring position", e);
         }
       }
+      getPageChannel().finishRead();
     }
   }
 
@@ -749,6 +787,16 @@ public abstract class CursorImpl implements Cursor
     return _table.getRow(_rowState, _curPos.getRowId(), columnNames);
   }
 
+  /**
+   * Returns the given columns from the current row.
+   * @param columns the columns to read, as returned from {@link
+   *                TableImpl#getProjectedColumns}
+   */
+  public Row getCurrentProjectedRow(List<ColumnImpl> columns) throws IOException
+  {
+    return _table.getProjectedRow(_rowState, _curPos.getRowId(), columns);
+  }
+
   @Override
   public Object getCurrentRowValue(Column column)
     throws IOException
@@ -762,6 +810,21 @@ public abstract class CursorImpl implements Cursor
     return _table.getRowValue(_rowState, _curPos.getRowId(), column);
   }
 
+  @Override
+  public RowViewImpl getCurrentRowView() {
+    if(_rowView == null) {
+      _rowView = new RowViewImpl(this);
+    }
+    return _rowView;
+  }
+
+  /**
+   * @return the id of the current row of this cursor
+   */
+  public RowIdImpl getCurrentRowId() {
+    return _curPos.getRowId();
+  }
+
   @Override
   public void setCurrentRowValue(Column column, Object value)
     throws IOException
@@ -835,6 +898,10 @@ public abstract class CursorImpl implements Cursor
     protected final ColumnMatcher _colMatcher;
     protected Boolean _hasNext;
     protected boolean _validRow;
+    /** the columns to read, computed on first use */
+    private List<ColumnImpl> _columns;
+    /** the table column count when the columns were computed */
+    private int _tableColumnCount;
 
     protected BaseIterator(Collection<String> columnNames,
                            boolean reset, boolean moveForward,
@@ -867,13 +934,26 @@ public abstract class CursorImpl implements Cursor
       return _hasNext;
     }
 
+    /**
+     * Returns the columns to read for each row, only recomputed if the table
+     * columns change.
+     */
+    private List<ColumnImpl> getProjectedColumns() {
+      int tableColumnCount = _table.getColumnCount();
+      if((_columns == null) || (tableColumnCount != _tableColumnCount)) {
+        _columns = _table.getProjectedColumns(_columnNames);
+        _tableColumnCount = tableColumnCount;
+      }
+      return _columns;
+    }
+
     @Override
     public Row next() {
       if(!hasNext()) {
         throw new NoSuchElementException();
       }
       try {
-        Row rtn = getCurrentRow(_columnNames);
+        Row rtn = getCurrentProjectedRow(getProjectedColumns());
         _hasNext = null;
         return rtn;
       } catch(IOException e) {
@@ -0,0 +1,298 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.healthmarketscience.jackcess.BulkLoader;
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.PropertyMap;
+import com.healthmarketscience.jackcess.Relationship;
+import com.healthmarketscience.jackcess.RelationshipBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.healthmarketscience.jackcess.TableMetaData;
+import com.healthmarketscience.jackcess.impl.complex.ComplexColumnInfoImpl;
+import com.healthmarketscience.jackcess.impl.query.QueryImpl;
+import com.healthmarketscience.jackcess.query.Query;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Helper class used to copy a database into a new, compacted database file.
+ * The tables are re-created and their rows re-written using the "normal"
+ * table creation and bulk loading facilities, so the new file contains no
+ * deleted rows or free pages, the data pages are filled sequentially and
+ * the index entries are added in sorted order.
+ * <p>
+ * Complex columns (attachments, multi-value, version history) cannot be
+ * created, so they are copied as LONG columns holding the complex value
+ * foreign keys, and the hidden tables which hold their values are copied as
+ * regular tables (using the same names).
+ *
+ * @author James Ahlborn
+ */
+class DatabaseCompactor
+{
+  private static final Log LOG = LogFactory.getLog(DatabaseCompactor.class);
+
+  private final DatabaseImpl _db;
+
+  DatabaseCompactor(DatabaseImpl db) {
+    _db = db;
+  }
+
+  public void compact(File compactFile) throws IOException
+  {
+    File dbFile = _db.getFile();
+    if((dbFile != null) &&
+       dbFile.getCanonicalFile().equals(compactFile.getCanonicalFile())) {
+      throw new IllegalArgumentException(_db.withErrorContext(
+          "Cannot compact database into its own file"));
+    }
+
+    // load and validate all the tables before creating anything
+    List<TableImpl> tables = new ArrayList<TableImpl>();
+    List<TableMetaData> linkedTables = new ArrayList<TableMetaData>();
+    for(TableMetaData tmd : _db.newTableMetaDataIterable()) {
+      if(tmd.isSystem()) {
+        // system tables are created with the new database
+        continue;
+      }
+      if(tmd.isLinked()) {
+        linkedTables.add(tmd);
+        continue;
+      }
+      TableImpl table = _db.getTable(tmd.getName());
+      tables.add(table);
+      for(ColumnImpl col : table.getColumns()) {
+        if(col.getType() == DataType.COMPLEX_TYPE) {
+          // the values are stored in a separate hidden table
+          tables.add((TableImpl)((ComplexColumnInfoImpl<?>)
+                                 col.getComplexInfo()).getFlatTable());
+          continue;
+        }
+        if(!_db.getFormat().isSupportedDataType(col.getType())) {
+          throw new UnsupportedOperationException(table.withErrorContext(
+              "Cannot compact column " + col.getName() + " with type " +
+              col.getType()));
+        }
+      }
+    }
+
+    boolean success = false;
+    try {
+      // the new file is synced once, when it is closed
+      DatabaseImpl newDb = (DatabaseImpl)new DatabaseBuilder(compactFile)
+        .setFileFormat(_db.getFileFormat())
+        .setCharset(_db.getCharset())
+        .setTimeZone(_db.getTimeZone())
+        .setAutoSync(false)
+        .create();
+      try {
+        copyDatabase(tables, linkedTables, newDb);
+      } finally {
+        newDb.close();
+      }
+      success = true;
+    } finally {
+      if(!success && compactFile.exists() && !compactFile.delete()) {
+        // don't hide the original failure
+        LOG.warn(_db.withErrorContext(
+            "Failed deleting partially compacted file " + compactFile));
+      }
+    }
+  }
+
+  private void copyDatabase(List<TableImpl> tables,
+                            List<TableMetaData> linkedTables,
+                            DatabaseImpl newDb)
+    throws IOException
+  {
+    copyProperties(_db.getDatabaseProperties(),
+                   newDb.getDatabaseProperties());
+    copyProperties(_db.getSummaryProperties(),
+                   newDb.getSummaryProperties());
+    copyProperties(_db.getUserDefinedProperties(),
+                   newDb.getUserDefinedProperties());
+
+    for(TableImpl table : tables) {
+      copyTable(table, newDb);
+    }
+
+    for(TableMetaData tmd : linkedTables) {
+      newDb.createLinkedTable(tmd.getName(), tmd.getLinkedDbName(),
+                              tmd.getLinkedTableName());
+    }
+
+    // relationships are added after the rows are loaded (creating any
+    // foreign key indexes)
+    for(Relationship rel : _db.getRelationships()) {
+      copyRelationship(rel, newDb);
+    }
+
+    for(Query query : _db.getQueries()) {
+      copyQuery((QueryImpl)query, newDb);
+    }
+  }
+
+  private static void copyTable(TableImpl table, DatabaseImpl newDb)
+    throws IOException
+  {
+    TableBuilder tableBuilder = new TableBuilder(table.getName());
+    for(ColumnImpl col : table.getColumns()) {
+      DataType type = col.getType();
+      if(type == DataType.COMPLEX_TYPE) {
+        // complex columns cannot be created, so just keep the foreign keys
+        // into the (copied) table of values
+        LOG.warn(table.withErrorContext(
+            "Compacting complex column " + col.getName() + " as type " +
+            DataType.LONG + " (values are in table " +
+            ((ComplexColumnInfoImpl<?>)col.getComplexInfo()).getFlatTable()
+            .getName() + ")"));
+        tableBuilder.addColumn(new ColumnBuilder(col.getName(),
+                                                 DataType.LONG));
+        continue;
+      }
+      ColumnBuilder colBuilder =
+        new ColumnBuilder(col.getName()).setFromColumn(col);
+      if(type.isVariableLength() && !type.isLongValue() &&
+         !type.isValidSize(col.getLength())) {
+        // some tables created by access (e.g. "Paste Errors") contain
+        // columns which are longer than can be created, so store the values
+        // as long values instead
+        DataType longType = ((type == DataType.BINARY) ?
+                             DataType.OLE : DataType.MEMO);
+        LOG.warn(table.withErrorContext(
+            "Compacting column " + col.getName() + " with length " +
+            col.getLength() + " as type " + longType));
+        colBuilder.setType(longType).setLength(longType.getDefaultSize());
+      }
+      tableBuilder.addColumn(colBuilder);
+    }
+
+    for(IndexImpl idx : table.getIndexes()) {
+      if(idx.isForeignKey()) {
+        // foreign key indexes are re-created with the relationships
+        continue;
+      }
+      IndexBuilder idxBuilder = new IndexBuilder(idx.getName());
+      for(IndexData.ColumnDescriptor col : idx.getColumns()) {
+        idxBuilder.addColumns(col.isAscending(), col.getName());
+      }
+      if(idx.isPrimaryKey()) {
+        idxBuilder.setPrimaryKey();
+      } else {
+        if(idx.isUnique()) {
+          idxBuilder.setUnique();
+        }
+        if(idx.isRequired()) {
+          idxBuilder.setRequired();
+        }
+      }
+      if(idx.shouldIgnoreNulls()) {
+        idxBuilder.setIgnoreNulls();
+      }
+      tableBuilder.addIndex(idxBuilder);
+    }
+
+    for(PropertyMap.Property prop : table.getProperties()) {
+      tableBuilder.putProperty(prop.getName(), prop.getType(),
+                               prop.getValue());
+    }
+
+    TableImpl newTable = (TableImpl)tableBuilder.toTable(newDb);
+
+    // keep the existing autonumber values
+    newTable.setAllowAutoNumberInsert(Boolean.TRUE);
+    try(BulkLoader loader = newTable.newBulkLoader()) {
+      for(Row row : CursorImpl.createCursor(table)) {
+        loader.addRowFromMap(row);
+      }
+      loader.commit();
+    } finally {
+      newTable.setAllowAutoNumberInsert(null);
+    }
+  }
+
+  private static void copyRelationship(Relationship rel, DatabaseImpl newDb)
+    throws IOException
+  {
+    RelationshipBuilder relBuilder = new RelationshipBuilder(
+        rel.getFromTable().getName(), rel.getToTable().getName())
+      .setName(rel.getName())
+      .setJoinType(rel.getJoinType());
+
+    List<? extends Column> fromCols = rel.getFromColumns();
+    List<? extends Column> toCols = rel.getToColumns();
+    for(int i = 0; i < fromCols.size(); ++i) {
+      relBuilder.addColumns(fromCols.get(i).getName(),
+                            toCols.get(i).getName());
+    }
+
+    if(rel.hasReferentialIntegrity()) {
+      relBuilder.setReferentialIntegrity();
+      if(rel.cascadeUpdates()) {
+        relBuilder.setCascadeUpdates();
+      }
+      if(rel.cascadeDeletes()) {
+        relBuilder.setCascadeDeletes();
+      }
+      if(rel.cascadeNullOnDelete()) {
+        relBuilder.setCascadeNullOnDelete();
+      }
+    }
+
+    relBuilder.toRelationship(newDb);
+  }
+
+  private void copyQuery(QueryImpl query, DatabaseImpl newDb)
+    throws IOException
+  {
+    int newQueryId = newDb.addQuery(query);
+
+    PropertyMaps props = _db.getPropertiesForObject(query.getObjectId(), null);
+    if(props.isEmpty()) {
+      return;
+    }
+
+    PropertyMaps newProps = newDb.getPropertiesForObject(newQueryId, null);
+    for(PropertyMapImpl propMap : props) {
+      String name = propMap.getName();
+      PropertyMapImpl newPropMap = (PropertyMaps.DEFAULT_NAME.equals(name) ?
+                                    newProps.getDefault() :
+                                    newProps.get(name));
+      newPropMap.putAll(propMap);
+    }
+    newProps.save();
+  }
+
+  private static void copyProperties(PropertyMap props, PropertyMap newProps)
+    throws IOException
+  {
+    newProps.putAll(props);
+    newProps.save();
+  }
+}
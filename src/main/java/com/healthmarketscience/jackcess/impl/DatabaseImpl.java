@@ -48,6 +48,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import com.healthmarketscience.jackcess.ColumnBuilder;
@@ -68,11 +69,14 @@ import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.TableBuilder;
 import com.healthmarketscience.jackcess.TableMetaData;
 import com.healthmarketscience.jackcess.expr.EvalConfig;
+import com.healthmarketscience.jackcess.impl.query.QueryFormat;
 import com.healthmarketscience.jackcess.impl.query.QueryImpl;
 import com.healthmarketscience.jackcess.query.Query;
 import com.healthmarketscience.jackcess.util.CaseInsensitiveColumnMatcher;
 import com.healthmarketscience.jackcess.util.ColumnValidatorFactory;
 import com.healthmarketscience.jackcess.util.ErrorHandler;
+import com.healthmarketscience.jackcess.util.MetricsListener;
+import com.healthmarketscience.jackcess.util.SimpleMetricsListener;
 import com.healthmarketscience.jackcess.util.LinkResolver;
 import com.healthmarketscience.jackcess.util.ReadOnlyFileChannel;
 import com.healthmarketscience.jackcess.util.SimpleColumnValidatorFactory;
@@ -241,9 +245,6 @@ public class DatabaseImpl implements Database, DateTimeContext
   /** System object type for relationships */
   private static final Short TYPE_RELATIONSHIP = 8;
 
-  /** max number of table lookups to cache */
-  private static final int MAX_CACHED_LOOKUP_TABLES = 50;
-
   /** the columns to read when reading system catalog normally */
   private static Collection<String> SYSTEM_CATALOG_COLUMNS =
     new HashSet<String>(Arrays.asList(CAT_COL_NAME, CAT_COL_TYPE, CAT_COL_ID,
@@ -274,12 +275,11 @@ public class DatabaseImpl implements Database, DateTimeContext
   /** Format that the containing database is in */
   private final JetFormat _format;
   /**
-   * Cache map of UPPERCASE table names to page numbers containing their
-   * definition and their stored table name (max size
-   * MAX_CACHED_LOOKUP_TABLES).
+   * Map of UPPERCASE table names to page numbers containing their definition
+   * and their stored table name for all the tables in the database, loaded
+   * from the system catalog in one pass on first use
    */
-  private final Map<String, TableInfo> _tableLookup =
-    new SimpleCache<String,TableInfo>(MAX_CACHED_LOOKUP_TABLES);
+  private Map<String, TableInfo> _tableLookup;
   /** set of table names as stored in the mdb file, created on demand */
   private Set<String> _tableNames;
   /** Reads and writes database pages */
@@ -328,6 +328,9 @@ public class DatabaseImpl implements Database, DateTimeContext
   private ColumnValidatorFactory _validatorFactory = SimpleColumnValidatorFactory.INSTANCE;
   /** cache of in-use tables */
   private final TableCache _tableCache = new TableCache();
+  /** lock which serializes the lookup and loading of tables (the table cache
+      and system catalog cursors are not safe for concurrent use) */
+  private final Object _tableLock = new Object();
   /** handler for reading/writing properteies */
   private PropertyMaps.Handler _propsHandler;
   /** ID of the Databases system object */
@@ -351,6 +354,10 @@ public class DatabaseImpl implements Database, DateTimeContext
   private DBEvalContext _evalCtx;
   /** factory for the appropriate date/time type */
   private ColumnImpl.DateTimeFactory _dtf;
+  /** manager of the shared index page budget, if any */
+  private IndexPageCacheManager _indexPageCacheManager;
+  /** optional listener for operational metrics */
+  private MetricsListener _metrics;
 
   /**
    * Open an existing Database.  If the existing file is not writeable or the
@@ -581,6 +588,43 @@ public class DatabaseImpl implements Database, DateTimeContext
     return _pageChannel;
   }
 
+  /**
+   * @return the manager of the index page budget shared by all the indexes
+   *         in this database, {@code null} if each index manages its own
+   *         (small) page cache
+   * @usage _advanced_method_
+   */
+  public IndexPageCacheManager getIndexPageCacheManager() {
+    return _indexPageCacheManager;
+  }
+
+  /**
+   * Sets the maximum number of bytes of index pages which will be cached by
+   * all the indexes in this database.  Root and interior index pages are
+   * never purged from the cache.  A value {@code <= 0} reverts to the
+   * default behavior where each index caches a small, fixed number of pages.
+   * @usage _advanced_method_
+   */
+  public void setIndexPageCacheSize(long maxBytes) {
+    _indexPageCacheManager = ((maxBytes > 0L) ?
+      new IndexPageCacheManager(_pageChannel, maxBytes) : null);
+  }
+
+  @Override
+  public boolean isConcurrentReads() {
+    return _pageChannel.isConcurrentReads();
+  }
+
+  /**
+   * Enables concurrent reads for this database (see {@link
+   * com.healthmarketscience.jackcess.DatabaseBuilder#setConcurrentReads}).
+   * This must be enabled before the database is used by multiple threads.
+   * @usage _advanced_method_
+   */
+  public void enableConcurrentReads() {
+    _pageChannel.enableConcurrentReads();
+  }
+
   /**
    * @usage _advanced_method_
    */
@@ -628,6 +672,27 @@ public class DatabaseImpl implements Database, DateTimeContext
     _dbErrorHandler = newErrorHandler;
   }
 
+  @Override
+  public MetricsListener getMetricsListener() {
+    return((_metrics != null) ? _metrics : SimpleMetricsListener.INSTANCE);
+  }
+
+  @Override
+  public void setMetricsListener(MetricsListener newMetricsListener) {
+    // the default listener ignores everything, so don't bother notifying it
+    _metrics = ((newMetricsListener != SimpleMetricsListener.INSTANCE) ?
+                newMetricsListener : null);
+    _pageChannel.setMetricsListener(_metrics);
+  }
+
+  /**
+   * @return the configured MetricsListener, or {@code null} if metrics are
+   *         not being gathered
+   */
+  MetricsListener getMetrics() {
+    return _metrics;
+  }
+
   @Override
   public LinkResolver getLinkResolver() {
     return((_linkResolver != null) ? _linkResolver : LinkResolver.DEFAULT);
@@ -662,7 +727,14 @@ public class DatabaseImpl implements Database, DateTimeContext
 
     // but, the local table name may not match the remote table name, so we
     // need to do a search if the common case fails
-    return _tableFinder.isLinkedTable(table);
+    for(TableInfo info : getTableLookup().values()) {
+      if(info.isLinked() &&
+         matchesLinkedTable(table, ((LinkedTableInfo)info).linkedTableName,
+                            ((LinkedTableInfo)info).linkedDbName)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private boolean matchesLinkedTable(Table table, String linkedTableName,
@@ -885,7 +957,7 @@ public class DatabaseImpl implements Database, DateTimeContext
    *         returned buffer should be released using
    *         {@link #releaseSharedBuffer} when no longer in use
    */
-  private ByteBuffer takeSharedBuffer() {
+  private synchronized ByteBuffer takeSharedBuffer() {
     // we try to re-use a single shared _buffer, but occassionally, it may be
     // needed by multiple operations at the same time (e.g. loading a
     // secondary table while loading a primary table).  this method ensures
@@ -903,7 +975,7 @@ public class DatabaseImpl implements Database, DateTimeContext
    * Relinquishes use of a page ByteBuffer returned by
    * {@link #takeSharedBuffer}.
    */
-  private void releaseSharedBuffer(ByteBuffer buffer) {
+  private synchronized void releaseSharedBuffer(ByteBuffer buffer) {
     // we always stuff the returned buffer back into _buffer.  it doesn't
     // really matter if multiple values over-write, at the end of the day, we
     // just need one shared buffer
@@ -1005,10 +1077,17 @@ public class DatabaseImpl implements Database, DateTimeContext
 
   @Override
   public Set<String> getTableNames() throws IOException {
-    if(_tableNames == null) {
-      _tableNames = getTableNames(true, false, true);
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
+        if(_tableNames == null) {
+          _tableNames = getTableNames(true, false, true);
+        }
+        return _tableNames;
+      }
+    } finally {
+      _pageChannel.finishRead();
     }
-    return _tableNames;
   }
 
   @Override
@@ -1021,8 +1100,19 @@ public class DatabaseImpl implements Database, DateTimeContext
     throws IOException
   {
     Set<String> tableNames = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
-    _tableFinder.getTableNames(tableNames, normalTables, systemTables,
-                               linkedTables);
+    for(TableInfo info : getTableLookup().values()) {
+      if(info.isLinked()) {
+        if(linkedTables) {
+          tableNames.add(info.tableName);
+        }
+      } else if(!info.isSystem()) {
+        if(normalTables) {
+          tableNames.add(info.tableName);
+        }
+      } else if(systemTables) {
+        tableNames.add(info.tableName);
+      }
+    }
     return tableNames;
   }
 
@@ -1071,7 +1161,14 @@ public class DatabaseImpl implements Database, DateTimeContext
 
   @Override
   public TableMetaData getTableMetaData(String name) throws IOException {
-    return getTableInfo(name, true);
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
+        return getTableInfo(name, true);
+      }
+    } finally {
+      _pageChannel.finishRead();
+    }
   }
 
   /**
@@ -1080,24 +1177,31 @@ public class DatabaseImpl implements Database, DateTimeContext
    * @usage _advanced_method_
    */
   public TableImpl getTable(int tableDefPageNumber) throws IOException {
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
 
-    // first, check for existing table
-    TableImpl table = _tableCache.get(tableDefPageNumber);
-    if(table != null) {
-      return table;
-    }
+        // first, check for existing table
+        TableImpl table = _tableCache.get(tableDefPageNumber);
+        if(table != null) {
+          return table;
+        }
 
-    // lookup table info from system catalog
-    Row objectRow = _tableFinder.getObjectRow(
-        tableDefPageNumber, SYSTEM_CATALOG_COLUMNS);
-    if(objectRow == null) {
-      return null;
-    }
+        // lookup table info from system catalog
+        Row objectRow = _tableFinder.getObjectRow(
+            tableDefPageNumber, SYSTEM_CATALOG_COLUMNS);
+        if(objectRow == null) {
+          return null;
+        }
 
-    String name = objectRow.getString(CAT_COL_NAME);
-    int flags = objectRow.getInt(CAT_COL_FLAGS);
+        String name = objectRow.getString(CAT_COL_NAME);
+        int flags = objectRow.getInt(CAT_COL_FLAGS);
 
-    return readTable(name, tableDefPageNumber, flags);
+        return readTable(name, tableDefPageNumber, flags);
+      }
+    } finally {
+      _pageChannel.finishRead();
+    }
   }
 
   /**
@@ -1108,9 +1212,16 @@ public class DatabaseImpl implements Database, DateTimeContext
   protected TableImpl getTable(String name, boolean includeSystemTables)
     throws IOException
   {
-    TableInfo tableInfo = getTableInfo(name, includeSystemTables);
-    return ((tableInfo != null) ?
-            getTable(tableInfo, includeSystemTables) : null);
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
+        TableInfo tableInfo = getTableInfo(name, includeSystemTables);
+        return ((tableInfo != null) ?
+                getTable(tableInfo, includeSystemTables) : null);
+      }
+    } finally {
+      _pageChannel.finishRead();
+    }
   }
 
   private TableInfo getTableInfo(String name, boolean includeSystemTables)
@@ -1135,8 +1246,15 @@ public class DatabaseImpl implements Database, DateTimeContext
       return null;
     }
 
-    return readTable(tableInfo.tableName, tableInfo.pageNumber,
-                     tableInfo.flags);
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
+        return readTable(tableInfo.tableName, tableInfo.pageNumber,
+                         tableInfo.flags);
+      }
+    } finally {
+      _pageChannel.finishRead();
+    }
   }
 
   /**
@@ -1213,7 +1331,7 @@ public class DatabaseImpl implements Database, DateTimeContext
 
     //Add this table to system tables
     addToSystemCatalog(name, tdefPageNumber, type, linkedDbName,
-                       linkedTableName, _tableParentId);
+                       linkedTableName, _tableParentId, 0);
     addToAccessControlEntries(tdefPageNumber, _tableParentId, _newTableSIDs);
   }
 
@@ -1334,7 +1452,7 @@ public class DatabaseImpl implements Database, DateTimeContext
       int relObjId = _tableFinder.getNextFreeSyntheticId();
       _relationships.addRows(rows);
       addToSystemCatalog(name, relObjId, TYPE_RELATIONSHIP, null, null,
-                         _relParentId);
+                         _relParentId, 0);
       addToAccessControlEntries(relObjId, _relParentId, _newRelSIDs);
 
     } finally {
@@ -1410,10 +1528,7 @@ public class DatabaseImpl implements Database, DateTimeContext
   @Override
   public List<Query> getQueries() throws IOException
   {
-    // the queries table does not get loaded until first accessed
-    if(_queries == null) {
-      _queries = getRequiredSystemTable(TABLE_SYSTEM_QUERIES);
-    }
+    TableImpl queriesTable = getSystemQueries();
 
     // find all the queries from the system catalog
     List<Row> queryInfo = new ArrayList<Row>();
@@ -1432,7 +1547,7 @@ public class DatabaseImpl implements Database, DateTimeContext
     }
 
     // find all the query rows
-    for(Row row : CursorImpl.createCursor(_queries)) {
+    for(Row row : CursorImpl.createCursor(queriesTable)) {
       QueryImpl.Row queryRow = new QueryImpl.Row(row);
       List<QueryImpl.Row> queryRows = queryRowMap.get(queryRow.objectId);
       if(queryRows == null) {
@@ -1457,6 +1572,56 @@ public class DatabaseImpl implements Database, DateTimeContext
     return queries;
   }
 
+  private TableImpl getSystemQueries() throws IOException
+  {
+    // the queries table does not get loaded until first accessed
+    if(_queries == null) {
+      _queries = getRequiredSystemTable(TABLE_SYSTEM_QUERIES);
+    }
+    return _queries;
+  }
+
+  /**
+   * Adds a copy of the given query (generally from another database) to this
+   * database.
+   * @return the object id of the new query
+   */
+  int addQuery(QueryImpl query) throws IOException
+  {
+    String name = query.getName();
+    if(lookupTable(name) != null) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Cannot create query with name of existing table '" + name + "'"));
+    }
+
+    TableImpl queries = getSystemQueries();
+
+    getPageChannel().startWrite();
+    try {
+
+      int queryId = _tableFinder.getNextFreeSyntheticId();
+
+      List<Row> queryRows = new ArrayList<Row>();
+      for(QueryImpl.Row queryRow : query.getRows()) {
+        Row row = queryRow.toTableRow();
+        row.put(QueryFormat.COL_OBJECTID, queryId);
+        queryRows.add(row);
+      }
+      for(Row row : queryRows) {
+        queries.addRowFromMap(row);
+      }
+
+      addToSystemCatalog(name, queryId, TYPE_QUERY, null, null,
+                         _tableParentId, query.getObjectFlag());
+      addToAccessControlEntries(queryId, _tableParentId, _newTableSIDs);
+
+      return queryId;
+
+    } finally {
+      getPageChannel().finishWrite();
+    }
+  }
+
   @Override
   public TableImpl getSystemTable(String tableName) throws IOException
   {
@@ -1690,10 +1855,11 @@ public class DatabaseImpl implements Database, DateTimeContext
    * Add a new table to the system catalog
    * @param name Table name
    * @param objectId id of the new object
+   * @param flags flags of the new object
    */
   private void addToSystemCatalog(String name, int objectId, Short type,
                                   String linkedDbName, String linkedTableName,
-                                  Integer parentId)
+                                  Integer parentId, int flags)
     throws IOException
   {
     byte[] owner = getNewObjectOwner();
@@ -1716,7 +1882,7 @@ public class DatabaseImpl implements Database, DateTimeContext
       } else if (CAT_COL_PARENT_ID.equals(col.getName())) {
         catalogRow[idx] = parentId;
       } else if (CAT_COL_FLAGS.equals(col.getName())) {
-        catalogRow[idx] = Integer.valueOf(0);
+        catalogRow[idx] = Integer.valueOf(flags);
       } else if (CAT_COL_OWNER.equals(col.getName())) {
         catalogRow[idx] = owner;
       } else if (CAT_COL_DATABASE.equals(col.getName())) {
@@ -1834,6 +2000,11 @@ public class DatabaseImpl implements Database, DateTimeContext
     return CursorImpl.createCursor(table);
   }
 
+  @Override
+  public void compact(File compactFile) throws IOException {
+    new DatabaseCompactor(this).compact(compactFile);
+  }
+
   @Override
   public void flush() throws IOException {
     if(_linkedDbs != null) {
@@ -1941,11 +2112,17 @@ public class DatabaseImpl implements Database, DateTimeContext
   private void addTable(String tableName, Integer pageNumber, Short type,
                         String linkedDbName, String linkedTableName)
   {
-    _tableLookup.put(toLookupName(tableName),
-                     createTableInfo(tableName, pageNumber, 0, type,
-                                     linkedDbName, linkedTableName));
-    // clear this, will be created next time needed
-    _tableNames = null;
+    synchronized(_tableLock) {
+      if(_tableLookup != null) {
+        // (if the lookup is not loaded yet, the table will be loaded from the
+        // system catalog along with everything else)
+        _tableLookup.put(toLookupName(tableName),
+                         createTableInfo(tableName, pageNumber, 0, type,
+                                         linkedDbName, linkedTableName));
+      }
+      // clear this, will be created next time needed
+      _tableNames = null;
+    }
   }
 
   /**
@@ -1966,21 +2143,38 @@ public class DatabaseImpl implements Database, DateTimeContext
    * @return the tableInfo of the given table, if any
    */
   private TableInfo lookupTable(String tableName) throws IOException {
+    return getTableLookup().get(toLookupName(tableName));
+  }
 
-    String lookupTableName = toLookupName(tableName);
-    TableInfo tableInfo = _tableLookup.get(lookupTableName);
-    if(tableInfo != null) {
-      return tableInfo;
-    }
-
-    tableInfo = _tableFinder.lookupTable(tableName);
-
-    if(tableInfo != null) {
-      // cache for later
-      _tableLookup.put(lookupTableName, tableInfo);
+  /**
+   * @return the map of lookup names to the tableInfo of all the tables in
+   *         this database, reading them from the system catalog if
+   *         necessary.  The map is concurrent, so it may be read and iterated
+   *         without any locks while new tables are being added.
+   */
+  private Map<String,TableInfo> getTableLookup() throws IOException {
+    _pageChannel.startRead();
+    try {
+      synchronized(_tableLock) {
+        if(_tableLookup == null) {
+          // reading the whole catalog range at once is much cheaper than
+          // finding each table individually
+          Map<String,TableInfo> tableLookup =
+            new ConcurrentHashMap<String,TableInfo>();
+          Iterator<TableMetaData> iter = _tableFinder.iterateTableMetaData();
+          while(iter.hasNext()) {
+            TableInfo tableInfo = (TableInfo)iter.next();
+            tableLookup.put(toLookupName(tableInfo.tableName), tableInfo);
+          }
+          _tableLookup = tableLookup;
+        }
+        return _tableLookup;
+      }
+    } catch(RuntimeIOException e) {
+      throw (IOException)e.getCause();
+    } finally {
+      _pageChannel.finishRead();
     }
-
-    return tableInfo;
   }
 
   /**
@@ -2198,7 +2392,7 @@ public class DatabaseImpl implements Database, DateTimeContext
     return file.getFileName().toString();
   }
 
-  private String withErrorContext(String msg) {
+  String withErrorContext(String msg) {
     return withErrorContext(msg, getName());
   }
 
@@ -2373,54 +2567,6 @@ public class DatabaseImpl implements Database, DateTimeContext
       return ((cur != null) ? cur.getCurrentRow(columns) : null);
     }
 
-    public void getTableNames(Set<String> tableNames,
-                              boolean normalTables,
-                              boolean systemTables,
-                              boolean linkedTables)
-      throws IOException
-    {
-      for(Row row : getTableNamesCursor().newIterable().setColumnNames(
-              SYSTEM_CATALOG_COLUMNS)) {
-
-        String tableName = row.getString(CAT_COL_NAME);
-        int flags = row.getInt(CAT_COL_FLAGS);
-        Short type = row.getShort(CAT_COL_TYPE);
-        int parentId = row.getInt(CAT_COL_PARENT_ID);
-
-        if(parentId != _tableParentId) {
-          continue;
-        }
-
-        if(TYPE_TABLE.equals(type)) {
-          if(!isSystemObject(flags)) {
-            if(normalTables) {
-              tableNames.add(tableName);
-            }
-          } else if(systemTables) {
-            tableNames.add(tableName);
-          }
-        } else if(TYPE_LINKED_TABLE.equals(type) && linkedTables) {
-          tableNames.add(tableName);
-        }
-      }
-    }
-
-    public boolean isLinkedTable(Table table) throws IOException
-    {
-      for(Row row : getTableNamesCursor().newIterable().setColumnNames(
-              SYSTEM_CATALOG_TABLE_DETAIL_COLUMNS)) {
-        Short type = row.getShort(CAT_COL_TYPE);
-        String linkedDbName = row.getString(CAT_COL_DATABASE);
-        String linkedTableName = row.getString(CAT_COL_FOREIGN_NAME);
-
-        if(TYPE_LINKED_TABLE.equals(type) &&
-           matchesLinkedTable(table, linkedTableName, linkedDbName)) {
-          return true;
-        }
-      }
-      return false;
-    }
-
     public int getNextFreeSyntheticId() throws IOException {
       int maxSynthId = findMaxSyntheticId();
       if(maxSynthId >= -1) {
@@ -2495,9 +2641,6 @@ public class DatabaseImpl implements Database, DateTimeContext
 
     protected abstract Cursor getTableNamesCursor() throws IOException;
 
-    public abstract TableInfo lookupTable(String tableName)
-      throws IOException;
-
     protected abstract int findMaxSyntheticId() throws IOException;
   }
 
@@ -2537,31 +2680,6 @@ public class DatabaseImpl implements Database, DateTimeContext
               _systemCatalogIdCursor : null);
     }
 
-    @Override
-    public TableInfo lookupTable(String tableName) throws IOException {
-
-      if(findRow(_tableParentId, tableName) == null) {
-        return null;
-      }
-
-      Row row = _systemCatalogCursor.getCurrentRow(
-          SYSTEM_CATALOG_TABLE_DETAIL_COLUMNS);
-      Integer pageNumber = row.getInt(CAT_COL_ID);
-      String realName = row.getString(CAT_COL_NAME);
-      int flags = row.getInt(CAT_COL_FLAGS);
-      Short type = row.getShort(CAT_COL_TYPE);
-
-      if(!isTableType(type)) {
-        return null;
-      }
-
-      String linkedDbName = row.getString(CAT_COL_DATABASE);
-      String linkedTableName = row.getString(CAT_COL_FOREIGN_NAME);
-
-      return createTableInfo(realName, pageNumber, flags, type, linkedDbName,
-                             linkedTableName);
-    }
-
     @Override
     protected Cursor getTableNamesCursor() throws IOException {
       return _systemCatalogCursor.getIndex().newCursor()
@@ -2616,39 +2734,6 @@ public class DatabaseImpl implements Database, DateTimeContext
               _systemCatalogCursor : null);
     }
 
-    @Override
-    public TableInfo lookupTable(String tableName) throws IOException {
-
-      for(Row row : _systemCatalogCursor.newIterable().setColumnNames(
-              SYSTEM_CATALOG_TABLE_DETAIL_COLUMNS)) {
-
-        Short type = row.getShort(CAT_COL_TYPE);
-        if(!isTableType(type)) {
-          continue;
-        }
-
-        int parentId = row.getInt(CAT_COL_PARENT_ID);
-        if(parentId != _tableParentId) {
-          continue;
-        }
-
-        String realName = row.getString(CAT_COL_NAME);
-        if(!tableName.equalsIgnoreCase(realName)) {
-          continue;
-        }
-
-        Integer pageNumber = row.getInt(CAT_COL_ID);
-        int flags = row.getInt(CAT_COL_FLAGS);
-        String linkedDbName = row.getString(CAT_COL_DATABASE);
-        String linkedTableName = row.getString(CAT_COL_FOREIGN_NAME);
-
-        return createTableInfo(realName, pageNumber, flags, type, linkedDbName,
-                               linkedTableName);
-      }
-
-      return null;
-    }
-
     @Override
     protected Cursor getTableNamesCursor() throws IOException {
       return _systemCatalogCursor;
@@ -0,0 +1,284 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of the data pages of a table which have space for new
+ * rows, used to place new rows in the best fitting existing page (instead of
+ * only ever appending to the last page of the table).  The index is loaded
+ * from the "free space" usage map of the table (and the headers of the
+ * relevant pages) when first needed and is kept up to date as the data pages
+ * of the table are written.  Pages are bucketed by the amount of available
+ * space, where the available space of a page includes the space used by
+ * the data of deleted rows, which can be reclaimed by compacting the page
+ * (see {@link #compactDataPage}).  Once a page has no room for another row
+ * slot, the row slots of deleted rows are re-used by new rows (see {@link
+ * #findReusableRow}), so the RowId of a deleted row may later refer to a
+ * different row.
+ *
+ * @author James Ahlborn
+ */
+class FreeSpaceIndex
+{
+  /** offset of the owning table definition page number in a data page */
+  private static final int OFFSET_DATA_PAGE_TDEF = 4;
+  /** pages are bucketed by available space in increments of this many
+      bytes.  pages with less available space than this are not tracked */
+  private static final int BUCKET_SIZE = 64;
+
+  private final TableImpl _table;
+  /** the "free space" usage map of the table */
+  private final UsageMap _freeSpacePages;
+  /** maps page number to the available space on the page, {@code null}
+      until loaded */
+  private Map<Integer,Integer> _pageSpace;
+  /** page numbers bucketed by available space */
+  private List<TreeSet<Integer>> _buckets;
+
+  FreeSpaceIndex(TableImpl table, UsageMap freeSpacePages) {
+    _table = table;
+    _freeSpacePages = freeSpacePages;
+  }
+
+  /**
+   * Returns the number of the page with the least available space which is
+   * still enough to hold a row of the given size, or {@link
+   * PageChannel#INVALID_PAGE_NUMBER} if none is known.  Note, the available
+   * space may only be usable after compacting the page.
+   *
+   * @param rowSize the size of the new row
+   * @param excludePageNumber a page which should not be returned
+   */
+  public int findPage(int rowSize, int excludePageNumber) throws IOException
+  {
+    load();
+
+    int rowSpaceUsage = TableImpl.getRowSpaceUsage(rowSize,
+                                                   _table.getFormat());
+    int firstBucket = rowSpaceUsage / BUCKET_SIZE;
+    for(int i = firstBucket; i < _buckets.size(); ++i) {
+      for(Integer pageNumber : _buckets.get(i)) {
+        // pages in the first bucket may not have quite enough space
+        if((pageNumber != excludePageNumber) &&
+           ((i > firstBucket) ||
+            (_pageSpace.get(pageNumber) >= rowSpaceUsage))) {
+          return pageNumber;
+        }
+      }
+    }
+
+    return PageChannel.INVALID_PAGE_NUMBER;
+  }
+
+  /**
+   * Updates the available space for the given data page (if this index has
+   * been loaded).
+   */
+  public void update(int pageNumber, ByteBuffer dataPage) {
+    if(_pageSpace != null) {
+      setAvailableSpace(pageNumber, getAvailableSpace(dataPage,
+                                                      _table.getFormat()));
+    }
+  }
+
+  /**
+   * Removes the given page from this index.
+   */
+  public void remove(int pageNumber) {
+    if(_pageSpace != null) {
+      setAvailableSpace(pageNumber, 0);
+    }
+  }
+
+  /**
+   * Returns {@code true} if the given page has enough available space to be
+   * worth tracking, {@code false} otherwise.
+   */
+  public boolean hasUsableSpace(ByteBuffer dataPage) {
+    return (getAvailableSpace(dataPage, _table.getFormat()) >= BUCKET_SIZE);
+  }
+
+  private void load() throws IOException
+  {
+    if(_pageSpace != null) {
+      return;
+    }
+
+    _pageSpace = new HashMap<Integer,Integer>();
+    int numBuckets = (_table.getFormat().PAGE_SIZE / BUCKET_SIZE) + 1;
+    _buckets = new ArrayList<TreeSet<Integer>>(numBuckets);
+    for(int i = 0; i < numBuckets; ++i) {
+      _buckets.add(new TreeSet<Integer>());
+    }
+
+    PageChannel pageChannel = _table.getPageChannel();
+    ByteBuffer buffer = pageChannel.createPageBuffer();
+    UsageMap.PageCursor pageCursor = _freeSpacePages.cursor();
+    int pageNumber = 0;
+    while((pageNumber = pageCursor.getNextPage()) !=
+          RowIdImpl.LAST_PAGE_NUMBER) {
+      pageChannel.readPage(buffer, pageNumber);
+      if(isTableDataPage(buffer, _table.getTableDefPageNumber())) {
+        update(pageNumber, buffer);
+      }
+    }
+  }
+
+  private void setAvailableSpace(int pageNumber, int space)
+  {
+    Integer oldSpace = _pageSpace.remove(pageNumber);
+    if(oldSpace != null) {
+      _buckets.get(oldSpace / BUCKET_SIZE).remove(pageNumber);
+    }
+    if(space >= BUCKET_SIZE) {
+      _pageSpace.put(pageNumber, space);
+      _buckets.get(space / BUCKET_SIZE).add(pageNumber);
+    }
+  }
+
+  /**
+   * Returns {@code true} if the given page is a data page of the table with
+   * the given table definition page number, {@code false} otherwise.
+   */
+  static boolean isTableDataPage(ByteBuffer dataPage, int tdefPageNumber) {
+    return ((dataPage.get(0) == PageTypes.DATA) &&
+            (dataPage.getInt(OFFSET_DATA_PAGE_TDEF) == tdefPageNumber));
+  }
+
+  /**
+   * Returns {@code true} if the given row (start offset) is a deleted row
+   * whose space can be reclaimed, {@code false} otherwise.  Note, overflow
+   * row data is flagged as "deleted" (so that it is ignored during normal
+   * table traversal), so only rows flagged as both "deleted" and "overflow"
+   * can be reclaimed.
+   */
+  static boolean isReclaimableRow(short rowStart) {
+    return (TableImpl.isDeletedRow(rowStart) &&
+            TableImpl.isOverflowRow(rowStart));
+  }
+
+  /**
+   * Returns the space available for new rows on the given data page,
+   * including the space which can be reclaimed by compacting the page.  A
+   * page whose row slots are all in use by rows which cannot be reclaimed
+   * has no available space.
+   */
+  static int getAvailableSpace(ByteBuffer dataPage, JetFormat format)
+  {
+    int rowsOnPage = dataPage.getShort(format.OFFSET_NUM_ROWS_ON_DATA_PAGE);
+    int space = dataPage.getShort(format.OFFSET_FREE_SPACE);
+    boolean hasFreeRow = (rowsOnPage < format.MAX_NUM_ROWS_ON_DATA_PAGE);
+    for(int i = 0; i < rowsOnPage; ++i) {
+      short rowStart = dataPage.getShort(
+          TableImpl.getRowStartOffset(i, format));
+      if(isReclaimableRow(rowStart)) {
+        space += TableImpl.findRowEnd(dataPage, i, format) -
+          TableImpl.cleanRowStart(rowStart);
+        hasFreeRow = true;
+      }
+    }
+    return (hasFreeRow ? space : 0);
+  }
+
+  /**
+   * Returns the number of the first reclaimable row on the given data page
+   * whose slot can hold a new row of the given size (taking the space used
+   * by the reclaimable row into account), or -1 if there is none.
+   */
+  static int findReusableRow(ByteBuffer dataPage, int rowSize,
+                             JetFormat format)
+  {
+    int rowsOnPage = dataPage.getShort(format.OFFSET_NUM_ROWS_ON_DATA_PAGE);
+    int freeSpace = dataPage.getShort(format.OFFSET_FREE_SPACE);
+    for(int i = 0; i < rowsOnPage; ++i) {
+      short rowStart = dataPage.getShort(
+          TableImpl.getRowStartOffset(i, format));
+      if(isReclaimableRow(rowStart) &&
+         ((rowSize - (TableImpl.findRowEnd(dataPage, i, format) -
+                      TableImpl.cleanRowStart(rowStart))) <= freeSpace)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compacts the given data page, reclaiming the space used by the data of
+   * deleted rows.  The data of the remaining rows is moved to the end of the
+   * page.  All the row slots are kept (the slots of the deleted rows are
+   * left with no data, ready to be re-used by new rows), so the row numbers
+   * of the remaining rows are unchanged.
+   *
+   * @return {@code true} if the page was modified, {@code false} otherwise
+   */
+  static boolean compactDataPage(ByteBuffer dataPage, JetFormat format)
+  {
+    int rowsOnPage = dataPage.getShort(format.OFFSET_NUM_ROWS_ON_DATA_PAGE);
+
+    boolean modified = false;
+    int rowEnd = format.PAGE_SIZE;
+    int newRowEnd = format.PAGE_SIZE;
+    for(int i = 0; i < rowsOnPage; ++i) {
+      int rowStartOffset = TableImpl.getRowStartOffset(i, format);
+      short rowStart = dataPage.getShort(rowStartOffset);
+      int start = TableImpl.cleanRowStart(rowStart);
+      int flags = (rowStart & ~TableImpl.cleanRowStart((short)-1));
+
+      // the row data is only ever moved "up" the page (to higher offsets)
+      int rowSize = (isReclaimableRow(rowStart) ? 0 : (rowEnd - start));
+      int newStart = newRowEnd - rowSize;
+      if(newStart != start) {
+        if(rowSize > 0) {
+          byte[] rowData = new byte[rowSize];
+          dataPage.position(start);
+          dataPage.get(rowData);
+          dataPage.position(newStart);
+          dataPage.put(rowData);
+        }
+        dataPage.putShort(rowStartOffset, (short)(newStart | flags));
+        modified = true;
+      }
+
+      rowEnd = start;
+      newRowEnd = newStart;
+    }
+
+    if(!modified) {
+      return false;
+    }
+
+    // clear out the reclaimed space
+    int rowListEnd = TableImpl.getRowStartOffset(rowsOnPage, format);
+    ByteUtil.clearRange(dataPage, rowListEnd, newRowEnd);
+
+    int dataSize = format.PAGE_SIZE - newRowEnd;
+    dataPage.putShort(format.OFFSET_FREE_SPACE,
+                      (short)(format.DATA_PAGE_INITIAL_FREE_SPACE -
+                              (rowsOnPage * format.SIZE_ROW_LOCATION) -
+                              dataSize));
+    dataPage.rewind();
+    return true;
+  }
+}
@@ -16,9 +16,7 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 import static com.healthmarketscience.jackcess.impl.ByteUtil.ByteStream;
 
@@ -49,6 +47,9 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes
         handlers */
     private static final CharHandler[] _values = loadCodes(
         CODES_FILE, FIRST_CHAR, LAST_CHAR);
+    /** inline codes for the simple ascii chars */
+    private static final byte[][] _simpleAsciiCodes =
+      getSimpleAsciiCodes(_values);
   }
 
   private static final class ExtMappings
@@ -90,6 +91,12 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes
     return Codes._values[ExtMappings._values[extOffset]];
   }
 
+  @Override
+  byte[][] getSimpleAsciiCodes()
+  {
+    return Codes._simpleAsciiCodes;
+  }
+
   /**
    * Converts a 97 index value for a text column into the entry value (which
    * is based on a variety of nifty codes).
@@ -99,14 +106,11 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes
       Object value, ByteStream bout, boolean isAscending)
     throws IOException
   {
-    // first, convert to string
-    String str = ColumnImpl.toCharSequence(value).toString();
+    CharSequence str = ColumnImpl.toCharSequence(value);
 
     // all text columns (including memos) are only indexed up to the max
     // number of chars in a VARCHAR column
-    if(str.length() > MAX_TEXT_INDEX_CHAR_LENGTH) {
-      str = str.substring(0, MAX_TEXT_INDEX_CHAR_LENGTH);
-    }
+    int strLen = Math.min(str.length(), MAX_TEXT_INDEX_CHAR_LENGTH);
 
     // record previous entry length so we can do any post-processing
     // necessary for this entry (handling descending)
@@ -114,39 +118,42 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes
 
     // now, convert each character to a "code" of one or more bytes
     NibbleStream extraCodes = null;
-    int sigCharCount = 0;
-    for(int i = 0; i < str.length(); ++i) {
+    if(!writeSimpleAsciiCodes(str, strLen, bout)) {
 
-      char c = str.charAt(i);
-      CharHandler ch = getCharHandler(c);
+      int sigCharCount = 0;
+      for(int i = 0; i < strLen; ++i) {
 
-      byte[] bytes = ch.getInlineBytes();
-      if(bytes != null) {
-        // write the "inline" codes immediately
-        bout.write(bytes);
-      }
+        char c = str.charAt(i);
+        CharHandler ch = getCharHandler(c);
 
-      if(ch.getType() == Type.SIMPLE) {
-        // common case, skip further code handling
-        continue;
-      }
+        byte[] bytes = ch.getInlineBytes();
+        if(bytes != null) {
+          // write the "inline" codes immediately
+          bout.write(bytes);
+        }
 
-      if(ch.isSignificantChar()) {
-        ++sigCharCount;
-        // significant chars never have extra bytes
-        continue;
-      }
+        if(ch.getType() == Type.SIMPLE) {
+          // common case, skip further code handling
+          continue;
+        }
 
-      bytes = ch.getExtraBytes();
-      if(bytes != null) {
-        if(extraCodes == null) {
-          extraCodes = new NibbleStream(str.length());
-          extraCodes.writeNibble(EXT_CODES_BOUNDS_NIBBLE);
+        if(ch.isSignificantChar()) {
+          ++sigCharCount;
+          // significant chars never have extra bytes
+          continue;
         }
 
-        // keep track of the extra code for later
-        writeExtraCodes(sigCharCount, bytes, extraCodes);
-        sigCharCount = 0;
+        bytes = ch.getExtraBytes();
+        if(bytes != null) {
+          if(extraCodes == null) {
+            extraCodes = new NibbleStream(strLen);
+            extraCodes.writeNibble(EXT_CODES_BOUNDS_NIBBLE);
+          }
+
+          // keep track of the extra code for later
+          writeExtraCodes(sigCharCount, bytes, extraCodes);
+          sigCharCount = 0;
+        }
       }
     }
 
@@ -190,33 +197,20 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes
     int numMappings = (asUnsignedChar(lastChar) - firstCharCode) + 1;
     short[] values = new short[numMappings];
 
-    BufferedReader reader = null;
-    try {
-
-      reader = new BufferedReader(
-          new InputStreamReader(
-              DatabaseImpl.getResourceAsStream(mappingsFilePath), "US-ASCII"));
+    CodesReader reader = new CodesReader(mappingsFilePath);
 
-      // this is a sparse file with entries like <fromCode>,<toCode>
-      String mappingLine = null;
-      while((mappingLine = reader.readLine()) != null) {
-        mappingLine = mappingLine.trim();
-        if(mappingLine.length() == 0) {
-          continue;
-        }
-
-        String[] mappings = mappingLine.split(",");
-        int fromCode = Integer.parseInt(mappings[0]);
-        int toCode = Integer.parseInt(mappings[1]);
-
-        values[fromCode - firstCharCode] = (short)toCode;
+    // this is a sparse file with entries like <fromCode>,<toCode>
+    while(reader.nextLine()) {
+      if(reader.isEmptyLine()) {
+        continue;
       }
 
-    } catch(IOException e) {
-      throw new RuntimeException("failed loading index mappings file " +
-                                 mappingsFilePath, e);
-    } finally {
-      ByteUtil.closeQuietly(reader);
+      reader.splitCodes();
+      reader.requireNumCodes(2);
+      int fromCode = reader.getInt(0);
+      int toCode = reader.getInt(1);
+
+      values[fromCode - firstCharCode] = (short)toCode;
     }
 
     return values;
@@ -38,6 +38,9 @@ public class GeneralIndexCodes extends GeneralLegacyIndexCodes {
         handlers */
     private static final CharHandler[] _values = loadCodes(
         CODES_FILE, FIRST_CHAR, LAST_CHAR);
+    /** inline codes for the simple ascii chars */
+    private static final byte[][] _simpleAsciiCodes =
+      getSimpleAsciiCodes(_values);
   }
   
   private static final class ExtCodes
@@ -67,4 +70,10 @@ public class GeneralIndexCodes extends GeneralLegacyIndexCodes {
     return ExtCodes._values[extOffset];
   }
 
+  @Override
+  byte[][] getSimpleAsciiCodes()
+  {
+    return Codes._simpleAsciiCodes;
+  }
+
 }
@@ -16,12 +16,9 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import static com.healthmarketscience.jackcess.impl.ByteUtil.ByteStream;
 
@@ -74,37 +71,37 @@ public class GeneralLegacyIndexCodes {
    */
   enum Type {
     SIMPLE("S") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseSimpleCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseSimpleCodes(codes);
       }
     },
     INTERNATIONAL("I") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseInternationalCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseInternationalCodes(codes);
       }
     },
     UNPRINTABLE("U") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseUnprintableCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseUnprintableCodes(codes);
       }
     },
     UNPRINTABLE_EXT("P") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseUnprintableExtCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseUnprintableExtCodes(codes);
       }
     },
     INTERNATIONAL_EXT("Z") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseInternationalExtCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseInternationalExtCodes(codes);
       }
     },
     SIGNIFICANT("G") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
-        return parseSignificantCodes(codeStrings);
+      @Override public CharHandler parseCodes(CodesReader codes) {
+        return parseSignificantCodes(codes);
       }
     },
     IGNORED("X") {
-      @Override public CharHandler parseCodes(String[] codeStrings) {
+      @Override public CharHandler parseCodes(CodesReader codes) {
         return IGNORED_CHAR_HANDLER;
       }
     };
@@ -119,7 +116,7 @@ public class GeneralLegacyIndexCodes {
       return _prefixCode;
     }
 
-    public abstract CharHandler parseCodes(String[] codeStrings);
+    public abstract CharHandler parseCodes(CodesReader codes);
   }
 
   /**
@@ -286,6 +283,10 @@ public class GeneralLegacyIndexCodes {
   static final char LAST_CHAR = (char)0x00FF;
   static final char FIRST_EXT_CHAR = LAST_CHAR + 1;
   static final char LAST_EXT_CHAR = (char)0xFFFF;
+  static final char LAST_ASCII_CHAR = (char)0x007F;
+
+  /** initial buffer size for reading codes files */
+  private static final int CODES_FILE_BUFFER_SIZE = 8 * 1024;
 
   private static final class Codes
   {
@@ -293,6 +294,9 @@ public class GeneralLegacyIndexCodes {
         handlers */
     private static final CharHandler[] _values = loadCodes(
         CODES_FILE, FIRST_CHAR, LAST_CHAR);
+    /** inline codes for the simple ascii chars */
+    private static final byte[][] _simpleAsciiCodes =
+      getSimpleAsciiCodes(_values);
   }
 
   private static final class ExtCodes
@@ -322,6 +326,15 @@ public class GeneralLegacyIndexCodes {
     return ExtCodes._values[extOffset];
   }
 
+  /**
+   * Returns the inline codes for the ascii chars which are "simple" chars,
+   * indexed by char ({@code null} for all other chars).
+   */
+  byte[][] getSimpleAsciiCodes()
+  {
+    return Codes._simpleAsciiCodes;
+  }
+
   /**
    * Loads the CharHandlers for the given range of characters from the
    * resource file with the given name.
@@ -332,108 +345,90 @@ public class GeneralLegacyIndexCodes {
     int numCodes = (asUnsignedChar(lastChar) - asUnsignedChar(firstChar)) + 1;
     CharHandler[] values = new CharHandler[numCodes];
 
-    Map<String,Type> prefixMap = new HashMap<String,Type>();
+    Type[] prefixTypes = new Type[LAST_ASCII_CHAR + 1];
     for(Type type : Type.values()) {
-      prefixMap.put(type.getPrefixCode(), type);
-    }
-
-    BufferedReader reader = null;
-    try {
-
-      reader = new BufferedReader(
-          new InputStreamReader(
-              DatabaseImpl.getResourceAsStream(codesFilePath), "US-ASCII"));
-
-      int start = asUnsignedChar(firstChar);
-      int end = asUnsignedChar(lastChar);
-      for(int i = start; i <= end; ++i) {
-        char c = (char)i;
-        CharHandler ch = null;
-        if(Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
-          // surrogate chars are not included in the codes files
-          ch = SURROGATE_CHAR_HANDLER;
-        } else {
-          String codeLine = reader.readLine();
-          ch = parseCodes(prefixMap, codeLine);
+      prefixTypes[type.getPrefixCode().charAt(0)] = type;
+    }
+
+    CodesReader reader = new CodesReader(codesFilePath);
+
+    int start = asUnsignedChar(firstChar);
+    int end = asUnsignedChar(lastChar);
+    for(int i = start; i <= end; ++i) {
+      char c = (char)i;
+      CharHandler ch = null;
+      if(Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+        // surrogate chars are not included in the codes files
+        ch = SURROGATE_CHAR_HANDLER;
+      } else {
+        if(!reader.nextLine()) {
+          throw new IllegalStateException(
+              "Unexpected end of index codes file " + codesFilePath);
         }
-        values[(i - start)] = ch;
+        ch = reader.getPrefixType(prefixTypes).parseCodes(reader);
       }
-
-    } catch(IOException e) {
-      throw new RuntimeException("failed loading index codes file " +
-                                 codesFilePath, e);
-    } finally {
-      ByteUtil.closeQuietly(reader);
+      values[(i - start)] = ch;
     }
 
     return values;
   }
 
   /**
-   * Returns a CharHandler parsed from the given line from an index codes
-   * file.
+   * Returns the inline codes for the ascii chars in the given CharHandlers
+   * which are "simple" chars, indexed by char ({@code null} for all other
+   * chars).
    */
-  private static CharHandler parseCodes(Map<String,Type> prefixMap,
-                                        String codeLine)
+  static byte[][] getSimpleAsciiCodes(CharHandler[] values)
   {
-    String prefix = codeLine.substring(0, 1);
-    String suffix = ((codeLine.length() > 1) ? codeLine.substring(1) : "");
-    return prefixMap.get(prefix).parseCodes(suffix.split(",", -1));
+    byte[][] codes = new byte[LAST_ASCII_CHAR + 1][];
+    for(int i = 0; i < codes.length; ++i) {
+      if(values[i].getType() == Type.SIMPLE) {
+        codes[i] = values[i].getInlineBytes();
+      }
+    }
+    return codes;
   }
 
   /**
    * Returns a SimpleCharHandler parsed from the given index code strings.
    */
-  private static CharHandler parseSimpleCodes(String[] codeStrings)
+  private static CharHandler parseSimpleCodes(CodesReader codes)
   {
-    if(codeStrings.length != 1) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
-    return new SimpleCharHandler(codesToBytes(codeStrings[0], true));
+    codes.requireNumCodes(1);
+    return new SimpleCharHandler(codes.getCodes(0, true));
   }
 
   /**
    * Returns an InternationalCharHandler parsed from the given index code
    * strings.
    */
-  private static CharHandler parseInternationalCodes(String[] codeStrings)
+  private static CharHandler parseInternationalCodes(CodesReader codes)
   {
-    if(codeStrings.length != 2) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
-    return new InternationalCharHandler(codesToBytes(codeStrings[0], true),
-                                        codesToBytes(codeStrings[1], true));
+    codes.requireNumCodes(2);
+    return new InternationalCharHandler(codes.getCodes(0, true),
+                                        codes.getCodes(1, true));
   }
 
   /**
    * Returns a UnprintableCharHandler parsed from the given index code
    * strings.
    */
-  private static CharHandler parseUnprintableCodes(String[] codeStrings)
+  private static CharHandler parseUnprintableCodes(CodesReader codes)
   {
-    if(codeStrings.length != 1) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
-    return new UnprintableCharHandler(codesToBytes(codeStrings[0], true));
+    codes.requireNumCodes(1);
+    return new UnprintableCharHandler(codes.getCodes(0, true));
   }
 
   /**
    * Returns a UnprintableExtCharHandler parsed from the given index code
    * strings.
    */
-  private static CharHandler parseUnprintableExtCodes(String[] codeStrings)
+  private static CharHandler parseUnprintableExtCodes(CodesReader codes)
   {
-    if(codeStrings.length != 1) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
-    byte[] bytes = codesToBytes(codeStrings[0], true);
+    codes.requireNumCodes(1);
+    byte[] bytes = codes.getCodes(0, true);
     if(bytes.length != 1) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
+      throw codes.unexpectedCodes();
     }
     return new UnprintableExtCharHandler(bytes[0]);
   }
@@ -442,55 +437,23 @@ public class GeneralLegacyIndexCodes {
    * Returns a InternationalExtCharHandler parsed from the given index code
    * strings.
    */
-  private static CharHandler parseInternationalExtCodes(String[] codeStrings)
+  private static CharHandler parseInternationalExtCodes(CodesReader codes)
   {
-    if(codeStrings.length != 3) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
+    codes.requireNumCodes(3);
 
-    byte crazyFlag = ("1".equals(codeStrings[2]) ?
-                      CRAZY_CODE_1 : CRAZY_CODE_2);
-    return new InternationalExtCharHandler(codesToBytes(codeStrings[0], true),
-                                           codesToBytes(codeStrings[1], false),
+    byte crazyFlag = (codes.isCode(2, '1') ? CRAZY_CODE_1 : CRAZY_CODE_2);
+    return new InternationalExtCharHandler(codes.getCodes(0, true),
+                                           codes.getCodes(1, false),
                                            crazyFlag);
   }
 
   /**
    * Returns a SignificantCharHandler parsed from the given index code strings.
    */
-  private static CharHandler parseSignificantCodes(String[] codeStrings)
+  private static CharHandler parseSignificantCodes(CodesReader codes)
   {
-    if(codeStrings.length != 1) {
-      throw new IllegalStateException("Unexpected code strings " +
-                                      Arrays.asList(codeStrings));
-    }
-    return new SignificantCharHandler(codesToBytes(codeStrings[0], true));
-  }
-
-  /**
-   * Converts a string of hex encoded bytes to a byte[], optionally throwing
-   * an exception if no codes are given.
-   */
-  private static byte[] codesToBytes(String codes, boolean required)
-  {
-    if(codes.length() == 0) {
-      if(required) {
-        throw new IllegalStateException("empty code bytes");
-      }
-      return null;
-    }
-    if((codes.length() % 2) != 0) {
-      // stripped a leading 0
-      codes = "0" + codes;
-    }
-    byte[] bytes = new byte[codes.length() / 2];
-    for(int i = 0; i < bytes.length; ++i) {
-      int charIdx = i*2;
-      bytes[i] = (byte)(Integer.parseInt(codes.substring(charIdx, charIdx + 2),
-                                         16));
-    }
-    return bytes;
+    codes.requireNumCodes(1);
+    return new SignificantCharHandler(codes.getCodes(0, true));
   }
 
   /**
@@ -511,14 +474,11 @@ public class GeneralLegacyIndexCodes {
       Object value, ByteStream bout, boolean isAscending)
     throws IOException
   {
-    // first, convert to string
-    String str = ColumnImpl.toCharSequence(value).toString();
+    CharSequence str = ColumnImpl.toCharSequence(value);
 
     // all text columns (including memos) are only indexed up to the max
     // number of chars in a VARCHAR column
-    if(str.length() > MAX_TEXT_INDEX_CHAR_LENGTH) {
-      str = str.substring(0, MAX_TEXT_INDEX_CHAR_LENGTH);
-    }
+    int strLen = Math.min(str.length(), MAX_TEXT_INDEX_CHAR_LENGTH);
 
     // record previous entry length so we can do any post-processing
     // necessary for this entry (handling descending)
@@ -528,57 +488,61 @@ public class GeneralLegacyIndexCodes {
     ExtraCodesStream extraCodes = null;
     ByteStream unprintableCodes = null;
     ByteStream crazyCodes = null;
-    int charOffset = 0;
-    for(int i = 0; i < str.length(); ++i) {
+    if(!writeSimpleAsciiCodes(str, strLen, bout)) {
 
-      char c = str.charAt(i);
-      CharHandler ch = getCharHandler(c);
+      int charOffset = 0;
+      for(int i = 0; i < strLen; ++i) {
 
-      int curCharOffset = charOffset;
-      byte[] bytes = ch.getInlineBytes();
-      if(bytes != null) {
-        // write the "inline" codes immediately
-        bout.write(bytes);
+        char c = str.charAt(i);
+        CharHandler ch = getCharHandler(c);
 
-        // only increment the charOffset for chars with inline codes
-        ++charOffset;
-      }
+        int curCharOffset = charOffset;
+        byte[] bytes = ch.getInlineBytes();
+        if(bytes != null) {
+          // write the "inline" codes immediately
+          bout.write(bytes);
 
-      if(ch.getType() == Type.SIMPLE) {
-        // common case, skip further code handling
-        continue;
-      }
+          // only increment the charOffset for chars with inline codes
+          ++charOffset;
+        }
 
-      bytes = ch.getExtraBytes();
-      byte extraCodeModifier = ch.getExtraByteModifier();
-      if((bytes != null) || (extraCodeModifier != 0)) {
-        if(extraCodes == null) {
-          extraCodes = new ExtraCodesStream(str.length());
+        if(ch.getType() == Type.SIMPLE) {
+          // common case, skip further code handling
+          continue;
         }
 
-        // keep track of the extra codes for later
-        writeExtraCodes(curCharOffset, bytes, extraCodeModifier, extraCodes);
-      }
+        bytes = ch.getExtraBytes();
+        byte extraCodeModifier = ch.getExtraByteModifier();
+        if((bytes != null) || (extraCodeModifier != 0)) {
+          if(extraCodes == null) {
+            extraCodes = new ExtraCodesStream(strLen);
+          }
 
-      bytes = ch.getUnprintableBytes();
-      if(bytes != null) {
-        if(unprintableCodes == null) {
-          unprintableCodes = new ByteStream();
+          // keep track of the extra codes for later
+          writeExtraCodes(curCharOffset, bytes, extraCodeModifier,
+                          extraCodes);
         }
 
-        // keep track of the unprintable codes for later
-        writeUnprintableCodes(curCharOffset, bytes, unprintableCodes,
-                              extraCodes);
-      }
+        bytes = ch.getUnprintableBytes();
+        if(bytes != null) {
+          if(unprintableCodes == null) {
+            unprintableCodes = new ByteStream();
+          }
 
-      byte crazyFlag = ch.getCrazyFlag();
-      if(crazyFlag != 0) {
-        if(crazyCodes == null) {
-          crazyCodes = new ByteStream();
+          // keep track of the unprintable codes for later
+          writeUnprintableCodes(curCharOffset, bytes, unprintableCodes,
+                                extraCodes);
         }
 
-        // keep track of the crazy flags for later
-        crazyCodes.write(crazyFlag);
+        byte crazyFlag = ch.getCrazyFlag();
+        if(crazyFlag != 0) {
+          if(crazyCodes == null) {
+            crazyCodes = new ByteStream();
+          }
+
+          // keep track of the crazy flags for later
+          crazyCodes.write(crazyFlag);
+        }
       }
     }
 
@@ -641,6 +605,43 @@ public class GeneralLegacyIndexCodes {
     bout.write(END_EXTRA_TEXT);
   }
 
+  /**
+   * Writes the inline codes for the given chars directly to the given stream
+   * if all the chars are "simple" ascii chars (the common case), which do not
+   * require any further code handling.
+   *
+   * @return {@code true} if the codes were written, {@code false} (and
+   *         nothing was written) otherwise
+   */
+  boolean writeSimpleAsciiCodes(CharSequence str, int strLen, ByteStream bout)
+  {
+    byte[][] asciiCodes = getSimpleAsciiCodes();
+
+    int codesLen = 0;
+    for(int i = 0; i < strLen; ++i) {
+      char c = str.charAt(i);
+      if((c > LAST_ASCII_CHAR) || (asciiCodes[c] == null)) {
+        return false;
+      }
+      codesLen += asciiCodes[c].length;
+    }
+
+    int offset = bout.getLength();
+    bout.skip(codesLen);
+    byte[] buf = bout.getBytes();
+    for(int i = 0; i < strLen; ++i) {
+      byte[] bytes = asciiCodes[str.charAt(i)];
+      if(bytes.length == 1) {
+        buf[offset++] = bytes[0];
+      } else {
+        System.arraycopy(bytes, 0, buf, offset, bytes.length);
+        offset += bytes.length;
+      }
+    }
+
+    return true;
+  }
+
   /**
    * Encodes the given extra code info in the given stream.
    */
@@ -780,6 +781,193 @@ public class GeneralLegacyIndexCodes {
     bout.write(CRAZY_CODES_SUFFIX);
   }
 
+  /**
+   * Utility for parsing the lines of an index codes resource file.  The
+   * entire file is read with a single bulk read and the lines are parsed
+   * directly from the file bytes.  Each line is a list of comma separated
+   * codes (optionally preceded by a single char prefix).
+   */
+  static final class CodesReader
+  {
+    private static final int MAX_NUM_CODES = 3;
+
+    private final String _codesFilePath;
+    private final byte[] _bytes;
+    private final int _length;
+    private int _pos;
+    private int _lineStart;
+    private int _lineEnd;
+    private int _numCodes;
+    private final int[] _codeStarts = new int[MAX_NUM_CODES];
+    private final int[] _codeEnds = new int[MAX_NUM_CODES];
+
+    CodesReader(String codesFilePath) {
+      _codesFilePath = codesFilePath;
+      ByteStream bout = new ByteStream(CODES_FILE_BUFFER_SIZE);
+      InputStream in = null;
+      try {
+        in = DatabaseImpl.getResourceAsStream(codesFilePath);
+        ByteUtil.copy(in, bout);
+      } catch(IOException e) {
+        throw new RuntimeException("failed loading index codes file " +
+                                   codesFilePath, e);
+      } finally {
+        ByteUtil.closeQuietly(in);
+      }
+      _bytes = bout.getBytes();
+      _length = bout.getLength();
+    }
+
+    /**
+     * Moves to the next line in the file (trimming any surrounding
+     * whitespace), returning {@code false} if there are no more lines.
+     */
+    public boolean nextLine() {
+      if(_pos >= _length) {
+        return false;
+      }
+      int lineEnd = _pos;
+      while((lineEnd < _length) && (_bytes[lineEnd] != '\n')) {
+        ++lineEnd;
+      }
+      _lineStart = _pos;
+      _lineEnd = lineEnd;
+      _pos = lineEnd + 1;
+
+      while((_lineStart < _lineEnd) && (_bytes[_lineStart] <= ' ')) {
+        ++_lineStart;
+      }
+      while((_lineEnd > _lineStart) && (_bytes[_lineEnd - 1] <= ' ')) {
+        --_lineEnd;
+      }
+      return true;
+    }
+
+    public boolean isEmptyLine() {
+      return (_lineStart == _lineEnd);
+    }
+
+    /**
+     * Returns the Type for the prefix of the current line and splits the rest
+     * of the line into codes.
+     */
+    public Type getPrefixType(Type[] prefixTypes) {
+      Type type = null;
+      if(!isEmptyLine()) {
+        int prefix = _bytes[_lineStart];
+        if((prefix >= 0) && (prefix < prefixTypes.length)) {
+          type = prefixTypes[prefix];
+        }
+      }
+      if(type == null) {
+        throw unexpectedCodes();
+      }
+      splitCodes(_lineStart + 1);
+      return type;
+    }
+
+    /**
+     * Splits the entire current line into codes.
+     */
+    public void splitCodes() {
+      splitCodes(_lineStart);
+    }
+
+    private void splitCodes(int start) {
+      _numCodes = 0;
+      int codeStart = start;
+      for(int i = start; i <= _lineEnd; ++i) {
+        if((i == _lineEnd) || (_bytes[i] == ',')) {
+          if(_numCodes < MAX_NUM_CODES) {
+            _codeStarts[_numCodes] = codeStart;
+            _codeEnds[_numCodes] = i;
+          }
+          ++_numCodes;
+          codeStart = i + 1;
+        }
+      }
+    }
+
+    public void requireNumCodes(int numCodes) {
+      if(_numCodes != numCodes) {
+        throw unexpectedCodes();
+      }
+    }
+
+    /**
+     * Converts the given code of hex encoded bytes to a byte[], optionally
+     * throwing an exception if the code is empty.
+     */
+    public byte[] getCodes(int idx, boolean required) {
+      int start = _codeStarts[idx];
+      int end = _codeEnds[idx];
+      int numDigits = end - start;
+      if(numDigits == 0) {
+        if(required) {
+          throw new IllegalStateException("empty code bytes");
+        }
+        return null;
+      }
+
+      // a leading 0 may have been stripped
+      byte[] bytes = new byte[(numDigits + 1) / 2];
+      int byteIdx = bytes.length - 1;
+      for(int i = end - 1; i >= start; i -= 2) {
+        int val = hexDigit(i);
+        if(i > start) {
+          val |= (hexDigit(i - 1) << 4);
+        }
+        bytes[byteIdx--] = (byte)val;
+      }
+      return bytes;
+    }
+
+    /**
+     * Returns {@code true} if the given code is the given single char,
+     * {@code false} otherwise.
+     */
+    public boolean isCode(int idx, char code) {
+      int start = _codeStarts[idx];
+      return (((_codeEnds[idx] - start) == 1) && (_bytes[start] == code));
+    }
+
+    /**
+     * Returns the given code parsed as a decimal integer.
+     */
+    public int getInt(int idx) {
+      int start = _codeStarts[idx];
+      int end = _codeEnds[idx];
+      if(start == end) {
+        throw unexpectedCodes();
+      }
+      int val = 0;
+      for(int i = start; i < end; ++i) {
+        int digit = Character.digit(_bytes[i], 10);
+        if(digit < 0) {
+          throw unexpectedCodes();
+        }
+        val = (val * 10) + digit;
+      }
+      return val;
+    }
+
+    private int hexDigit(int pos) {
+      int digit = Character.digit(_bytes[pos], 16);
+      if(digit < 0) {
+        throw unexpectedCodes();
+      }
+      return digit;
+    }
+
+    public IllegalStateException unexpectedCodes() {
+      return new IllegalStateException(
+          "Unexpected codes '" + new String(_bytes, _lineStart,
+                                            _lineEnd - _lineStart,
+                                            StandardCharsets.US_ASCII) +
+          "' in index codes file " + _codesFilePath);
+    }
+  }
+
   /**
    * Extension of ByteStream which keeps track of an additional char count and
    * the length of any "unprintable" code prefix.
@@ -18,8 +18,10 @@ package com.healthmarketscience.jackcess.impl;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -56,6 +58,8 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
   private final IndexData.EntryCursor _entryCursor;
   /** column names for the index entry columns */
   private Set<String> _indexEntryPattern;
+  /** whether or not row values are read directly from the index entries */
+  private boolean _indexOnly;
 
   private IndexCursorImpl(TableImpl table, IndexImpl index,
                           IndexData.EntryCursor entryCursor)
@@ -129,6 +133,76 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
     return _index;
   }
 
+  /**
+   * Returns {@code true} if this cursor reads the row values directly from
+   * the index entries, {@code false} otherwise.
+   */
+  public boolean isIndexOnly() {
+    return _indexOnly;
+  }
+
+  /**
+   * Sets whether or not this cursor reads the row values directly from the
+   * index entries (an "index-only" scan), in which case the table data pages
+   * are never read while traversing the cursor.  Only the values of the index
+   * columns can be read by such a cursor (see {@link
+   * IndexData#canReadEntryColumns}), so rows should be read using a
+   * projection of those columns.
+   */
+  public void setIndexOnly(boolean indexOnly) {
+    _indexOnly = indexOnly;
+  }
+
+  @Override
+  public boolean isCurrentRowDeleted() throws IOException
+  {
+    if(_indexOnly && getCurrentRowId().isValid() && isUpToDate()) {
+      // the index only contains entries for existing rows
+      return false;
+    }
+    return super.isCurrentRowDeleted();
+  }
+
+  @Override
+  public Row getCurrentRow(Collection<String> columnNames)
+    throws IOException
+  {
+    if(_indexOnly) {
+      return getCurrentEntryRow(getTable().getProjectedColumns(columnNames));
+    }
+    return super.getCurrentRow(columnNames);
+  }
+
+  @Override
+  public Row getCurrentProjectedRow(List<ColumnImpl> columns) throws IOException
+  {
+    if(_indexOnly) {
+      return getCurrentEntryRow(columns);
+    }
+    return super.getCurrentProjectedRow(columns);
+  }
+
+  @Override
+  public Object getCurrentRowValue(ColumnImpl column)
+    throws IOException
+  {
+    if(_indexOnly) {
+      return getCurrentEntryRow(Collections.singletonList(column))
+        .get(column.getName());
+    }
+    return super.getCurrentRowValue(column);
+  }
+
+  /**
+   * Reads the given columns from the current index entry.
+   */
+  private RowImpl getCurrentEntryRow(List<ColumnImpl> columns)
+    throws IOException
+  {
+    return _entryCursor.getIndexData().readEntryRow(
+        ((IndexPosition)_curPos).getEntry(), columns);
+  }
+
   @Override
   public Row findRowByEntry(Object... entryValues)
     throws IOException
@@ -146,6 +220,7 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
     PositionImpl curPos = _curPos;
     PositionImpl prevPos = _prevPos;
     boolean found = false;
+    getPageChannel().startRead();
     try {
       found = findFirstRowByEntryImpl(toRowValues(entryValues), true,
                                       _columnMatcher);
@@ -158,6 +233,7 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
           LOG.error("Failed restoring position", e);
         }
       }
+      getPageChannel().finishRead();
     }
   }
 
@@ -168,6 +244,7 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
     PositionImpl curPos = _curPos;
     PositionImpl prevPos = _prevPos;
     boolean found = false;
+    getPageChannel().startRead();
     try {
       findFirstRowByEntryImpl(toRowValues(entryValues), false,
                               _columnMatcher);
@@ -180,6 +257,7 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
           LOG.error("Failed restoring position", e);
         }
       }
+      getPageChannel().finishRead();
     }
   }
 
@@ -208,9 +286,21 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
 
   @Override
   protected boolean isUpToDate() {
+    if(_indexOnly) {
+      // the table rows are not read, so only changes to the index matter
+      return _entryCursor.isUpToDate();
+    }
     return(super.isUpToDate() && _entryCursor.isUpToDate());
   }
 
+  @Override
+  protected void positionAtCurrentRowHeader() throws IOException
+  {
+    if(!_indexOnly) {
+      super.positionAtCurrentRowHeader();
+    }
+  }
+
   @Override
   protected void reset(boolean moveForward) {
     _entryCursor.reset(moveForward);
@@ -341,8 +431,14 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor
                                              ColumnMatcher columnMatcher)
     throws IOException
   {
-    // check the next row to see if it actually matches
-    Row row = getCurrentRow(getIndexEntryPattern());
+    // check the next row to see if it actually matches (reading the entry
+    // values directly from the index if possible)
+    List<ColumnImpl> columns =
+      getTable().getProjectedColumns(getIndexEntryPattern());
+    Row row = ((_indexOnly &&
+                _entryCursor.getIndexData().canReadEntryColumns(columns)) ?
+               getCurrentEntryRow(columns) :
+               super.getCurrentProjectedRow(columns));
 
     for(IndexData.ColumnDescriptor col : getIndex().getColumns()) {
 
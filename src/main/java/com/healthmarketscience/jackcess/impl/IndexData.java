@@ -26,6 +26,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.healthmarketscience.jackcess.ConstraintViolationException;
 import com.healthmarketscience.jackcess.Index;
@@ -86,6 +88,10 @@ public class IndexData {
 
   private static final ByteOrder ENTRY_BYTE_ORDER = ByteOrder.BIG_ENDIAN;
 
+  /** number of bulk loaded entries added between writes of the modified
+      index pages */
+  private static final int BULK_ENTRIES_PER_UPDATE = 1000;
+
   /** type attributes for Entries which simplify comparisons */
   public enum EntryType {
     /** comparable type indicating this Entry should always compare less than
@@ -156,11 +162,16 @@ public class IndexData {
   private final List<Index> _indexes = new ArrayList<Index>();
   /** flags for this index */
   private byte _indexFlags;
-  /** Usage map of pages that this index owns */
+  /** Usage map of pages that this index owns (read on first use) */
   private UsageMap _ownedPages;
+  /** page number of the usage map of pages that this index owns */
+  private int _ownedPagesPageNum;
+  /** row number of the usage map of pages that this index owns */
+  private int _ownedPagesRowNum;
   /** <code>true</code> if the index entries have been initialized,
-      <code>false</code> otherwise */
-  private boolean _initialized;
+      <code>false</code> otherwise (volatile so that initialize can skip the
+      read lock once initialized) */
+  private volatile boolean _initialized;
   /** modification count for the table, keeps cursors up-to-date */
   private int _modCount;
   /** temp buffer used to read/write the index pages */
@@ -176,6 +187,9 @@ public class IndexData {
   private String _unsupportedReason;
   /** Cache which manages the index pages */
   private final IndexPageCache _pageCache;
+  /** lock which serializes reads of the index pages (which modify the page
+      cache and shared buffers) when concurrent reads are enabled */
+  private final ReentrantLock _readLock = new ReentrantLock();
 
   protected IndexData(TableImpl table, int number, int uniqueEntryCount,
                       int uniqueEntryCountOffset)
@@ -233,6 +247,13 @@ public class IndexData {
     return getTable().getPageChannel();
   }
 
+  /**
+   * @return the cache which manages the pages of this index
+   */
+  public IndexPageCache getPageCache() {
+    return _pageCache;
+  }
+
   /**
    * @return the "main" logical index which is backed by this data.
    */
@@ -357,7 +378,12 @@ public class IndexData {
     }
   }
 
-  String getUnsupportedReason() {
+  /**
+   * Returns the reason this index cannot be used for indexed lookups (or
+   * written), or {@code null} if the index is supported.
+   * @usage _advanced_method_
+   */
+  public String getUnsupportedReason() {
     return _unsupportedReason;
   }
 
@@ -370,15 +396,35 @@ public class IndexData {
    * @usage _intermediate_method_
    */
   public int getOwnedPageCount() {
-    return _ownedPages.getPageCount();
+    startRead();
+    try {
+      return getOwnedPages().getPageCount();
+    } catch(IOException e) {
+      throw new RuntimeIOException(e);
+    } finally {
+      finishRead();
+    }
   }
 
   void addOwnedPage(int pageNumber) throws IOException {
-    _ownedPages.addPageNumber(pageNumber);
+    getOwnedPages().addPageNumber(pageNumber);
   }
 
   void collectUsageMapPages(Collection<Integer> pages) {
-    pages.add(_ownedPages.getTablePageNumber());
+    pages.add(_ownedPagesPageNum);
+  }
+
+  /**
+   * Returns the usage map of the pages owned by this index data, reading it
+   * if necessary.  Like the other lazily loaded index state, must be called
+   * within {@link #startRead}/{@link #finishRead} (or while writing).
+   */
+  private UsageMap getOwnedPages() throws IOException {
+    if(_ownedPages == null) {
+      _ownedPages = UsageMap.read(getTable().getDatabase(), _ownedPagesPageNum,
+                                  _ownedPagesRowNum, false);
+    }
+    return _ownedPages;
   }
 
   /**
@@ -416,8 +462,61 @@ public class IndexData {
    */
   public void initialize() throws IOException {
     if(!_initialized) {
-      _pageCache.setRootPageNumber(getRootPageNumber());
-      _initialized = true;
+      // reading the root page populates the page cache, so this must be
+      // guarded like any other read of the index pages
+      startRead();
+      try {
+        if(!_initialized) {
+          _pageCache.setRootPageNumber(getRootPageNumber());
+          _initialized = true;
+        }
+      } finally {
+        finishRead();
+      }
+    }
+  }
+
+  /**
+   * Begins a read of the index pages.  If concurrent reads are enabled, this
+   * waits for any write operation being performed by another thread and then
+   * serializes access to the pages of this index (since reads may modify the
+   * page cache).  Must be paired with a call to {@link #finishRead} in a
+   * finally block.
+   */
+  void startRead() {
+    PageChannel pageChannel = getPageChannel();
+    if(pageChannel.isConcurrentReads()) {
+      pageChannel.startRead();
+      _readLock.lock();
+    }
+  }
+
+  /**
+   * Completes a read of the index pages started by {@link #startRead}.
+   */
+  void finishRead() {
+    PageChannel pageChannel = getPageChannel();
+    if(pageChannel.isConcurrentReads()) {
+      _readLock.unlock();
+      pageChannel.finishRead();
+    }
+  }
+
+  /**
+   * Attempts to acquire exclusive access to the pages of this index without
+   * waiting (always succeeds unless concurrent reads are enabled).  If
+   * successful, must be paired with a call to {@link #unlockPages}.
+   */
+  boolean tryLockPages() {
+    return (!getPageChannel().isConcurrentReads() || _readLock.tryLock());
+  }
+
+  /**
+   * Releases the access acquired by {@link #tryLockPages}.
+   */
+  void unlockPages() {
+    if(getPageChannel().isConcurrentReads()) {
+      _readLock.unlock();
     }
   }
 
@@ -470,7 +569,10 @@ public class IndexData {
       }
     }
 
-    _ownedPages = UsageMap.read(getTable().getDatabase(), tableBuffer);
+    // the owned pages are only needed when the index grows, so avoid reading
+    // the usage map (another page) until then
+    _ownedPagesRowNum = tableBuffer.get();
+    _ownedPagesPageNum = ByteUtil.get3ByteInt(tableBuffer);
 
     _rootPageNumber = tableBuffer.getInt();
 
@@ -687,6 +789,132 @@ public class IndexData {
     }
   }
 
+  /**
+   * Creates the entry for adding a row to this index as part of a bulk load.
+   * All constraints are checked against the current index entries and the
+   * given entry bytes of the rows previously added by the bulk load (which
+   * will be updated), but the index itself is not modified (see {@link
+   * #addBulkEntries}).
+   * <p>
+   * Forces index initialization.
+   *
+   * @param row Row to add
+   * @param rowId rowId of the row to be added
+   * @param bulkEntryBytes the entry bytes of the non-null entries previously
+   *                       added for a unique index, unused otherwise
+   *
+   * @return the new entry, or {@code null} if the row will not be added to
+   *         this index
+   */
+  Entry prepareBulkAddRow(Object[] row, RowIdImpl rowId,
+                          Set<ByteBuffer> bulkEntryBytes)
+    throws IOException
+  {
+    int nullCount = countNullValues(row);
+    boolean isNullEntry = (nullCount == _columns.size());
+    if(shouldIgnoreNulls() && isNullEntry) {
+      // nothing to do
+      return null;
+    }
+    if((nullCount > 0) && (isBackingPrimaryKey() || isRequired())) {
+      throw new ConstraintViolationException(withErrorContext(
+          "Null value found in row " + Arrays.asList(row) +
+          " for primary key or required index"));
+    }
+
+    Entry newEntry = new Entry(createEntryBytes(row), rowId);
+
+    if(isUnique() && !isNullEntry) {
+
+      // check the existing index entries
+      initialize();
+      prepareAddEntry(newEntry, isNullEntry, row,
+                      new AddRowPendingChange(null));
+
+      // check the previously loaded entries
+      if(!bulkEntryBytes.add(ByteBuffer.wrap(newEntry._entryBytes))) {
+        throw new ConstraintViolationException(withErrorContext(
+            "New row " + Arrays.asList(row) +
+            " violates uniqueness constraint for index"));
+      }
+    }
+
+    return newEntry;
+  }
+
+  /**
+   * Undoes the given entry (created by {@link #prepareBulkAddRow}) when the
+   * row is not actually added.
+   */
+  void rollbackBulkAddRow(Entry entry, Set<ByteBuffer> bulkEntryBytes) {
+    if(bulkEntryBytes != null) {
+      bulkEntryBytes.remove(ByteBuffer.wrap(entry._entryBytes));
+    }
+  }
+
+  /**
+   * Adds the given entries (created by {@link #prepareBulkAddRow}) to this
+   * index.  The entries are added in sorted order so that the index pages are
+   * filled sequentially, and the modified pages are written periodically (so
+   * that the pages being filled do not grow too large).  Each entry which is
+   * added is moved from the given entries to the given added entries (even if
+   * this method fails), so a failed call may be retried with the remaining
+   * entries or undone using {@link #removeBulkEntries}.
+   * <p>
+   * Forces index initialization.
+   */
+  void addBulkEntries(List<Entry> entries, List<Entry> addedEntries)
+    throws IOException
+  {
+    initialize();
+
+    Collections.sort(entries);
+
+    int numAdded = 0;
+    try {
+      for(Entry entry : entries) {
+        // constraints were checked when the rows were added (so treat as a
+        // "null" entry in order to skip the uniqueness check)
+        AddRowPendingChange change = new AddRowPendingChange(null);
+        prepareAddEntry(entry, true, null, change);
+        change.commit();
+
+        if((++numAdded % BULK_ENTRIES_PER_UPDATE) == 0) {
+          update();
+        }
+      }
+    } finally {
+      List<Entry> added = entries.subList(0, numAdded);
+      addedEntries.addAll(added);
+      added.clear();
+    }
+  }
+
+  /**
+   * Removes the given entries (previously added by {@link #addBulkEntries})
+   * from this index.  The modified pages are written periodically (as with
+   * {@link #addBulkEntries}).
+   * <p>
+   * Forces index initialization.
+   */
+  void removeBulkEntries(List<Entry> entries) throws IOException
+  {
+    initialize();
+
+    int numRemoved = 0;
+    for(Entry entry : entries) {
+      if(removeEntry(entry) == null) {
+        LOG.warn(withErrorContext("Failed removing index entry " + entry));
+        continue;
+      }
+      ++_modCount;
+
+      if((++numRemoved % BULK_ENTRIES_PER_UPDATE) == 0) {
+        update();
+      }
+    }
+  }
+
   /**
    * Prepares to update a row in this index.  All constraints are checked
    * before this method returns.
@@ -859,28 +1087,33 @@ public class IndexData {
                             boolean endInclusive)
     throws IOException
   {
-    initialize();
-    Entry startEntry = FIRST_ENTRY;
-    byte[] startEntryBytes = null;
-    if(startRow != null) {
-      startEntryBytes = createEntryBytes(startRow);
-      startEntry = new Entry(startEntryBytes,
-                             (startInclusive ?
-                              RowIdImpl.FIRST_ROW_ID : RowIdImpl.LAST_ROW_ID));
-    }
-    Entry endEntry = LAST_ENTRY;
-    if(endRow != null) {
-      // reuse startEntryBytes if startRow and endRow are same array.  this is
-      // common for "lookup" code
-      byte[] endEntryBytes = ((startRow == endRow) ?
-                              startEntryBytes :
-                              createEntryBytes(endRow));
-      endEntry = new Entry(endEntryBytes,
-                           (endInclusive ?
-                            RowIdImpl.LAST_ROW_ID : RowIdImpl.FIRST_ROW_ID));
-    }
-    return new EntryCursor(findEntryPosition(startEntry),
-                           findEntryPosition(endEntry));
+    startRead();
+    try {
+      initialize();
+      Entry startEntry = FIRST_ENTRY;
+      byte[] startEntryBytes = null;
+      if(startRow != null) {
+        startEntryBytes = createEntryBytes(startRow);
+        startEntry = new Entry(startEntryBytes,
+                               (startInclusive ? RowIdImpl.FIRST_ROW_ID :
+                                RowIdImpl.LAST_ROW_ID));
+      }
+      Entry endEntry = LAST_ENTRY;
+      if(endRow != null) {
+        // reuse startEntryBytes if startRow and endRow are same array.  this
+        // is common for "lookup" code
+        byte[] endEntryBytes = ((startRow == endRow) ?
+                                startEntryBytes :
+                                createEntryBytes(endRow));
+        endEntry = new Entry(endEntryBytes,
+                             (endInclusive ?
+                              RowIdImpl.LAST_ROW_ID : RowIdImpl.FIRST_ROW_ID));
+      }
+      return new EntryCursor(findEntryPosition(startEntry),
+                             findEntryPosition(endEntry));
+    } finally {
+      finishRead();
+    }
   }
 
   private Position findEntryPosition(Entry entry)
@@ -1096,6 +1329,75 @@ public class IndexData {
     return idxRow;
   }
 
+  /**
+   * Returns {@code true} if the values of all the given columns can be read
+   * directly from the entries of this index (see {@link #readEntryRow}),
+   * {@code false} otherwise.  The given columns must all be index columns,
+   * and all the index columns up to the last of the given columns must be
+   * readable (see {@link ColumnDescriptor#isReadable}).
+   */
+  public boolean canReadEntryColumns(Collection<ColumnImpl> columns)
+  {
+    int numCols = 0;
+    for(ColumnDescriptor col : _columns) {
+      if(numCols == columns.size()) {
+        break;
+      }
+      if(!col.isReadable()) {
+        return false;
+      }
+      if(columns.contains(col.getColumn())) {
+        ++numCols;
+      }
+    }
+    return (numCols == columns.size());
+  }
+
+  /**
+   * Reads the values of the given columns directly from the given entry
+   * (without reading the table row).
+   * @param entry a valid entry of this index
+   * @param columns the columns to read, in table order (see {@link
+   *                TableImpl#getProjectedColumns})
+   * @throws IllegalArgumentException if the given columns cannot be read
+   *         from the index entries (see {@link #canReadEntryColumns})
+   * @usage _advanced_method_
+   */
+  public RowImpl readEntryRow(Entry entry, List<ColumnImpl> columns)
+    throws IOException
+  {
+    if(!entry.isValid()) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Given entry is not valid " + entry));
+    }
+    if(!canReadEntryColumns(columns)) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Cannot read the values of columns " + columns +
+          " from the index entries"));
+    }
+
+    // the index column values are encoded consecutively, so we need to
+    // decode all the values up to the last requested column
+    ByteBuffer bb = ByteBuffer.wrap(entry.getEntryBytes());
+    Object[] values = new Object[getTable().getColumnCount()];
+    int numCols = 0;
+    for(ColumnDescriptor col : _columns) {
+      if(numCols == columns.size()) {
+        break;
+      }
+      values[col.getColumnIndex()] = col.readValue(bb);
+      if(columns.contains(col.getColumn())) {
+        ++numCols;
+      }
+    }
+
+    RowImpl row = new RowImpl(entry.getRowId(), columns.size());
+    for(ColumnImpl column : columns) {
+      column.setRowValue(row, values[column.getColumnIndex()]);
+    }
+    return row;
+  }
+
   @Override
   public String toString() {
     ToStringBuilder sb = CustomToStringStyle.builder(this)
@@ -1433,6 +1735,27 @@ public class IndexData {
     return column.write(value, 0, ENTRY_BYTE_ORDER).array();
   }
 
+  /**
+   * Reads the encoded bytes of a value of the given column type from the
+   * given buffer.
+   */
+  private static byte[] readNumberColumnValueBytes(ByteBuffer bb,
+                                                   ColumnImpl column)
+  {
+    return ByteUtil.getBytes(bb, column.getType().getFixedSize());
+  }
+
+  /**
+   * Reads the value of the given column type from the given byte array (the
+   * reverse of {@link #encodeNumberColumnValue}).
+   */
+  private static Object decodeNumberColumnValue(byte[] valueBytes,
+                                                ColumnImpl column)
+    throws IOException
+  {
+    return column.read(valueBytes, ENTRY_BYTE_ORDER);
+  }
+
   /**
    * Writes a binary value using the general binary entry encoding rules.
    */
@@ -1498,6 +1821,36 @@ public class IndexData {
     }
   }
 
+  /**
+   * Reads a binary value written using the general binary entry encoding
+   * rules (the reverse of {@link #writeGeneralBinaryEntry}).
+   */
+  private static byte[] readGeneralBinaryEntry(ByteBuffer bb, boolean isAsc)
+  {
+    ByteStream bout = new ByteStream();
+    byte[] partialEntryBytes = new byte[9];
+    while(true) {
+
+      bb.get(partialEntryBytes);
+
+      // note, the length byte of intermediate segments is never flipped (and
+      // the flipped length of the last segment is never 9)
+      if(partialEntryBytes[8] == (byte)9) {
+        if(!isAsc) {
+          flipBytes(partialEntryBytes, 0, 8);
+        }
+        bout.write(partialEntryBytes, 0, 8);
+        continue;
+      }
+
+      if(!isAsc) {
+        flipBytes(partialEntryBytes, 0, 9);
+      }
+      bout.write(partialEntryBytes, 0, partialEntryBytes[8]);
+      return bout.toByteArray();
+    }
+  }
+
   /**
    * Creates one of the special index entries.
    */
@@ -1665,6 +2018,31 @@ public class IndexData {
     protected abstract void writeNonNullValue(Object value, ByteStream bout)
       throws IOException;
 
+    /**
+     * Returns {@code true} if the values of this column can be read back from
+     * the index entry bytes, {@code false} otherwise (e.g. the text encodings
+     * are lossy).
+     */
+    public boolean isReadable() {
+      return false;
+    }
+
+    protected final Object readValue(ByteBuffer bb)
+      throws IOException
+    {
+      if(bb.get() == getNullEntryFlag(isAscending())) {
+        return null;
+      }
+      return readNonNullValue(bb);
+    }
+
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      throw new UnsupportedOperationException(
+          "Cannot read index values for column " + getName());
+    }
+
     @Override
     public String toString() {
       return CustomToStringStyle.builder(this)
@@ -1702,6 +2080,25 @@ public class IndexData {
 
       bout.write(valueBytes);
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      byte[] valueBytes = readNumberColumnValueBytes(bb, getColumn());
+
+      if(!isAscending()) {
+        flipBytes(valueBytes);
+      }
+      flipFirstBitInByte(valueBytes, 0);
+
+      return decodeNumberColumnValue(valueBytes, getColumn());
+    }
   }
 
   /**
@@ -1741,6 +2138,31 @@ public class IndexData {
 
       bout.write(valueBytes);
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      byte[] valueBytes = readNumberColumnValueBytes(bb, getColumn());
+
+      // after the bit twiddling, the first bit is set for non-negative
+      // ascending values and for negative descending values
+      boolean isNegative = (((valueBytes[0] & 0x80) != 0) != isAscending());
+
+      if(isNegative == isAscending()) {
+        flipBytes(valueBytes);
+      }
+      if(!isNegative) {
+        flipFirstBitInByte(valueBytes, 0);
+      }
+
+      return decodeNumberColumnValue(valueBytes, getColumn());
+    }
   }
 
   /**
@@ -1766,6 +2188,20 @@ public class IndexData {
       valueBytes[0] = (isNegative ? (byte)0x00 : (byte)0xFF);
     }
 
+    /**
+     * Reverses the effects of {@link #handleNegationAndOrder} (except for
+     * the sign byte).
+     * @return whether or not the value is negative
+     */
+    protected boolean undoNegationAndOrder(byte[] valueBytes)
+    {
+      boolean isNegative = (valueBytes[0] == (byte)0x00);
+      if(isNegative == isAscending()) {
+        flipBytes(valueBytes);
+      }
+      return isNegative;
+    }
+
     @Override
     protected void writeNonNullValue(Object value, ByteStream bout)
       throws IOException
@@ -1791,6 +2227,25 @@ public class IndexData {
 
       bout.write(valueBytes);
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      byte[] valueBytes = readNumberColumnValueBytes(bb, getColumn());
+
+      boolean isNegative = undoNegationAndOrder(valueBytes);
+
+      // restore the original sign byte
+      valueBytes[0] = (isNegative ? ColumnImpl.NUMERIC_NEGATIVE_BYTE : 0);
+
+      return decodeNumberColumnValue(valueBytes, getColumn());
+    }
   }
 
   /**
@@ -1818,6 +2273,17 @@ public class IndexData {
         flipBytes(valueBytes);
       }
     }
+
+    @Override
+    protected boolean undoNegationAndOrder(byte[] valueBytes)
+    {
+      // the bytes were flipped if the sign byte is no longer 0xFF
+      boolean isFlipped = (valueBytes[0] == (byte)0x00);
+      if(isFlipped) {
+        flipBytes(valueBytes);
+      }
+      return (isFlipped == isAscending());
+    }
   }
 
   /**
@@ -1846,6 +2312,24 @@ public class IndexData {
 
       bout.write(valueBytes);
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      byte[] valueBytes = readNumberColumnValueBytes(bb, getColumn());
+
+      if(!isAscending()) {
+        flipBytes(valueBytes);
+      }
+
+      return decodeNumberColumnValue(valueBytes, getColumn());
+    }
   }
 
   /**
@@ -1874,6 +2358,19 @@ public class IndexData {
           (isAscending() ? ASC_BOOLEAN_TRUE : DESC_BOOLEAN_TRUE) :
           (isAscending() ? ASC_BOOLEAN_FALSE : DESC_BOOLEAN_FALSE));
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      return (bb.get() ==
+              (isAscending() ? ASC_BOOLEAN_TRUE : DESC_BOOLEAN_TRUE));
+    }
   }
 
   /**
@@ -1957,6 +2454,19 @@ public class IndexData {
           encodeNumberColumnValue(value, getColumn()), isAscending(),
           bout);
     }
+
+    @Override
+    public boolean isReadable() {
+      return true;
+    }
+
+    @Override
+    protected Object readNonNullValue(ByteBuffer bb)
+      throws IOException
+    {
+      return decodeNumberColumnValue(
+          readGeneralBinaryEntry(bb, isAscending()), getColumn());
+    }
   }
 
 
@@ -2376,8 +2886,13 @@ public class IndexData {
     public void beforeEntry(Object[] row)
       throws IOException
     {
-      restorePosition(new Entry(IndexData.this.createEntryBytes(row),
-                                RowIdImpl.FIRST_ROW_ID));
+      startRead();
+      try {
+        restorePosition(new Entry(IndexData.this.createEntryBytes(row),
+                                  RowIdImpl.FIRST_ROW_ID));
+      } finally {
+        finishRead();
+      }
     }
 
     /**
@@ -2387,8 +2902,13 @@ public class IndexData {
     public void afterEntry(Object[] row)
       throws IOException
     {
-      restorePosition(new Entry(IndexData.this.createEntryBytes(row),
-                                RowIdImpl.LAST_ROW_ID));
+      startRead();
+      try {
+        restorePosition(new Entry(IndexData.this.createEntryBytes(row),
+                                  RowIdImpl.LAST_ROW_ID));
+      } finally {
+        finishRead();
+      }
     }
 
     /**
@@ -2396,7 +2916,12 @@ public class IndexData {
      *         {@code #getLastEntry} otherwise
      */
     public Entry getNextEntry() throws IOException {
-      return getAnotherPosition(CursorImpl.MOVE_FORWARD).getEntry();
+      startRead();
+      try {
+        return getAnotherPosition(CursorImpl.MOVE_FORWARD).getEntry();
+      } finally {
+        finishRead();
+      }
     }
 
     /**
@@ -2404,7 +2929,12 @@ public class IndexData {
      *         {@code #getFirstEntry} otherwise
      */
     public Entry getPreviousEntry() throws IOException {
-      return getAnotherPosition(CursorImpl.MOVE_REVERSE).getEntry();
+      startRead();
+      try {
+        return getAnotherPosition(CursorImpl.MOVE_REVERSE).getEntry();
+      } finally {
+        finishRead();
+      }
     }
 
     /**
@@ -2423,17 +2953,22 @@ public class IndexData {
     protected void restorePosition(Entry curEntry, Entry prevEntry)
       throws IOException
     {
-      if(!_curPos.equalsEntry(curEntry) ||
-         !_prevPos.equalsEntry(prevEntry))
-      {
-        if(!isUpToDate()) {
-          updateBounds();
-          _lastModCount = getIndexModCount();
+      startRead();
+      try {
+        if(!_curPos.equalsEntry(curEntry) ||
+           !_prevPos.equalsEntry(prevEntry))
+        {
+          if(!isUpToDate()) {
+            updateBounds();
+            _lastModCount = getIndexModCount();
+          }
+          _prevPos = updatePosition(prevEntry);
+          _curPos = updatePosition(curEntry);
+        } else {
+          checkForModification();
         }
-        _prevPos = updatePosition(prevEntry);
-        _curPos = updatePosition(curEntry);
-      } else {
-        checkForModification();
+      } finally {
+        finishRead();
       }
     }
 
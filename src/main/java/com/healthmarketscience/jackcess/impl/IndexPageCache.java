@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.RandomAccess;
 
+import com.healthmarketscience.jackcess.util.MetricsListener;
 import static com.healthmarketscience.jackcess.impl.IndexData.*;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
@@ -42,7 +43,7 @@ public class IndexPageCache
   }
 
   /** max number of pages to cache (unless a write operation is in
-      progress) */
+      progress) if the database does not have a shared index page budget */
   private static final int MAX_CACHE_SIZE = 25;
   
   /** the index whose pages this cache is managing */
@@ -57,8 +58,10 @@ public class IndexPageCache
     protected boolean removeEldestEntry(Map.Entry<Integer, DataPageMain> e) {
       // only purge when the size is too big and a logical write operation is
       // not in progress (while an update is happening, the pages can be in
-      // flux and removing pages from the cache can cause problems)
-      if((size() > MAX_CACHE_SIZE) && !getPageChannel().isWriting()) {
+      // flux and removing pages from the cache can cause problems).  if the
+      // cache size is managed by the database, the manager handles purging
+      if((_managerRef == null) && (size() > MAX_CACHE_SIZE) &&
+         !getPageChannel().isWriting()) {
         purgeOldPages();
       }
       return false;
@@ -67,6 +70,15 @@ public class IndexPageCache
   /** the currently modified index pages */
   private final List<CacheDataPage> _modifiedPages =
     new ArrayList<CacheDataPage>();
+  /** the manager of the shared index page budget for the database (if any)
+      with which this cache is registered */
+  private IndexPageCacheManager _manager;
+  /** handle for reporting activity to the current manager (if any) */
+  private IndexPageCacheManager.CacheRef _managerRef;
+  /** number of page cache hits */
+  private long _hitCount;
+  /** number of page cache misses */
+  private long _missCount;
   
   public IndexPageCache(IndexData indexData) {
     _indexData = indexData;
@@ -79,6 +91,21 @@ public class IndexPageCache
   public PageChannel getPageChannel() {
     return getIndexData().getPageChannel();
   }
+
+  public long getHitCount() {
+    return _hitCount;
+  }
+
+  public long getMissCount() {
+    return _missCount;
+  }
+
+  /**
+   * @return the number of index pages currently cached
+   */
+  public int getCachedPageCount() {
+    return _dataPages.size();
+  }
   
   /**
    * Sets the root page for this index, must be called before normal usage.
@@ -104,7 +131,7 @@ public class IndexPageCache
     // finally, write all the modified pages (which are not being deleted)
     writeDataPages();
     // after we write everything, we can purge our cache if necessary
-    if(_dataPages.size() > MAX_CACHE_SIZE) {
+    if((_managerRef == null) && (_dataPages.size() > MAX_CACHE_SIZE)) {
       purgeOldPages();
     }
   }
@@ -219,14 +246,95 @@ public class IndexPageCache
   private DataPageMain getDataPage(Integer pageNumber)
     throws IOException
   {
+    if(pageNumber <= INVALID_INDEX_PAGE_NUMBER) {
+      return null;
+    }
+    updateManager();
     DataPageMain dataPage = _dataPages.get(pageNumber);
-    if((dataPage == null) && (pageNumber > INVALID_INDEX_PAGE_NUMBER)) {
+    boolean hit = (dataPage != null);
+    if(hit) {
+      ++_hitCount;
+    } else {
+      ++_missCount;
       dataPage = readDataPage(pageNumber)._main;
-      _dataPages.put(pageNumber, dataPage);
+      putDataPage(dataPage);
+    }
+    if(_managerRef != null) {
+      _manager.pageAccessed(_managerRef, hit);
+      _manager.purgeIfNecessary();
+    }
+    MetricsListener metrics = getMetrics();
+    if(metrics != null) {
+      metrics.indexPageAccessed(getIndexData().getTable(), hit);
     }
     return dataPage;
   }
 
+  /**
+   * Adds the given page to the cache of loaded pages.
+   */
+  private void putDataPage(DataPageMain dataPage) {
+    _dataPages.put(dataPage._pageNumber, dataPage);
+    if(_managerRef != null) {
+      _manager.pagesAdded(_managerRef, 1);
+    }
+  }
+
+  /**
+   * Removes the given page from the cache of loaded pages.
+   */
+  private void discardDataPage(Integer pageNumber) {
+    if((_dataPages.remove(pageNumber) != null) && (_managerRef != null)) {
+      _manager.pagesRemoved(_managerRef, 1);
+    }
+  }
+
+  private MetricsListener getMetrics() {
+    return getIndexData().getTable().getDatabase().getMetrics();
+  }
+
+  /**
+   * Registers this cache with the database's shared index page budget
+   * manager, if it has changed.
+   */
+  private void updateManager() {
+    IndexPageCacheManager manager =
+      getIndexData().getTable().getDatabase().getIndexPageCacheManager();
+    if(manager == _manager) {
+      return;
+    }
+    if(_managerRef != null) {
+      _manager.removeCache(_managerRef);
+    }
+    _manager = manager;
+    _managerRef = ((manager != null) ?
+                   manager.addCache(this, _dataPages.size()) : null);
+  }
+
+  /**
+   * Purges up to the given number of unpinned (non-root, leaf) pages from
+   * this cache, least recently used first.  The most recently used page is
+   * never purged.  Pages will not be purged if this cache has pending
+   * modifications.
+   *
+   * @return the number of pages purged
+   */
+  int purgeUnpinnedPages(long maxPages) {
+    if(!_modifiedPages.isEmpty()) {
+      return 0;
+    }
+    int numPurged = 0;
+    Iterator<DataPageMain> iter = _dataPages.values().iterator();
+    while(iter.hasNext() && (numPurged < maxPages)) {
+      DataPageMain dpMain = iter.next();
+      if(!dpMain.isPinned() && iter.hasNext()) {
+        iter.remove();
+        ++numPurged;
+      }
+    }
+    return numPurged;
+  }
+
   /**
    * Writes the given index page to the file.
    */
@@ -249,7 +357,7 @@ public class IndexPageCache
     getPageChannel().deallocatePage(cacheDataPage._main._pageNumber);
 
     // discard from our cache
-    _dataPages.remove(cacheDataPage._main._pageNumber);
+    discardDataPage(cacheDataPage._main._pageNumber);
     
     // lastly, mark the page as no longer modified
     cacheDataPage._extra._modified = false;    
@@ -607,6 +715,11 @@ public class IndexPageCache
     DataPageExtra origExtra = origDataPage._extra;
 
     setModified(origDataPage);
+
+    MetricsListener metrics = getMetrics();
+    if(metrics != null) {
+      metrics.indexPageSplit(getIndexData().getTable());
+    }
     
     int numEntries = origExtra._entries.size();
     if(numEntries < 2) {
@@ -633,6 +746,16 @@ public class IndexPageCache
     // note, there are many, many ways this could be improved/tweaked.  for
     // now, we just want it to be functional...
     // so, we will naively move half the entries from one page to a new page.
+    // however, if the page is much too big (many entries were added in a
+    // single write, e.g. a bulk load), we fill the new page with as many
+    // entries as will fit, so that sequentially added entries end up on
+    // packed pages.
+    int numHeadEntries = ((numEntries + 1) / 2);
+    int maxPageEntrySize = getIndexData().getMaxPageEntrySize();
+    if(origExtra._totalEntrySize > (2 * maxPageEntrySize)) {
+      numHeadEntries = countEntriesForPage(origExtra._entries,
+                                           maxPageEntrySize);
+    }
 
     CacheDataPage newDataPage = allocateNewCacheDataPage(
         parentMain._pageNumber, origMain._leaf);
@@ -640,7 +763,7 @@ public class IndexPageCache
     DataPageExtra newExtra = newDataPage._extra;
     
     List<Entry> headEntries =
-      origExtra._entries.subList(0, ((numEntries + 1) / 2));
+      origExtra._entries.subList(0, numHeadEntries);
 
     // move first half of the entries from old page to new page (so we do not
     // need to muck with any tail entries)
@@ -677,6 +800,25 @@ public class IndexPageCache
     addParentEntry(parentDataPage, newDataPage);
   }
 
+  /**
+   * Returns the number of leading entries from the given entries which will
+   * fit on a single page (at least 1).
+   */
+  private static int countEntriesForPage(List<Entry> entries,
+                                         int maxPageEntrySize)
+  {
+    int totalEntrySize = 0;
+    int numEntries = 0;
+    for(Entry entry : entries) {
+      totalEntrySize += entry.size();
+      if(totalEntrySize > maxPageEntrySize) {
+        break;
+      }
+      ++numEntries;
+    }
+    return Math.max(numEntries, 1);
+  }
+
   /**
    * Copies the current root page info into a new page and nests this page
    * under the root page.  This must be done when the root page needs to be
@@ -752,7 +894,7 @@ public class IndexPageCache
     dpMain.setExtra(dpExtra);
 
     // add to our page cache
-    _dataPages.put(dpMain._pageNumber, dpMain);
+    putDataPage(dpMain);
 
     // update owned pages cache
     _indexData.addOwnedPage(dpMain._pageNumber);
@@ -1185,6 +1327,14 @@ public class IndexPageCache
     public boolean isRoot() {
       return(this == _rootPage);
     }
+
+    /**
+     * Root and interior pages are pinned in the cache when the cache size is
+     * managed by the database.
+     */
+    public boolean isPinned() {
+      return(isRoot() || !_leaf);
+    }
     
     public boolean isTail() throws IOException
     {
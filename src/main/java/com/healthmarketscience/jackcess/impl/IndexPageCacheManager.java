@@ -0,0 +1,194 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Manages a byte budget for the index pages cached by all the {@link
+ * IndexPageCache} instances of a database.  When the budget is exceeded,
+ * unpinned (leaf) pages are purged from the least recently used index caches
+ * first, so the pages of frequently used indexes stay resident while the
+ * pages of rarely used indexes are released.  Root and interior index pages
+ * are pinned (never purged), so they count against the budget but may cause
+ * it to be exceeded.
+ * <p>
+ * Index caches are only weakly referenced, so an index cache which is no
+ * longer in use (e.g. for a table which has been discarded) does not keep
+ * its pages in memory.
+ * <p>
+ * All operations are synchronized so that the manager may be used by
+ * concurrent readers (index caches which are in use by another thread are
+ * skipped when purging).
+ *
+ * @author James Ahlborn
+ */
+public class IndexPageCacheManager
+{
+  /** the channel of the database whose index pages are being managed */
+  private final PageChannel _pageChannel;
+  /** the max number of bytes of index pages to cache */
+  private final long _maxBytes;
+  /** the max number of index pages to cache */
+  private final long _maxPages;
+  /** the managed index caches, in LRU order */
+  private final Map<CacheRef,Boolean> _caches =
+    new LinkedHashMap<CacheRef,Boolean>(16, 0.75f, true);
+  /** the number of index pages currently cached */
+  private long _numPages;
+  /** the number of cached pages over which a purge will be attempted (may
+      be greater than the max pages if the pinned pages exceed the budget) */
+  private long _purgeThreshold;
+  /** number of cache hits */
+  private long _hitCount;
+  /** number of cache misses */
+  private long _missCount;
+
+  public IndexPageCacheManager(PageChannel pageChannel, long maxBytes) {
+    _pageChannel = pageChannel;
+    _maxBytes = maxBytes;
+    _maxPages = Math.max(1L, maxBytes / pageChannel.getFormat().PAGE_SIZE);
+    _purgeThreshold = _maxPages;
+  }
+
+  public long getMaxBytes() {
+    return _maxBytes;
+  }
+
+  /**
+   * @return the number of bytes of index pages currently cached
+   */
+  public synchronized long getCurrentBytes() {
+    return _numPages * _pageChannel.getFormat().PAGE_SIZE;
+  }
+
+  public synchronized long getHitCount() {
+    return _hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return _missCount;
+  }
+
+  /**
+   * Registers a new index cache which currently has the given number of
+   * pages loaded.
+   * @return the handle the index cache uses to report its activity
+   */
+  synchronized CacheRef addCache(IndexPageCache cache, int numPages) {
+    CacheRef ref = new CacheRef(cache);
+    _caches.put(ref, Boolean.TRUE);
+    pagesAdded(ref, numPages);
+    return ref;
+  }
+
+  /**
+   * Unregisters the index cache with the given handle.
+   */
+  synchronized void removeCache(CacheRef ref) {
+    if(_caches.remove(ref) != null) {
+      pagesRemoved(ref, ref._numPages);
+    }
+  }
+
+  /**
+   * Records an access of a page in the index cache with the given handle.
+   */
+  synchronized void pageAccessed(CacheRef ref, boolean hit) {
+    if(hit) {
+      ++_hitCount;
+    } else {
+      ++_missCount;
+    }
+    // update the LRU order of the index caches
+    _caches.get(ref);
+  }
+
+  synchronized void pagesAdded(CacheRef ref, int numPages) {
+    ref._numPages += numPages;
+    _numPages += numPages;
+  }
+
+  synchronized void pagesRemoved(CacheRef ref, int numPages) {
+    ref._numPages -= numPages;
+    _numPages -= numPages;
+    if(_purgeThreshold > _maxPages) {
+      _purgeThreshold = Math.max(_maxPages, _purgeThreshold - numPages);
+    }
+  }
+
+  /**
+   * Purges unpinned pages from the least recently used index caches if the
+   * budget has been exceeded.  Does nothing while a write operation is in
+   * progress (the index pages may be in flux).
+   */
+  synchronized void purgeIfNecessary() {
+    if((_numPages <= _purgeThreshold) || _pageChannel.isWriting()) {
+      return;
+    }
+
+    Iterator<CacheRef> iter = _caches.keySet().iterator();
+    while(iter.hasNext() && (_numPages > _maxPages)) {
+      CacheRef ref = iter.next();
+      IndexPageCache cache = ref.get();
+      if(cache == null) {
+        // index cache is no longer in use
+        iter.remove();
+        _numPages -= ref._numPages;
+        continue;
+      }
+      IndexData indexData = cache.getIndexData();
+      if(!indexData.tryLockPages()) {
+        // index cache is currently in use by another reader
+        continue;
+      }
+      try {
+        int numPurged = cache.purgeUnpinnedPages(_numPages - _maxPages);
+        ref._numPages -= numPurged;
+        _numPages -= numPurged;
+      } finally {
+        indexData.unlockPages();
+      }
+    }
+
+    // if the pinned pages exceed the budget, don't bother trying again until
+    // more pages are added
+    _purgeThreshold = Math.max(_maxPages, _numPages);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "IndexPageCacheManager[" + getCurrentBytes() + "/" + _maxBytes +
+      " bytes, " + _hitCount + " hits, " + _missCount + " misses]";
+  }
+
+  /**
+   * Handle for a managed index cache which tracks the number of pages loaded
+   * in the cache.
+   */
+  static final class CacheRef extends WeakReference<IndexPageCache>
+  {
+    private int _numPages;
+
+    private CacheRef(IndexPageCache cache) {
+      super(cache);
+    }
+  }
+}
@@ -16,12 +16,23 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Collection;
 
 import com.healthmarketscience.jackcess.InvalidValueException;
+import com.healthmarketscience.jackcess.util.MetricsListener;
 
 /**
  * ColumnImpl subclass which is used for long value data types.
@@ -98,15 +109,25 @@ class LongValueColumnImpl extends ColumnImpl
 
   @Override
   public Object read(byte[] data, ByteOrder order) throws IOException {
+    return read(data, (TempPageHolder)null);
+  }
+
+  /**
+   * Reads the value from the given LVAL definition, using the given page
+   * holder (if non-{@code null}) for reading any other pages, so that
+   * repeated reads (e.g. of the rows of a cursor) can reuse the same page
+   * buffer.
+   */
+  Object read(byte[] data, TempPageHolder lvalBufferH) throws IOException {
     switch(getType()) {
     case OLE:
       if (data.length > 0) {
-        return readLongValue(data);
+        return readLongValue(data, lvalBufferH);
       }
       return null;
     case MEMO:
       if (data.length > 0) {
-        return readLongStringValue(data);
+        return readLongStringValue(data, lvalBufferH);
       }
       return null;
     default:
@@ -122,9 +143,17 @@ class LongValueColumnImpl extends ColumnImpl
   {
     switch(getType()) {
     case OLE:
+      if(obj instanceof InputStream) {
+        // large values are streamed directly to the long value pages
+        return writeLongValue((InputStream)obj, remainingRowLength);
+      }
       // should already be "encoded"
       break;
     case MEMO:
+      if((obj instanceof Reader) && !isAppendOnly()) {
+        // large values are streamed directly to the long value pages
+        return writeLongTextValue((Reader)obj, remainingRowLength);
+      }
       obj = encodeTextValue(obj, 0, getMaxLengthInUnits(), false).array();
       break;
     default:
@@ -138,9 +167,12 @@ class LongValueColumnImpl extends ColumnImpl
 
   /**
    * @param lvalDefinition Column value that points to an LVAL record
+   * @param lvalBufferH holder used to read any other pages, if {@code null}
+   *                    a new one is created
    * @return The LVAL data
    */
-  protected byte[] readLongValue(byte[] lvalDefinition)
+  protected byte[] readLongValue(byte[] lvalDefinition,
+                                 TempPageHolder lvalBufferH)
     throws IOException
   {
     ByteBuffer def = PageChannel.wrap(lvalDefinition);
@@ -179,12 +211,24 @@ class LongValueColumnImpl extends ColumnImpl
 
       int rowNum = ByteUtil.getUnsignedByte(def);
       int pageNum = ByteUtil.get3ByteInt(def, def.position());
-      ByteBuffer lvalPage = getPageChannel().createPageBuffer();
+
+      if(lvalBufferH == null) {
+        lvalBufferH = TempPageHolder.newReadOnlyHolder(
+            TempBufferHolder.Type.SOFT);
+      } else {
+        // the pages may have been rewritten since the holder was last used,
+        // so always re-read them (the buffer itself is still reused)
+        lvalBufferH.invalidate();
+      }
 
       switch (type) {
       case LONG_VALUE_TYPE_OTHER_PAGE:
         {
-          getPageChannel().readPage(lvalPage, pageNum);
+          ByteBuffer lvalPage = lvalBufferH.setPage(getPageChannel(), pageNum);
+          MetricsListener metrics = getDatabase().getMetrics();
+          if(metrics != null) {
+            metrics.longValuePageRead(this, pageNum);
+          }
 
           short rowStart = TableImpl.findRowStart(lvalPage, rowNum, getFormat());
           short rowEnd = TableImpl.findRowEnd(lvalPage, rowNum, getFormat());
@@ -204,33 +248,16 @@ class LongValueColumnImpl extends ColumnImpl
         break;
 
       case LONG_VALUE_TYPE_OTHER_PAGES:
-
-        ByteBuffer rtnBuf = ByteBuffer.wrap(rtn);
-        int remainingLen = length;
-        while(remainingLen > 0) {
-          lvalPage.clear();
-          getPageChannel().readPage(lvalPage, pageNum);
-
-          short rowStart = TableImpl.findRowStart(lvalPage, rowNum, getFormat());
-          short rowEnd = TableImpl.findRowEnd(lvalPage, rowNum, getFormat());
-
-          // read next page information
-          lvalPage.position(rowStart);
-          rowNum = ByteUtil.getUnsignedByte(lvalPage);
-          pageNum = ByteUtil.get3ByteInt(lvalPage);
-
-          // update rowEnd and remainingLen based on chunkLength
-          int chunkLength = (rowEnd - rowStart) - 4;
-          if(chunkLength > remainingLen) {
-            rowEnd = (short)(rowEnd - (chunkLength - remainingLen));
-            chunkLength = remainingLen;
+        {
+          InputStream in = new LongValueInputStream(lvalBufferH, pageNum,
+                                                    rowNum, length);
+          int pos = 0;
+          int numRead = 0;
+          while((pos < length) &&
+                ((numRead = in.read(rtn, pos, length - pos)) >= 0)) {
+            pos += numRead;
           }
-          remainingLen -= chunkLength;
-
-          lvalPage.limit(rowEnd);
-          rtnBuf.put(lvalPage);
         }
-
         break;
 
       default:
@@ -244,12 +271,68 @@ class LongValueColumnImpl extends ColumnImpl
 
   /**
    * @param lvalDefinition Column value that points to an LVAL record
+   * @return a stream which reads the LVAL data lazily (one page at a time)
+   */
+  InputStream readLongValueStream(byte[] lvalDefinition)
+    throws IOException
+  {
+    ByteBuffer def = PageChannel.wrap(lvalDefinition);
+    int lengthWithFlags = def.getInt();
+    int length = lengthWithFlags & (~LONG_VALUE_TYPE_MASK);
+    byte type = (byte)((lengthWithFlags & LONG_VALUE_TYPE_MASK) >>> 24);
+
+    if((type != LONG_VALUE_TYPE_OTHER_PAGES) ||
+       (lvalDefinition.length != getFormat().SIZE_LONG_VALUE_DEF)) {
+      // value is (at most) one page, just read it
+      return new ByteArrayInputStream(readLongValue(lvalDefinition, null));
+    }
+
+    int rowNum = ByteUtil.getUnsignedByte(def);
+    int pageNum = ByteUtil.get3ByteInt(def, def.position());
+    // the stream outlives this call, so it needs its own page holder
+    return new LongValueInputStream(
+        TempPageHolder.newReadOnlyHolder(TempBufferHolder.Type.SOFT),
+        pageNum, rowNum, length);
+  }
+
+  /**
+   * @param lvalDefinition Column value that points to an LVAL record
+   * @return a reader which decodes the LVAL text lazily (one page at a time)
+   */
+  Reader readLongStringValueStream(byte[] lvalDefinition)
+    throws IOException
+  {
+    PushbackInputStream in = new PushbackInputStream(
+        readLongValueStream(lvalDefinition), 2);
+    byte[] header = new byte[2];
+    int headerLen = 0;
+    int numRead = 0;
+    while((headerLen < header.length) &&
+          ((numRead = in.read(header, headerLen,
+                              header.length - headerLen)) >= 0)) {
+      headerLen += numRead;
+    }
+    in.unread(header, 0, headerLen);
+
+    if((headerLen == header.length) && (header[0] == (byte)0xFF) &&
+       (header[1] == (byte)0xFE)) {
+      // compressed text is limited in size, so just decode it normally
+      return new StringReader(readLongStringValue(lvalDefinition, null));
+    }
+    return new InputStreamReader(in, getCharset());
+  }
+
+  /**
+   * @param lvalDefinition Column value that points to an LVAL record
+   * @param lvalBufferH holder used to read any other pages, may be {@code
+   *                    null}
    * @return The LVAL data
    */
-  private String readLongStringValue(byte[] lvalDefinition)
+  private String readLongStringValue(byte[] lvalDefinition,
+                                     TempPageHolder lvalBufferH)
     throws IOException
   {
-    byte[] binData = readLongValue(lvalDefinition);
+    byte[] binData = readLongValue(lvalDefinition, lvalBufferH);
     if(binData == null) {
       return null;
     }
@@ -388,6 +471,121 @@ class LongValueColumnImpl extends ColumnImpl
     return def;
   }
 
+  /**
+   * Writes the value read from the given stream as an LVAL column.  Values
+   * which span multiple pages are written as the stream is read, so the
+   * entire value is never held in memory.
+   * @return A buffer containing the LVAL definition and (possibly) the column
+   *         value (unless written to other pages)
+   */
+  private ByteBuffer writeLongValue(InputStream in, int remainingRowLength)
+    throws IOException
+  {
+    byte[] prefix = new byte[getFormat().MAX_LONG_VALUE_ROW_SIZE + 1];
+    int prefixLen = 0;
+    int numRead = 0;
+    while((prefixLen < prefix.length) &&
+          ((numRead = in.read(prefix, prefixLen,
+                              prefix.length - prefixLen)) >= 0)) {
+      prefixLen += numRead;
+    }
+
+    if(prefixLen < prefix.length) {
+      // small value, write it as usual
+      return writeLongValue(Arrays.copyOf(prefix, prefixLen),
+                            remainingRowLength);
+    }
+
+    LongValueOutputStream out = new LongValueOutputStream();
+    out.write(prefix, 0, prefixLen);
+    ByteUtil.copy(in, out);
+    return out.finish();
+  }
+
+  /**
+   * Writes the text read from the given reader as an LVAL column.  Values
+   * which span multiple pages are encoded and written as the reader is read,
+   * so the entire value is never held in memory.
+   * @return A buffer containing the LVAL definition and (possibly) the column
+   *         value (unless written to other pages)
+   */
+  private ByteBuffer writeLongTextValue(Reader in, int remainingRowLength)
+    throws IOException
+  {
+    char[] prefix = new char[getFormat().MAX_LONG_VALUE_ROW_SIZE + 1];
+    int prefixLen = 0;
+    int numRead = 0;
+    while((prefixLen < prefix.length) &&
+          ((numRead = in.read(prefix, prefixLen,
+                              prefix.length - prefixLen)) >= 0)) {
+      prefixLen += numRead;
+    }
+
+    if(prefixLen < prefix.length) {
+      // small value (which may be compressed), write it as usual
+      return writeLongValue(
+          encodeTextValue(new String(prefix, 0, prefixLen), 0,
+                          getMaxLengthInUnits(), false).array(),
+          remainingRowLength);
+    }
+
+    // large values are never compressed
+    LongValueOutputStream out = new LongValueOutputStream();
+    Writer writer = new OutputStreamWriter(out, getCharset());
+    writer.write(prefix, 0, prefixLen);
+    char[] buf = new char[8 * 1024];
+    while((numRead = in.read(buf)) >= 0) {
+      writer.write(buf, 0, numRead);
+    }
+    writer.flush();
+    return out.finish();
+  }
+
+  /**
+   * Releases the LVAL record(s) referenced by the given column value, which
+   * must no longer be referenced by any row.  The released rows are flagged
+   * as reclaimable, and any page of this column's usage map which is left
+   * without any live rows is returned to the database.
+   * @param lvalDefinition Column value that points to an LVAL record
+   */
+  void releaseLongValue(byte[] lvalDefinition) throws IOException
+  {
+    ByteBuffer def = PageChannel.wrap(lvalDefinition);
+    int lengthWithFlags = def.getInt();
+    byte type = (byte)((lengthWithFlags & LONG_VALUE_TYPE_MASK) >>> 24);
+
+    if((type == LONG_VALUE_TYPE_THIS_PAGE) ||
+       (lvalDefinition.length != getFormat().SIZE_LONG_VALUE_DEF)) {
+      // inline long value, nothing to release
+      return;
+    }
+
+    int rowNum = ByteUtil.getUnsignedByte(def);
+    int pageNum = ByteUtil.get3ByteInt(def, def.position());
+
+    // use the write buffer so that it does not end up with a stale copy of
+    // any of the modified pages
+    TempPageHolder lvalBufferH = _lvalBufferH.getBufferHolder();
+    while(pageNum != 0) {
+      ByteBuffer lvalPage = lvalBufferH.setPage(getPageChannel(), pageNum);
+
+      int nextRowNum = 0;
+      int nextPageNum = 0;
+      if(type == LONG_VALUE_TYPE_OTHER_PAGES) {
+        // read next page information
+        short rowStart = TableImpl.findRowStart(lvalPage, rowNum, getFormat());
+        nextRowNum = ByteUtil.getUnsignedByte(lvalPage, rowStart);
+        nextPageNum = ByteUtil.get3ByteInt(lvalPage, rowStart + 1);
+      }
+
+      TableImpl.setReclaimableRow(lvalPage, rowNum, getFormat());
+      _lvalBufferH.writeReleasedPage(lvalPage, pageNum);
+
+      rowNum = nextRowNum;
+      pageNum = nextPageNum;
+    }
+  }
+
   /**
    * Writes the header info for a long value page.
    */
@@ -405,6 +603,233 @@ class LongValueColumnImpl extends ColumnImpl
   }
 
 
+  /**
+   * InputStream which reads the data of a long value which spans multiple
+   * pages, reading each page as it is needed.  Note, the stream must be
+   * consumed before the row containing the value is modified.
+   */
+  private final class LongValueInputStream extends InputStream
+  {
+    /** page buffer used to read the long value pages */
+    private final TempPageHolder _lvalBufferH;
+    /** the current page, positioned/limited to the unread part of the
+        current chunk of the value */
+    private ByteBuffer _lvalPage;
+    /** the page containing the next chunk of the value */
+    private int _pageNum;
+    /** the row containing the next chunk of the value */
+    private int _rowNum;
+    /** the length of the value which has not yet been read from a page */
+    private int _remainingLen;
+
+    private LongValueInputStream(TempPageHolder lvalBufferH, int pageNum,
+                                 int rowNum, int length) {
+      _lvalBufferH = lvalBufferH;
+      _pageNum = pageNum;
+      _rowNum = rowNum;
+      _remainingLen = length;
+    }
+
+    /**
+     * Moves to the next chunk of the value if the current chunk has been
+     * read.
+     * @return {@code true} if there is more data to read, {@code false} if
+     *         the end of the value has been reached
+     */
+    private boolean nextChunk() throws IOException {
+      if((_lvalPage != null) && _lvalPage.hasRemaining()) {
+        return true;
+      }
+      if(_remainingLen <= 0) {
+        return false;
+      }
+      if(_pageNum == 0) {
+        // warn the caller, but return whatever we can
+        LOG.warn(withErrorContext(
+                "Value may be truncated: missing " + _remainingLen +
+                " bytes"));
+        _remainingLen = 0;
+        return false;
+      }
+
+      PageChannel pageChannel = getPageChannel();
+      pageChannel.startRead();
+      try {
+        _lvalPage = _lvalBufferH.setPage(pageChannel, _pageNum);
+      } finally {
+        pageChannel.finishRead();
+      }
+      MetricsListener metrics = getDatabase().getMetrics();
+      if(metrics != null) {
+        metrics.longValuePageRead(LongValueColumnImpl.this, _pageNum);
+      }
+
+      _lvalPage.clear();
+      short rowStart = TableImpl.findRowStart(_lvalPage, _rowNum, getFormat());
+      short rowEnd = TableImpl.findRowEnd(_lvalPage, _rowNum, getFormat());
+
+      // read next page information
+      _lvalPage.position(rowStart);
+      _rowNum = ByteUtil.getUnsignedByte(_lvalPage);
+      _pageNum = ByteUtil.get3ByteInt(_lvalPage);
+
+      // update rowEnd and remainingLen based on chunkLength
+      int chunkLength = (rowEnd - rowStart) - 4;
+      if(chunkLength > _remainingLen) {
+        rowEnd = (short)(rowEnd - (chunkLength - _remainingLen));
+        chunkLength = _remainingLen;
+      }
+      _remainingLen -= chunkLength;
+
+      _lvalPage.limit(rowEnd);
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if(!nextChunk()) {
+        return -1;
+      }
+      return ByteUtil.getUnsignedByte(_lvalPage);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if(len == 0) {
+        return 0;
+      }
+      if(!nextChunk()) {
+        return -1;
+      }
+      len = Math.min(len, _lvalPage.remaining());
+      _lvalPage.get(b, off, len);
+      return len;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = 0L;
+      while((skipped < n) && nextChunk()) {
+        int len = (int)Math.min(n - skipped, _lvalPage.remaining());
+        _lvalPage.position(_lvalPage.position() + len);
+        skipped += len;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return ((_lvalPage != null) ? _lvalPage.remaining() : 0);
+    }
+  }
+
+  /**
+   * OutputStream which writes the data of a long value which spans multiple
+   * pages, writing each page once it is full.  At most one page worth of the
+   * value is held in memory.  The LVAL definition for the value is returned
+   * by {@link #finish}.
+   */
+  private final class LongValueOutputStream extends OutputStream
+  {
+    /** the data for the current page */
+    private final byte[] _chunk =
+      new byte[getFormat().MAX_LONG_VALUE_ROW_SIZE - 4];
+    /** the amount of data in the current chunk */
+    private int _chunkLen;
+    /** the current page */
+    private ByteBuffer _lvalPage;
+    private int _lvalPageNum;
+    private final int _firstLvalPageNum;
+    private final byte _firstLvalRow;
+    /** the total length of the value */
+    private long _length;
+
+    private LongValueOutputStream() throws IOException {
+      _lvalPage = _lvalBufferH.getLongValuePage(
+          getFormat().MAX_LONG_VALUE_ROW_SIZE);
+      _lvalPageNum = _lvalBufferH.getPageNumber();
+      _firstLvalPageNum = _lvalPageNum;
+      _firstLvalRow = (byte)TableImpl.getRowsOnDataPage(_lvalPage,
+                                                        getFormat());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if((_length + len) > getType().getMaxSize()) {
+        throw new InvalidValueException(withErrorContext(
+                "value too big for column, max " +
+                getType().getMaxSize() + ", got " + (_length + len)));
+      }
+      _length += len;
+
+      while(len > 0) {
+        if(_chunkLen == _chunk.length) {
+          // we have more data, so this page is done
+          writeChunk(false);
+        }
+        int chunkLen = Math.min(len, _chunk.length - _chunkLen);
+        System.arraycopy(b, off, _chunk, _chunkLen, chunkLen);
+        _chunkLen += chunkLen;
+        off += chunkLen;
+        len -= chunkLen;
+      }
+    }
+
+    /**
+     * Writes the last page of the value.
+     * @return A buffer containing the LVAL definition
+     */
+    public ByteBuffer finish() throws IOException {
+      writeChunk(true);
+
+      ByteBuffer def = PageChannel.createBuffer(
+          getFormat().SIZE_LONG_VALUE_DEF);
+      def.putInt((int)_length | (LONG_VALUE_TYPE_OTHER_PAGES << 24));
+      def.put(_firstLvalRow);
+      ByteUtil.put3ByteInt(def, _firstLvalPageNum);
+      def.putInt(0);  //Unknown
+      def.flip();
+      return def;
+    }
+
+    private void writeChunk(boolean lastChunk) throws IOException {
+      ByteBuffer nextLvalPage = null;
+      int nextLvalPageNum = 0;
+      int nextLvalRowNum = 0;
+      if(!lastChunk) {
+        // force a new page to be allocated for the next chunk
+        _lvalBufferH.clear();
+        nextLvalPage = _lvalBufferH.getLongValuePage(
+            getFormat().MAX_LONG_VALUE_ROW_SIZE);
+        nextLvalPageNum = _lvalBufferH.getPageNumber();
+        nextLvalRowNum = TableImpl.getRowsOnDataPage(nextLvalPage,
+                                                     getFormat());
+      }
+
+      // add row to this page
+      _lvalPage.clear();
+      TableImpl.addDataPageRow(_lvalPage, _chunkLen + 4, getFormat(), 0);
+
+      // write next page info
+      _lvalPage.put((byte)nextLvalRowNum); // row number
+      ByteUtil.put3ByteInt(_lvalPage, nextLvalPageNum); // page number
+
+      // write this page's chunk of data
+      _lvalPage.put(_chunk, 0, _chunkLen);
+      getPageChannel().writePage(_lvalPage, _lvalPageNum);
+
+      // move to next page
+      _lvalPage = nextLvalPage;
+      _lvalPageNum = nextLvalPageNum;
+      _chunkLen = 0;
+    }
+  }
+
   /**
    * Manages secondary page buffers for long value writing.
    */
@@ -455,6 +880,16 @@ class LongValueColumnImpl extends ColumnImpl
       getBufferHolder().clear();
     }
 
+    /**
+     * Writes the given long value data page after some of its rows were
+     * released.
+     */
+    public void writeReleasedPage(ByteBuffer lvalPage, int pageNumber)
+      throws IOException
+    {
+      getPageChannel().writePage(lvalPage, pageNumber);
+    }
+
     public void collectUsageMapPages(Collection<Integer> pages) {
       // base does nothing
     }
@@ -536,6 +971,30 @@ class LongValueColumnImpl extends ColumnImpl
       super.clear();
     }
 
+    @Override
+    public void writeReleasedPage(ByteBuffer lvalPage, int pageNumber)
+      throws IOException
+    {
+      int rowCount = TableImpl.getRowsOnDataPage(lvalPage, getFormat());
+      for(int i = 0; i < rowCount; ++i) {
+        short rowStart = lvalPage.getShort(
+            TableImpl.getRowStartOffset(i, getFormat()));
+        if(!TableImpl.isDeletedRow(rowStart)) {
+          // page is still in use
+          super.writeReleasedPage(lvalPage, pageNumber);
+          return;
+        }
+      }
+
+      // no data left on this page, return it to the database
+      if(getPageNumber() == pageNumber) {
+        clear();
+      }
+      _ownedPages.removePageNumber(pageNumber);
+      _freeSpacePages.removePageNumber(pageNumber);
+      getPageChannel().deallocatePage(pageNumber);
+    }
+
     @Override
     public void collectUsageMapPages(Collection<Integer> pages) {
       pages.add(_ownedPages.getTablePageNumber());
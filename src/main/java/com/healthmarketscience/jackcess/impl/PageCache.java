@@ -0,0 +1,170 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of decoded database pages, bounded by a maximum number of bytes.
+ * Pages are stored as copies of the decoded page data, so callers are always
+ * free to modify the buffers they receive from {@link PageChannel#readPage}.
+ * All operations are synchronized so that the cache may be used by
+ * concurrent readers.
+ *
+ * @author James Ahlborn
+ */
+public class PageCache
+{
+  /** the size of each page stored in this cache */
+  private final int _pageSize;
+  /** the max number of bytes of page data to cache */
+  private final long _maxBytes;
+  /** map of page number to cached page data, in LRU order */
+  private final Map<Integer,byte[]> _pages;
+  /** number of cache hits */
+  private long _hitCount;
+  /** number of cache misses */
+  private long _missCount;
+
+  public PageCache(int pageSize, long maxBytes) {
+    _pageSize = pageSize;
+    _maxBytes = maxBytes;
+    _pages = new LinkedHashMap<Integer,byte[]>(16, 0.75f, true) {
+      private static final long serialVersionUID = 0L;
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer,byte[]> e) {
+        return (getCurrentBytes() > _maxBytes);
+      }
+    };
+  }
+
+  public long getMaxBytes() {
+    return _maxBytes;
+  }
+
+  /**
+   * @return the number of bytes of page data currently cached
+   */
+  public synchronized long getCurrentBytes() {
+    return (long)_pages.size() * _pageSize;
+  }
+
+  public synchronized long getHitCount() {
+    return _hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return _missCount;
+  }
+
+  /**
+   * Copies the cached data for the given page (if any) into the given
+   * buffer.  On success, the buffer will be positioned at 0 with the limit
+   * set to the page size.
+   * @return {@code true} if the page was cached, {@code false} otherwise
+   */
+  public synchronized boolean readPage(ByteBuffer buffer, int pageNumber) {
+    byte[] page = _pages.get(pageNumber);
+    if(page == null) {
+      ++_missCount;
+      return false;
+    }
+    ++_hitCount;
+    buffer.clear();
+    buffer.put(page);
+    buffer.flip();
+    return true;
+  }
+
+  /**
+   * Copies the cached data for the given page (if any) into the given buffer
+   * (as in {@link #readPage}) and then discards the cached page.
+   * @return {@code true} if the page was cached, {@code false} otherwise
+   */
+  public synchronized boolean takePage(ByteBuffer buffer, int pageNumber) {
+    if(!readPage(buffer, pageNumber)) {
+      return false;
+    }
+    _pages.remove(pageNumber);
+    return true;
+  }
+
+  /**
+   * @return {@code true} if the given page is currently cached, {@code false}
+   *         otherwise (does not affect the LRU order or the hit/miss counts)
+   */
+  public synchronized boolean containsPage(int pageNumber) {
+    return _pages.containsKey(pageNumber);
+  }
+
+  /**
+   * Caches a copy of the given decoded page data.  The position and limit of
+   * the given buffer are unchanged.
+   */
+  public synchronized void putPage(ByteBuffer buffer, int pageNumber) {
+    if(_maxBytes < _pageSize) {
+      return;
+    }
+    byte[] page = _pages.get(pageNumber);
+    if(page == null) {
+      page = new byte[_pageSize];
+    }
+    ByteBuffer src = buffer.duplicate();
+    src.clear();
+    src.get(page);
+    _pages.put(pageNumber, page);
+  }
+
+  /**
+   * Updates the cached data (if any) for the given page with the modified
+   * page data, which is all the remaining bytes in the given buffer starting
+   * at the given page offset.  The position and limit of the given buffer
+   * are unchanged.
+   */
+  public synchronized void updatePage(ByteBuffer buffer, int pageNumber,
+                                      int pageOffset) {
+    byte[] page = _pages.get(pageNumber);
+    if(page == null) {
+      return;
+    }
+    ByteBuffer src = buffer.duplicate();
+    src.position(pageOffset);
+    src.get(page, pageOffset, src.remaining());
+  }
+
+  /**
+   * Discards any cached data for the given page.
+   */
+  public synchronized void invalidate(int pageNumber) {
+    _pages.remove(pageNumber);
+  }
+
+  /**
+   * Discards all cached page data.
+   */
+  public synchronized void clear() {
+    _pages.clear();
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "PageCache[" + getCurrentBytes() + "/" + _maxBytes + " bytes, " +
+      _hitCount + " hits, " + _missCount + " misses]";
+  }
+}
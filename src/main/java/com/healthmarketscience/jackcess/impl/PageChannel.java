@@ -22,6 +22,13 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.Channel;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.healthmarketscience.jackcess.util.MetricsListener;
 
 
 /**
@@ -40,6 +47,21 @@ public class PageChannel implements Channel, Flushable {
   private static final byte[] INVALID_PAGE_BYTE_HEADER =
     new byte[]{PageTypes.INVALID, (byte)0, (byte)0, (byte)0};
 
+  /** max size of each mapped segment of the file when memory mapping is
+      enabled (must be a multiple of all page sizes) */
+  private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
+
+  /** max number of modified pages which will be buffered during a logical
+      write operation before they are written to the channel */
+  private static final int MAX_BUFFERED_PAGES = 256;
+
+  /** max number of consecutive pages written in a single write */
+  private static final int MAX_GATHERED_PAGES = 64;
+
+  /** max number of page buffers retained for re-use between logical write
+      operations */
+  private static final int MAX_FREE_BUFFERED_PAGES = 16;
+
   /** Global usage map always lives on page 1 */
   static final int PAGE_GLOBAL_USAGE_MAP = 1;
   /** Global usage map always lives at row 0 */
@@ -67,6 +89,35 @@ public class PageChannel implements Channel, Flushable {
   private TempPageHolder _fullPageEncodeBufferH;
   private TempBufferHolder _tempDecodeBufferH;
   private int _writeCount;
+  /** optional cache of decoded pages */
+  private PageCache _pageCache;
+  /** read-only memory mapped segments of the file, if memory mapping is
+      enabled */
+  private ByteBuffer[] _mappedSegments;
+  /** the size of the file which has been memory mapped */
+  private long _mappedSize;
+  /** optional listener for page I/O metrics */
+  private MetricsListener _metrics;
+  /** the (encoded) contents of the pages modified during the current logical
+      write operation which have not yet been written to the channel, sorted
+      by page number */
+  private final Map<Integer,BufferedPage> _bufferedPages =
+    new TreeMap<Integer,BufferedPage>();
+  /** previously allocated BufferedPages available for re-use */
+  private final List<BufferedPage> _freeBufferedPages =
+    new ArrayList<BufferedPage>();
+  /** buffer used for writing runs of consecutive pages, lazily allocated */
+  private ByteBuffer _gatherBuffer;
+  /** lock which coordinates concurrent readers with (exclusive) logical
+      write operations, {@code null} unless concurrent reads are enabled */
+  private ReentrantReadWriteLock _readWriteLock;
+  /** max number of pages read ahead by table scans (disabled if {@code 0}) */
+  private int _readAheadPages;
+  /** decoded pages which have been read ahead of their use, {@code null}
+      unless read-ahead is enabled */
+  private PageCache _readAheadCache;
+  /** buffer used for reading runs of consecutive pages for read-ahead */
+  private ByteBuffer _readAheadBuffer;
 
   /**
    * Only used by unit tests
@@ -126,11 +177,189 @@ public class PageChannel implements Channel, Flushable {
     return _autoSync;
   }
 
+  /**
+   * Sets the listener to notify of page I/O, {@code null} to disable
+   * notifications.
+   */
+  public void setMetricsListener(MetricsListener metrics) {
+    _metrics = metrics;
+  }
+
+  /**
+   * @return the currently configured page cache, {@code null} if page
+   *         caching is disabled
+   */
+  public PageCache getPageCache() {
+    return _pageCache;
+  }
+
+  /**
+   * Sets the maximum number of bytes of decoded page data which will be
+   * cached by this channel.  A value {@code <= 0} disables page caching.  Any
+   * currently cached pages are discarded.
+   */
+  public void setPageCacheSize(long maxBytes) {
+    _pageCache = ((maxBytes > 0L) ?
+                  new PageCache(getFormat().PAGE_SIZE, maxBytes) : null);
+  }
+
+  /**
+   * @return the max number of pages which will be read ahead by a table scan,
+   *         {@code 0} if read-ahead is disabled
+   */
+  public int getReadAheadPages() {
+    return _readAheadPages;
+  }
+
+  /**
+   * @return the cache of pages which have been read ahead of their use,
+   *         {@code null} if read-ahead is disabled
+   */
+  public PageCache getReadAheadCache() {
+    return _readAheadCache;
+  }
+
+  /**
+   * Sets the max number of pages which will be read ahead by a table scan
+   * (see {@link #readAhead}).  A value {@code <= 1} disables read-ahead.
+   * Any pages which have currently been read ahead are discarded.
+   */
+  public synchronized void setReadAheadPages(int numPages) {
+    if(numPages <= 1) {
+      _readAheadPages = 0;
+      _readAheadCache = null;
+      _readAheadBuffer = null;
+      return;
+    }
+    int pageSize = getFormat().PAGE_SIZE;
+    _readAheadPages = numPages;
+    // room for the current batch of pages and the remains of the last one
+    _readAheadCache = new PageCache(pageSize, 2L * numPages * pageSize);
+    _readAheadBuffer = createBuffer(numPages * pageSize);
+  }
+
+  /**
+   * Returns {@code true} if this channel is serving page reads from a read-only
+   * memory mapping of the database file, {@code false} otherwise.
+   */
+  public boolean isMemoryMapped() {
+    return (_mappedSegments != null);
+  }
+
+  /**
+   * Memory maps the current contents of the database file for reading.  Page
+   * reads will be served from the mapped file instead of reading from the
+   * underlying channel.  <b>This must only be used for read-only
+   * databases</b>, as the mapping will not reflect any changes to the size of
+   * the file.  The mapped file is divided into multiple segments (to avoid
+   * the size limitations of a single mapping).  Note, the mapping will be
+   * released when this channel is garbage collected.
+   *
+   * @return {@code true} if the file was mapped, {@code false} if the
+   *         underlying channel does not support memory mapping
+   */
+  public boolean mapChannel() throws IOException {
+    long size = _channel.size();
+    int numSegments = (int)((size + MAPPED_SEGMENT_SIZE - 1L) /
+                            MAPPED_SEGMENT_SIZE);
+    ByteBuffer[] segments = new ByteBuffer[numSegments];
+    try {
+      for(int i = 0; i < numSegments; ++i) {
+        long pos = i * MAPPED_SEGMENT_SIZE;
+        segments[i] = _channel.map(FileChannel.MapMode.READ_ONLY, pos,
+                                   Math.min(MAPPED_SEGMENT_SIZE, size - pos))
+          .order(DEFAULT_BYTE_ORDER);
+      }
+    } catch(UnsupportedOperationException e) {
+      // channel does not support mapping, stick with normal reads
+      return false;
+    }
+    _mappedSegments = segments;
+    _mappedSize = size;
+    return true;
+  }
+
+  /**
+   * Returns a read-only view of the given page directly from the memory
+   * mapped database file, if possible.  This can only be done if memory
+   * mapping is enabled and the pages do not require any decoding.  The
+   * returned buffer <i>must not be modified</i>.
+   *
+   * @return the read-only page, or {@code null} if the page is not available
+   *         directly
+   */
+  public ByteBuffer getReadOnlyPage(int pageNumber) throws IOException {
+    if(!isMemoryMapped() || (pageNumber == 0) ||
+       (_codecHandler != DefaultCodecProvider.DUMMY_HANDLER)) {
+      return null;
+    }
+    validatePageNumber(pageNumber);
+    return getMappedPage(pageNumber);
+  }
+
+  /**
+   * @return a read-only slice of the memory mapped file containing the given
+   *         page
+   */
+  private ByteBuffer getMappedPage(int pageNumber) {
+    long offset = getPageOffset(pageNumber);
+    ByteBuffer segment = _mappedSegments[(int)(offset / MAPPED_SEGMENT_SIZE)];
+    int segOffset = (int)(offset % MAPPED_SEGMENT_SIZE);
+    ByteBuffer page = segment.duplicate();
+    page.limit(segOffset + getFormat().PAGE_SIZE);
+    page.position(segOffset);
+    return page.slice().asReadOnlyBuffer().order(DEFAULT_BYTE_ORDER);
+  }
+
+  /**
+   * Enables concurrent reads.  Once enabled, read operations bracketed by
+   * {@link #startRead}/{@link #finishRead} may be performed by multiple
+   * threads at the same time, while logical write operations (see {@link
+   * #startWrite}) exclude all other readers and writers.  This must be
+   * enabled before the channel is used by multiple threads.
+   */
+  public void enableConcurrentReads() {
+    if(_readWriteLock == null) {
+      _readWriteLock = new ReentrantReadWriteLock();
+    }
+  }
+
+  /**
+   * Returns {@code true} if concurrent reads are enabled, {@code false}
+   * otherwise.
+   */
+  public boolean isConcurrentReads() {
+    return (_readWriteLock != null);
+  }
+
+  /**
+   * Begins a read operation, which will wait for any logical write operation
+   * being performed by another thread to complete.  This method should be
+   * paired with a call to {@link #finishRead} in a finally block.  Read
+   * operations may be nested (and may be performed within a logical write
+   * operation).  Does nothing unless concurrent reads are enabled.
+   */
+  public void startRead() {
+    if(_readWriteLock != null) {
+      _readWriteLock.readLock().lock();
+    }
+  }
+
+  /**
+   * Completes a read operation started by {@link #startRead}.
+   */
+  public void finishRead() {
+    if(_readWriteLock != null) {
+      _readWriteLock.readLock().unlock();
+    }
+  }
+
   /**
    * Begins a "logical" write operation.  See {@link #finishWrite} for more
    * details.
    */
   public void startWrite() {
+    lockWrite();
     ++_writeCount;
   }
 
@@ -140,24 +369,63 @@ public class PageChannel implements Channel, Flushable {
    * more details.
    */
   public void startExclusiveWrite() {
+    lockWrite();
     if(_writeCount != 0) {
+      unlockWrite();
       throw new IllegalArgumentException(
           "Another write operation is currently in progress");
     }
-    startWrite();
+    ++_writeCount;
   }
 
   /**
    * Completes a "logical" write operation.  This method should be called in
    * finally block which wraps a logical write operation (which is preceded by
-   * a {@link #startWrite} call).  Logical write operations may be nested.  If
-   * the database is configured for "auto-sync", the channel will be flushed
-   * when the outermost operation is complete,
+   * a {@link #startWrite} call).  Logical write operations may be nested.
+   * The pages modified during the operation are buffered and written to the
+   * channel (in page order) when the outermost operation is complete.  If the
+   * database is configured for "auto-sync", the channel will then be flushed.
    */
   public void finishWrite() throws IOException {
     assertWriting();
-    if((--_writeCount == 0) && _autoSync) {
-      flush();
+    try {
+      if(--_writeCount == 0) {
+        writeBufferedPages();
+        if(_autoSync) {
+          flush();
+        }
+      }
+    } finally {
+      unlockWrite();
+    }
+  }
+
+  /**
+   * Acquires the exclusive lock for a logical write operation, if concurrent
+   * reads are enabled.
+   */
+  private void lockWrite() {
+    if(_readWriteLock == null) {
+      return;
+    }
+    if((_readWriteLock.getReadHoldCount() > 0) &&
+       !_readWriteLock.isWriteLockedByCurrentThread()) {
+      // a read lock cannot be upgraded to a write lock (this would block
+      // forever)
+      throw new IllegalStateException(
+          "Cannot start a write operation while a read operation is in " +
+          "progress");
+    }
+    _readWriteLock.writeLock().lock();
+  }
+
+  /**
+   * Releases the exclusive lock for a logical write operation, if concurrent
+   * reads are enabled.
+   */
+  private void unlockWrite() {
+    if(_readWriteLock != null) {
+      _readWriteLock.writeLock().unlock();
     }
   }
 
@@ -198,13 +466,17 @@ public class PageChannel implements Channel, Flushable {
   private void validatePageNumber(int pageNumber)
     throws IOException
   {
-    int nextPageNumber = getNextPageNumber(_channel.size());
+    int nextPageNumber = getNextPageNumber(
+        isMemoryMapped() ? _mappedSize : _channel.size());
     if((pageNumber <= INVALID_PAGE_NUMBER) || (pageNumber >= nextPageNumber)) {
       throw new IllegalStateException("invalid page number " + pageNumber);
     }
   }
 
   /**
+   * Reads the given page into the given buffer.  Note, page reads may be
+   * performed concurrently by multiple threads (as long as no write
+   * operations are in progress).
    * @param buffer Buffer to read the page into
    * @param pageNumber Number of the page to read in (starting at 0)
    */
@@ -218,6 +490,149 @@ public class PageChannel implements Channel, Flushable {
 
     validatePageNumber(pageNumber);
 
+    if((_pageCache != null) && _pageCache.readPage(buffer, pageNumber)) {
+      return;
+    }
+
+    PageCache readAheadCache = _readAheadCache;
+    if((readAheadCache == null) ||
+       !readAheadCache.takePage(buffer, pageNumber)) {
+      if(_codecHandler == DefaultCodecProvider.DUMMY_HANDLER) {
+        readAndDecodePage(buffer, pageNumber);
+      } else {
+        // codec handlers (and the temp decode buffer) are not necessarily
+        // safe for use by concurrent readers
+        synchronized(this) {
+          readAndDecodePage(buffer, pageNumber);
+        }
+      }
+    }
+
+    if(_pageCache != null) {
+      _pageCache.putPage(buffer, pageNumber);
+    }
+  }
+
+  /**
+   * Reads the given pages ahead of their use, so that subsequent calls to
+   * {@link #readPage} for these pages will not need to access the underlying
+   * channel.  Runs of consecutive pages are read using a single channel read
+   * (at most {@link #getReadAheadPages} pages are read).  Pages which are
+   * already cached or which have buffered modifications are skipped.  Does
+   * nothing unless read-ahead is enabled (or if pages are read from a memory
+   * mapped file).
+   *
+   * @param pageNumbers the page numbers to read, in ascending order
+   * @param numPages the number of valid entries in pageNumbers
+   */
+  public void readAhead(int[] pageNumbers, int numPages) throws IOException
+  {
+    if((_readAheadCache == null) || isMemoryMapped()) {
+      return;
+    }
+
+    // codec handlers and the read-ahead buffer are not necessarily safe for
+    // use by concurrent readers
+    synchronized(this) {
+      PageCache readAheadCache = _readAheadCache;
+      if(readAheadCache == null) {
+        return;
+      }
+      numPages = Math.min(numPages, _readAheadPages);
+      int nextPageNumber = getNextPageNumber(_channel.size());
+
+      int runStartPage = INVALID_PAGE_NUMBER;
+      int runLength = 0;
+      for(int i = 0; i < numPages; ++i) {
+        int pageNumber = pageNumbers[i];
+        if((pageNumber <= 0) || (pageNumber >= nextPageNumber) ||
+           _bufferedPages.containsKey(pageNumber) ||
+           readAheadCache.containsPage(pageNumber) ||
+           ((_pageCache != null) && _pageCache.containsPage(pageNumber))) {
+          continue;
+        }
+
+        if((runLength > 0) && (pageNumber != (runStartPage + runLength))) {
+          readAheadRun(readAheadCache, runStartPage, runLength);
+          runLength = 0;
+        }
+        if(runLength == 0) {
+          runStartPage = pageNumber;
+        }
+        ++runLength;
+      }
+      if(runLength > 0) {
+        readAheadRun(readAheadCache, runStartPage, runLength);
+      }
+    }
+  }
+
+  /**
+   * Reads the given run of consecutive pages from the underlying channel
+   * using a single read, decoding each page into the given cache.
+   */
+  private void readAheadRun(PageCache readAheadCache, int startPageNumber,
+                            int numPages)
+    throws IOException
+  {
+    int pageSize = getFormat().PAGE_SIZE;
+    ByteBuffer run = _readAheadBuffer;
+    run.clear();
+    run.limit(numPages * pageSize);
+
+    MetricsListener metrics = _metrics;
+    long startTime = ((metrics != null) ? System.nanoTime() : 0L);
+
+    long offset = getPageOffset(startPageNumber);
+    while(run.hasRemaining()) {
+      if(_channel.read(run, offset + run.position()) < 0) {
+        break;
+      }
+    }
+
+    // only decode the complete pages which were read
+    int numRead = run.position() / pageSize;
+    long readNanos = ((metrics != null) ?
+                      ((System.nanoTime() - startTime) / Math.max(numRead, 1)) :
+                      0L);
+
+    ByteBuffer outPage = (_codecHandler.canDecodeInline() ? null :
+                          createPageBuffer());
+    for(int i = 0; i < numRead; ++i) {
+      int pageNumber = startPageNumber + i;
+      ByteBuffer inPage = run.duplicate();
+      inPage.limit((i + 1) * pageSize);
+      inPage.position(i * pageSize);
+      inPage = inPage.slice().order(DEFAULT_BYTE_ORDER);
+
+      ByteBuffer decodedPage = inPage;
+      if(outPage != null) {
+        decodedPage = outPage;
+        decodedPage.clear();
+      }
+
+      if(metrics == null) {
+        _codecHandler.decodePage(inPage, decodedPage, pageNumber);
+      } else {
+        metrics.pageRead(pageNumber, readNanos);
+        long decodeTime = System.nanoTime();
+        _codecHandler.decodePage(inPage, decodedPage, pageNumber);
+        if(_codecHandler != DefaultCodecProvider.DUMMY_HANDLER) {
+          metrics.pageDecoded(pageNumber, System.nanoTime() - decodeTime);
+        }
+      }
+
+      readAheadCache.putPage(decodedPage, pageNumber);
+    }
+  }
+
+  /**
+   * Reads the given page from the underlying channel (or mapped file) and
+   * decodes it into the given buffer.
+   */
+  private void readAndDecodePage(ByteBuffer buffer, int pageNumber)
+    throws IOException
+  {
     ByteBuffer inPage = buffer;
     ByteBuffer outPage = buffer;
     if(!_codecHandler.canDecodeInline()) {
@@ -225,17 +640,70 @@ public class PageChannel implements Channel, Flushable {
       outPage.clear();
     }
 
-    inPage.clear();
-    int bytesRead = _channel.read(
-        inPage, (long) pageNumber * (long) getFormat().PAGE_SIZE);
-    inPage.flip();
+    MetricsListener metrics = _metrics;
+    long startTime = ((metrics != null) ? System.nanoTime() : 0L);
+
+    if(isMemoryMapped()) {
+      ByteBuffer mappedPage = getMappedPage(pageNumber);
+      int bytesRead = mappedPage.remaining();
+      inPage.clear();
+      inPage.put(mappedPage);
+      inPage.flip();
+      if(bytesRead != getFormat().PAGE_SIZE) {
+        throw new IOException("Failed attempting to read " +
+                              getFormat().PAGE_SIZE + " bytes from page " +
+                              pageNumber + ", only read " + bytesRead);
+      }
+    } else {
+      readEncodedPage(inPage, pageNumber);
+    }
+
+    if(metrics == null) {
+      _codecHandler.decodePage(inPage, outPage, pageNumber);
+      return;
+    }
+
+    long readTime = System.nanoTime();
+    metrics.pageRead(pageNumber, readTime - startTime);
+    _codecHandler.decodePage(inPage, outPage, pageNumber);
+    if(_codecHandler != DefaultCodecProvider.DUMMY_HANDLER) {
+      metrics.pageDecoded(pageNumber, System.nanoTime() - readTime);
+    }
+  }
+
+  /**
+   * Reads the current (encoded) contents of the given page into the given
+   * buffer, including any buffered modifications which have not yet been
+   * written to the channel.
+   */
+  private void readEncodedPage(ByteBuffer buffer, int pageNumber)
+    throws IOException
+  {
+    buffer.clear();
+    BufferedPage bufferedPage = _bufferedPages.get(pageNumber);
+    if((bufferedPage != null) && bufferedPage.isFullPage()) {
+      ByteBuffer src = bufferedPage._buffer;
+      src.clear();
+      buffer.put(src);
+      buffer.flip();
+      return;
+    }
+
+    int bytesRead = _channel.read(buffer, getPageOffset(pageNumber));
+    buffer.flip();
     if(bytesRead != getFormat().PAGE_SIZE) {
       throw new IOException("Failed attempting to read " +
                             getFormat().PAGE_SIZE + " bytes from page " +
                             pageNumber + ", only read " + bytesRead);
     }
 
-    _codecHandler.decodePage(inPage, outPage, pageNumber);
+    if(bufferedPage != null) {
+      // overlay the modified part of the page
+      bufferedPage.prepareWrite();
+      buffer.position(bufferedPage._start);
+      buffer.put(bufferedPage._buffer);
+      buffer.rewind();
+    }
   }
 
   /**
@@ -246,14 +714,7 @@ public class PageChannel implements Channel, Flushable {
   {
     // special method for reading root page, can be done before PageChannel is
     // fully initialized
-    buffer.clear();
-    int bytesRead = _channel.read(buffer, 0L);
-    buffer.flip();
-    if(bytesRead != getFormat().PAGE_SIZE) {
-      throw new IOException("Failed attempting to read " +
-                            getFormat().PAGE_SIZE + " bytes from page " +
-                            0 + ", only read " + bytesRead);
-    }
+    readEncodedPage(buffer, 0);
 
     // de-mask header (note, page 0 never has additional encoding)
     applyHeaderMask(buffer);
@@ -289,6 +750,12 @@ public class PageChannel implements Channel, Flushable {
           "Page buffer is too large, size " + (writeLen + pageOffset));
     }
 
+    if(_pageCache != null) {
+      // keep the cached page in sync with the decoded page data
+      _pageCache.updatePage(page, pageNumber, pageOffset);
+    }
+    invalidateReadAhead(pageNumber);
+
     ByteBuffer encodedPage = page;
     if(pageNumber == 0) {
       // re-mask header
@@ -321,14 +788,22 @@ public class PageChannel implements Channel, Flushable {
       }
 
       // re-encode page
-      encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+      MetricsListener metrics = _metrics;
+      if((metrics != null) &&
+         (_codecHandler != DefaultCodecProvider.DUMMY_HANDLER)) {
+        long startTime = System.nanoTime();
+        encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+        metrics.pageEncoded(pageNumber, System.nanoTime() - startTime);
+      } else {
+        encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+      }
 
       // reset position/limit in case they were affected by encoding
       encodedPage.position(pageOffset).limit(pageOffset + writeLen);
     }
 
     try {
-      _channel.write(encodedPage, (getPageOffset(pageNumber) + pageOffset));
+      bufferPage(encodedPage, pageNumber, pageOffset);
     } finally {
       if(pageNumber == 0) {
         // de-mask header
@@ -337,6 +812,162 @@ public class PageChannel implements Channel, Flushable {
     }
   }
 
+  /**
+   * Buffers the given (encoded) page data until the current logical write
+   * operation is complete, coalescing it with any previously buffered
+   * modifications to the same page.
+   */
+  private void bufferPage(ByteBuffer encodedPage, int pageNumber,
+                          int pageOffset)
+    throws IOException
+  {
+    int start = pageOffset;
+    int end = pageOffset + encodedPage.remaining();
+
+    BufferedPage bufferedPage = _bufferedPages.get(pageNumber);
+    if(bufferedPage == null) {
+
+      if(_bufferedPages.size() >= MAX_BUFFERED_PAGES) {
+        // don't let the buffered pages grow without bound during a large
+        // write operation
+        writeBufferedPages();
+      }
+
+      bufferedPage = newBufferedPage(start, end);
+      _bufferedPages.put(pageNumber, bufferedPage);
+
+    } else if((start > bufferedPage._end) || (end < bufferedPage._start)) {
+
+      // the modified ranges are not contiguous, so we need the current page
+      // contents in between
+      ByteBuffer curPage = createPageBuffer();
+      readEncodedPage(curPage, pageNumber);
+      ByteBuffer buffer = bufferedPage._buffer;
+      buffer.clear();
+      buffer.put(curPage);
+      bufferedPage.setRange(0, getFormat().PAGE_SIZE);
+
+    } else {
+      bufferedPage.setRange(Math.min(start, bufferedPage._start),
+                            Math.max(end, bufferedPage._end));
+    }
+
+    ByteBuffer buffer = bufferedPage._buffer;
+    buffer.clear();
+    buffer.position(pageOffset);
+    buffer.put(encodedPage);
+  }
+
+  /**
+   * Writes all the buffered pages to the channel, in page order.  Runs of
+   * consecutive full pages are written using a single write.
+   */
+  private void writeBufferedPages() throws IOException {
+    if(_bufferedPages.isEmpty()) {
+      return;
+    }
+
+    try {
+      List<ByteBuffer> run = new ArrayList<ByteBuffer>();
+      int runStartPage = INVALID_PAGE_NUMBER;
+      for(Map.Entry<Integer,BufferedPage> e : _bufferedPages.entrySet()) {
+        int pageNumber = e.getKey();
+        BufferedPage bufferedPage = e.getValue();
+
+        if(!bufferedPage.isFullPage()) {
+          // partially modified pages are written individually
+          long startTime = ((_metrics != null) ? System.nanoTime() : 0L);
+          bufferedPage.prepareWrite();
+          writeFully(bufferedPage._buffer,
+                     getPageOffset(pageNumber) + bufferedPage._start);
+          if(_metrics != null) {
+            _metrics.pagesWritten(pageNumber, 1, System.nanoTime() - startTime);
+          }
+          continue;
+        }
+
+        if(!run.isEmpty() &&
+           ((pageNumber != (runStartPage + run.size())) ||
+            (run.size() == MAX_GATHERED_PAGES))) {
+          writePages(run, runStartPage);
+          run.clear();
+        }
+        if(run.isEmpty()) {
+          runStartPage = pageNumber;
+        }
+        bufferedPage.prepareWrite();
+        run.add(bufferedPage._buffer);
+      }
+      if(!run.isEmpty()) {
+        writePages(run, runStartPage);
+      }
+    } finally {
+      for(BufferedPage bufferedPage : _bufferedPages.values()) {
+        if(_freeBufferedPages.size() < MAX_FREE_BUFFERED_PAGES) {
+          _freeBufferedPages.add(bufferedPage);
+        }
+      }
+      _bufferedPages.clear();
+    }
+  }
+
+  /**
+   * Writes the given consecutive full pages to the channel using a single
+   * positional write (the position of the channel is never modified, as
+   * it may be shared with other readers/writers).
+   */
+  private void writePages(List<ByteBuffer> pages, int startPageNumber)
+    throws IOException
+  {
+    long startTime = ((_metrics != null) ? System.nanoTime() : 0L);
+
+    long offset = getPageOffset(startPageNumber);
+    if(pages.size() == 1) {
+      writeFully(pages.get(0), offset);
+    } else {
+      if(_gatherBuffer == null) {
+        _gatherBuffer = createBuffer(
+            MAX_GATHERED_PAGES * getFormat().PAGE_SIZE);
+      }
+      ByteBuffer run = _gatherBuffer;
+      run.clear();
+      for(ByteBuffer page : pages) {
+        run.put(page);
+      }
+      run.flip();
+      writeFully(run, offset);
+    }
+
+    if(_metrics != null) {
+      _metrics.pagesWritten(startPageNumber, pages.size(),
+                            System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Writes all the remaining bytes of the given buffer to the channel at the
+   * given position.
+   */
+  private void writeFully(ByteBuffer buffer, long offset) throws IOException
+  {
+    while(buffer.hasRemaining()) {
+      offset += _channel.write(buffer, offset);
+    }
+  }
+
+  /**
+   * @return a BufferedPage for the given modified range, re-using a
+   *         previously allocated page buffer if possible
+   */
+  private BufferedPage newBufferedPage(int start, int end) {
+    int numFree = _freeBufferedPages.size();
+    BufferedPage bufferedPage = ((numFree > 0) ?
+                                 _freeBufferedPages.remove(numFree - 1) :
+                                 new BufferedPage(createPageBuffer()));
+    bufferedPage.setRange(start, end);
+    return bufferedPage;
+  }
+
   /**
    * Allocates a new page in the database.  Data in the page is undefined
    * until it is written in a call to {@link #writePage(ByteBuffer,int)}.
@@ -366,7 +997,16 @@ public class PageChannel implements Channel, Flushable {
 
     // since we are just allocating page space at this point and not writing
     // meaningful data, we do _not_ encode the page.
+    long startTime = ((_metrics != null) ? System.nanoTime() : 0L);
     _channel.write(_forceBytes, offset);
+    if(_metrics != null) {
+      _metrics.pageAllocated(pageNumber, System.nanoTime() - startTime);
+    }
+
+    if(_pageCache != null) {
+      _pageCache.invalidate(pageNumber);
+    }
+    invalidateReadAhead(pageNumber);
 
     _globalUsageMap.removePageNumber(pageNumber);
     return pageNumber;
@@ -383,11 +1023,26 @@ public class PageChannel implements Channel, Flushable {
     // don't write the whole page, just wipe out the header (which should be
     // enough to let us know if we accidentally try to use an invalid page)
     _invalidPageBytes.rewind();
-    _channel.write(_invalidPageBytes, getPageOffset(pageNumber));
+    bufferPage(_invalidPageBytes, pageNumber, 0);
+
+    if(_pageCache != null) {
+      _pageCache.invalidate(pageNumber);
+    }
+    invalidateReadAhead(pageNumber);
 
     _globalUsageMap.addPageNumber(pageNumber);  //force is done here
   }
 
+  /**
+   * Discards the given page if it was previously read ahead.
+   */
+  private void invalidateReadAhead(int pageNumber) {
+    PageCache readAheadCache = _readAheadCache;
+    if(readAheadCache != null) {
+      readAheadCache.invalidate(pageNumber);
+    }
+  }
+
   /**
    * @return A newly-allocated buffer that can be passed to readPage
    */
@@ -417,6 +1072,14 @@ public class PageChannel implements Channel, Flushable {
 
   @Override
   public void close() throws IOException {
+    if(_pageCache != null) {
+      _pageCache.clear();
+    }
+    if(_readAheadCache != null) {
+      _readAheadCache.clear();
+    }
+    _mappedSegments = null;
+    writeBufferedPages();
     flush();
     if(_closeChannel) {
       _channel.close();
@@ -463,4 +1126,39 @@ public class PageChannel implements Channel, Flushable {
   public static ByteBuffer wrap(byte[] bytes) {
     return ByteBuffer.wrap(bytes).order(DEFAULT_BYTE_ORDER);
   }
+
+  /**
+   * The (encoded) contents of a page modified during the current logical
+   * write operation, along with the range of the page which was modified.
+   */
+  private static final class BufferedPage
+  {
+    private final ByteBuffer _buffer;
+    /** start of the modified range (inclusive) */
+    private int _start;
+    /** end of the modified range (exclusive) */
+    private int _end;
+
+    private BufferedPage(ByteBuffer buffer) {
+      _buffer = buffer;
+    }
+
+    private void setRange(int start, int end) {
+      _start = start;
+      _end = end;
+    }
+
+    private boolean isFullPage() {
+      return((_start == 0) && (_end == _buffer.capacity()));
+    }
+
+    /**
+     * Narrows the buffer to the modified range.
+     */
+    private void prepareWrite() {
+      _buffer.clear();
+      _buffer.limit(_end);
+      _buffer.position(_start);
+    }
+  }
 }
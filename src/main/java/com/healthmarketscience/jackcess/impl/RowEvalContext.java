@@ -16,6 +16,9 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.healthmarketscience.jackcess.expr.EvalException;
 import com.healthmarketscience.jackcess.expr.Identifier;
 import com.healthmarketscience.jackcess.expr.Value;
@@ -26,6 +29,10 @@ import com.healthmarketscience.jackcess.expr.Value;
  */
 public abstract class RowEvalContext extends BaseEvalContext
 {
+  /** cache of the columns referenced by the expression (the identifiers of
+      a parsed expression are fixed, so we can cache by identity) */
+  private final Map<Identifier,ColumnImpl> _cols =
+    new IdentityHashMap<Identifier,ColumnImpl>();
   private Object[] _row;
 
   public RowEvalContext(DatabaseImpl db) {
@@ -43,6 +50,19 @@ public abstract class RowEvalContext extends BaseEvalContext
   @Override
   public Value getIdentifierValue(Identifier identifier) {
 
+    ColumnImpl col = _cols.get(identifier);
+    if(col == null) {
+      col = findColumn(identifier);
+      _cols.put(identifier, col);
+    }
+
+    Object val = col.getRowValue(_row);
+
+    return toValue(val, col.getType());
+  }
+
+  private ColumnImpl findColumn(Identifier identifier) {
+
     TableImpl table = getTable();
 
     // we only support getting column values in this table from the current
@@ -53,11 +73,7 @@ public abstract class RowEvalContext extends BaseEvalContext
                               identifier);
     }
 
-    ColumnImpl col = table.getColumn(identifier.getObjectName());
-
-    Object val = col.getRowValue(_row);
-
-    return toValue(val, col.getType());
+    return table.getColumn(identifier.getObjectName());
   }
 
   protected abstract TableImpl getTable();
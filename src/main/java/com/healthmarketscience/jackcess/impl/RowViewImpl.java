@@ -0,0 +1,189 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.RowView;
+
+/**
+ * Implementation of a RowView which reads the values of the current row of a
+ * CursorImpl.
+ *
+ * @author James Ahlborn
+ */
+public class RowViewImpl implements RowView
+{
+  /** the cursor whose current row is being viewed */
+  private final CursorImpl _cursor;
+
+  RowViewImpl(CursorImpl cursor) {
+    _cursor = cursor;
+  }
+
+  private TableImpl getTable() {
+    return _cursor.getTable();
+  }
+
+  @Override
+  public RowIdImpl getId() {
+    return _cursor.getCurrentRowId();
+  }
+
+  @Override
+  public boolean isNull(String columnName) throws IOException {
+    return isNull(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public boolean isNull(Column column) throws IOException {
+    return getTable().isNullRowValue(_cursor.getRowState(), getId(),
+                                     (ColumnImpl)column);
+  }
+
+  @Override
+  public int getInt(String columnName) throws IOException {
+    return getInt(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public int getInt(Column column) throws IOException {
+    switch(column.getType()) {
+    case BYTE:
+    case INT:
+    case LONG:
+      return (int)readLong((ColumnImpl)column);
+    default:
+      Number num = getNumber(column);
+      return ((num != null) ? num.intValue() : 0);
+    }
+  }
+
+  @Override
+  public long getLong(String columnName) throws IOException {
+    return getLong(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public long getLong(Column column) throws IOException {
+    switch(column.getType()) {
+    case BYTE:
+    case INT:
+    case LONG:
+    case BIG_INT:
+      return readLong((ColumnImpl)column);
+    default:
+      Number num = getNumber(column);
+      return ((num != null) ? num.longValue() : 0L);
+    }
+  }
+
+  @Override
+  public double getDouble(String columnName) throws IOException {
+    return getDouble(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public double getDouble(Column column) throws IOException {
+    switch(column.getType()) {
+    case FLOAT:
+    case DOUBLE:
+      return getTable().getDoubleRowValue(_cursor.getRowState(), getId(),
+                                          (ColumnImpl)column);
+    case BYTE:
+    case INT:
+    case LONG:
+    case BIG_INT:
+      return readLong((ColumnImpl)column);
+    default:
+      Number num = getNumber(column);
+      return ((num != null) ? num.doubleValue() : 0.0d);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(String columnName) throws IOException {
+    return getBoolean(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public boolean getBoolean(Column column) throws IOException {
+    Boolean b = (Boolean)get(column);
+    return ((b != null) && b);
+  }
+
+  @Override
+  public String getString(String columnName) throws IOException {
+    return getString(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public String getString(Column column) throws IOException {
+    Object value = get(column);
+    return ((value != null) ? value.toString() : null);
+  }
+
+  @Override
+  public InputStream getBinaryStream(String columnName) throws IOException {
+    return getBinaryStream(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public InputStream getBinaryStream(Column column) throws IOException {
+    return getTable().getRowValueStream(_cursor.getRowState(), getId(),
+                                        (ColumnImpl)column);
+  }
+
+  @Override
+  public Reader getCharacterStream(String columnName) throws IOException {
+    return getCharacterStream(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public Reader getCharacterStream(Column column) throws IOException {
+    return getTable().getRowValueReader(_cursor.getRowState(), getId(),
+                                        (ColumnImpl)column);
+  }
+
+  @Override
+  public Object get(String columnName) throws IOException {
+    return get(getTable().getColumn(columnName));
+  }
+
+  @Override
+  public Object get(Column column) throws IOException {
+    return _cursor.getCurrentRowValue((ColumnImpl)column);
+  }
+
+  private long readLong(ColumnImpl column) throws IOException {
+    return getTable().getLongRowValue(_cursor.getRowState(), getId(), column);
+  }
+
+  private Number getNumber(Column column) throws IOException {
+    return (Number)get(column);
+  }
+
+  @Override
+  public String toString() {
+    return CustomToStringStyle.valueBuilder(this)
+      .append("cursor", _cursor.getId())
+      .toString();
+  }
+}
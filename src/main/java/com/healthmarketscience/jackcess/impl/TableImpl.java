@@ -18,6 +18,8 @@ package com.healthmarketscience.jackcess.impl;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
@@ -25,22 +27,29 @@ import java.nio.charset.Charset;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.healthmarketscience.jackcess.BatchUpdateException;
+import com.healthmarketscience.jackcess.BulkLoader;
 import com.healthmarketscience.jackcess.Column;
 import com.healthmarketscience.jackcess.ColumnBuilder;
 import com.healthmarketscience.jackcess.ConstraintViolationException;
 import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Index;
 import com.healthmarketscience.jackcess.IndexBuilder;
 import com.healthmarketscience.jackcess.InvalidValueException;
@@ -52,6 +61,7 @@ import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.expr.Identifier;
 import com.healthmarketscience.jackcess.util.ErrorHandler;
 import com.healthmarketscience.jackcess.util.ExportUtil;
+import com.healthmarketscience.jackcess.util.MetricsListener;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -154,6 +164,8 @@ public class TableImpl implements Table, PropertyMaps.Owner
   private final UsageMap _ownedPages;
   /** Usage map of pages that this table owns with free space on them */
   private final UsageMap _freeSpacePages;
+  /** index of the data pages with free space, used to place new rows */
+  private final FreeSpaceIndex _freeSpaceIndex;
   /** Number of rows in the table */
   private int _rowCount;
   /** last long auto number for the table */
@@ -223,6 +235,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
     _logicalIndexCount = 0;
     _ownedPages = null;
     _freeSpacePages = null;
+    _freeSpaceIndex = null;
   }
 
   /**
@@ -260,6 +273,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
     _ownedPages = UsageMap.read(getDatabase(), tableBuffer);
     tableBuffer.position(getFormat().OFFSET_FREE_SPACE_PAGES);
     _freeSpacePages = UsageMap.read(getDatabase(), tableBuffer);
+    _freeSpaceIndex = new FreeSpaceIndex(this, _freeSpacePages);
 
     for (int i = 0; i < _indexCount; i++) {
       _indexDatas.add(IndexData.create(this, tableBuffer, i, getFormat()));
@@ -694,11 +708,27 @@ public class TableImpl implements Table, PropertyMaps.Owner
         rowBuffer = positionAtRowHeader(rowState, rowId);
       }
 
+      // the overflow row data (if any) is no longer needed either
+      RowIdImpl overflowRowId = null;
+      ByteBuffer overflowPage = null;
+      if(rowState.isOverflow()) {
+        positionAtRowData(rowState, rowId);
+        overflowRowId = rowState.getFinalRowId();
+        overflowPage = rowState.getFinalPage();
+        rowBuffer = positionAtRowHeader(rowState, rowId);
+        if(overflowRowId.getPageNumber() == pageNumber) {
+          // same page as the header row, share page
+          overflowPage = rowBuffer;
+        }
+        setReclaimableRow(overflowPage, overflowRowId.getRowNumber());
+      }
+
       // finally, pull the trigger
-      int rowIndex = getRowStartOffset(rowNumber, getFormat());
-      rowBuffer.putShort(rowIndex, (short)(rowBuffer.getShort(rowIndex)
-                                           | DELETED_ROW_MASK | OVERFLOW_ROW_MASK));
+      setReclaimableRow(rowBuffer, rowNumber);
       writeDataPage(rowBuffer, pageNumber);
+      if((overflowPage != null) && (overflowPage != rowBuffer)) {
+        writeDataPage(overflowPage, overflowRowId.getPageNumber());
+      }
 
       // update the indexes
       for(IndexData indexData : _indexDatas) {
@@ -708,6 +738,11 @@ public class TableImpl implements Table, PropertyMaps.Owner
       // make sure table def gets updated
       updateTableDefinition(-1);
 
+      MetricsListener metrics = getDatabase().getMetrics();
+      if(metrics != null) {
+        metrics.rowDeleted(this);
+      }
+
     } finally {
       getPageChannel().finishWrite();
     }
@@ -732,11 +767,217 @@ public class TableImpl implements Table, PropertyMaps.Owner
     }
     requireValidRowId(rowId);
 
-    // position at correct row
-    ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
+    getPageChannel().startRead();
+    try {
+      // position at correct row
+      ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
+      requireNonDeletedRow(rowState, rowId);
+
+      return getRowColumn(getFormat(), rowBuffer, column, rowState, null);
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Returns a stream which reads the value of the given long value column
+   * (DataTypes OLE, MEMO) in the given row lazily, one page at a time.  For
+   * MEMO columns, the stream contains the encoded text.
+   * @return the column value stream, or {@code null} if the value is {@code
+   *         null}
+   * @usage _advanced_method_
+   */
+  public InputStream getRowValueStream(RowState rowState, RowIdImpl rowId,
+                                       ColumnImpl column)
+    throws IOException
+  {
+    byte[] lvalDefinition = getLongValueDefinition(rowState, rowId, column);
+    return ((lvalDefinition != null) ?
+            ((LongValueColumnImpl)column).readLongValueStream(lvalDefinition) :
+            null);
+  }
+
+  /**
+   * Returns a reader which decodes the value of the given MEMO column in the
+   * given row lazily, one page at a time.
+   * @return the column value reader, or {@code null} if the value is {@code
+   *         null}
+   * @usage _advanced_method_
+   */
+  public Reader getRowValueReader(RowState rowState, RowIdImpl rowId,
+                                  ColumnImpl column)
+    throws IOException
+  {
+    if(column.getType() != DataType.MEMO) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Given column " + column + " is not a MEMO column"));
+    }
+    byte[] lvalDefinition = getLongValueDefinition(rowState, rowId, column);
+    return ((lvalDefinition != null) ?
+            ((LongValueColumnImpl)column).readLongStringValueStream(
+                lvalDefinition) :
+            null);
+  }
+
+  /**
+   * Returns the raw LVAL definition of the given long value column in the
+   * given row, or {@code null} if the value is {@code null}.
+   */
+  private byte[] getLongValueDefinition(RowState rowState, RowIdImpl rowId,
+                                        ColumnImpl column)
+    throws IOException
+  {
+    if(!(column instanceof LongValueColumnImpl)) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Given column " + column + " is not a long value column"));
+    }
+
+    getPageChannel().startRead();
+    try {
+      NullMask nullMask = positionAtRowNullMask(rowState, rowId, column);
+      if(nullMask.isNull(column)) {
+        return null;
+      }
+      ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
+      byte[] lvalDefinition = getRowColumnData(
+          getFormat(), rowBuffer, column, rowState, nullMask);
+      return ((lvalDefinition.length > 0) ? lvalDefinition : null);
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Returns whether or not the value of the given column in the given row is
+   * {@code null}, without reading the column value.
+   * @usage _advanced_method_
+   */
+  public boolean isNullRowValue(RowState rowState, RowIdImpl rowId,
+                                ColumnImpl column)
+    throws IOException
+  {
+    getPageChannel().startRead();
+    try {
+      NullMask nullMask = positionAtRowNullMask(rowState, rowId, column);
+      // boolean values are stored in the null mask (never null)
+      return (!column.storeInNullMask() && nullMask.isNull(column));
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Reads the value of the given integral column (DataTypes BYTE, INT, LONG,
+   * BIG_INT) in the given row directly from the row data, without copying or
+   * boxing the value.
+   * @return the column value, or 0 if the value is {@code null}
+   * @usage _advanced_method_
+   */
+  public long getLongRowValue(RowState rowState, RowIdImpl rowId,
+                              ColumnImpl column)
+    throws IOException
+  {
+    getPageChannel().startRead();
+    try {
+      int offset = findFixedRowValueOffset(rowState, rowId, column);
+      if(offset < 0) {
+        return 0L;
+      }
+      ByteBuffer buffer = rowState.getFinalPage();
+      switch(column.getType()) {
+      case BYTE:
+        return buffer.get(offset);
+      case INT:
+        return buffer.getShort(offset);
+      case LONG:
+        return buffer.getInt(offset);
+      case BIG_INT:
+        return buffer.getLong(offset);
+      default:
+        throw new IllegalArgumentException(withErrorContext(
+            "Column " + column.getName() + " is not an integral type"));
+      }
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Reads the value of the given floating point column (DataTypes FLOAT,
+   * DOUBLE) in the given row directly from the row data, without copying or
+   * boxing the value.
+   * @return the column value, or 0 if the value is {@code null}
+   * @usage _advanced_method_
+   */
+  public double getDoubleRowValue(RowState rowState, RowIdImpl rowId,
+                                  ColumnImpl column)
+    throws IOException
+  {
+    getPageChannel().startRead();
+    try {
+      int offset = findFixedRowValueOffset(rowState, rowId, column);
+      if(offset < 0) {
+        return 0.0d;
+      }
+      ByteBuffer buffer = rowState.getFinalPage();
+      switch(column.getType()) {
+      case FLOAT:
+        return buffer.getFloat(offset);
+      case DOUBLE:
+        return buffer.getDouble(offset);
+      default:
+        throw new IllegalArgumentException(withErrorContext(
+            "Column " + column.getName() + " is not a floating point type"));
+      }
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Returns the offset of the data for the given fixed length column within
+   * the final page of the given row, or -1 if the column value is {@code
+   * null}.
+   */
+  private int findFixedRowValueOffset(RowState rowState, RowIdImpl rowId,
+                                      ColumnImpl column)
+    throws IOException
+  {
+    NullMask nullMask = positionAtRowNullMask(rowState, rowId, column);
+    if(nullMask.isNull(column)) {
+      return -1;
+    }
+    int rowStart = findRowStart(rowState.getFinalPage(),
+                                rowState.getFinalRowId().getRowNumber(),
+                                getFormat());
+    return rowStart + getFormat().OFFSET_COLUMN_FIXED_DATA_ROW_OFFSET +
+      column.getFixedDataOffset();
+  }
+
+  /**
+   * Positions the given rowState at the row data for the given row and
+   * returns the null mask for the row.  Re-uses the current position and
+   * null mask of the rowState if possible (so that reading multiple values
+   * from the same row does not allocate anything).
+   */
+  private NullMask positionAtRowNullMask(RowState rowState, RowIdImpl rowId,
+                                         ColumnImpl column)
+    throws IOException
+  {
+    if(this != column.getTable()) {
+      throw new IllegalArgumentException(withErrorContext(
+          "Given column " + column + " is not from this table"));
+    }
+    requireValidRowId(rowId);
+
+    positionAtRowHeader(rowState, rowId);
     requireNonDeletedRow(rowState, rowId);
 
-    return getRowColumn(getFormat(), rowBuffer, column, rowState, null);
+    if(!rowState.isAtFinalRow() || (rowState._nullMask == null)) {
+      // position at the actual row data
+      rowState.getNullMask(positionAtRowData(rowState, rowId));
+    }
+    return rowState._nullMask;
   }
 
   /**
@@ -747,14 +988,55 @@ public class TableImpl implements Table, PropertyMaps.Owner
   public RowImpl getRow(
       RowState rowState, RowIdImpl rowId, Collection<String> columnNames)
     throws IOException
+  {
+    return getProjectedRow(rowState, rowId, getProjectedColumns(columnNames));
+  }
+
+  /**
+   * Reads the given columns from the given row.  Only the data for the given
+   * columns is located and decoded.
+   * @param columns the columns to read, as returned from {@link
+   *                #getProjectedColumns}
+   * @usage _advanced_method_
+   */
+  public RowImpl getProjectedRow(
+      RowState rowState, RowIdImpl rowId, List<ColumnImpl> columns)
+    throws IOException
   {
     requireValidRowId(rowId);
 
-    // position at correct row
-    ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
-    requireNonDeletedRow(rowState, rowId);
+    getPageChannel().startRead();
+    try {
+      // position at correct row
+      ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
+      requireNonDeletedRow(rowState, rowId);
 
-    return getRow(getFormat(), rowState, rowBuffer, _columns, columnNames);
+      return getRow(getFormat(), rowState, rowBuffer, columns);
+    } finally {
+      getPageChannel().finishRead();
+    }
+  }
+
+  /**
+   * Returns the columns of this table (in table order) whose names are in the
+   * given collection, or all the columns if the given collection is {@code
+   * null}.  The result can be used to efficiently read the same subset of
+   * columns from many rows (see {@link #getProjectedRow}).
+   * @usage _advanced_method_
+   */
+  public List<ColumnImpl> getProjectedColumns(Collection<String> columnNames)
+  {
+    if(columnNames == null) {
+      return _columns;
+    }
+    List<ColumnImpl> columns = new ArrayList<ColumnImpl>(
+        Math.min(columnNames.size(), _columns.size()));
+    for(ColumnImpl column : _columns) {
+      if(columnNames.contains(column.getName())) {
+        columns.add(column);
+      }
+    }
+    return columns;
   }
 
   /**
@@ -765,18 +1047,14 @@ public class TableImpl implements Table, PropertyMaps.Owner
       JetFormat format,
       RowState rowState,
       ByteBuffer rowBuffer,
-      Collection<ColumnImpl> columns,
-      Collection<String> columnNames)
+      List<ColumnImpl> columns)
     throws IOException
   {
     RowImpl rtn = new RowImpl(rowState.getHeaderRowId(), columns.size());
     for(ColumnImpl column : columns) {
-
-      if((columnNames == null) || (columnNames.contains(column.getName()))) {
-        // Add the value to the row data
-        column.setRowValue(
-            rtn, getRowColumn(format, rowBuffer, column, rowState, null));
-      }
+      // Add the value to the row data
+      column.setRowValue(
+          rtn, getRowColumn(format, rowBuffer, column, rowState, null));
     }
     return rtn;
   }
@@ -813,51 +1091,8 @@ public class TableImpl implements Table, PropertyMaps.Owner
         return cachedValue;
       }
 
-      // reset position to row start
-      rowBuffer.reset();
-
-      // locate the column data bytes
-      int rowStart = rowBuffer.position();
-      int colDataPos = 0;
-      int colDataLen = 0;
-      if(!column.isVariableLength()) {
-
-        // read fixed length value (non-boolean at this point)
-        int dataStart = rowStart + format.OFFSET_COLUMN_FIXED_DATA_ROW_OFFSET;
-        colDataPos = dataStart + column.getFixedDataOffset();
-        colDataLen = column.getType().getFixedSize(column.getLength());
-
-      } else {
-        int varDataStart;
-        int varDataEnd;
-
-        if(format.SIZE_ROW_VAR_COL_OFFSET == 2) {
-
-          // read simple var length value
-          int varColumnOffsetPos =
-            (rowBuffer.limit() - nullMask.byteSize() - 4) -
-            (column.getVarLenTableIndex() * 2);
-
-          varDataStart = rowBuffer.getShort(varColumnOffsetPos);
-          varDataEnd = rowBuffer.getShort(varColumnOffsetPos - 2);
-
-        } else {
-
-          // read jump-table based var length values
-          short[] varColumnOffsets = readJumpTableVarColOffsets(
-              rowState, rowBuffer, rowStart, nullMask);
-
-          varDataStart = varColumnOffsets[column.getVarLenTableIndex()];
-          varDataEnd = varColumnOffsets[column.getVarLenTableIndex() + 1];
-        }
-
-        colDataPos = rowStart + varDataStart;
-        colDataLen = varDataEnd - varDataStart;
-      }
-
-      // grab the column data
-      rowBuffer.position(colDataPos);
-      columnData = ByteUtil.getBytes(rowBuffer, colDataLen);
+      columnData = getRowColumnData(format, rowBuffer, column, rowState,
+                                    nullMask);
 
       if((rawVarValues != null) && column.isVariableLength()) {
         // caller wants raw value as well
@@ -868,8 +1103,11 @@ public class TableImpl implements Table, PropertyMaps.Owner
       // to update the index on row deletion.  note, most of the returned
       // values are immutable, except for binary data (returned as byte[]),
       // but binary data shouldn't be indexed anyway.
-      return rowState.setRowCacheValue(column.getColumnIndex(),
-                                       column.read(columnData));
+      Object value = ((column instanceof LongValueColumnImpl) ?
+                      ((LongValueColumnImpl)column).read(
+                          columnData, rowState.getLongValueBufferHolder()) :
+                      column.read(columnData));
+      return rowState.setRowCacheValue(column.getColumnIndex(), value);
 
     } catch(Exception e) {
 
@@ -881,6 +1119,63 @@ public class TableImpl implements Table, PropertyMaps.Owner
     }
   }
 
+  /**
+   * Reads the raw data of the given (non-boolean, non-null) column from the
+   * given row buffer.  Leaves limit unchanged.
+   */
+  private static byte[] getRowColumnData(JetFormat format,
+                                         ByteBuffer rowBuffer,
+                                         ColumnImpl column,
+                                         RowState rowState,
+                                         NullMask nullMask)
+  {
+    // reset position to row start
+    rowBuffer.reset();
+
+    // locate the column data bytes
+    int rowStart = rowBuffer.position();
+    int colDataPos = 0;
+    int colDataLen = 0;
+    if(!column.isVariableLength()) {
+
+      // read fixed length value (non-boolean at this point)
+      int dataStart = rowStart + format.OFFSET_COLUMN_FIXED_DATA_ROW_OFFSET;
+      colDataPos = dataStart + column.getFixedDataOffset();
+      colDataLen = column.getType().getFixedSize(column.getLength());
+
+    } else {
+      int varDataStart;
+      int varDataEnd;
+
+      if(format.SIZE_ROW_VAR_COL_OFFSET == 2) {
+
+        // read simple var length value
+        int varColumnOffsetPos =
+          (rowBuffer.limit() - nullMask.byteSize() - 4) -
+          (column.getVarLenTableIndex() * 2);
+
+        varDataStart = rowBuffer.getShort(varColumnOffsetPos);
+        varDataEnd = rowBuffer.getShort(varColumnOffsetPos - 2);
+
+      } else {
+
+        // read jump-table based var length values
+        short[] varColumnOffsets = readJumpTableVarColOffsets(
+            rowState, rowBuffer, rowStart, nullMask);
+
+        varDataStart = varColumnOffsets[column.getVarLenTableIndex()];
+        varDataEnd = varColumnOffsets[column.getVarLenTableIndex() + 1];
+      }
+
+      colDataPos = rowStart + varDataStart;
+      colDataLen = varDataEnd - varDataStart;
+    }
+
+    // grab the column data
+    rowBuffer.position(colDataPos);
+    return ByteUtil.getBytes(rowBuffer, colDataLen);
+  }
+
   private static short[] readJumpTableVarColOffsets(
       RowState rowState, ByteBuffer rowBuffer, int rowStart,
       NullMask nullMask)
@@ -1053,6 +1348,15 @@ public class TableImpl implements Table, PropertyMaps.Owner
       } else {
 
         rowState.setStatus(RowStateStatus.AT_FINAL);
+
+        // the data of this row is read (however many of its values are
+        // actually used) by whoever positioned here
+        TableImpl table = rowState.getTable();
+        MetricsListener metrics = table.getDatabase().getMetrics();
+        if(metrics != null) {
+          metrics.rowRead(table);
+        }
+
         return PageChannel.narrowBuffer(rowBuffer, rowStart, rowEnd);
       }
     }
@@ -1063,6 +1367,22 @@ public class TableImpl implements Table, PropertyMaps.Owner
     return getDefaultCursor().iterator();
   }
 
+  @Override
+  public Stream<Row> parallelStream() {
+    return parallelStream(null);
+  }
+
+  /**
+   * Returns a possibly parallel Stream of all the rows in this table (see
+   * {@link #parallelStream()}).
+   * @param columnNames Only column names in this collection will be returned
+   * @usage _advanced_method_
+   */
+  public Stream<Row> parallelStream(Collection<String> columnNames) {
+    return StreamSupport.stream(
+        new TableScanSpliterator(this, columnNames), true);
+  }
+
   /**
    * Writes a new table defined by the given TableCreator to the database.
    * @usage _advanced_method_
@@ -2078,6 +2398,9 @@ public class TableImpl implements Table, PropertyMaps.Owner
     // write the page data
     getPageChannel().writePage(pageBuffer, pageNumber);
 
+    // keep track of the available space on the page
+    updateFreeSpace(pageBuffer, pageNumber);
+
     // possibly invalidate the add row buffer if a different data buffer is
     // being written (e.g. this happens during deleteRow)
     _addRowBufferH.possiblyInvalidate(pageNumber, pageBuffer);
@@ -2087,6 +2410,42 @@ public class TableImpl implements Table, PropertyMaps.Owner
     ++_modCount;
   }
 
+  /**
+   * Updates the free space usage map and index for the given data page.
+   */
+  private void updateFreeSpace(ByteBuffer pageBuffer, int pageNumber)
+    throws IOException
+  {
+    boolean hasSpace = _freeSpaceIndex.hasUsableSpace(pageBuffer);
+    if(hasSpace != _freeSpacePages.containsPageNumber(pageNumber)) {
+      if(hasSpace) {
+        _freeSpacePages.addPageNumber(pageNumber);
+      } else {
+        _freeSpacePages.removePageNumber(pageNumber);
+      }
+    }
+    _freeSpaceIndex.update(pageNumber, pageBuffer);
+  }
+
+  /**
+   * Flags the given row as deleted such that the space it uses can be
+   * reclaimed (see {@link FreeSpaceIndex#compactDataPage}).
+   */
+  private void setReclaimableRow(ByteBuffer dataPage, int rowNumber) {
+    setReclaimableRow(dataPage, rowNumber, getFormat());
+  }
+
+  /**
+   * Flags the given row as deleted such that the space it uses can be
+   * reclaimed (see {@link FreeSpaceIndex#compactDataPage}).
+   */
+  static void setReclaimableRow(ByteBuffer dataPage, int rowNumber,
+                                JetFormat format) {
+    int rowIndex = getRowStartOffset(rowNumber, format);
+    dataPage.putShort(rowIndex, (short)(dataPage.getShort(rowIndex)
+                                        | DELETED_ROW_MASK | OVERFLOW_ROW_MASK));
+  }
+
   /**
    * Returns a name read from the buffer at the current position. The
    * expected name format is the name length followed by the name
@@ -2207,6 +2566,11 @@ public class TableImpl implements Table, PropertyMaps.Owner
     return rows;
   }
 
+  @Override
+  public BulkLoaderImpl newBulkLoader() {
+    return new BulkLoaderImpl();
+  }
+
   private static void returnRowValues(Map<String,Object> row, Object[] rowValues,
                                       List<ColumnImpl> cols)
   {
@@ -2237,6 +2601,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
       int autoNumAssignCount = 0;
       WriteRowState writeRowState =
         (!_autoNumColumns.isEmpty() ? new WriteRowState() : null);
+      MetricsListener metrics = getDatabase().getMetrics();
       try {
 
         List<Object[]> dupeRows = null;
@@ -2262,29 +2627,14 @@ public class TableImpl implements Table, PropertyMaps.Owner
           }
 
           // handle various value massaging activities
-          for(ColumnImpl column : _columns) {
-            if(!column.isAutoNumber()) {
-              Object val = column.getRowValue(row);
-              if(val == null) {
-                val = column.generateDefaultValue();
-              }
-              // pass input value through column validator
-              column.setRowValue(row, column.validate(val));
-            }
-          }
+          massageNewRowValues(row);
 
           // fill in autonumbers
           handleAutoNumbersForAdd(row, writeRowState);
           ++autoNumAssignCount;
 
-          // need to assign calculated values after all the other fields are
-          // filled in but before final validation
-          _calcColEval.calculate(row);
-
-          // run row validation if enabled
-          if(_rowValidator != null) {
-            _rowValidator.validate(row);
-          }
+          // calculate values and validate the final row
+          finishNewRowValues(row);
 
           // write the row of data to a temporary buffer
           ByteBuffer rowData = createRow(
@@ -2297,11 +2647,11 @@ public class TableImpl implements Table, PropertyMaps.Owner
           }
 
           // get page with space
-          dataPage = findFreeRowSpace(rowSize, dataPage, pageNumber);
+          dataPage = findFreeRowSpace(rowSize, dataPage, pageNumber, null);
           pageNumber = _addRowBufferH.getPageNumber();
 
           // determine where this row will end up on the page
-          int rowNum = getRowsOnDataPage(dataPage, getFormat());
+          int rowNum = findRowNumber(rowSize, dataPage, getFormat(), true);
 
           RowIdImpl rowId = new RowIdImpl(pageNumber, rowNum);
 
@@ -2330,7 +2680,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
           }
 
           // we have satisfied all the constraints, write the row
-          addDataPageRow(dataPage, rowSize, getFormat(), 0);
+          addDataPageRow(dataPage, rowSize, getFormat(), 0, rowNum);
           dataPage.put(rowData);
 
           // return rowTd if desired
@@ -2340,6 +2690,9 @@ public class TableImpl implements Table, PropertyMaps.Owner
           }
 
           ++updateCount;
+          if(metrics != null) {
+            metrics.rowInserted(this);
+          }
         }
 
         writeDataPage(dataPage, pageNumber);
@@ -2407,6 +2760,38 @@ public class TableImpl implements Table, PropertyMaps.Owner
     return rows;
   }
 
+  /**
+   * Fills in default values and validates the given values for a new row
+   * (everything except auto numbers).
+   */
+  private void massageNewRowValues(Object[] row) throws IOException {
+    for(ColumnImpl column : _columns) {
+      if(!column.isAutoNumber()) {
+        Object val = column.getRowValue(row);
+        if(val == null) {
+          val = column.generateDefaultValue();
+        }
+        // pass input value through column validator
+        column.setRowValue(row, column.validate(val));
+      }
+    }
+  }
+
+  /**
+   * Calculates any calculated values and validates the final values for a
+   * new row.
+   */
+  private void finishNewRowValues(Object[] row) throws IOException {
+    // need to assign calculated values after all the other fields are
+    // filled in but before final validation
+    _calcColEval.calculate(row);
+
+    // run row validation if enabled
+    if(_rowValidator != null) {
+      _rowValidator.validate(row);
+    }
+  }
+
   private static boolean isWriteFailure(Throwable t) {
     while(t != null) {
       if((t instanceof IOException) && !(t instanceof JackcessException)) {
@@ -2595,20 +2980,29 @@ public class TableImpl implements Table, PropertyMaps.Owner
 
         // bummer, need to find a new page for the data
         dataPage = findFreeRowSpace(rowSize, null,
-                                    PageChannel.INVALID_PAGE_NUMBER);
+                                    PageChannel.INVALID_PAGE_NUMBER, rowState);
         pageNumber = _addRowBufferH.getPageNumber();
 
         RowIdImpl headerRowId = rowState.getHeaderRowId();
         ByteBuffer headerPage = rowState.getHeaderPage();
+        RowIdImpl oldRowId = rowState.getFinalRowId();
+        ByteBuffer oldPage = rowState.getFinalPage();
         if(pageNumber == headerRowId.getPageNumber()) {
           // new row is on the same page as header row, share page
           dataPage = headerPage;
+        } else if(pageNumber == oldRowId.getPageNumber()) {
+          // new row is on the same page as the old overflow row, share page
+          dataPage = oldPage;
         }
 
         // write out the new row data (set the deleted flag on the new data row
-        // so that it is ignored during normal table traversal)
-        int rowNum = addDataPageRow(dataPage, rowSize, getFormat(),
-                                    DELETED_ROW_MASK);
+        // so that it is ignored during normal table traversal).  row slots
+        // are not re-used on the pages held by the row state (see
+        // makeRowFit)
+        boolean reuseRows = ((dataPage != headerPage) && (dataPage != oldPage));
+        int rowNum = addDataPageRow(
+            dataPage, rowSize, getFormat(), DELETED_ROW_MASK,
+            findRowNumber(rowSize, dataPage, getFormat(), reuseRows));
         dataPage.put(newRowData);
 
         // write the overflow info into the header row and clear out the
@@ -2627,6 +3021,21 @@ public class TableImpl implements Table, PropertyMaps.Owner
         headerPage.putShort(headerRowIndex,
                             (short)(headerPage.getShort(headerRowIndex)
                                     | OVERFLOW_ROW_MASK));
+
+        if(!oldRowId.equals(headerRowId)) {
+          // the old overflow row data is no longer needed
+          int oldPageNumber = oldRowId.getPageNumber();
+          if(oldPageNumber == headerRowId.getPageNumber()) {
+            oldPage = headerPage;
+          } else if(oldPageNumber == pageNumber) {
+            oldPage = dataPage;
+          }
+          setReclaimableRow(oldPage, oldRowId.getRowNumber());
+          if((oldPage != headerPage) && (oldPage != dataPage)) {
+            writeDataPage(oldPage, oldPageNumber);
+          }
+        }
+
         if(pageNumber != headerRowId.getPageNumber()) {
           writeDataPage(headerPage, headerRowId.getPageNumber());
         }
@@ -2636,6 +3045,11 @@ public class TableImpl implements Table, PropertyMaps.Owner
 
       updateTableDefinition(0);
 
+      MetricsListener metrics = getDatabase().getMetrics();
+      if(metrics != null) {
+        metrics.rowUpdated(this);
+      }
+
     } finally {
       getPageChannel().finishWrite();
     }
@@ -2644,7 +3058,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
   }
 
   private ByteBuffer findFreeRowSpace(int rowSize, ByteBuffer dataPage,
-                                      int pageNumber)
+                                      int pageNumber, RowState pinnedRowState)
     throws IOException
   {
     // assume incoming page is modified
@@ -2667,18 +3081,62 @@ public class TableImpl implements Table, PropertyMaps.Owner
       modifiedPage = false;
     }
 
-    if(!rowFitsOnDataPage(rowSize, dataPage, getFormat())) {
+    if(makeRowFit(rowSize, dataPage, pageNumber, pinnedRowState)) {
+      return dataPage;
+    }
 
-      // Last data page is full.  Write old one and create a new one.
-      if(modifiedPage) {
-        writeDataPage(dataPage, pageNumber);
+    // current data page is full.  Write it and find the page which best fits
+    // the new row (or create a new one).
+    if(modifiedPage) {
+      writeDataPage(dataPage, pageNumber);
+    } else {
+      updateFreeSpace(dataPage, pageNumber);
+    }
+
+    while(true) {
+      int freePageNumber = _freeSpaceIndex.findPage(rowSize, pageNumber);
+      if(freePageNumber == PageChannel.INVALID_PAGE_NUMBER) {
+        break;
+      }
+
+      dataPage = _addRowBufferH.setPage(getPageChannel(), freePageNumber);
+      if(FreeSpaceIndex.isTableDataPage(dataPage, _tableDefPageNumber) &&
+         makeRowFit(rowSize, dataPage, freePageNumber, pinnedRowState)) {
+        return dataPage;
       }
-      _freeSpacePages.removePageNumber(pageNumber);
 
-      dataPage = newDataPage();
+      // can't use this page for now
+      _freeSpaceIndex.remove(freePageNumber);
     }
 
-    return dataPage;
+    return newDataPage();
+  }
+
+  /**
+   * Returns {@code true} if a row of the given size will fit on the given
+   * data page (see {@link #findRowNumber}), compacting the page if
+   * necessary, {@code false} otherwise.  Pages used by the given pinned row
+   * state are never compacted and their row slots are never re-used (as the
+   * row state holds its own copy of the page).
+   */
+  private boolean makeRowFit(int rowSize, ByteBuffer dataPage, int pageNumber,
+                             RowState pinnedRowState)
+    throws IOException
+  {
+    boolean pinned = ((pinnedRowState != null) &&
+       ((pinnedRowState.getHeaderRowId().getPageNumber() == pageNumber) ||
+        (pinnedRowState.getFinalRowId().getPageNumber() == pageNumber)));
+
+    if(findRowNumber(rowSize, dataPage, getFormat(), !pinned) >= 0) {
+      return true;
+    }
+
+    if(pinned) {
+      return false;
+    }
+
+    return (FreeSpaceIndex.compactDataPage(dataPage, getFormat()) &&
+            (findRowNumber(rowSize, dataPage, getFormat(), true) >= 0));
   }
 
   static ByteBuffer findFreeRowSpace(
@@ -2758,6 +3216,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
     getPageChannel().writePage(dataPage, pageNumber);
     _ownedPages.addPageNumber(pageNumber);
     _freeSpacePages.addPageNumber(pageNumber);
+    _freeSpaceIndex.update(pageNumber, dataPage);
     return dataPage;
   }
 
@@ -3153,6 +3612,81 @@ public class TableImpl implements Table, PropertyMaps.Owner
     return rowCount;
   }
 
+  /**
+   * Adds a row of the given size to the given data page using the given row
+   * number, which is either the slot of a reclaimable row (see {@link
+   * #findRowNumber}) or the next new row.  When re-using a slot, the data of
+   * the following rows is shifted to make room for the new row data.  Sets
+   * the position of the page to the start of the new row data.
+   * @return the row number of the new row
+   */
+  static int addDataPageRow(ByteBuffer dataPage,
+                            int rowSize,
+                            JetFormat format,
+                            int rowFlags,
+                            int rowNum)
+  {
+    int rowCount = dataPage.getShort(format.OFFSET_NUM_ROWS_ON_DATA_PAGE);
+    if(rowNum == rowCount) {
+      return addDataPageRow(dataPage, rowSize, format, rowFlags);
+    }
+
+    int rowStartOffset = getRowStartOffset(rowNum, format);
+    int oldStart = cleanRowStart(dataPage.getShort(rowStartOffset));
+    int rowEnd = findRowEnd(dataPage, rowNum, format);
+    int delta = rowSize - (rowEnd - oldStart);
+
+    if(delta != 0) {
+      // the data of the following rows is stored contiguously below the data
+      // of the re-used row
+      int dataStart = findRowStart(dataPage, rowCount - 1, format);
+      int moveLen = oldStart - dataStart;
+      if(moveLen > 0) {
+        byte[] moveData = new byte[moveLen];
+        dataPage.position(dataStart);
+        dataPage.get(moveData);
+        dataPage.position(dataStart - delta);
+        dataPage.put(moveData);
+      }
+      if(delta < 0) {
+        ByteUtil.clearRange(dataPage, dataStart, dataStart - delta);
+      }
+      for(int i = rowNum + 1; i < rowCount; ++i) {
+        int offset = getRowStartOffset(i, format);
+        short rowStart = dataPage.getShort(offset);
+        dataPage.putShort(offset, (short)((cleanRowStart(rowStart) - delta) |
+                                          (rowStart & ~OFFSET_MASK)));
+      }
+
+      short freeSpaceInPage = dataPage.getShort(format.OFFSET_FREE_SPACE);
+      dataPage.putShort(format.OFFSET_FREE_SPACE,
+                        (short)(freeSpaceInPage - delta));
+    }
+
+    int rowLocation = rowEnd - rowSize;
+    dataPage.putShort(rowStartOffset, (short)(rowLocation | rowFlags));
+    dataPage.position(rowLocation);
+    return rowNum;
+  }
+
+  /**
+   * Returns the row number at which a row of the given size can be added to
+   * the given data page, or -1 if the row will not fit.  The row is added as
+   * a new row if possible (keeping the rows in insertion order), otherwise,
+   * if row slots may be re-used, the slot of the first reclaimable row with
+   * enough space is used.
+   */
+  static int findRowNumber(int rowSize, ByteBuffer dataPage, JetFormat format,
+                           boolean reuseRows)
+    throws IOException
+  {
+    if(rowFitsOnDataPage(rowSize, dataPage, format)) {
+      return getRowsOnDataPage(dataPage, format);
+    }
+    return (reuseRows ?
+            FreeSpaceIndex.findReusableRow(dataPage, rowSize, format) : -1);
+  }
+
   /**
    * Returns the row count for the current page.  If the page is invalid
    * ({@code null}) or the page is not a DATA page, 0 is returned.
@@ -3326,6 +3860,425 @@ public class TableImpl implements Table, PropertyMaps.Owner
     INIT, AT_HEADER, AT_FINAL;
   }
 
+  /**
+   * Implementation of BulkLoader which writes the rows to the data pages as
+   * they are added (flagged as deleted) and makes the rows visible and adds
+   * all the index entries when committed.
+   * @usage _advanced_class_
+   */
+  public final class BulkLoaderImpl implements BulkLoader
+  {
+    /** state for generating autonumbers */
+    private final WriteRowState _writeRowState =
+      (!_autoNumColumns.isEmpty() ? new WriteRowState() : null);
+    /** the entries of the added rows for each index (which have not yet
+        been added to the index) */
+    private final List<List<IndexData.Entry>> _indexEntries =
+      new ArrayList<List<IndexData.Entry>>();
+    /** the entries which have been added to each index by a commit which
+        did not complete */
+    private final List<List<IndexData.Entry>> _addedIndexEntries =
+      new ArrayList<List<IndexData.Entry>>();
+    /** the entry bytes of the added rows for each unique index */
+    private final List<Set<ByteBuffer>> _indexEntryBytes =
+      new ArrayList<Set<ByteBuffer>>();
+    /** the long value columns of the table (the values of which may need to
+        be released if rows are discarded) */
+    private final List<LongValueColumnImpl> _longValueColumns =
+      new ArrayList<LongValueColumnImpl>();
+    /** the autonumber values before any rows were added */
+    private final int _initLongAutoNumber = _lastLongAutoNumber;
+    private final int _initComplexTypeAutoNumber = _lastComplexTypeAutoNumber;
+    /** the data page currently being filled (if any) */
+    private ByteBuffer _dataPage;
+    /** the page number of the data page currently being filled */
+    private int _pageNumber = PageChannel.INVALID_PAGE_NUMBER;
+    /** the row numbers of the added rows on each data page (which are
+        flagged as deleted until the load is committed) */
+    private final Map<Integer,BitSet> _pageRows =
+      new TreeMap<Integer,BitSet>();
+    /** the table mod count after the last change made by this loader */
+    private int _lastModCount = _modCount;
+    /** the number of rows added */
+    private int _rowCount;
+    /** the row count of the table once the load is committed (set once all
+        the index entries have been added) */
+    private int _commitRowCount = -1;
+    /** whether or not this loader has been committed or closed */
+    private boolean _closed;
+
+    private BulkLoaderImpl() {
+      for(IndexData indexData : _indexDatas) {
+        _indexEntries.add(new ArrayList<IndexData.Entry>());
+        _addedIndexEntries.add(new ArrayList<IndexData.Entry>());
+        _indexEntryBytes.add(indexData.isUnique() ?
+                             new HashSet<ByteBuffer>() : null);
+      }
+      for(ColumnImpl col : _varColumns) {
+        if(col instanceof LongValueColumnImpl) {
+          _longValueColumns.add((LongValueColumnImpl)col);
+        }
+      }
+    }
+
+    @Override
+    public TableImpl getTable() {
+      return TableImpl.this;
+    }
+
+    @Override
+    public int getRowCount() {
+      return _rowCount;
+    }
+
+    @Override
+    public <M extends Map<String,Object>> M addRowFromMap(M row)
+      throws IOException
+    {
+      Object[] rowValues = asRow(row);
+
+      addRow(rowValues);
+
+      returnRowValues(row, rowValues, _columns);
+      return row;
+    }
+
+    @Override
+    public Object[] addRow(Object... row) throws IOException {
+      checkState();
+
+      final int numCols = _columns.size();
+      if((row.length < numCols) || (row.getClass() != Object[].class)) {
+        row = dupeRow(row, numCols);
+      }
+
+      getPageChannel().startWrite();
+      boolean assignedAutoNums = false;
+      ByteBuffer rowData = null;
+      try {
+
+        massageNewRowValues(row);
+        handleAutoNumbersForAdd(row, _writeRowState);
+        assignedAutoNums = true;
+        finishNewRowValues(row);
+
+        // write the row of data to a temporary buffer
+        rowData = createRow(
+            row, _writeRowBufferH.getPageBuffer(getPageChannel()));
+
+        int rowSize = rowData.remaining();
+        if (rowSize > getFormat().MAX_ROW_SIZE) {
+          throw new InvalidValueException(withErrorContext(
+                  "Row size " + rowSize + " is too large"));
+        }
+
+        // get page with space
+        _dataPage = findFreeRowSpace(rowSize, _dataPage, _pageNumber, null);
+        _pageNumber = _addRowBufferH.getPageNumber();
+
+        // determine where this row will end up on the page
+        int rowNum = findRowNumber(rowSize, _dataPage, getFormat(), true);
+        RowIdImpl rowId = new RowIdImpl(_pageNumber, rowNum);
+
+        // before we actually write the row data, we verify all the database
+        // constraints.
+        IndexData.Entry[] entries = null;
+        if(!_indexDatas.isEmpty()) {
+
+          // handle foreign keys before adding to table
+          _fkEnforcer.addRow(row);
+
+          entries = new IndexData.Entry[_indexDatas.size()];
+          int i = 0;
+          try {
+            for(; i < entries.length; ++i) {
+              entries[i] = _indexDatas.get(i).prepareBulkAddRow(
+                  row, rowId, _indexEntryBytes.get(i));
+            }
+          } catch(IOException | RuntimeException e) {
+            // undo the entries for the previous indexes
+            while(--i >= 0) {
+              if(entries[i] != null) {
+                _indexDatas.get(i).rollbackBulkAddRow(
+                    entries[i], _indexEntryBytes.get(i));
+              }
+            }
+            throw e;
+          }
+        }
+
+        // we have satisfied all the constraints, write the row (hidden until
+        // the load is committed)
+        addDataPageRow(_dataPage, rowSize, getFormat(), DELETED_ROW_MASK,
+                       rowNum);
+        _dataPage.put(rowData);
+        rowData = null;
+
+        BitSet pageRows = _pageRows.get(_pageNumber);
+        if(pageRows == null) {
+          pageRows = new BitSet();
+          _pageRows.put(_pageNumber, pageRows);
+        }
+        pageRows.set(rowNum);
+
+        if(entries != null) {
+          for(int i = 0; i < entries.length; ++i) {
+            if(entries[i] != null) {
+              _indexEntries.get(i).add(entries[i]);
+            }
+          }
+        }
+
+        // return rowTd if desired
+        if((row.length > numCols) &&
+           (row[numCols] == ColumnImpl.RETURN_ROW_ID)) {
+          row[numCols] = rowId;
+        }
+
+        ++_rowCount;
+        return row;
+
+      } catch(IOException e) {
+        if(assignedAutoNums && !isWriteFailure(e)) {
+          restoreAutoNumbersFromAdd(row);
+          releaseRejectedLongValues(rowData);
+        }
+        throw e;
+      } catch(RuntimeException e) {
+        if(assignedAutoNums) {
+          restoreAutoNumbersFromAdd(row);
+          releaseRejectedLongValues(rowData);
+        }
+        throw e;
+      } finally {
+        _lastModCount = _modCount;
+        getPageChannel().finishWrite();
+      }
+    }
+
+    @Override
+    public void commit() throws IOException {
+      checkState();
+
+      getPageChannel().startWrite();
+      try {
+
+        if(_commitRowCount < 0) {
+          // add the index entries before making the loaded rows visible, so
+          // that the load can still be discarded if this fails.  entries
+          // which were added by a previous failed attempt are not re-added
+          for(int i = 0; i < _indexDatas.size(); ++i) {
+            _indexDatas.get(i).addBulkEntries(_indexEntries.get(i),
+                                              _addedIndexEntries.get(i));
+          }
+          _commitRowCount = TableImpl.this._rowCount + _rowCount;
+        }
+
+        commitLoadedRows();
+        _closed = true;
+
+      } finally {
+        _lastModCount = _modCount;
+        getPageChannel().finishWrite();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(_closed) {
+        return;
+      }
+      _closed = true;
+
+      // if the table was modified by other means, we can't be sure of the
+      // state of the current data page.  the loaded rows which were written
+      // are still flagged as deleted, so just leave them be
+      boolean modified = (_lastModCount != _modCount);
+
+      getPageChannel().startWrite();
+      try {
+
+        if(_commitRowCount >= 0) {
+          // a previous commit failed after the loaded rows started becoming
+          // visible, so the load can no longer be discarded.  finish it
+          // instead
+          if(!modified) {
+            commitLoadedRows();
+          }
+          return;
+        }
+
+        // remove any index entries added by a previous failed commit
+        boolean indexesModified = false;
+        for(int i = 0; i < _indexDatas.size(); ++i) {
+          List<IndexData.Entry> addedEntries = _addedIndexEntries.get(i);
+          if(!addedEntries.isEmpty()) {
+            _indexDatas.get(i).removeBulkEntries(addedEntries);
+            addedEntries.clear();
+            indexesModified = true;
+          }
+        }
+
+        if(!modified) {
+          // discard the loaded rows (and their long values), allowing the
+          // space to be re-used
+          updateLoadedRows(true);
+
+          // no other rows were added, so the autonumbers assigned to the
+          // discarded rows can be re-used
+          _lastLongAutoNumber = _initLongAutoNumber;
+          _lastComplexTypeAutoNumber = _initComplexTypeAutoNumber;
+        }
+
+        if(indexesModified) {
+          // write the index changes
+          updateTableDefinition(0);
+        }
+
+      } finally {
+        getPageChannel().finishWrite();
+      }
+    }
+
+    /**
+     * Makes the loaded rows visible and updates the table definition (once
+     * all the index entries have been added).  Each modified data page is
+     * read and written a second time (the pages were already written while
+     * the rows were being added), and may be safely retried if it fails.
+     */
+    private void commitLoadedRows() throws IOException
+    {
+      // make the loaded rows visible
+      updateLoadedRows(false);
+
+      // update tdef page (and write the index changes)
+      updateTableDefinition(_commitRowCount - TableImpl.this._rowCount);
+
+      MetricsListener metrics = getDatabase().getMetrics();
+      if(metrics != null) {
+        for(int i = 0; i < _rowCount; ++i) {
+          metrics.rowInserted(TableImpl.this);
+        }
+      }
+    }
+
+    /**
+     * Updates the row flags of all the loaded rows (and writes all the
+     * modified data pages), either clearing the "deleted" flag (making the
+     * rows visible) or flagging the rows as reclaimable and releasing their
+     * long values (discarding the rows).  Each page is forgotten once it has
+     * been written, so a failed update may be resumed.
+     */
+    private void updateLoadedRows(boolean discard) throws IOException
+    {
+      ByteBuffer pageBuffer = null;
+      Iterator<Map.Entry<Integer,BitSet>> iter =
+        _pageRows.entrySet().iterator();
+      while(iter.hasNext()) {
+        Map.Entry<Integer,BitSet> e = iter.next();
+        int pageNumber = e.getKey();
+        BitSet pageRows = e.getValue();
+
+        ByteBuffer dataPage = null;
+        if((_dataPage != null) && (pageNumber == _pageNumber)) {
+          // the current page has not been written yet
+          dataPage = _dataPage;
+        } else {
+          if(pageBuffer == null) {
+            pageBuffer = getPageChannel().createPageBuffer();
+          }
+          getPageChannel().readPage(pageBuffer, pageNumber);
+          dataPage = pageBuffer;
+        }
+
+        for(int rowNum = pageRows.nextSetBit(0); rowNum >= 0;
+            rowNum = pageRows.nextSetBit(rowNum + 1)) {
+          if(discard) {
+            dataPage.clear();
+            dataPage.position(findRowStart(dataPage, rowNum, getFormat()));
+            dataPage.limit(findRowEnd(dataPage, rowNum, getFormat()));
+            releaseLongValues(dataPage);
+            dataPage.clear();
+            setReclaimableRow(dataPage, rowNum);
+          } else {
+            int rowIndex = getRowStartOffset(rowNum, getFormat());
+            dataPage.putShort(rowIndex, (short)(dataPage.getShort(rowIndex)
+                                                & ~DELETED_ROW_MASK));
+          }
+        }
+
+        writeDataPage(dataPage, pageNumber);
+        iter.remove();
+        if(dataPage == _dataPage) {
+          _dataPage = null;
+        }
+      }
+    }
+
+    /**
+     * Releases the long values written for a row which was rejected (if the
+     * row data was created).
+     */
+    private void releaseRejectedLongValues(ByteBuffer rowData)
+      throws IOException
+    {
+      if(rowData == null) {
+        return;
+      }
+      try {
+        releaseLongValues(rowData);
+      } catch(IOException | RuntimeException e) {
+        // the original failure is more interesting
+        LOG.warn(withErrorContext("Failed releasing long values of row"), e);
+      }
+    }
+
+    /**
+     * Releases the long values which were written to other pages for the
+     * given row (the buffer's position and limit must bound the row data).
+     */
+    private void releaseLongValues(ByteBuffer rowBuffer) throws IOException
+    {
+      if(_longValueColumns.isEmpty()) {
+        return;
+      }
+
+      rowBuffer.mark();
+      RowState rowState = new RowState(TempBufferHolder.Type.SOFT);
+      NullMask nullMask = getRowNullMask(rowBuffer);
+      for(LongValueColumnImpl col : _longValueColumns) {
+        if(!nullMask.isNull(col)) {
+          col.releaseLongValue(getRowColumnData(
+                                   getFormat(), rowBuffer, col, rowState,
+                                   nullMask));
+        }
+      }
+    }
+
+    private void checkState() {
+      if(_closed) {
+        throw new IllegalStateException(withErrorContext(
+            "Bulk loader is closed"));
+      }
+      checkModCount();
+    }
+
+    private void checkModCount() {
+      if(_lastModCount != _modCount) {
+        throw new IllegalStateException(withErrorContext(
+            "Table was modified during bulk load"));
+      }
+    }
+
+    @Override
+    public String toString() {
+      return CustomToStringStyle.valueBuilder(this)
+        .append("table", getName())
+        .append("rowCount", _rowCount)
+        .toString();
+    }
+  }
+
   /**
    * Maintains state for writing a new row of data.
    */
@@ -3365,7 +4318,10 @@ public class TableImpl implements Table, PropertyMaps.Owner
     private RowStatus _rowStatus = RowStatus.INIT;
     /** buffer used for reading overflow pages */
     private final TempPageHolder _overflowRowBufferH =
-      TempPageHolder.newHolder(TempBufferHolder.Type.SOFT);
+      TempPageHolder.newReadOnlyHolder(TempBufferHolder.Type.SOFT);
+    /** buffer used for reading long value pages, created when first
+        needed */
+    private TempPageHolder _lvalBufferH;
     /** the row buffer which contains the final data (after following any
         overflow pointers) */
     private ByteBuffer _finalRowBuffer;
@@ -3388,7 +4344,7 @@ public class TableImpl implements Table, PropertyMaps.Owner
     private short[] _varColOffsets;
 
     private RowState(TempBufferHolder.Type headerType) {
-      _headerRowBufferH = TempPageHolder.newHolder(headerType);
+      _headerRowBufferH = TempPageHolder.newReadOnlyHolder(headerType);
       _rowValues = new Object[TableImpl.this.getColumnCount()];
       _lastModCount = TableImpl.this._modCount;
     }
@@ -3426,6 +4382,14 @@ public class TableImpl implements Table, PropertyMaps.Owner
       return(TableImpl.this._modCount == _lastModCount);
     }
 
+    TempPageHolder getLongValueBufferHolder() {
+      if(_lvalBufferH == null) {
+        _lvalBufferH = TempPageHolder.newReadOnlyHolder(
+            TempBufferHolder.Type.SOFT);
+      }
+      return _lvalBufferH;
+    }
+
     private void checkForModification() {
       if(!isUpToDate()) {
         reset();
@@ -17,8 +17,13 @@ limitations under the License.
 package com.healthmarketscience.jackcess.impl;
 
 import java.io.IOException;
+import java.util.Map;
 
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.Row;
 import com.healthmarketscience.jackcess.impl.TableImpl.RowState;
+import com.healthmarketscience.jackcess.impl.query.FilterPlanner;
+import com.healthmarketscience.jackcess.util.SimpleColumnMatcher;
 
 
 /**
@@ -44,6 +49,10 @@ public class TableScanCursor extends CursorImpl
     new ReverseScanDirHandler();
   /** Cursor over the pages that this table owns */
   private final UsageMap.PageCursor _ownedPagesCursor;
+  /** the last page read ahead by a forward scan (if read-ahead is enabled) */
+  private int _readAheadLastPage = PageChannel.INVALID_PAGE_NUMBER;
+  /** buffer for the page numbers to read ahead (if read-ahead is enabled) */
+  private int[] _readAheadPageNumbers;
     
   public TableScanCursor(TableImpl table) {
     super(new IdImpl(table, null), table,
@@ -51,6 +60,34 @@ public class TableScanCursor extends CursorImpl
     _ownedPagesCursor = table.getOwnedPagesCursor();
   }
 
+  @Override
+  public boolean findFirstRow(Map<String,?> rowPattern) throws IOException
+  {
+    if(getColumnMatcher() == SimpleColumnMatcher.INSTANCE) {
+      FilterPlanner planner = new FilterPlanner(getTable());
+      planner.addPattern(rowPattern);
+      if(planner.isUniqueMatch()) {
+        // at most one row can match the pattern, so we can find it using the
+        // index instead of scanning the table
+        return findUniqueRow(planner.createCursor(), rowPattern);
+      }
+    }
+    return super.findFirstRow(rowPattern);
+  }
+
+  private boolean findUniqueRow(Cursor candidates, Map<String,?> rowPattern)
+    throws IOException
+  {
+    SavepointImpl savepoint = getSavepoint();
+    for(Row row : candidates) {
+      if(findRow(row.getId()) && currentRowMatches(rowPattern)) {
+        return true;
+      }
+    }
+    restoreSavepoint(savepoint);
+    return false;
+  }
+
   @Override
   protected ScanDirHandler getDirHandler(boolean moveForward) {
     return (moveForward ? _forwardDirHandler : _reverseDirHandler);
@@ -64,6 +101,7 @@ public class TableScanCursor extends CursorImpl
   @Override
   protected void reset(boolean moveForward) {
     _ownedPagesCursor.reset(moveForward);
+    _readAheadLastPage = PageChannel.INVALID_PAGE_NUMBER;
     super.reset(moveForward);
   }
 
@@ -78,6 +116,7 @@ public class TableScanCursor extends CursorImpl
     }
     _ownedPagesCursor.restorePosition(curPos.getRowId().getPageNumber(),
                                       prevPos.getRowId().getPageNumber());
+    _readAheadLastPage = PageChannel.INVALID_PAGE_NUMBER;
     super.restorePositionImpl(curPos, prevPos);
   }
 
@@ -132,13 +171,38 @@ public class TableScanCursor extends CursorImpl
     }
   }
 
+  /**
+   * If read-ahead is enabled and the given page (which the cursor just moved
+   * to) was not read ahead, reads it along with the following owned pages
+   * (the remaining pages will be read once the cursor moves past them).
+   */
+  private void possiblyReadAhead(int pageNumber) throws IOException
+  {
+    PageChannel pageChannel = getPageChannel();
+    int numPages = pageChannel.getReadAheadPages();
+    if((numPages == 0) || (pageNumber < 0) ||
+       (pageNumber <= _readAheadLastPage)) {
+      return;
+    }
+
+    if((_readAheadPageNumbers == null) ||
+       (_readAheadPageNumbers.length != numPages)) {
+      _readAheadPageNumbers = new int[numPages];
+    }
+    _readAheadPageNumbers[0] = pageNumber;
+    numPages = 1 + _ownedPagesCursor.peekNextPages(_readAheadPageNumbers, 1);
+
+    pageChannel.readAhead(_readAheadPageNumbers, numPages);
+    _readAheadLastPage = _readAheadPageNumbers[numPages - 1];
+  }
+
   /**
    * Handles moving the table scan cursor in a given direction.  Separates
    * cursor logic from value storage.
    */
   private abstract class ScanDirHandler extends DirHandler {
     public abstract int getAnotherRowNumber(int curRowNumber);
-    public abstract int getAnotherPageNumber();
+    public abstract int getAnotherPageNumber() throws IOException;
     public abstract int getInitialRowNumber(int rowsOnPage);
   }
     
@@ -159,8 +223,10 @@ public class TableScanCursor extends CursorImpl
       return curRowNumber + 1;
     }
     @Override
-    public int getAnotherPageNumber() {
-      return _ownedPagesCursor.getNextPage();
+    public int getAnotherPageNumber() throws IOException {
+      int pageNumber = _ownedPagesCursor.getNextPage();
+      possiblyReadAhead(pageNumber);
+      return pageNumber;
     }
     @Override
     public int getInitialRowNumber(int rowsOnPage) {
@@ -0,0 +1,192 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.RuntimeIOException;
+import com.healthmarketscience.jackcess.impl.TableImpl.RowState;
+
+/**
+ * Spliterator over the rows of a table which can be split into ranges of the
+ * data pages owned by the table.  Each split reads its rows using a separate
+ * RowState (and therefore separate page buffers), so that the rows of the
+ * different page ranges can be read concurrently.
+ * <p>
+ * Note, the table must not be modified while it is being traversed by this
+ * spliterator (or any of its splits).  If concurrent reads are enabled for the
+ * database, each row is read under the shared read lock.
+ *
+ * @author James Ahlborn
+ */
+class TableScanSpliterator implements Spliterator<Row>
+{
+  /** the table being traversed */
+  private final TableImpl _table;
+  /** the data pages owned by the table at the start of the traversal */
+  private final int[] _pageNumbers;
+  /** the columns to read */
+  private final List<ColumnImpl> _columns;
+  /** index of the next page to be read */
+  private int _nextPageIdx;
+  /** index after the last page to be read */
+  private final int _endPageIdx;
+  /** page number of the current page, if a page is in progress */
+  private int _curPageNumber = PageChannel.INVALID_PAGE_NUMBER;
+  /** the current row number within the current page */
+  private int _curRowNumber;
+  /** the number of rows on the current page */
+  private int _rowsOnPage;
+  /** state for reading rows, created on first use */
+  private RowState _rowState;
+
+  TableScanSpliterator(TableImpl table, Collection<String> columnNames) {
+    this(table, getOwnedPages(table), table.getProjectedColumns(columnNames),
+         0, -1);
+  }
+
+  private TableScanSpliterator(TableImpl table, int[] pageNumbers,
+                               List<ColumnImpl> columns,
+                               int startPageIdx, int endPageIdx) {
+    _table = table;
+    _pageNumbers = pageNumbers;
+    _columns = columns;
+    _nextPageIdx = startPageIdx;
+    _endPageIdx = ((endPageIdx >= 0) ? endPageIdx : pageNumbers.length);
+  }
+
+  private static int[] getOwnedPages(TableImpl table) {
+    int[] pageNumbers = new int[16];
+    int numPages = 0;
+    table.getPageChannel().startRead();
+    try {
+      UsageMap.PageCursor pageCursor = table.getOwnedPagesCursor();
+      int pageNumber = PageChannel.INVALID_PAGE_NUMBER;
+      while((pageNumber = pageCursor.getNextPage()) !=
+            RowIdImpl.LAST_PAGE_NUMBER) {
+        if(numPages == pageNumbers.length) {
+          int[] tmp = new int[numPages * 2];
+          System.arraycopy(pageNumbers, 0, tmp, 0, numPages);
+          pageNumbers = tmp;
+        }
+        pageNumbers[numPages++] = pageNumber;
+      }
+    } finally {
+      table.getPageChannel().finishRead();
+    }
+    int[] rtn = new int[numPages];
+    System.arraycopy(pageNumbers, 0, rtn, 0, numPages);
+    return rtn;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Row> action) {
+    Row row = null;
+    _table.getPageChannel().startRead();
+    try {
+      row = getNextRow();
+    } catch(IOException e) {
+      throw new RuntimeIOException(e);
+    } finally {
+      _table.getPageChannel().finishRead();
+    }
+    if(row == null) {
+      return false;
+    }
+    action.accept(row);
+    return true;
+  }
+
+  private Row getNextRow() throws IOException {
+    if(_rowState == null) {
+      _rowState = _table.createRowState();
+    }
+
+    while(true) {
+
+      if(_curPageNumber == PageChannel.INVALID_PAGE_NUMBER) {
+        if(_nextPageIdx >= _endPageIdx) {
+          // no more pages
+          return null;
+        }
+
+        // load the next page
+        _curPageNumber = _pageNumbers[_nextPageIdx++];
+        _curRowNumber = RowIdImpl.INVALID_ROW_NUMBER;
+        TableImpl.positionAtRowHeader(
+            _rowState, new RowIdImpl(_curPageNumber, _curRowNumber));
+        if(!_rowState.isHeaderPageNumberValid()) {
+          _curPageNumber = PageChannel.INVALID_PAGE_NUMBER;
+          continue;
+        }
+        _rowsOnPage = _rowState.getRowsOnHeaderPage();
+      }
+
+      if(++_curRowNumber >= _rowsOnPage) {
+        // done with this page
+        _curPageNumber = PageChannel.INVALID_PAGE_NUMBER;
+        continue;
+      }
+
+      RowIdImpl rowId = new RowIdImpl(_curPageNumber, _curRowNumber);
+      TableImpl.positionAtRowHeader(_rowState, rowId);
+      if(_rowState.isValid() && !_rowState.isDeleted()) {
+        return _table.getProjectedRow(_rowState, rowId, _columns);
+      }
+    }
+  }
+
+  @Override
+  public Spliterator<Row> trySplit() {
+    if(_curPageNumber != PageChannel.INVALID_PAGE_NUMBER) {
+      // the current page has already been started, can't split off a prefix
+      return null;
+    }
+    int numPages = _endPageIdx - _nextPageIdx;
+    if(numPages < 2) {
+      return null;
+    }
+    int midPageIdx = _nextPageIdx + (numPages / 2);
+    Spliterator<Row> prefix = new TableScanSpliterator(
+        _table, _pageNumbers, _columns, _nextPageIdx, midPageIdx);
+    _nextPageIdx = midPageIdx;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    if(_pageNumbers.length == 0) {
+      return 0L;
+    }
+    // assume rows are evenly distributed across the data pages
+    long numPages = _endPageIdx - _nextPageIdx;
+    if(_curPageNumber != PageChannel.INVALID_PAGE_NUMBER) {
+      ++numPages;
+    }
+    return ((numPages * _table.getRowCount()) / _pageNumbers.length);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+}
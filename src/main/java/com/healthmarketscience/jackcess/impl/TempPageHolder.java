@@ -32,10 +32,16 @@ public final class TempPageHolder {
       this is tracked so that the page data can be re-read if the underlying
       buffer has been discarded since the last page read */
   private int _bufferModCount;
+  /** whether or not read-only pages may be used directly from the
+      PageChannel (if available) */
+  private final boolean _allowReadOnly;
+  /** the current read-only page, if any */
+  private ByteBuffer _readOnlyPage;
   
-  private TempPageHolder(TempBufferHolder.Type type) {
+  private TempPageHolder(TempBufferHolder.Type type, boolean allowReadOnly) {
     _buffer = TempBufferHolder.newHolder(type, false);
     _bufferModCount = _buffer.getModCount();
+    _allowReadOnly = allowReadOnly;
   }
 
   /**
@@ -43,7 +49,18 @@ public final class TempPageHolder {
    * @param type the type of reference desired for any create page buffers
    */
   public static TempPageHolder newHolder(TempBufferHolder.Type type) {
-    return new TempPageHolder(type);
+    return new TempPageHolder(type, false);
+  }
+
+  /**
+   * Creates a new TempPageHolder which will use read-only page views
+   * directly from the PageChannel if they are available (see {@link
+   * PageChannel#getReadOnlyPage}).  The pages returned from this holder
+   * <i>must not be modified</i>.
+   * @param type the type of reference desired for any create page buffers
+   */
+  public static TempPageHolder newReadOnlyHolder(TempBufferHolder.Type type) {
+    return new TempPageHolder(type, true);
   }
 
   /**
@@ -78,6 +95,22 @@ public final class TempPageHolder {
                              boolean rewind)
     throws IOException
   {
+    if(_allowReadOnly) {
+      ByteBuffer page = ((pageNumber == _pageNumber) ? _readOnlyPage : null);
+      if(page == null) {
+        page = pageChannel.getReadOnlyPage(pageNumber);
+      }
+      if(page != null) {
+        _pageNumber = pageNumber;
+        _readOnlyPage = page;
+        if(rewind) {
+          page.rewind();
+        }
+        return page;
+      }
+      _readOnlyPage = null;
+    }
+
     ByteBuffer buffer = _buffer.getPageBuffer(pageChannel);
     int modCount = _buffer.getModCount();
     if((pageNumber != _pageNumber) || (_bufferModCount != modCount)) {
@@ -130,6 +163,7 @@ public final class TempPageHolder {
     }
     if(modifiedPageNumber == _pageNumber) {
       _pageNumber = PageChannel.INVALID_PAGE_NUMBER;
+      _readOnlyPage = null;
     }
   }
 
@@ -140,6 +174,7 @@ public final class TempPageHolder {
    */
   public void clear() {
     invalidate();
+    _readOnlyPage = null;
     _buffer.clear();
   }
 
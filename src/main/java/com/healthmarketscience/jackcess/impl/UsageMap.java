@@ -956,6 +956,26 @@ public class UsageMap
       return getAnotherPage(CursorImpl.MOVE_REVERSE);
     }
 
+    /**
+     * Fills the given array (starting at the given offset) with the page
+     * numbers which follow the current page of this cursor (in the forward
+     * direction), without moving this cursor.
+     * @return the number of page numbers added to the given array
+     */
+    public int peekNextPages(int[] pageNumbers, int offset) {
+      checkForModification();
+      int numPages = 0;
+      int pageNumber = _curPageNumber;
+      while(((offset + numPages) < pageNumbers.length) &&
+            (pageNumber != _forwardDirHandler.getEndPageNumber())) {
+        pageNumber = _forwardDirHandler.getAnotherPageNumber(pageNumber);
+        if(pageNumber != _forwardDirHandler.getEndPageNumber()) {
+          pageNumbers[offset + numPages++] = pageNumber;
+        }
+      }
+      return numPages;
+    }
+
     /**
      * Gets another page in the given direction, returning the new page.
      */
@@ -118,6 +118,13 @@ public abstract class ComplexColumnInfoImpl<V extends ComplexValue>
     return _complexValFkCol;
   }
 
+  /**
+   * @return the (hidden) table which holds the values of this column
+   */
+  public Table getFlatTable() {
+    return _flatTable;
+  }
+
   protected List<Column> getTypeColumns() {
     return _typeCols;
   }
@@ -439,19 +439,21 @@ public class Expressionator
       expr = new EImplicitCompOp(expr);
     }
 
+    if(!expr.isConstant()) {
+      // constant sub-expressions of a non-constant expression only need to
+      // be evaluated once
+      expr = expr.foldConstants();
+    }
+
     switch(exprType) {
     case DEFAULT_VALUE:
     case EXPRESSION:
       return (expr.isConstant() ?
-              // for now, just cache at top-level for speed (could in theory
-              // cache intermediate values?)
               new MemoizedExprWrapper(exprStr, expr, resultType) :
               new ExprWrapper(exprStr, expr, resultType));
     case FIELD_VALIDATOR:
     case RECORD_VALIDATOR:
       return (expr.isConstant() ?
-              // for now, just cache at top-level for speed (could in theory
-              // cache intermediate values?)
               new MemoizedCondExprWrapper(exprStr, expr) :
               new CondExprWrapper(exprStr, expr));
     default:
@@ -1238,6 +1240,24 @@ public class Expressionator
     return true;
   }
 
+  private static Expr foldConstant(Expr expr) {
+    if(!expr.isConstant()) {
+      return expr.foldConstants();
+    }
+    if((expr instanceof EConstValue) || (expr instanceof ELiteralValue) ||
+       (expr instanceof EMemoizedValue)) {
+      // already as cheap as it gets
+      return expr;
+    }
+    return new EMemoizedValue(expr);
+  }
+
+  private static void foldConstant(List<Expr> exprs) {
+    for(int i = 0; i < exprs.size(); ++i) {
+      exprs.set(i, foldConstant(exprs.get(i)));
+    }
+  }
+
   private static void literalStrToString(String str, StringBuilder sb) {
     sb.append("\"")
       .append(StringUtils.replace(str, "\"", "\"\""))
@@ -1468,6 +1488,16 @@ public class Expressionator
       return outerExpr;
     }
 
+    /**
+     * Replaces any constant child expressions of this (non-constant)
+     * expression with versions which cache the result of evaluation.
+     * Returns the (possibly updated) expression.
+     */
+    protected Expr foldConstants() {
+      // most expressions have no child expressions
+      return this;
+    }
+
     public abstract boolean isConstant();
 
     public abstract Value eval(EvalContext ctx);
@@ -1601,7 +1631,7 @@ public class Expressionator
 
   private static class EParen extends Expr
   {
-    private final Expr _expr;
+    private Expr _expr;
 
     private EParen(Expr expr) {
       _expr = expr;
@@ -1617,6 +1647,12 @@ public class Expressionator
       return _expr.isValidationExpr();
     }
 
+    @Override
+    protected Expr foldConstants() {
+      _expr = foldConstant(_expr);
+      return this;
+    }
+
     @Override
     public Value eval(EvalContext ctx) {
       return _expr.eval(ctx);
@@ -1651,6 +1687,12 @@ public class Expressionator
       return _func.isPure() && areConstant(_params);
     }
 
+    @Override
+    protected Expr foldConstants() {
+      foldConstant(_params);
+      return this;
+    }
+
     @Override
     public Value eval(EvalContext ctx) {
       return _func.eval(ctx, exprListToValues(_params, ctx));
@@ -1694,6 +1736,13 @@ public class Expressionator
       return areConstant(_left, _right);
     }
 
+    @Override
+    protected Expr foldConstants() {
+      _left = foldConstant(_left);
+      _right = foldConstant(_right);
+      return this;
+    }
+
     @Override
     public OpType getOp() {
       return _op;
@@ -1777,6 +1826,12 @@ public class Expressionator
       _expr = right;
     }
 
+    @Override
+    protected Expr foldConstants() {
+      _expr = foldConstant(_expr);
+      return this;
+    }
+
     @Override
     public Value eval(EvalContext ctx) {
       return ((UnaryOp)_op).eval(ctx, _expr.eval(ctx));
@@ -1886,6 +1941,12 @@ public class Expressionator
       _expr = left;
     }
 
+    @Override
+    protected Expr foldConstants() {
+      _expr = foldConstant(_expr);
+      return this;
+    }
+
     @Override
     public void collectIdentifiers(Collection<Identifier> identifiers) {
       _expr.collectIdentifiers(identifiers);
@@ -1965,6 +2026,12 @@ public class Expressionator
       return super.isConstant() && areConstant(_exprs);
     }
 
+    @Override
+    protected Expr foldConstants() {
+      foldConstant(_exprs);
+      return super.foldConstants();
+    }
+
     @Override
     public Value eval(EvalContext ctx) {
       return _op.eval(ctx, _expr.eval(ctx),
@@ -1991,7 +2058,7 @@ public class Expressionator
   private static class EBetweenOp extends ESpecOp
     implements RightAssocExpr
   {
-    private final Expr _startRangeExpr;
+    private Expr _startRangeExpr;
     private Expr _endRangeExpr;
 
     private EBetweenOp(SpecOp op, Expr expr, Expr startRangeExpr,
@@ -2006,6 +2073,13 @@ public class Expressionator
       return _expr.isConstant() && areConstant(_startRangeExpr, _endRangeExpr);
     }
 
+    @Override
+    protected Expr foldConstants() {
+      _startRangeExpr = foldConstant(_startRangeExpr);
+      _endRangeExpr = foldConstant(_endRangeExpr);
+      return super.foldConstants();
+    }
+
     @Override
     public Expr getRight() {
       return _endRangeExpr;
@@ -2041,6 +2115,56 @@ public class Expressionator
     }
   }
 
+  /**
+   * Expr wrapper for a <i>pure</i> sub-expression which caches the result of
+   * evaluation.
+   */
+  private static final class EMemoizedValue extends Expr
+  {
+    private final Expr _expr;
+    private Value _val;
+
+    private EMemoizedValue(Expr expr) {
+      _expr = expr;
+    }
+
+    @Override
+    public boolean isConstant() {
+      return true;
+    }
+
+    @Override
+    protected boolean isValidationExpr() {
+      return _expr.isValidationExpr();
+    }
+
+    @Override
+    public Value eval(EvalContext ctx) {
+      if(_val == null) {
+        _val = _expr.eval(ctx);
+      }
+      return _val;
+    }
+
+    @Override
+    public void collectIdentifiers(Collection<Identifier> identifiers) {
+      _expr.collectIdentifiers(identifiers);
+    }
+
+    @Override
+    protected StringBuilder toString(
+        LocaleContext ctx, StringBuilder sb, boolean isDebug) {
+      // this wrapper is invisible
+      return _expr.toString(ctx, sb, isDebug);
+    }
+
+    @Override
+    protected void toExprString(
+        LocaleContext ctx, StringBuilder sb, boolean isDebug) {
+      _expr.toExprString(ctx, sb, isDebug);
+    }
+  }
+
   /**
    * Base Expression wrapper for an Expr.
    */
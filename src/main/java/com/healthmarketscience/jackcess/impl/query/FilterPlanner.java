@@ -0,0 +1,605 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl.query;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.JackcessException;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.expr.EvalException;
+import com.healthmarketscience.jackcess.expr.Expression;
+import com.healthmarketscience.jackcess.expr.Identifier;
+import com.healthmarketscience.jackcess.expr.LocaleContext;
+import com.healthmarketscience.jackcess.expr.Value;
+import com.healthmarketscience.jackcess.impl.BaseEvalContext;
+import com.healthmarketscience.jackcess.impl.ColumnImpl;
+import com.healthmarketscience.jackcess.impl.DBEvalContext;
+import com.healthmarketscience.jackcess.impl.IndexData;
+import com.healthmarketscience.jackcess.impl.IndexImpl;
+import com.healthmarketscience.jackcess.impl.TableImpl;
+import com.healthmarketscience.jackcess.impl.expr.BuiltinOperators;
+import com.healthmarketscience.jackcess.impl.expr.Expressionator;
+import com.healthmarketscience.jackcess.impl.expr.ValueSupport;
+import com.healthmarketscience.jackcess.impl.query.QueryExpressions.Comparison;
+import com.healthmarketscience.jackcess.util.RowFilter;
+
+/**
+ * Plans the reading of the rows of a table which match a set of conditions.
+ * Conditions on the columns of the table (added programmatically or found
+ * in a filter expression) are used to choose the index which best narrows
+ * the rows which need to be read.  Equality conditions on a prefix of the
+ * index columns (optionally followed by a range condition on the next index
+ * column) are converted into the start and end entries of an index cursor.
+ * All the conditions are still applied to the rows read from the cursor
+ * (see {@link #matches}), so the index is only used to skip rows which
+ * cannot match.
+ * <p>
+ * Range conditions on text columns are not used for choosing an index, as
+ * the index sort order of text values does not match the comparison
+ * semantics of expressions.
+ *
+ * @author James Ahlborn
+ * @usage _advanced_class_
+ */
+public class FilterPlanner
+{
+  /** comparison operators supported for column conditions */
+  public enum Op {
+    EQ("="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+    private final String _str;
+
+    private Op(String str) {
+      _str = str;
+    }
+
+    static Op fromString(String str) {
+      for(Op op : values()) {
+        if(op._str.equals(str)) {
+          return op;
+        }
+      }
+      return null;
+    }
+  }
+
+  private final TableImpl _table;
+  private final FilterEvalContext _ctx;
+  private final Map<String,ColumnRange> _ranges =
+    new TreeMap<String,ColumnRange>(String.CASE_INSENSITIVE_ORDER);
+  private final List<RowFilter> _filters = new ArrayList<RowFilter>();
+  private IndexImpl _index;
+  private Object[] _startEntry;
+  private Object[] _endEntry;
+  private boolean _uniqueMatch;
+  private boolean _planned;
+
+  public FilterPlanner(TableImpl table) {
+    _table = table;
+    _ctx = new FilterEvalContext(table);
+  }
+
+  public TableImpl getTable() {
+    return _table;
+  }
+
+  /**
+   * Adds a comparison of the given column with the given value.  Values are
+   * compared using the same semantics as expressions (e.g. text comparisons
+   * are case insensitive).  Rows with a {@code null} value never match.
+   */
+  public void addCondition(String colName, Op op, Object value) {
+    final ColumnImpl col = _table.getColumn(colName);
+    addIndexCondition(col.getName(), op, value);
+
+    final Op cmpOp = op;
+    final Value cmpVal = ((value != null) ?
+      _ctx.toValue(value, QueryExpressions.guessType(value)) :
+      ValueSupport.NULL_VAL);
+    _filters.add(new RowFilter() {
+      @Override
+      public boolean matches(Row row) {
+        Value rowVal = _ctx.toValue(col.getRowValue(row), col.getType());
+        return compare(_ctx, cmpOp, rowVal, cmpVal).getAsBoolean(_ctx);
+      }
+    });
+  }
+
+  /**
+   * Adds a comparison of the given column with the given value which is
+   * only used for narrowing the index range of the cursor.  The caller is
+   * responsible for actually applying the condition to the rows read from
+   * the cursor.
+   */
+  public void addIndexCondition(String colName, Op op, Object value) {
+    _planned = false;
+    ColumnImpl col = _table.getColumn(colName);
+    if(!isIndexableValue(col, op, value)) {
+      return;
+    }
+
+    ColumnRange range = _ranges.get(col.getName());
+    if(range == null) {
+      range = new ColumnRange();
+      _ranges.put(col.getName(), range);
+    }
+    range.add(op, value);
+  }
+
+  /**
+   * Adds a condition which matches rows containing all the values in the
+   * given row pattern, using the same semantics as {@link
+   * RowFilter#matchPattern(Map)}.
+   */
+  public void addPattern(Map<String,?> rowPattern) {
+    for(Map.Entry<String,?> e : rowPattern.entrySet()) {
+      if(_table.hasColumn(e.getKey())) {
+        addIndexCondition(e.getKey(), Op.EQ, e.getValue());
+      }
+    }
+    _filters.add(RowFilter.matchPattern(rowPattern));
+  }
+
+  /**
+   * Adds a boolean filter expression, where columns of the table are
+   * referenced as identifiers, e.g.
+   * {@code [Status]='Open' AND [Created] > #1/1/2020#}.  Any top-level
+   * "AND"ed comparisons of a column with a constant value are used for
+   * narrowing the index range of the cursor.  Rows for which the expression
+   * evaluates to {@code null} do not match.
+   */
+  public void addExpression(String exprStr) throws IOException {
+    final Expression expr = parse(exprStr);
+
+    for(String cond : QueryExpressions.splitConjuncts(exprStr)) {
+      Comparison comp = QueryExpressions.toComparison(cond);
+      if(comp == null) {
+        continue;
+      }
+      String colName = toColumnName(comp._lhs);
+      if(colName == null) {
+        if(comp._rhs2 != null) {
+          continue;
+        }
+        comp = comp.reverse();
+        colName = toColumnName(comp._lhs);
+        if(colName == null) {
+          continue;
+        }
+      }
+
+      if(comp._rhs2 != null) {
+        // BETWEEN
+        addIndexCondition(colName, Op.GE, evalConstant(comp._rhs));
+        addIndexCondition(colName, Op.LE, evalConstant(comp._rhs2));
+      } else {
+        addIndexCondition(colName, Op.fromString(comp._op),
+                          evalConstant(comp._rhs));
+      }
+    }
+
+    _filters.add(new RowFilter() {
+      @Override
+      public boolean matches(Row row) {
+        return _ctx.evalCondition(expr, row);
+      }
+    });
+  }
+
+  /**
+   * Adds an arbitrary filter, which is not used for choosing an index.
+   */
+  public void addFilter(RowFilter filter) {
+    _filters.add(filter);
+  }
+
+  /**
+   * Returns the index which will be used to read the rows of the table, or
+   * {@code null} if the table will be scanned.
+   */
+  public IndexImpl getIndex() {
+    plan();
+    return _index;
+  }
+
+  /**
+   * Returns {@code true} if the chosen index is unique and all of its columns
+   * have equality conditions, in which case at most one row can match.
+   */
+  public boolean isUniqueMatch() {
+    plan();
+    return _uniqueMatch;
+  }
+
+  /**
+   * Returns a cursor which will read (at least) all the rows of the table
+   * which can match the conditions of this planner.
+   */
+  public Cursor createCursor() throws IOException {
+    plan();
+    if(_index != null) {
+      CursorBuilder cb = _table.newCursor().setIndex(_index)
+        .setStartRowInclusive(true)
+        .setEndRowInclusive(true);
+      if(_startEntry.length > 0) {
+        cb.setStartEntry(_startEntry);
+      }
+      if(_endEntry.length > 0) {
+        cb.setEndEntry(_endEntry);
+      }
+      return cb.toIndexCursor();
+    }
+    return CursorBuilder.createCursor(_table);
+  }
+
+  /**
+   * Returns {@code true} if the given row matches all the conditions of this
+   * planner, {@code false} otherwise.
+   */
+  public boolean matches(Row row) {
+    for(RowFilter filter : _filters) {
+      if(!filter.matches(row)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Chooses the index which best narrows the range of rows to read.  Indexes
+   * are preferred by (in order) the number of leading columns with equality
+   * conditions, whether the next column has a range condition, uniqueness,
+   * and the smallest number of columns.
+   */
+  private void plan() {
+    if(_planned) {
+      return;
+    }
+
+    _index = null;
+    _uniqueMatch = false;
+    int[] bestScore = null;
+    for(IndexImpl index : _table.getIndexes()) {
+      if(index.getIndexData().getUnsupportedReason() != null) {
+        // index entries cannot be generated for this index
+        continue;
+      }
+      List<IndexData.ColumnDescriptor> idxCols = index.getColumns();
+      int numEq = 0;
+      for(IndexData.ColumnDescriptor idxCol : idxCols) {
+        ColumnRange range = _ranges.get(idxCol.getName());
+        if((range == null) || (range._eq == null)) {
+          break;
+        }
+        ++numEq;
+      }
+      boolean hasRange = false;
+      if(numEq < idxCols.size()) {
+        ColumnRange range = _ranges.get(idxCols.get(numEq).getName());
+        hasRange = ((range != null) && range.hasBound());
+      }
+      if((numEq == 0) && !hasRange) {
+        continue;
+      }
+
+      int[] score = {numEq, (hasRange ? 1 : 0),
+                     ((index.isUnique() && (numEq == idxCols.size())) ? 1 : 0),
+                     -idxCols.size()};
+      if((bestScore == null) || (compareScores(score, bestScore) > 0)) {
+        _index = index;
+        bestScore = score;
+      }
+    }
+
+    if(_index != null) {
+      List<IndexData.ColumnDescriptor> idxCols = _index.getColumns();
+      int numEq = bestScore[0];
+      List<Object> start = new ArrayList<Object>(numEq + 1);
+      List<Object> end = new ArrayList<Object>(numEq + 1);
+      for(int i = 0; i < numEq; ++i) {
+        Object eq = _ranges.get(idxCols.get(i).getName())._eq;
+        start.add(eq);
+        end.add(eq);
+      }
+      if(bestScore[1] != 0) {
+        IndexData.ColumnDescriptor idxCol = idxCols.get(numEq);
+        ColumnRange range = _ranges.get(idxCol.getName());
+        // the index entries of descending columns are reversed
+        Object first = (idxCol.isAscending() ? range._lower : range._upper);
+        Object last = (idxCol.isAscending() ? range._upper : range._lower);
+        if(first != null) {
+          start.add(first);
+        }
+        if(last != null) {
+          end.add(last);
+        }
+      }
+      _startEntry = start.toArray();
+      _endEntry = end.toArray();
+      _uniqueMatch = (bestScore[2] != 0);
+    }
+
+    _planned = true;
+  }
+
+  private static int compareScores(int[] score1, int[] score2) {
+    for(int i = 0; i < score1.length; ++i) {
+      if(score1[i] != score2[i]) {
+        return ((score1[i] < score2[i]) ? -1 : 1);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns {@code true} if the given value can be used to narrow the index
+   * range for the given column.  The value must be of the same general type
+   * as the column so that the index ordering matches the comparison
+   * semantics, and it must be exactly representable in the column (so that
+   * converting it to an index entry neither fails nor changes the value).
+   */
+  private static boolean isIndexableValue(ColumnImpl col, Op op, Object value)
+  {
+    if((value == null) || (op == null)) {
+      return false;
+    }
+    switch(col.getType()) {
+    case TEXT:
+    case MEMO:
+      return ((op == Op.EQ) && (value instanceof String));
+    case BYTE:
+      return isIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    case INT:
+      return isIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE);
+    case LONG:
+      return isIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    case BIG_INT:
+      return isIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE);
+    case MONEY: {
+      // currency values are stored as longs with 4 decimal places
+      BigDecimal dec = toBigDecimal(value);
+      return ((dec != null) &&
+              isIntegral(dec.movePointRight(4), Long.MIN_VALUE,
+                         Long.MAX_VALUE));
+    }
+    case NUMERIC: {
+      BigDecimal dec = toBigDecimal(value);
+      return ((dec != null) &&
+              isDecimal(dec, col.getScale(), col.getPrecision()));
+    }
+    case FLOAT:
+    case DOUBLE:
+      return (value instanceof Number);
+    case SHORT_DATE_TIME:
+      return ((value instanceof Date) || (value instanceof Temporal));
+    default:
+      return false;
+    }
+  }
+
+  private static boolean isIntegral(Object value, long minVal, long maxVal) {
+    BigDecimal dec = toBigDecimal(value);
+    return ((dec != null) && isIntegral(dec, minVal, maxVal));
+  }
+
+  private static boolean isIntegral(BigDecimal dec, long minVal, long maxVal) {
+    return ((dec.stripTrailingZeros().scale() <= 0) &&
+            (dec.compareTo(BigDecimal.valueOf(minVal)) >= 0) &&
+            (dec.compareTo(BigDecimal.valueOf(maxVal)) <= 0));
+  }
+
+  /**
+   * Returns {@code true} if the given value has at most the given number of
+   * decimal places and (with that many decimal places) at most the given
+   * number of digits.
+   */
+  private static boolean isDecimal(BigDecimal dec, int scale, int precision) {
+    if(dec.stripTrailingZeros().scale() > scale) {
+      return false;
+    }
+    return (dec.setScale(scale).precision() <= precision);
+  }
+
+  /**
+   * Returns the exact value of the given number, or {@code null} if it is
+   * not a finite number.
+   */
+  private static BigDecimal toBigDecimal(Object value) {
+    if(value instanceof BigDecimal) {
+      return (BigDecimal)value;
+    }
+    if(value instanceof BigInteger) {
+      return new BigDecimal((BigInteger)value);
+    }
+    if((value instanceof Integer) || (value instanceof Long) ||
+       (value instanceof Short) || (value instanceof Byte)) {
+      return BigDecimal.valueOf(((Number)value).longValue());
+    }
+    if(value instanceof Number) {
+      double d = ((Number)value).doubleValue();
+      if(!Double.isInfinite(d) && !Double.isNaN(d)) {
+        // same conversion used when writing the value to a column
+        return new BigDecimal(d);
+      }
+    }
+    return null;
+  }
+
+  private static Value compare(LocaleContext ctx, Op op, Value v1, Value v2)
+  {
+    switch(op) {
+    case EQ:
+      return BuiltinOperators.equals(ctx, v1, v2);
+    case LT:
+      return BuiltinOperators.lessThan(ctx, v1, v2);
+    case LE:
+      return BuiltinOperators.lessThanEq(ctx, v1, v2);
+    case GT:
+      return BuiltinOperators.greaterThan(ctx, v1, v2);
+    case GE:
+      return BuiltinOperators.greaterThanEq(ctx, v1, v2);
+    default:
+      throw new RuntimeException("Unexpected op " + op);
+    }
+  }
+
+  private Expression parse(String exprStr) throws IOException {
+    try {
+      return Expressionator.parse(
+          Expressionator.Type.EXPRESSION,
+          QueryExpressions.quoteBareNames(exprStr), null, _ctx.getDbContext());
+    } catch(RuntimeException e) {
+      throw new JackcessException(
+          "Failed parsing expression " + exprStr + " for table " +
+          _table.getName(), e);
+    }
+  }
+
+  /**
+   * Returns the name of the column referenced by the given expression, or
+   * {@code null} if it is not a column reference.
+   */
+  private String toColumnName(String exprStr) {
+    String[] colRef = QueryExpressions.toColumnRef(exprStr);
+    if((colRef == null) ||
+       ((colRef[0] != null) && !colRef[0].equalsIgnoreCase(_table.getName())) ||
+       !_table.hasColumn(colRef[1])) {
+      return null;
+    }
+    return colRef[1];
+  }
+
+  /**
+   * Returns the value of the given expression if it is a constant, {@code
+   * null} otherwise.
+   */
+  private Object evalConstant(String exprStr) throws IOException {
+    Expression expr = parse(exprStr);
+    List<Identifier> ids = new ArrayList<Identifier>();
+    expr.collectIdentifiers(ids);
+    if(!ids.isEmpty()) {
+      return null;
+    }
+    try {
+      return expr.eval(_ctx);
+    } catch(RuntimeException e) {
+      // will fail again when evaluated for the rows
+      return null;
+    }
+  }
+
+  /**
+   * The bounds of the values of a column (as given by the conditions).
+   */
+  private static final class ColumnRange
+  {
+    private Object _eq;
+    private Object _lower;
+    private Object _upper;
+
+    private void add(Op op, Object value) {
+      // only the first value of each type is used for choosing the index
+      // range, any additional conditions are handled by the filters
+      switch(op) {
+      case EQ:
+        if(_eq == null) {
+          _eq = value;
+        }
+        break;
+      case GT:
+      case GE:
+        if(_lower == null) {
+          _lower = value;
+        }
+        break;
+      default:
+        if(_upper == null) {
+          _upper = value;
+        }
+      }
+    }
+
+    private boolean hasBound() {
+      return ((_lower != null) || (_upper != null));
+    }
+  }
+
+  /**
+   * EvalContext which resolves identifiers to the columns of a table row.
+   */
+  private static final class FilterEvalContext extends BaseEvalContext
+  {
+    private final TableImpl _table;
+    private Row _row;
+
+    private FilterEvalContext(TableImpl table) {
+      super((DBEvalContext)table.getDatabase().getEvalConfig());
+      _table = table;
+    }
+
+    private DBEvalContext getDbContext() {
+      return (DBEvalContext)getDatabase().getEvalConfig();
+    }
+
+    @Override
+    protected Value toValue(Object val, DataType dType) {
+      return super.toValue(val, dType);
+    }
+
+    private boolean evalCondition(Expression expr, Row row) {
+      _row = row;
+      try {
+        Object result = expr.eval(this);
+        return ((result != null) && ColumnImpl.toBooleanValue(result));
+      } finally {
+        _row = null;
+      }
+    }
+
+    @Override
+    public Value getIdentifierValue(Identifier identifier) {
+      if(_row == null) {
+        throw new EvalException("No row for identifier " + identifier);
+      }
+      String collectionName = identifier.getCollectionName();
+      if(((collectionName != null) &&
+          !collectionName.equalsIgnoreCase(_table.getName())) ||
+         (identifier.getPropertyName() != null) ||
+         !_table.hasColumn(identifier.getObjectName())) {
+        throw new EvalException("Unknown identifier " + identifier);
+      }
+      ColumnImpl col = _table.getColumn(identifier.getObjectName());
+      return toValue(col.getRowValue(_row), col.getType());
+    }
+
+    @Override
+    protected String withErrorContext(String msg) {
+      return msg + " (Table: " + _table.getName() + ")";
+    }
+  }
+}
@@ -0,0 +1,503 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl.query;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.healthmarketscience.jackcess.DataType;
+
+/**
+ * Utility methods for analyzing and rewriting the (textual) expressions
+ * stored in the query system table before they are parsed by the expression
+ * engine.  The expression engine does not support some of the constructs
+ * which are valid in query expressions (e.g. unqualified column names and
+ * aggregate functions), and does not expose the structure of the parsed
+ * expressions, so this simple lexer is used for the necessary analysis.
+ *
+ * @author James Ahlborn
+ */
+final class QueryExpressions
+{
+  enum TokType {
+    WORD, NUMBER, QUOTED, NAME, OPEN, CLOSE, OP;
+  }
+
+  /** words which are operators or constants in expressions */
+  private static final Set<String> KEYWORDS = new HashSet<String>(
+      Arrays.asList("AND", "OR", "NOT", "XOR", "EQV", "IMP", "MOD", "LIKE",
+                    "IS", "IN", "BETWEEN", "NULL", "TRUE", "FALSE", "YES",
+                    "NO", "ON", "OFF"));
+  /** logical operators which prevent splitting an expression on AND */
+  private static final Set<String> WEAK_LOGICAL_OPS = new HashSet<String>(
+      Arrays.asList("OR", "XOR", "EQV", "IMP"));
+  /** comparison operators which can be used for index ranges */
+  private static final Set<String> RANGE_COMP_OPS = new HashSet<String>(
+      Arrays.asList("=", "<", "<=", ">", ">="));
+
+  private QueryExpressions() {}
+
+  /**
+   * A token in an expression.
+   */
+  static final class Tok
+  {
+    final TokType _type;
+    final String _text;
+    final int _start;
+    final int _end;
+    /** paren depth of this token (parens have the depth outside the
+        parens) */
+    final int _depth;
+
+    private Tok(TokType type, String text, int start, int end, int depth) {
+      _type = type;
+      _text = text;
+      _start = start;
+      _end = end;
+      _depth = depth;
+    }
+
+    boolean isWord(String word) {
+      return ((_type == TokType.WORD) && _text.equalsIgnoreCase(word));
+    }
+
+    boolean isOp(String op) {
+      return ((_type == TokType.OP) && _text.equals(op));
+    }
+
+    boolean isKeyword() {
+      return ((_type == TokType.WORD) &&
+              KEYWORDS.contains(_text.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Returns the (unquoted) name for a WORD or NAME token.
+     */
+    String getName() {
+      return ((_type == TokType.NAME) ?
+              _text.substring(1, _text.length() - 1) : _text);
+    }
+  }
+
+  /**
+   * A simple comparison of the form {@code <lhs> <op> <rhs>} or {@code <lhs>
+   * Between <rhs> And <rhs2>}.
+   */
+  static final class Comparison
+  {
+    final String _lhs;
+    final String _op;
+    final String _rhs;
+    final String _rhs2;
+
+    private Comparison(String lhs, String op, String rhs, String rhs2) {
+      _lhs = lhs;
+      _op = op;
+      _rhs = rhs;
+      _rhs2 = rhs2;
+    }
+
+    /**
+     * Returns a comparison with the sides swapped (only valid for non-BETWEEN
+     * comparisons).
+     */
+    Comparison reverse() {
+      String op = _op;
+      if(op.equals("<")) {
+        op = ">";
+      } else if(op.equals("<=")) {
+        op = ">=";
+      } else if(op.equals(">")) {
+        op = "<";
+      } else if(op.equals(">=")) {
+        op = "<=";
+      }
+      return new Comparison(_rhs, op, _lhs, null);
+    }
+  }
+
+  /**
+   * An aggregate function call in an expression.
+   */
+  static final class AggCall
+  {
+    final String _func;
+    final String _arg;
+    final int _start;
+    final int _end;
+
+    private AggCall(String func, String arg, int start, int end) {
+      _func = func;
+      _arg = arg;
+      _start = start;
+      _end = end;
+    }
+  }
+
+  /**
+   * Splits the given expression into tokens.
+   */
+  static List<Tok> tokenize(String expr) {
+    List<Tok> toks = new ArrayList<Tok>();
+    int depth = 0;
+    int len = expr.length();
+    int i = 0;
+    while(i < len) {
+      char c = expr.charAt(i);
+      int start = i;
+
+      if(Character.isWhitespace(c)) {
+        ++i;
+        continue;
+      }
+
+      TokType type = null;
+      switch(c) {
+      case '"':
+      case '\'':
+      case '#':
+        i = skipQuoted(expr, i, c);
+        type = TokType.QUOTED;
+        break;
+      case '[':
+        i = skipQuoted(expr, i, ']');
+        type = TokType.NAME;
+        break;
+      case '(':
+        ++i;
+        toks.add(new Tok(TokType.OPEN, "(", start, i, depth++));
+        continue;
+      case ')':
+        ++i;
+        depth = Math.max(depth - 1, 0);
+        toks.add(new Tok(TokType.CLOSE, ")", start, i, depth));
+        continue;
+      case '<':
+      case '>':
+        ++i;
+        if((i < len) && ((expr.charAt(i) == '=') ||
+                         ((c == '<') && (expr.charAt(i) == '>')))) {
+          ++i;
+        }
+        type = TokType.OP;
+        break;
+      default:
+        if(Character.isDigit(c)) {
+          i = skipNumber(expr, i);
+          type = TokType.NUMBER;
+        } else if(isWordChar(c)) {
+          while((i < len) && isWordChar(expr.charAt(i))) {
+            ++i;
+          }
+          type = TokType.WORD;
+        } else {
+          ++i;
+          type = TokType.OP;
+        }
+      }
+
+      toks.add(new Tok(type, expr.substring(start, i), start, i, depth));
+    }
+    return toks;
+  }
+
+  private static boolean isWordChar(char c) {
+    return (Character.isLetterOrDigit(c) || (c == '_') || (c == '$'));
+  }
+
+  private static int skipQuoted(String expr, int i, char endChar) {
+    int len = expr.length();
+    ++i;
+    while(i < len) {
+      char c = expr.charAt(i++);
+      if(c == endChar) {
+        if((endChar != ']') && (i < len) && (expr.charAt(i) == endChar)) {
+          // escaped quote char
+          ++i;
+          continue;
+        }
+        break;
+      }
+    }
+    return i;
+  }
+
+  private static int skipNumber(String expr, int i) {
+    int len = expr.length();
+    while((i < len) && (Character.isDigit(expr.charAt(i)) ||
+                        (expr.charAt(i) == '.'))) {
+      ++i;
+    }
+    if((i < len) && ((expr.charAt(i) == 'e') || (expr.charAt(i) == 'E'))) {
+      int expIdx = i + 1;
+      if((expIdx < len) && ((expr.charAt(expIdx) == '-') ||
+                            (expr.charAt(expIdx) == '+'))) {
+        ++expIdx;
+      }
+      if((expIdx < len) && Character.isDigit(expr.charAt(expIdx))) {
+        i = expIdx;
+        while((i < len) && Character.isDigit(expr.charAt(i))) {
+          ++i;
+        }
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Returns the index of the token which closes the paren at the given
+   * index, or -1 if not found.
+   */
+  private static int findClose(List<Tok> toks, int openIdx) {
+    int depth = toks.get(openIdx)._depth;
+    for(int i = openIdx + 1; i < toks.size(); ++i) {
+      Tok t = toks.get(i);
+      if((t._type == TokType.CLOSE) && (t._depth == depth)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Removes any parens enclosing the entire expression.
+   */
+  static String stripParens(String expr) {
+    expr = expr.trim();
+    while(true) {
+      List<Tok> toks = tokenize(expr);
+      if((toks.size() < 2) || (toks.get(0)._type != TokType.OPEN) ||
+         (findClose(toks, 0) != (toks.size() - 1))) {
+        return expr;
+      }
+      expr = expr.substring(1, toks.get(toks.size() - 1)._start).trim();
+    }
+  }
+
+  /**
+   * Splits the given expression into the conditions which are combined by
+   * top-level AND operators.  If the expression contains other top-level
+   * logical operators (which have a lower precedence than AND), the
+   * expression is returned as is.
+   */
+  static List<String> splitConjuncts(String expr) {
+    expr = stripParens(expr);
+    List<Tok> toks = tokenize(expr);
+    List<String> conjuncts = new ArrayList<String>();
+    boolean inBetween = false;
+    int start = 0;
+    for(Tok t : toks) {
+      if((t._depth > 0) || (t._type != TokType.WORD)) {
+        continue;
+      }
+      String word = t._text.toUpperCase(Locale.ROOT);
+      if(WEAK_LOGICAL_OPS.contains(word)) {
+        conjuncts.clear();
+        conjuncts.add(expr);
+        return conjuncts;
+      }
+      if(word.equals("BETWEEN")) {
+        inBetween = true;
+      } else if(word.equals("AND")) {
+        if(inBetween) {
+          // part of the between expression
+          inBetween = false;
+        } else {
+          conjuncts.add(stripParens(expr.substring(start, t._start)));
+          start = t._end;
+        }
+      }
+    }
+    conjuncts.add(stripParens(expr.substring(start)));
+    return conjuncts;
+  }
+
+  /**
+   * Returns the given condition as a simple comparison which could be used
+   * for an index range ({@code =, <, <=, >, >=} or {@code Between}), or
+   * {@code null} if it is not such a comparison.
+   */
+  static Comparison toComparison(String expr) {
+    expr = stripParens(expr);
+    List<Tok> toks = tokenize(expr);
+    Tok compTok = null;
+    Tok betweenTok = null;
+    Tok andTok = null;
+    for(Tok t : toks) {
+      if(t._depth > 0) {
+        continue;
+      }
+      if((t._type == TokType.OP) && ("=<>".indexOf(t._text.charAt(0)) >= 0)) {
+        if((compTok != null) || !RANGE_COMP_OPS.contains(t._text)) {
+          return null;
+        }
+        compTok = t;
+      } else if(t.isWord("BETWEEN") && (betweenTok == null)) {
+        betweenTok = t;
+      } else if(t.isWord("AND") && (betweenTok != null) && (andTok == null)) {
+        andTok = t;
+      } else if(t.isKeyword() && !t.isWord("NULL") && !t.isWord("TRUE") &&
+                !t.isWord("FALSE")) {
+        return null;
+      }
+    }
+
+    if((compTok != null) && (betweenTok == null)) {
+      return new Comparison(expr.substring(0, compTok._start).trim(),
+                            compTok._text,
+                            expr.substring(compTok._end).trim(), null);
+    }
+    if((compTok == null) && (betweenTok != null) && (andTok != null)) {
+      return new Comparison(expr.substring(0, betweenTok._start).trim(),
+                            "BETWEEN",
+                            expr.substring(betweenTok._end,
+                                           andTok._start).trim(),
+                            expr.substring(andTok._end).trim());
+    }
+    return null;
+  }
+
+  /**
+   * If the given expression is a simple column reference ({@code
+   * [col]}, {@code [table].[col]} or {@code [table].*}), returns the table
+   * name (may be {@code null}) and column name (which is {@code "*"} for all
+   * columns), otherwise returns {@code null}.
+   */
+  static String[] toColumnRef(String expr) {
+    List<Tok> toks = tokenize(stripParens(expr));
+    if((toks.size() == 1) && isNameTok(toks.get(0))) {
+      return new String[]{null, toks.get(0).getName()};
+    }
+    if((toks.size() == 3) && isNameTok(toks.get(0)) &&
+       (toks.get(1).isOp(".") || toks.get(1).isOp("!"))) {
+      Tok colTok = toks.get(2);
+      if(isNameTok(colTok) || colTok.isOp("*")) {
+        return new String[]{toks.get(0).getName(),
+                            (isNameTok(colTok) ? colTok.getName() : "*")};
+      }
+    }
+    return null;
+  }
+
+  private static boolean isNameTok(Tok t) {
+    return ((t._type == TokType.NAME) ||
+            ((t._type == TokType.WORD) && !t.isKeyword()));
+  }
+
+  /**
+   * Wraps any bare (unqualified) object names in the given expression in
+   * brackets (the expression engine only supports bare names when they are
+   * part of a qualified name or a function call).
+   */
+  static String quoteBareNames(String expr) {
+    List<Tok> toks = tokenize(expr);
+    StringBuilder sb = null;
+    int lastEnd = 0;
+    for(int i = 0; i < toks.size(); ++i) {
+      Tok t = toks.get(i);
+      if((t._type != TokType.WORD) || t.isKeyword()) {
+        continue;
+      }
+      Tok prev = ((i > 0) ? toks.get(i - 1) : null);
+      Tok next = ((i < (toks.size() - 1)) ? toks.get(i + 1) : null);
+      if(((prev != null) && (prev.isOp(".") || prev.isOp("!"))) ||
+         ((next != null) && (next.isOp(".") || next.isOp("!") ||
+                             (next._type == TokType.OPEN)))) {
+        // part of a qualified name or a function call
+        continue;
+      }
+      if(sb == null) {
+        sb = new StringBuilder(expr.length() + 8);
+      }
+      sb.append(expr, lastEnd, t._start).append('[').append(t._text)
+        .append(']');
+      lastEnd = t._end;
+    }
+    if(sb == null) {
+      return expr;
+    }
+    return sb.append(expr, lastEnd, expr.length()).toString();
+  }
+
+  /**
+   * Returns all the top-level (non-nested) calls to the given aggregate
+   * functions in the given expression.
+   */
+  static List<AggCall> findAggregates(String expr, Set<String> aggFuncs) {
+    List<Tok> toks = tokenize(expr);
+    List<AggCall> calls = new ArrayList<AggCall>();
+    for(int i = 0; i < (toks.size() - 1); ++i) {
+      Tok t = toks.get(i);
+      if((t._type != TokType.WORD) ||
+         !aggFuncs.contains(t._text.toUpperCase(Locale.ROOT)) ||
+         (toks.get(i + 1)._type != TokType.OPEN) ||
+         ((i > 0) && (toks.get(i - 1).isOp(".") ||
+                      toks.get(i - 1).isOp("!")))) {
+        continue;
+      }
+      int closeIdx = findClose(toks, i + 1);
+      if(closeIdx < 0) {
+        // let the expression parser complain
+        break;
+      }
+      Tok open = toks.get(i + 1);
+      Tok close = toks.get(closeIdx);
+      calls.add(new AggCall(t._text.toUpperCase(Locale.ROOT),
+                            expr.substring(open._end, close._start).trim(),
+                            t._start, close._end));
+      i = closeIdx;
+    }
+    return calls;
+  }
+
+  /**
+   * Returns the DataType which best represents the given value (for values
+   * without a known column type).
+   */
+  static DataType guessType(Object value) {
+    if(value instanceof Boolean) {
+      return DataType.BOOLEAN;
+    }
+    if(value instanceof Byte) {
+      return DataType.BYTE;
+    }
+    if(value instanceof Short) {
+      return DataType.INT;
+    }
+    if(value instanceof Integer) {
+      return DataType.LONG;
+    }
+    if(value instanceof Float) {
+      return DataType.FLOAT;
+    }
+    if(value instanceof Number) {
+      return (((value instanceof Double) || (value instanceof Long)) ?
+              DataType.DOUBLE : DataType.NUMERIC);
+    }
+    if((value instanceof Date) || (value instanceof Temporal)) {
+      return DataType.SHORT_DATE_TIME;
+    }
+    return DataType.TEXT;
+  }
+}
@@ -0,0 +1,1445 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.impl.query;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.JackcessException;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.expr.EvalException;
+import com.healthmarketscience.jackcess.expr.Expression;
+import com.healthmarketscience.jackcess.expr.Identifier;
+import com.healthmarketscience.jackcess.expr.Value;
+import com.healthmarketscience.jackcess.impl.BaseEvalContext;
+import com.healthmarketscience.jackcess.impl.ColumnImpl;
+import com.healthmarketscience.jackcess.impl.DBEvalContext;
+import com.healthmarketscience.jackcess.impl.DatabaseImpl;
+import com.healthmarketscience.jackcess.impl.RowIdImpl;
+import com.healthmarketscience.jackcess.impl.RowImpl;
+import com.healthmarketscience.jackcess.impl.TableImpl;
+import com.healthmarketscience.jackcess.impl.expr.BuiltinOperators;
+import com.healthmarketscience.jackcess.impl.expr.Expressionator;
+import com.healthmarketscience.jackcess.impl.expr.ValueSupport;
+import com.healthmarketscience.jackcess.impl.query.QueryExpressions.AggCall;
+import com.healthmarketscience.jackcess.impl.query.QueryExpressions.Comparison;
+import com.healthmarketscience.jackcess.query.Query;
+import static com.healthmarketscience.jackcess.impl.query.QueryFormat.*;
+
+/**
+ * Executes a stored SELECT query directly over the tables (and other stored
+ * SELECT queries) of a database.  The query is executed as follows:
+ * <ul>
+ * <li>Conditions in the WHERE clause which only reference a single table
+ *     (which is not on the optional side of an outer join) are applied
+ *     while the table is read.  If such a condition is a simple comparison
+ *     of an indexed column with a constant value (or parameter), the table
+ *     is read using an index range instead of a full table scan.</li>
+ * <li>Joins are performed using hash joins on any equality conditions
+ *     between the joined tables (falling back to nested loops for joins
+ *     without any equality conditions).</li>
+ * <li>Any remaining WHERE conditions are applied to the joined rows, which
+ *     are then grouped/aggregated, projected, sorted and limited as
+ *     necessary.</li>
+ * </ul>
+ * Supported aggregate functions are Count, Sum, Avg, Min, Max, First and
+ * Last.  Text comparisons (for grouping, joins and sorting) are case
+ * insensitive.
+ *
+ * @author James Ahlborn
+ */
+public class SelectQueryExecutor
+{
+  private enum AggType {
+    COUNT, SUM, AVG, MIN, MAX, FIRST, LAST;
+  }
+
+  private enum JoinType {
+    CROSS, INNER, LEFT, RIGHT;
+  }
+
+  private static final Set<String> AGG_FUNCS = new HashSet<String>();
+  static {
+    for(AggType type : AggType.values()) {
+      AGG_FUNCS.add(type.name());
+    }
+  }
+
+  /** prefix for the identifiers which replace aggregate function calls */
+  private static final String AGG_ID_PREFIX = "__jackcess_agg";
+  /** the tuple used when a query has no tables */
+  private static final Object[][] EMPTY_TUPLE = new Object[0][];
+  /** first number used for the names of unnamed expression columns (same as
+      Access) */
+  private static final int FIRST_EXPR_NUM = 1000;
+
+  private final DatabaseImpl _db;
+  private final SelectQueryImpl _query;
+  private final Map<String,Object> _params;
+  private final Set<String> _activeQueries;
+  private final DBEvalContext _dbCtx;
+  private final QueryEvalContext _ctx;
+  private boolean _planned;
+
+  private final Map<String,DataType> _paramTypes =
+    new TreeMap<String,DataType>(String.CASE_INSENSITIVE_ORDER);
+  private final List<Source> _sources = new ArrayList<Source>();
+  private RelNode _root;
+  private final List<Expression> _where = new ArrayList<Expression>();
+  private final List<OutputColumn> _outputs = new ArrayList<OutputColumn>();
+  private final List<String> _outputNames = new ArrayList<String>();
+  private final List<Aggregate> _aggs = new ArrayList<Aggregate>();
+  private final List<Expression> _groupBys = new ArrayList<Expression>();
+  private Expression _having;
+  private final List<Expression> _orderBys = new ArrayList<Expression>();
+  private final List<Boolean> _orderByDescs = new ArrayList<Boolean>();
+  private boolean _aggregate;
+
+  public SelectQueryExecutor(DatabaseImpl db, SelectQueryImpl query,
+                             Map<String,?> params)
+  {
+    this(db, query, params, new HashSet<String>());
+  }
+
+  private SelectQueryExecutor(DatabaseImpl db, SelectQueryImpl query,
+                              Map<String,?> params, Set<String> activeQueries)
+  {
+    _db = db;
+    _query = query;
+    _params = new TreeMap<String,Object>(String.CASE_INSENSITIVE_ORDER);
+    if(params != null) {
+      _params.putAll(params);
+    }
+    _activeQueries = activeQueries;
+    _dbCtx = (DBEvalContext)db.getEvalConfig();
+    _ctx = new QueryEvalContext(_dbCtx);
+  }
+
+  /**
+   * Returns the names of the columns of the rows returned by this query.
+   */
+  public List<String> getColumnNames() throws IOException {
+    plan();
+    return Collections.unmodifiableList(_outputNames);
+  }
+
+  /**
+   * Executes the query and returns the resulting rows.
+   */
+  public List<Row> execute() throws IOException {
+    plan();
+
+    List<Object[][]> tuples = ((_root != null) ? _root.execute() :
+                               Collections.singletonList(EMPTY_TUPLE));
+
+    // apply any conditions which could not be applied to individual tables
+    if(!_where.isEmpty()) {
+      List<Object[][]> filtered = new ArrayList<Object[][]>();
+      for(Object[][] tuple : tuples) {
+        _ctx.setTuple(tuple);
+        if(evalConditions(_where)) {
+          filtered.add(tuple);
+        }
+      }
+      tuples = filtered;
+    }
+
+    List<OutputRow> outRows = (_aggregate ? aggregate(tuples) :
+                               project(tuples));
+    _ctx.reset();
+
+    if(_query.hasFlag(DISTINCT_SELECT_TYPE)) {
+      Set<List<Object>> seen = new HashSet<List<Object>>();
+      List<OutputRow> distinct = new ArrayList<OutputRow>();
+      for(OutputRow row : outRows) {
+        if(seen.add(toKey(row._values))) {
+          distinct.add(row);
+        }
+      }
+      outRows = distinct;
+    }
+
+    if(!_orderBys.isEmpty()) {
+      Collections.sort(outRows, new Comparator<OutputRow>() {
+        @Override
+        public int compare(OutputRow r1, OutputRow r2) {
+          for(int i = 0; i < r1._sortKeys.length; ++i) {
+            int cmp = compareValues(r1._sortKeys[i], r2._sortKeys[i]);
+            if(cmp != 0) {
+              return (_orderByDescs.get(i) ? -cmp : cmp);
+            }
+          }
+          return 0;
+        }
+      });
+    }
+
+    if(_query.hasFlag(TOP_SELECT_TYPE)) {
+      int top = getTopCount(outRows.size());
+      if(top < outRows.size()) {
+        outRows = outRows.subList(0, top);
+      }
+    }
+
+    List<Row> rows = new ArrayList<Row>(outRows.size());
+    for(OutputRow outRow : outRows) {
+      RowImpl row = new RowImpl((RowIdImpl)null, _outputNames.size());
+      for(int i = 0; i < _outputNames.size(); ++i) {
+        row.put(_outputNames.get(i), outRow._values[i]);
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private int getTopCount(int numRows) {
+    String topStr = _query.getFlagRow().name1;
+    try {
+      double top = Double.parseDouble(topStr.trim());
+      if(_query.hasFlag(PERCENT_SELECT_TYPE)) {
+        top = Math.ceil((numRows * top) / 100.0d);
+      }
+      return (int)Math.max(0, Math.min(top, numRows));
+    } catch(RuntimeException e) {
+      throw new IllegalStateException(withErrorContext(
+          "Invalid TOP value " + topStr), e);
+    }
+  }
+
+  /**
+   * Analyzes the query and prepares all the expressions.
+   */
+  private void plan() throws IOException {
+    if(_planned) {
+      return;
+    }
+
+    String activeName = _query.getName().toUpperCase(Locale.ROOT);
+    if(!_activeQueries.add(activeName)) {
+      throw new IllegalStateException(withErrorContext(
+          "Query references itself"));
+    }
+    try {
+      planSources();
+      planExpressions();
+    } finally {
+      _activeQueries.remove(activeName);
+    }
+
+    _planned = true;
+  }
+
+  private void planSources() throws IOException {
+    QueryImpl.Row remoteRow = _query.getRemoteDatabaseRow();
+    if((remoteRow.name1 != null) || (remoteRow.expression != null)) {
+      throw new UnsupportedOperationException(withErrorContext(
+          "Queries on remote databases are not supported"));
+    }
+
+    for(QueryImpl.Row paramRow : _query.getParameterRows()) {
+      DataType type = null;
+      short flag = QueryImpl.getShortValue(paramRow.flag, 0);
+      if(flag != 0) {
+        try {
+          type = DataType.fromByte((byte)flag);
+        } catch(IOException e) {
+          // unknown type, leave as is
+        }
+      }
+      _paramTypes.put(unquoteName(paramRow.name1), type);
+    }
+
+    for(QueryImpl.Row tableRow : _query.getTableRows()) {
+      if(tableRow.expression != null) {
+        throw new UnsupportedOperationException(withErrorContext(
+            "External table sources are not supported"));
+      }
+      String alias = ((tableRow.name2 != null) ? tableRow.name2 :
+                      tableRow.name1);
+      _sources.add(createSource(tableRow.name1, alias));
+    }
+
+    // combine the sources with any joins (same algorithm used to generate
+    // the FROM clause of the query)
+    List<RelNode> nodes = new ArrayList<RelNode>();
+    for(Source src : _sources) {
+      nodes.add(new ScanNode(src));
+    }
+
+    for(QueryImpl.Row joinRow : _query.getJoinRows()) {
+      RelNode fromNode = findNode(nodes, joinRow.name1);
+      RelNode toNode = findNode(nodes, joinRow.name2);
+      JoinType type = toJoinType(joinRow.flag);
+
+      if(fromNode == toNode) {
+        if((fromNode instanceof JoinNode) &&
+           (((JoinNode)fromNode)._type == type)) {
+          // additional condition for an existing join
+          ((JoinNode)fromNode).addCondition(joinRow.expression);
+          continue;
+        }
+        throw new IllegalStateException(withErrorContext(
+            "Inconsistent join types for " + joinRow.name1 + " and " +
+            joinRow.name2));
+      }
+
+      nodes.remove(fromNode);
+      nodes.remove(toNode);
+      JoinNode join = new JoinNode(fromNode, toNode, type);
+      join.addCondition(joinRow.expression);
+      nodes.add(join);
+    }
+
+    for(RelNode node : nodes) {
+      _root = ((_root == null) ? node :
+               new JoinNode(_root, node, JoinType.CROSS));
+    }
+
+    if(_root != null) {
+      _root.markOptional(false);
+    }
+  }
+
+  private RelNode findNode(List<RelNode> nodes, String alias) {
+    for(RelNode node : nodes) {
+      for(int i = node._srcIdxs.nextSetBit(0); i >= 0;
+          i = node._srcIdxs.nextSetBit(i + 1)) {
+        if(_sources.get(i)._alias.equalsIgnoreCase(alias)) {
+          return node;
+        }
+      }
+    }
+    throw new IllegalStateException(withErrorContext(
+        "Unknown join table " + alias));
+  }
+
+  private JoinType toJoinType(Short flag) {
+    switch(QueryImpl.getShortValue(flag, 0)) {
+    case 1:
+      return JoinType.INNER;
+    case 2:
+      return JoinType.LEFT;
+    case 3:
+      return JoinType.RIGHT;
+    default:
+      throw new IllegalStateException(withErrorContext(
+          "Unknown join type " + flag));
+    }
+  }
+
+  private Source createSource(String name, String alias) throws IOException {
+    int idx = _sources.size();
+    Table table = _db.getTable(name);
+    if(table != null) {
+      return new Source(idx, alias, table, null);
+    }
+
+    for(Query query : _db.getQueries()) {
+      if(query.getName().equalsIgnoreCase(name)) {
+        if(!(query instanceof SelectQueryImpl)) {
+          throw new UnsupportedOperationException(withErrorContext(
+              "Query " + name + " is not a select query"));
+        }
+        SelectQueryExecutor subQuery = new SelectQueryExecutor(
+            _db, (SelectQueryImpl)query, _params, _activeQueries);
+        subQuery.plan();
+        return new Source(idx, alias, null, subQuery);
+      }
+    }
+
+    throw new IllegalStateException(withErrorContext(
+        "Unknown table or query " + name));
+  }
+
+  private void planExpressions() throws IOException {
+    Map<String,Integer> aggIds = new HashMap<String,Integer>();
+
+    // select columns
+    int exprNum = FIRST_EXPR_NUM;
+    Set<String> usedNames = new HashSet<String>();
+    List<QueryImpl.Row> colRows = new ArrayList<QueryImpl.Row>(
+        _query.getColumnRows());
+    if(_query.hasFlag(SELECT_STAR_SELECT_TYPE)) {
+      colRows.add(new QueryImpl.Row(null, COLUMN_ATTRIBUTE, "*", null, null,
+                                    null, null, null, null));
+    }
+    for(QueryImpl.Row colRow : colRows) {
+      String exprStr = colRow.expression;
+      String[] colRef = QueryExpressions.toColumnRef(exprStr);
+      if(exprStr.trim().equals("*") ||
+         ((colRef != null) && colRef[1].equals("*"))) {
+        // all columns of one or all tables
+        for(Source src : _sources) {
+          if((colRef == null) || src._alias.equalsIgnoreCase(colRef[0])) {
+            for(int i = 0; i < src._colNames.size(); ++i) {
+              src._usedCols.set(i);
+              addOutput(new OutputColumn(src, i, null), src._alias,
+                        src._colNames.get(i), usedNames);
+            }
+          }
+        }
+        continue;
+      }
+
+      String name = colRow.name1;
+      ColRef ref = ((colRef != null) ?
+                    resolveColumn(new Identifier(colRef[0], colRef[1], null)) :
+                    null);
+      if(ref != null) {
+        ref._src._usedCols.set(ref._col);
+        String colName = ref._src._colNames.get(ref._col);
+        addOutput(new OutputColumn(ref._src, ref._col, null),
+                  ((name == null) ? ref._src._alias : null),
+                  ((name != null) ? name : colName), usedNames);
+        continue;
+      }
+
+      if(name == null) {
+        name = "Expr" + (exprNum++);
+      }
+      addOutput(new OutputColumn(null, -1,
+                                 parse(rewriteAggregates(exprStr, aggIds))),
+                null, name, usedNames);
+    }
+
+    // where conditions
+    String whereStr = _query.getWhereRow().expression;
+    if(whereStr != null) {
+      for(String cond : QueryExpressions.splitConjuncts(whereStr)) {
+        Expression expr = parse(cond);
+        BitSet condSources = markColumns(expr);
+        if(condSources.cardinality() == 1) {
+          Source src = _sources.get(condSources.nextSetBit(0));
+          if(!src._optional) {
+            src.addFilter(expr, cond);
+            continue;
+          }
+        }
+        _where.add(expr);
+      }
+    }
+
+    // joins
+    if(_root != null) {
+      _root.planConditions();
+    }
+
+    // groupings
+    for(QueryImpl.Row groupRow : _query.getGroupByRows()) {
+      Expression expr = parse(rewriteAggregates(groupRow.expression, aggIds));
+      markColumns(expr);
+      _groupBys.add(expr);
+    }
+
+    String havingStr = _query.getHavingRow().expression;
+    if(havingStr != null) {
+      _having = parse(rewriteAggregates(havingStr, aggIds));
+      markColumns(_having);
+    }
+
+    for(QueryImpl.Row orderRow : _query.getOrderByRows()) {
+      Expression expr = parse(rewriteAggregates(orderRow.expression, aggIds));
+      markColumns(expr);
+      _orderBys.add(expr);
+      _orderByDescs.add(DESCENDING_FLAG.equalsIgnoreCase(orderRow.name1));
+    }
+
+    for(OutputColumn output : _outputs) {
+      if(output._expr != null) {
+        markColumns(output._expr);
+      }
+    }
+    for(Aggregate agg : _aggs) {
+      if(agg._arg != null) {
+        markColumns(agg._arg);
+      }
+    }
+
+    _aggregate = (!_groupBys.isEmpty() || !_aggs.isEmpty());
+  }
+
+  private void addOutput(OutputColumn output, String qualifier, String name,
+                         Set<String> usedNames)
+  {
+    if(!usedNames.add(name.toUpperCase(Locale.ROOT)) && (qualifier != null)) {
+      // duplicate column name, qualify it with the table name
+      name = qualifier + "." + name;
+      usedNames.add(name.toUpperCase(Locale.ROOT));
+    }
+    _outputs.add(output);
+    _outputNames.add(name);
+  }
+
+  /**
+   * Replaces any aggregate function calls in the given expression with
+   * identifiers for the aggregate values.
+   */
+  private String rewriteAggregates(String exprStr, Map<String,Integer> aggIds)
+    throws IOException
+  {
+    List<AggCall> calls = QueryExpressions.findAggregates(exprStr, AGG_FUNCS);
+    if(calls.isEmpty()) {
+      return exprStr;
+    }
+
+    StringBuilder sb = new StringBuilder();
+    int lastEnd = 0;
+    for(AggCall call : calls) {
+      String key = call._func + "(" + call._arg + ")";
+      Integer aggId = aggIds.get(key);
+      if(aggId == null) {
+        aggId = _aggs.size();
+        aggIds.put(key, aggId);
+        AggType type = AggType.valueOf(call._func);
+        Expression arg = ((call._arg.equals("*") && (type == AggType.COUNT)) ?
+                          null : parse(call._arg));
+        _aggs.add(new Aggregate(type, arg));
+      }
+      sb.append(exprStr, lastEnd, call._start)
+        .append('[').append(AGG_ID_PREFIX).append(aggId).append(']');
+      lastEnd = call._end;
+    }
+    return sb.append(exprStr, lastEnd, exprStr.length()).toString();
+  }
+
+  private Expression parse(String exprStr) throws IOException {
+    try {
+      return Expressionator.parse(
+          Expressionator.Type.EXPRESSION,
+          QueryExpressions.quoteBareNames(exprStr), null, _dbCtx);
+    } catch(RuntimeException e) {
+      throw new JackcessException(withErrorContext(
+          "Failed parsing expression " + exprStr), e);
+    }
+  }
+
+  /**
+   * Marks the columns used by the given expression and returns the sources
+   * used by the expression.
+   */
+  private BitSet markColumns(Expression expr) {
+    BitSet srcs = new BitSet();
+    List<Identifier> ids = new ArrayList<Identifier>();
+    expr.collectIdentifiers(ids);
+    for(Identifier id : ids) {
+      ColRef ref = resolveColumn(id);
+      if(ref != null) {
+        ref._src._usedCols.set(ref._col);
+        srcs.set(ref._src._idx);
+      }
+    }
+    return srcs;
+  }
+
+  private ColRef resolveColumn(Identifier id) {
+    if(id.getPropertyName() != null) {
+      return null;
+    }
+    String srcName = id.getCollectionName();
+    ColRef found = null;
+    for(Source src : _sources) {
+      if((srcName != null) && !src._alias.equalsIgnoreCase(srcName)) {
+        continue;
+      }
+      Integer colIdx = src._colIdxs.get(id.getObjectName());
+      if(colIdx != null) {
+        if(found != null) {
+          throw new IllegalStateException(withErrorContext(
+              "Ambiguous column reference " + id));
+        }
+        found = new ColRef(src, colIdx);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Groups the given tuples and returns the aggregated output rows.
+   */
+  private List<OutputRow> aggregate(List<Object[][]> tuples)
+    throws IOException
+  {
+    Map<List<Object>,Group> groups = new LinkedHashMap<List<Object>,Group>();
+    for(Object[][] tuple : tuples) {
+      _ctx.setTuple(tuple);
+      List<Object> key = new ArrayList<Object>(_groupBys.size());
+      for(Expression groupBy : _groupBys) {
+        key.add(toKey(evalValue(groupBy)));
+      }
+      Group group = groups.get(key);
+      if(group == null) {
+        group = new Group(tuple);
+        groups.put(key, group);
+      }
+      for(int i = 0; i < _aggs.size(); ++i) {
+        group._accums[i].add(_aggs.get(i)._arg);
+      }
+    }
+
+    if(groups.isEmpty() && _groupBys.isEmpty()) {
+      // aggregates without grouping always produce one row
+      groups.put(Collections.emptyList(),
+                 new Group(new Object[_sources.size()][]));
+    }
+
+    List<OutputRow> outRows = new ArrayList<OutputRow>(groups.size());
+    for(Group group : groups.values()) {
+      _ctx.setTuple(group._tuple);
+      Value[] aggValues = new Value[_aggs.size()];
+      for(int i = 0; i < aggValues.length; ++i) {
+        aggValues[i] = group._accums[i].getResult();
+      }
+      _ctx.setAggValues(aggValues);
+      if((_having != null) && !evalCondition(_having)) {
+        continue;
+      }
+      outRows.add(createOutputRow(group._tuple));
+    }
+    return outRows;
+  }
+
+  private List<OutputRow> project(List<Object[][]> tuples) throws IOException
+  {
+    List<OutputRow> outRows = new ArrayList<OutputRow>(tuples.size());
+    for(Object[][] tuple : tuples) {
+      _ctx.setTuple(tuple);
+      outRows.add(createOutputRow(tuple));
+    }
+    return outRows;
+  }
+
+  private OutputRow createOutputRow(Object[][] tuple) throws IOException {
+    Object[] values = new Object[_outputs.size()];
+    for(int i = 0; i < values.length; ++i) {
+      OutputColumn output = _outputs.get(i);
+      if(output._expr == null) {
+        Object[] srcRow = tuple[output._src._idx];
+        values[i] = ((srcRow != null) ? srcRow[output._col] : null);
+      } else {
+        values[i] = evalValue(output._expr);
+      }
+    }
+
+    Object[] sortKeys = new Object[_orderBys.size()];
+    if(sortKeys.length > 0) {
+      _ctx.setOutputValues(values);
+      for(int i = 0; i < sortKeys.length; ++i) {
+        sortKeys[i] = evalValue(_orderBys.get(i));
+      }
+      _ctx.setOutputValues(null);
+    }
+    return new OutputRow(values, sortKeys);
+  }
+
+  private Object evalValue(Expression expr) throws IOException {
+    try {
+      return expr.eval(_ctx);
+    } catch(Exception e) {
+      throw new JackcessException(withErrorContext(e.getMessage()), e);
+    }
+  }
+
+  private boolean evalCondition(Expression expr) throws IOException {
+    Object result = evalValue(expr);
+    return ((result != null) && ColumnImpl.toBooleanValue(result));
+  }
+
+  private boolean evalConditions(List<Expression> exprs) throws IOException {
+    for(Expression expr : exprs) {
+      if(!evalCondition(expr)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a value which can be used as a key for grouping/joining/distinct
+   * comparisons, normalizing numbers and (case insensitive) text.
+   */
+  private static Object toKey(Object value) {
+    if(value instanceof String) {
+      return ((String)value).toUpperCase(Locale.ROOT);
+    }
+    if((value instanceof Integer) || (value instanceof Short) ||
+       (value instanceof Byte) || (value instanceof Long)) {
+      return ((Number)value).longValue();
+    }
+    if((value instanceof Double) || (value instanceof Float)) {
+      double d = ((Number)value).doubleValue();
+      long l = (long)d;
+      return ((l == d) ? (Object)l : (Object)d);
+    }
+    if(value instanceof BigDecimal) {
+      BigDecimal bd = (BigDecimal)value;
+      try {
+        return bd.longValueExact();
+      } catch(ArithmeticException e) {
+        return bd.stripTrailingZeros();
+      }
+    }
+    if(value instanceof byte[]) {
+      return ByteBuffer.wrap((byte[])value);
+    }
+    return value;
+  }
+
+  private static List<Object> toKey(Object[] values) {
+    List<Object> key = new ArrayList<Object>(values.length);
+    for(Object value : values) {
+      key.add(toKey(value));
+    }
+    return key;
+  }
+
+  /**
+   * Compares the given values for sorting (nulls sort first, text is
+   * compared case insensitively).
+   */
+  @SuppressWarnings({"unchecked","rawtypes"})
+  static int compareValues(Object v1, Object v2) {
+    if(v1 == null) {
+      return ((v2 == null) ? 0 : -1);
+    }
+    if(v2 == null) {
+      return 1;
+    }
+    if((v1 instanceof Number) && (v2 instanceof Number)) {
+      if((v1 instanceof BigDecimal) || (v2 instanceof BigDecimal) ||
+         (v1 instanceof BigInteger) || (v2 instanceof BigInteger)) {
+        return new BigDecimal(v1.toString()).compareTo(
+            new BigDecimal(v2.toString()));
+      }
+      return Double.compare(((Number)v1).doubleValue(),
+                            ((Number)v2).doubleValue());
+    }
+    if((v1 instanceof String) && (v2 instanceof String)) {
+      return String.CASE_INSENSITIVE_ORDER.compare((String)v1, (String)v2);
+    }
+    if((v1 instanceof Comparable) && (v1.getClass() == v2.getClass())) {
+      return ((Comparable)v1).compareTo(v2);
+    }
+    return String.CASE_INSENSITIVE_ORDER.compare(v1.toString(),
+                                                 v2.toString());
+  }
+
+  private static String unquoteName(String name) {
+    name = name.trim();
+    if(name.startsWith("[") && name.endsWith("]")) {
+      name = name.substring(1, name.length() - 1);
+    }
+    return name;
+  }
+
+  private String withErrorContext(String msg) {
+    return msg + " (Query: " + _query.getName() + ")";
+  }
+
+  /**
+   * A table or query in the FROM clause of the query.
+   */
+  private final class Source
+  {
+    private final int _idx;
+    private final String _alias;
+    private final Table _table;
+    private final SelectQueryExecutor _subQuery;
+    private final List<String> _colNames = new ArrayList<String>();
+    private final DataType[] _colTypes;
+    private final Map<String,Integer> _colIdxs =
+      new TreeMap<String,Integer>(String.CASE_INSENSITIVE_ORDER);
+    private final BitSet _usedCols = new BitSet();
+    private final List<Expression> _filters = new ArrayList<Expression>();
+    private final List<Comparison> _rangeConds = new ArrayList<Comparison>();
+    /** whether this source is on the optional side of an outer join */
+    private boolean _optional;
+
+    private Source(int idx, String alias, Table table,
+                   SelectQueryExecutor subQuery)
+      throws IOException
+    {
+      _idx = idx;
+      _alias = alias;
+      _table = table;
+      _subQuery = subQuery;
+      if(table != null) {
+        for(Column col : table.getColumns()) {
+          _colNames.add(col.getName());
+        }
+        _colTypes = new DataType[_colNames.size()];
+        for(int i = 0; i < _colTypes.length; ++i) {
+          _colTypes[i] = table.getColumns().get(i).getType();
+        }
+      } else {
+        _colNames.addAll(subQuery.getColumnNames());
+        _colTypes = new DataType[_colNames.size()];
+      }
+      for(int i = 0; i < _colNames.size(); ++i) {
+        _colIdxs.put(_colNames.get(i), i);
+      }
+    }
+
+    private void addFilter(Expression expr, String exprStr) {
+      _filters.add(expr);
+      Comparison comp = QueryExpressions.toComparison(exprStr);
+      if(comp != null) {
+        _rangeConds.add(comp);
+      }
+    }
+
+    /**
+     * Reads the (filtered) rows of this source.
+     */
+    private List<Object[]> readRows() throws IOException {
+      List<Object[]> rows = new ArrayList<Object[]>();
+      Object[][] tuple = new Object[_sources.size()][];
+      _ctx.setTuple(tuple);
+
+      if(_table == null) {
+        for(Row row : _subQuery.execute()) {
+          Object[] values = new Object[_colNames.size()];
+          for(int i = 0; i < values.length; ++i) {
+            values[i] = row.get(_colNames.get(i));
+          }
+          tuple[_idx] = values;
+          if(evalConditions(_filters)) {
+            rows.add(values);
+          }
+        }
+        return rows;
+      }
+
+      List<String> colNames = new ArrayList<String>();
+      for(int i = _usedCols.nextSetBit(0); i >= 0;
+          i = _usedCols.nextSetBit(i + 1)) {
+        colNames.add(_colNames.get(i));
+      }
+
+      Cursor cursor = createCursor();
+      Row row = null;
+      while((row = cursor.getNextRow(colNames)) != null) {
+        Object[] values = new Object[_colNames.size()];
+        for(int i = _usedCols.nextSetBit(0); i >= 0;
+            i = _usedCols.nextSetBit(i + 1)) {
+          values[i] = row.get(_colNames.get(i));
+        }
+        tuple[_idx] = values;
+        if(evalConditions(_filters)) {
+          rows.add(values);
+        }
+      }
+      return rows;
+    }
+
+    /**
+     * Returns a cursor for reading this table, using an index range if
+     * possible (the filters are still applied to the rows read from the
+     * cursor).
+     */
+    private Cursor createCursor() throws IOException {
+      FilterPlanner planner = new FilterPlanner((TableImpl)_table);
+      for(Comparison comp : _rangeConds) {
+        String colName = toColumnName(comp._lhs);
+        if(colName == null) {
+          if(comp._rhs2 != null) {
+            continue;
+          }
+          comp = comp.reverse();
+          colName = toColumnName(comp._lhs);
+          if(colName == null) {
+            continue;
+          }
+        }
+        if(comp._rhs2 != null) {
+          // BETWEEN
+          planner.addIndexCondition(colName, FilterPlanner.Op.GE,
+                                    evalConstant(comp._rhs));
+          planner.addIndexCondition(colName, FilterPlanner.Op.LE,
+                                    evalConstant(comp._rhs2));
+        } else {
+          planner.addIndexCondition(colName,
+                                    FilterPlanner.Op.fromString(comp._op),
+                                    evalConstant(comp._rhs));
+        }
+      }
+      return planner.createCursor();
+    }
+
+    /**
+     * Returns the name of the column of this source referenced by the given
+     * expression, or {@code null} if it is not a column reference.
+     */
+    private String toColumnName(String exprStr) {
+      String[] colRef = QueryExpressions.toColumnRef(exprStr);
+      if(colRef == null) {
+        return null;
+      }
+      ColRef ref = resolveColumn(new Identifier(colRef[0], colRef[1], null));
+      return (((ref != null) && (ref._src == this)) ?
+              _colNames.get(ref._col) : null);
+    }
+
+    /**
+     * Returns the value of the given expression if it is a constant, {@code
+     * null} otherwise.
+     */
+    private Object evalConstant(String exprStr) throws IOException {
+      Expression expr = parse(exprStr);
+      return (markColumns(expr).isEmpty() ? evalValue(expr) : null);
+    }
+  }
+
+  /**
+   * A reference to a column of a source.
+   */
+  private static final class ColRef
+  {
+    private final Source _src;
+    private final int _col;
+
+    private ColRef(Source src, int col) {
+      _src = src;
+      _col = col;
+    }
+  }
+
+  /**
+   * An output column of the query, either a direct column reference or an
+   * expression.
+   */
+  private static final class OutputColumn
+  {
+    private final Source _src;
+    private final int _col;
+    private final Expression _expr;
+
+    private OutputColumn(Source src, int col, Expression expr) {
+      _src = src;
+      _col = col;
+      _expr = expr;
+    }
+  }
+
+  private static final class OutputRow
+  {
+    private final Object[] _values;
+    private final Object[] _sortKeys;
+
+    private OutputRow(Object[] values, Object[] sortKeys) {
+      _values = values;
+      _sortKeys = sortKeys;
+    }
+  }
+
+  /**
+   * Node in the tree of joined sources.
+   */
+  private abstract class RelNode
+  {
+    protected final BitSet _srcIdxs = new BitSet();
+
+    protected abstract void markOptional(boolean optional);
+
+    protected abstract void planConditions() throws IOException;
+
+    /**
+     * Returns the tuples produced by this node.  Each tuple has a slot for
+     * each source in the query, and only the slots for the sources in this
+     * node are filled.
+     */
+    protected abstract List<Object[][]> execute() throws IOException;
+  }
+
+  private final class ScanNode extends RelNode
+  {
+    private final Source _src;
+
+    private ScanNode(Source src) {
+      _src = src;
+      _srcIdxs.set(src._idx);
+    }
+
+    @Override
+    protected void markOptional(boolean optional) {
+      _src._optional = optional;
+    }
+
+    @Override
+    protected void planConditions() {
+      // nothing to do
+    }
+
+    @Override
+    protected List<Object[][]> execute() throws IOException {
+      List<Object[]> rows = _src.readRows();
+      List<Object[][]> tuples = new ArrayList<Object[][]>(rows.size());
+      for(Object[] row : rows) {
+        Object[][] tuple = new Object[_sources.size()][];
+        tuple[_src._idx] = row;
+        tuples.add(tuple);
+      }
+      return tuples;
+    }
+  }
+
+  private final class JoinNode extends RelNode
+  {
+    private final RelNode _left;
+    private final RelNode _right;
+    private final JoinType _type;
+    private final List<String> _condStrs = new ArrayList<String>();
+    private final List<Expression> _leftKeys = new ArrayList<Expression>();
+    private final List<Expression> _rightKeys = new ArrayList<Expression>();
+    private final List<Expression> _conds = new ArrayList<Expression>();
+
+    private JoinNode(RelNode left, RelNode right, JoinType type) {
+      _left = left;
+      _right = right;
+      _type = type;
+      _srcIdxs.or(left._srcIdxs);
+      _srcIdxs.or(right._srcIdxs);
+    }
+
+    private void addCondition(String condStr) {
+      if(condStr != null) {
+        _condStrs.add(condStr);
+      }
+    }
+
+    @Override
+    protected void markOptional(boolean optional) {
+      _left.markOptional(optional || (_type == JoinType.RIGHT));
+      _right.markOptional(optional || (_type == JoinType.LEFT));
+    }
+
+    @Override
+    protected void planConditions() throws IOException {
+      _left.planConditions();
+      _right.planConditions();
+
+      for(String condStr : _condStrs) {
+        for(String cond : QueryExpressions.splitConjuncts(condStr)) {
+          Comparison comp = QueryExpressions.toComparison(cond);
+          if((comp != null) && comp._op.equals("=")) {
+            Expression lhs = parse(comp._lhs);
+            Expression rhs = parse(comp._rhs);
+            BitSet lhsSrcs = markColumns(lhs);
+            BitSet rhsSrcs = markColumns(rhs);
+            if(isSubset(lhsSrcs, _left._srcIdxs) &&
+               isSubset(rhsSrcs, _right._srcIdxs)) {
+              _leftKeys.add(lhs);
+              _rightKeys.add(rhs);
+              continue;
+            }
+            if(isSubset(rhsSrcs, _left._srcIdxs) &&
+               isSubset(lhsSrcs, _right._srcIdxs)) {
+              _leftKeys.add(rhs);
+              _rightKeys.add(lhs);
+              continue;
+            }
+          }
+          Expression expr = parse(cond);
+          markColumns(expr);
+          _conds.add(expr);
+        }
+      }
+    }
+
+    private boolean isSubset(BitSet srcs, BitSet nodeSrcs) {
+      if(srcs.isEmpty()) {
+        return false;
+      }
+      BitSet tmp = (BitSet)srcs.clone();
+      tmp.andNot(nodeSrcs);
+      return tmp.isEmpty();
+    }
+
+    @Override
+    protected List<Object[][]> execute() throws IOException {
+      List<Object[][]> leftTuples = _left.execute();
+      List<Object[][]> rightTuples = _right.execute();
+      boolean keepLeft = (_type == JoinType.LEFT);
+      boolean keepRight = (_type == JoinType.RIGHT);
+      boolean[] rightMatched = (keepRight ? new boolean[rightTuples.size()] :
+                                null);
+
+      // build a hash table of the right tuples (if there are any equality
+      // conditions)
+      Map<List<Object>,List<Integer>> hash = null;
+      if(!_leftKeys.isEmpty()) {
+        hash = new HashMap<List<Object>,List<Integer>>();
+        for(int i = 0; i < rightTuples.size(); ++i) {
+          List<Object> key = evalKey(rightTuples.get(i), _rightKeys);
+          if(key == null) {
+            // null never matches
+            continue;
+          }
+          List<Integer> matches = hash.get(key);
+          if(matches == null) {
+            matches = new ArrayList<Integer>(1);
+            hash.put(key, matches);
+          }
+          matches.add(i);
+        }
+      }
+
+      List<Object[][]> tuples = new ArrayList<Object[][]>();
+      for(Object[][] leftTuple : leftTuples) {
+
+        List<Integer> matches = null;
+        if(hash != null) {
+          List<Object> key = evalKey(leftTuple, _leftKeys);
+          matches = ((key != null) ? hash.get(key) : null);
+          if(matches == null) {
+            matches = Collections.emptyList();
+          }
+        }
+
+        boolean matched = false;
+        int numMatches = ((matches != null) ? matches.size() :
+                          rightTuples.size());
+        for(int i = 0; i < numMatches; ++i) {
+          int rightIdx = ((matches != null) ? matches.get(i) : i);
+          Object[][] tuple = merge(leftTuple, rightTuples.get(rightIdx));
+          _ctx.setTuple(tuple);
+          if(evalConditions(_conds)) {
+            tuples.add(tuple);
+            matched = true;
+            if(rightMatched != null) {
+              rightMatched[rightIdx] = true;
+            }
+          }
+        }
+
+        if(!matched && keepLeft) {
+          tuples.add(leftTuple);
+        }
+      }
+
+      if(rightMatched != null) {
+        for(int i = 0; i < rightMatched.length; ++i) {
+          if(!rightMatched[i]) {
+            tuples.add(rightTuples.get(i));
+          }
+        }
+      }
+
+      return tuples;
+    }
+
+    private List<Object> evalKey(Object[][] tuple, List<Expression> keyExprs)
+      throws IOException
+    {
+      _ctx.setTuple(tuple);
+      List<Object> key = new ArrayList<Object>(keyExprs.size());
+      for(Expression keyExpr : keyExprs) {
+        Object value = evalValue(keyExpr);
+        if(value == null) {
+          return null;
+        }
+        key.add(toKey(value));
+      }
+      return key;
+    }
+
+    private Object[][] merge(Object[][] leftTuple, Object[][] rightTuple) {
+      Object[][] tuple = leftTuple.clone();
+      for(int i = _right._srcIdxs.nextSetBit(0); i >= 0;
+          i = _right._srcIdxs.nextSetBit(i + 1)) {
+        tuple[i] = rightTuple[i];
+      }
+      return tuple;
+    }
+  }
+
+  /**
+   * The rows of a group in an aggregate query.
+   */
+  private final class Group
+  {
+    private final Object[][] _tuple;
+    private final Accumulator[] _accums;
+
+    private Group(Object[][] tuple) {
+      _tuple = tuple;
+      _accums = new Accumulator[_aggs.size()];
+      for(int i = 0; i < _accums.length; ++i) {
+        _accums[i] = new Accumulator(_aggs.get(i)._type);
+      }
+    }
+  }
+
+  /**
+   * An aggregate function call in the query.
+   */
+  private static final class Aggregate
+  {
+    private final AggType _type;
+    /** the argument of the function, {@code null} for "Count(*)" */
+    private final Expression _arg;
+
+    private Aggregate(AggType type, Expression arg) {
+      _type = type;
+      _arg = arg;
+    }
+  }
+
+  /**
+   * Accumulates the value of an aggregate function for a group.
+   */
+  private final class Accumulator
+  {
+    private final AggType _type;
+    private int _count;
+    private Value _value;
+    private boolean _hasValue;
+
+    private Accumulator(AggType type) {
+      _type = type;
+    }
+
+    private void add(Expression arg) throws IOException {
+      if(arg == null) {
+        // Count(*)
+        ++_count;
+        return;
+      }
+
+      Object obj = evalValue(arg);
+      Value value = _ctx.toValue(obj, null);
+
+      switch(_type) {
+      case FIRST:
+        if(!_hasValue) {
+          _value = value;
+          _hasValue = true;
+        }
+        return;
+      case LAST:
+        _value = value;
+        _hasValue = true;
+        return;
+      default:
+        // handled below
+      }
+
+      if(value.isNull()) {
+        // other aggregates ignore nulls
+        return;
+      }
+      ++_count;
+
+      switch(_type) {
+      case SUM:
+      case AVG:
+        _value = ((_value == null) ? value :
+                  BuiltinOperators.add(_ctx, _value, value));
+        break;
+      case MIN:
+        if((_value == null) || (compareValues(value.get(), _value.get()) < 0)) {
+          _value = value;
+        }
+        break;
+      case MAX:
+        if((_value == null) || (compareValues(value.get(), _value.get()) > 0)) {
+          _value = value;
+        }
+        break;
+      default:
+        // COUNT
+      }
+    }
+
+    private Value getResult() {
+      switch(_type) {
+      case COUNT:
+        return ValueSupport.toValue(_count);
+      case AVG:
+        return ((_value == null) ? ValueSupport.NULL_VAL :
+                BuiltinOperators.divide(_ctx, _value,
+                                        ValueSupport.toValue(_count)));
+      default:
+        return ((_value == null) ? ValueSupport.NULL_VAL : _value);
+      }
+    }
+  }
+
+  /**
+   * EvalContext which resolves identifiers to the columns of the current
+   * tuple, the aggregate values of the current group, the query parameters
+   * and (for the ORDER BY clause) the output columns.
+   */
+  private final class QueryEvalContext extends BaseEvalContext
+  {
+    private final Map<Identifier,IdRef> _refs =
+      new HashMap<Identifier,IdRef>();
+    private Object[][] _tuple;
+    private Value[] _aggValues;
+    private Object[] _outputValues;
+
+    private QueryEvalContext(DBEvalContext dbCtx) {
+      super(dbCtx);
+    }
+
+    private void setTuple(Object[][] tuple) {
+      _tuple = tuple;
+    }
+
+    private void setAggValues(Value[] aggValues) {
+      _aggValues = aggValues;
+    }
+
+    private void setOutputValues(Object[] outputValues) {
+      _outputValues = outputValues;
+    }
+
+    private void reset() {
+      _tuple = null;
+      _aggValues = null;
+      _outputValues = null;
+    }
+
+    @Override
+    protected Value toValue(Object val, DataType type) {
+      if(val == null) {
+        return ValueSupport.NULL_VAL;
+      }
+      if(type == null) {
+        type = QueryExpressions.guessType(val);
+      }
+      return super.toValue(val, type);
+    }
+
+    @Override
+    public Value getIdentifierValue(Identifier identifier) {
+      IdRef ref = _refs.get(identifier);
+      if(ref == null) {
+        ref = resolve(identifier);
+        _refs.put(identifier, ref);
+      }
+      return ref.getValue(this);
+    }
+
+    private IdRef resolve(final Identifier id) {
+      final ColRef colRef = resolveColumn(id);
+      if(colRef != null) {
+        return new IdRef() {
+          @Override
+          public Value getValue(QueryEvalContext ctx) {
+            Object[] row = ctx._tuple[colRef._src._idx];
+            return ctx.toValue(((row != null) ? row[colRef._col] : null),
+                               colRef._src._colTypes[colRef._col]);
+          }
+        };
+      }
+
+      String name = id.getObjectName();
+      if((id.getCollectionName() == null) && (id.getPropertyName() == null)) {
+
+        if(name.startsWith(AGG_ID_PREFIX)) {
+          final int aggIdx = Integer.parseInt(
+              name.substring(AGG_ID_PREFIX.length()));
+          return new IdRef() {
+            @Override
+            public Value getValue(QueryEvalContext ctx) {
+              if(ctx._aggValues == null) {
+                throw new EvalException(
+                    "Aggregate function used outside of an aggregate clause");
+              }
+              return ctx._aggValues[aggIdx];
+            }
+          };
+        }
+
+        if(_params.containsKey(name) || _paramTypes.containsKey(name)) {
+          if(!_params.containsKey(name)) {
+            throw new EvalException("No value given for parameter " + id);
+          }
+          Value value = toValue(_params.get(name), _paramTypes.get(name));
+          return new ConstRef(value);
+        }
+
+        for(int i = 0; i < _outputNames.size(); ++i) {
+          if(_outputNames.get(i).equalsIgnoreCase(name)) {
+            final int outIdx = i;
+            final OutputColumn output = _outputs.get(i);
+            return new IdRef() {
+              @Override
+              public Value getValue(QueryEvalContext ctx) {
+                if(ctx._outputValues == null) {
+                  throw new EvalException("Unknown identifier " + id);
+                }
+                Object value = ctx._outputValues[outIdx];
+                return ctx.toValue(value, ((output._src != null) ?
+                                           output._src._colTypes[output._col] :
+                                           null));
+              }
+            };
+          }
+        }
+      }
+
+      throw new EvalException("Unknown identifier " + id);
+    }
+
+    @Override
+    protected String withErrorContext(String msg) {
+      return SelectQueryExecutor.this.withErrorContext(msg);
+    }
+  }
+
+  /**
+   * Resolved identifier.
+   */
+  private interface IdRef
+  {
+    public Value getValue(QueryEvalContext ctx);
+  }
+
+  private static final class ConstRef implements IdRef
+  {
+    private final Value _value;
+
+    private ConstRef(Value value) {
+      _value = value;
+    }
+
+    @Override
+    public Value getValue(QueryEvalContext ctx) {
+      return _value;
+    }
+  }
+}
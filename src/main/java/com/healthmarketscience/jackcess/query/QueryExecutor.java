@@ -0,0 +1,109 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.query;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.impl.DatabaseImpl;
+import com.healthmarketscience.jackcess.impl.query.SelectQueryExecutor;
+import com.healthmarketscience.jackcess.impl.query.SelectQueryImpl;
+
+/**
+ * Builder style class for executing a stored {@link SelectQuery} against the
+ * tables of a Database, e.g.:
+ * <pre>
+ *   List&lt;Row&gt; rows = new QueryExecutor(db, "MyQuery")
+ *     .setParameter("StartDate", startDate)
+ *     .execute();
+ * </pre>
+ * Conditions on indexed columns are evaluated using index ranges where
+ * possible, and joins on equality conditions are evaluated using hash joins.
+ * Only select queries are supported (queries using remote databases or
+ * external table sources are not supported).
+ *
+ * @author James Ahlborn
+ * @usage _general_class_
+ */
+public class QueryExecutor
+{
+  private final Database _db;
+  private final SelectQuery _query;
+  private final Map<String,Object> _params =
+    new TreeMap<String,Object>(String.CASE_INSENSITIVE_ORDER);
+
+  public QueryExecutor(Database db, SelectQuery query) {
+    _db = db;
+    _query = query;
+  }
+
+  /**
+   * Creates a QueryExecutor for the select query with the given name.
+   *
+   * @throws IllegalArgumentException if the database does not contain a
+   *         select query with the given name
+   */
+  public QueryExecutor(Database db, String queryName) throws IOException {
+    this(db, findQuery(db, queryName));
+  }
+
+  /**
+   * Sets the value of the parameter with the given name (case insensitive).
+   * Any parameter referenced by the query must be given a value before the
+   * query is executed.
+   */
+  public QueryExecutor setParameter(String name, Object value) {
+    _params.put(name, value);
+    return this;
+  }
+
+  /**
+   * Sets the values of all the parameters in the given map.
+   */
+  public QueryExecutor setParameters(Map<String,?> params) {
+    _params.putAll(params);
+    return this;
+  }
+
+  /**
+   * Executes the query and returns the resulting rows.
+   */
+  public List<Row> execute() throws IOException {
+    return new SelectQueryExecutor((DatabaseImpl)_db,
+                                   (SelectQueryImpl)_query, _params)
+      .execute();
+  }
+
+  private static SelectQuery findQuery(Database db, String queryName)
+    throws IOException
+  {
+    for(Query query : db.getQueries()) {
+      if(query.getName().equalsIgnoreCase(queryName)) {
+        if(!(query instanceof SelectQuery)) {
+          throw new IllegalArgumentException(
+              "Query " + queryName + " is not a select query");
+        }
+        return (SelectQuery)query;
+      }
+    }
+    throw new IllegalArgumentException("Could not find query " + queryName);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Row;
+
+/**
+ * Asynchronous facade for a Cursor, which reads rows in batches using the
+ * Executor of an {@link AsyncDatabase}.  Rows are only read when requested,
+ * so a consumer controls the rate at which rows are read (e.g. using {@link
+ * #forEachBatch}, the next batch is not read until the consumer has finished
+ * handling the previous one).
+ *
+ * @author James Ahlborn
+ * @usage _general_class_
+ */
+public class AsyncCursor
+{
+  private final AsyncDatabase _db;
+  private final Cursor _cursor;
+
+  AsyncCursor(AsyncDatabase db, Cursor cursor) {
+    _db = db;
+    _cursor = cursor;
+  }
+
+  /**
+   * Returns the underlying Cursor.  Note, the Cursor should not be used
+   * directly while any operations are pending.
+   */
+  public Cursor getCursor() {
+    return _cursor;
+  }
+
+  /**
+   * Reads up to the given number of rows from the current position of the
+   * cursor.  The returned list is empty once all rows have been read.
+   */
+  public CompletableFuture<List<Row>> getNextRows(final int maxRows) {
+    if(maxRows <= 0) {
+      throw new IllegalArgumentException("Invalid maxRows " + maxRows);
+    }
+    return _db.submit(new AsyncDatabase.Task<List<Row>>() {
+      @Override
+      public List<Row> call(Database db) throws IOException {
+        List<Row> rows = new ArrayList<Row>(maxRows);
+        Row row = null;
+        while((rows.size() < maxRows) &&
+              ((row = _cursor.getNextRow()) != null)) {
+          rows.add(row);
+        }
+        return rows;
+      }
+    });
+  }
+
+  /**
+   * Reads all the remaining rows of the cursor in batches of the given size,
+   * handing each batch to the given handler.  The next batch is not read
+   * until the stage returned by the handler for the previous batch has
+   * completed.  The returned future is completed with the total number of
+   * rows read, or exceptionally if reading the rows or handling any batch
+   * fails.
+   */
+  public CompletableFuture<Long> forEachBatch(
+      int batchSize,
+      Function<? super List<Row>, ? extends CompletionStage<?>> handler)
+  {
+    CompletableFuture<Long> result = new CompletableFuture<Long>();
+    readBatch(batchSize, handler, 0L, result);
+    return result;
+  }
+
+  private void readBatch(
+      final int batchSize,
+      final Function<? super List<Row>, ? extends CompletionStage<?>> handler,
+      final long numRows, final CompletableFuture<Long> result)
+  {
+    getNextRows(batchSize).whenComplete(new BiConsumer<List<Row>,Throwable>() {
+      @Override
+      public void accept(final List<Row> rows, Throwable t) {
+        if(t != null) {
+          result.completeExceptionally(t);
+          return;
+        }
+        if(rows.isEmpty()) {
+          result.complete(numRows);
+          return;
+        }
+
+        CompletionStage<?> handled = null;
+        try {
+          handled = handler.apply(rows);
+        } catch(Throwable ht) {
+          result.completeExceptionally(ht);
+          return;
+        }
+
+        handled.whenComplete(new BiConsumer<Object,Throwable>() {
+          @Override
+          public void accept(Object ignored, Throwable ht) {
+            if(ht != null) {
+              result.completeExceptionally(ht);
+              return;
+            }
+            readBatch(batchSize, handler, numRows + rows.size(), result);
+          }
+        });
+      }
+    });
+  }
+}
@@ -0,0 +1,304 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.Table;
+
+/**
+ * Asynchronous facade for a Database, where every operation is performed on
+ * an Executor and the result is returned as a CompletableFuture, e.g.:
+ * <pre>
+ *   AsyncDatabase.open(new DatabaseBuilder(file), executor)
+ *     .thenCompose(db -&gt; db.newCursor("Orders"))
+ *     .thenCompose(cursor -&gt; cursor.forEachBatch(500, rows -&gt;
+ *       sendToClient(rows)));
+ * </pre>
+ * Since a Database is not safe for unrestricted concurrent use, the
+ * operations of an AsyncDatabase are performed one at a time, in the order
+ * they were submitted.  However, no thread is held between operations, so a
+ * shared Executor may be used by many AsyncDatabase instances.  If no
+ * Executor is given, a dedicated (daemon) thread is used, which is shutdown
+ * when the database is closed.
+ * <p>
+ * Any exception thrown by an operation is used to complete the returned
+ * future exceptionally (IOExceptions are passed through as is).
+ *
+ * @author James Ahlborn
+ * @usage _general_class_
+ */
+public class AsyncDatabase
+{
+  /**
+   * An operation to perform on the Database of an AsyncDatabase.
+   */
+  public interface Task<T>
+  {
+    public T call(Database db) throws IOException;
+  }
+
+  private final Database _db;
+  private final Executor _executor;
+  /** dedicated executor, if we own it */
+  private final ExecutorService _ownedExecutor;
+  /** operations waiting to be executed */
+  private final Deque<Op<?>> _pending = new ArrayDeque<Op<?>>();
+  /** the currently executing operation, if any */
+  private Op<?> _active;
+
+  /**
+   * Creates an AsyncDatabase which performs operations using a dedicated
+   * thread.
+   */
+  public AsyncDatabase(Database db) {
+    this(db, null, newDedicatedExecutor());
+  }
+
+  /**
+   * Creates an AsyncDatabase which performs operations using the given
+   * Executor.
+   */
+  public AsyncDatabase(Database db, Executor executor) {
+    this(db, executor, null);
+  }
+
+  private AsyncDatabase(Database db, Executor executor,
+                        ExecutorService ownedExecutor) {
+    _db = db;
+    _ownedExecutor = ownedExecutor;
+    _executor = ((ownedExecutor != null) ? ownedExecutor : executor);
+  }
+
+  /**
+   * Opens the database configured by the given builder using a dedicated
+   * thread.
+   */
+  public static CompletableFuture<AsyncDatabase> open(
+      DatabaseBuilder builder)
+  {
+    return open(builder, null, newDedicatedExecutor());
+  }
+
+  /**
+   * Opens the database configured by the given builder using the given
+   * Executor.
+   */
+  public static CompletableFuture<AsyncDatabase> open(
+      DatabaseBuilder builder, Executor executor)
+  {
+    return open(builder, executor, null);
+  }
+
+  private static CompletableFuture<AsyncDatabase> open(
+      final DatabaseBuilder builder, final Executor executor,
+      final ExecutorService ownedExecutor)
+  {
+    final CompletableFuture<AsyncDatabase> result =
+      new CompletableFuture<AsyncDatabase>();
+    Runnable task = new Runnable() {
+      @Override
+      public void run() {
+        try {
+          result.complete(new AsyncDatabase(builder.open(), executor,
+                                            ownedExecutor));
+        } catch(Throwable t) {
+          if(ownedExecutor != null) {
+            ownedExecutor.shutdown();
+          }
+          result.completeExceptionally(t);
+        }
+      }
+    };
+
+    try {
+      ((ownedExecutor != null) ? ownedExecutor : executor).execute(task);
+    } catch(RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the underlying Database.  Note, the Database should not be used
+   * directly while any operations are pending.
+   */
+  public Database getDatabase() {
+    return _db;
+  }
+
+  /**
+   * Submits the given operation to be performed after all previously
+   * submitted operations.
+   */
+  public <T> CompletableFuture<T> submit(Task<T> task) {
+    Op<T> op = new Op<T>(task);
+    synchronized(_pending) {
+      _pending.add(op);
+      if(_active == null) {
+        scheduleNext();
+      }
+    }
+    return op._result;
+  }
+
+  /**
+   * Returns the table with the given name (see
+   * {@link Database#getTable(String)}).
+   */
+  public CompletableFuture<Table> getTable(final String name) {
+    return submit(new Task<Table>() {
+      @Override
+      public Table call(Database db) throws IOException {
+        return db.getTable(name);
+      }
+    });
+  }
+
+  /**
+   * Adds a single row to the given table (see {@link Table#addRow}).
+   */
+  public CompletableFuture<Object[]> addRow(final Table table,
+                                            final Object... row) {
+    return submit(new Task<Object[]>() {
+      @Override
+      public Object[] call(Database db) throws IOException {
+        return table.addRow(row);
+      }
+    });
+  }
+
+  /**
+   * Adds multiple rows to the given table (see {@link Table#addRows}).
+   */
+  public CompletableFuture<List<? extends Object[]>> addRows(
+      final Table table, final List<? extends Object[]> rows) {
+    return submit(new Task<List<? extends Object[]>>() {
+      @Override
+      public List<? extends Object[]> call(Database db) throws IOException {
+        return table.addRows(rows);
+      }
+    });
+  }
+
+  /**
+   * Returns an AsyncCursor for a table scan of the table with the given name.
+   */
+  public CompletableFuture<AsyncCursor> newCursor(final String tableName) {
+    return submit(new Task<AsyncCursor>() {
+      @Override
+      public AsyncCursor call(Database db) throws IOException {
+        Table table = db.getTable(tableName);
+        if(table == null) {
+          throw new IllegalArgumentException(
+              "Could not find table " + tableName);
+        }
+        return newCursor(CursorBuilder.createCursor(table));
+      }
+    });
+  }
+
+  /**
+   * Returns an AsyncCursor which reads from the given Cursor (which must be
+   * from the database of this AsyncDatabase).
+   */
+  public AsyncCursor newCursor(Cursor cursor) {
+    return new AsyncCursor(this, cursor);
+  }
+
+  /**
+   * Closes the database after all previously submitted operations (and
+   * shuts down the dedicated thread, if any).
+   */
+  public CompletableFuture<Void> close() {
+    return submit(new Task<Void>() {
+      @Override
+      public Void call(Database db) throws IOException {
+        try {
+          db.close();
+        } finally {
+          if(_ownedExecutor != null) {
+            // any subsequent operations will be rejected
+            _ownedExecutor.shutdown();
+          }
+        }
+        return null;
+      }
+    });
+  }
+
+  private void scheduleNext() {
+    synchronized(_pending) {
+      while((_active = _pending.poll()) != null) {
+        try {
+          _executor.execute(_active);
+          return;
+        } catch(RuntimeException e) {
+          // executor most likely rejected the operation (shutdown)
+          _active._result.completeExceptionally(e);
+        }
+      }
+    }
+  }
+
+  private static ExecutorService newDedicatedExecutor() {
+    return Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "jackcess-async");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  }
+
+  /**
+   * A submitted operation and its eventual result.
+   */
+  private final class Op<T> implements Runnable
+  {
+    private final Task<T> _task;
+    private final CompletableFuture<T> _result = new CompletableFuture<T>();
+
+    private Op(Task<T> task) {
+      _task = task;
+    }
+
+    @Override
+    public void run() {
+      try {
+        _result.complete(_task.call(_db));
+      } catch(Throwable t) {
+        _result.completeExceptionally(t);
+      } finally {
+        scheduleNext();
+      }
+    }
+  }
+}
@@ -18,14 +18,22 @@ package com.healthmarketscience.jackcess.util;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.healthmarketscience.jackcess.Column;
 import com.healthmarketscience.jackcess.Cursor;
@@ -49,6 +57,18 @@ public class ExportUtil {
   public static final char DEFAULT_QUOTE_CHAR = '"';
   public static final String DEFAULT_FILE_EXT = "csv";
 
+  /** size of the char buffer used when writing export files */
+  private static final int FILE_BUFFER_SIZE = 64 * 1024;
+  /** number of chars of formatted rows which are accumulated before being
+      written to the output */
+  private static final int CHUNK_SIZE = 32 * 1024;
+  /** max number of formatted chunks waiting to be written when the rows are
+      read on a separate thread */
+  private static final int MAX_PENDING_CHUNKS = 4;
+  /** chunk which marks the end of the formatted rows */
+  private static final StringBuilder END_CHUNK = new StringBuilder(0);
+  /** millis to wait on a chunk queue before re-checking for cancellation */
+  static final long QUEUE_WAIT_MILLIS = 100L;
 
   private ExportUtil() {
   }
@@ -146,9 +166,141 @@ public class ExportUtil {
       String ext, boolean header, String delim,
       char quote, ExportFilter filter)
       throws IOException {
-    for (String tableName : db.getTableNames()) {
-      exportFile(db, tableName, new File(dir, tableName + "." + ext), header,
-          delim, quote, filter);
+    exportAll(db, dir, ext, header, delim, quote, filter, 1);
+  }
+
+  /**
+   * Copy all tables into new delimited text files, using up to the given
+   * number of threads.  If the Database supports concurrent reads (see
+   * {@link com.healthmarketscience.jackcess.DatabaseBuilder#setConcurrentReads}),
+   * multiple tables are exported at the same time (in which case the filter
+   * must be thread-safe).  Otherwise, the tables are exported one at a time,
+   * where each table is read on a separate thread from the one writing the
+   * file (see
+   * {@link #exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter,int)}).
+   *
+   * @param db
+   *          Database the table to export belongs to
+   * @param dir
+   *          The directory where the new files will be created
+   * @param ext
+   *          The file extension of the new files
+   * @param header
+   *          If <code>true</code> the first line contains the column names
+   * @param delim
+   *          The column delimiter, <code>null</code> for default (comma)
+   * @param quote
+   *          The quote character
+   * @param filter
+   *          valid export filter
+   * @param numThreads
+   *          the max number of threads to use for the export
+   *
+   * @see #exportAll(Database,File,String,boolean,String,char,ExportFilter,int,Charset)
+   * @see Builder
+   */
+  public static void exportAll(Database db, File dir,
+      String ext, boolean header, String delim,
+      char quote, ExportFilter filter, int numThreads)
+      throws IOException {
+    exportAll(db, dir, ext, header, delim, quote, filter, numThreads,
+              Charset.defaultCharset());
+  }
+
+  /**
+   * Copy all tables into new delimited text files written with the given
+   * charset, using up to the given number of threads (see
+   * {@link #exportAll(Database,File,String,boolean,String,char,ExportFilter,int)}).
+   *
+   * @param db
+   *          Database the table to export belongs to
+   * @param dir
+   *          The directory where the new files will be created
+   * @param ext
+   *          The file extension of the new files
+   * @param header
+   *          If <code>true</code> the first line contains the column names
+   * @param delim
+   *          The column delimiter, <code>null</code> for default (comma)
+   * @param quote
+   *          The quote character
+   * @param filter
+   *          valid export filter
+   * @param numThreads
+   *          the max number of threads to use for the export
+   * @param charset
+   *          the charset used to encode the new files, <code>null</code> for
+   *          the platform default
+   *
+   * @see Builder
+   */
+  public static void exportAll(final Database db, final File dir,
+      final String ext, final boolean header, final String delim,
+      final char quote, final ExportFilter filter, int numThreads,
+      final Charset charset)
+      throws IOException {
+    if((numThreads <= 1) || !db.isConcurrentReads()) {
+      for (String tableName : db.getTableNames()) {
+        exportFile(db, tableName, new File(dir, tableName + "." + ext), header,
+            delim, quote, filter, numThreads, charset);
+      }
+      return;
+    }
+
+    ExecutorService exec = Executors.newFixedThreadPool(numThreads);
+    List<Future<Void>> results = new ArrayList<Future<Void>>();
+    boolean success = false;
+    try {
+      for (final String tableName : db.getTableNames()) {
+        results.add(exec.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            exportFile(db, tableName, new File(dir, tableName + "." + ext),
+                header, delim, quote, filter, 1, charset);
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> result : results) {
+        try {
+          result.get();
+        } catch(InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while exporting tables", e);
+        } catch(ExecutionException e) {
+          throw toIOException(e.getCause());
+        }
+      }
+      success = true;
+    } finally {
+      if(!success) {
+        // don't interrupt running exports, as interrupting a thread which is
+        // reading from the database closes the database's file channel
+        for (Future<Void> result : results) {
+          result.cancel(false);
+        }
+      }
+      exec.shutdown();
+      awaitTermination(exec);
+    }
+  }
+
+  /**
+   * Waits for any running tasks of the given (shutdown) executor to finish,
+   * so that no export is still reading the database once the caller
+   * continues.
+   */
+  private static void awaitTermination(ExecutorService exec) {
+    boolean interrupted = false;
+    while(!exec.isTerminated()) {
+      try {
+        exec.awaitTermination(QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+      } catch(InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if(interrupted) {
+      Thread.currentThread().interrupt();
     }
   }
 
@@ -199,10 +351,83 @@ public class ExportUtil {
   public static void exportFile(Database db, String tableName,
       File f, boolean header, String delim, char quote,
       ExportFilter filter) throws IOException {
+    exportFile(db, tableName, f, header, delim, quote, filter, 1);
+  }
+
+  /**
+   * Copy a table into a new delimited text file, optionally reading the
+   * table on a separate thread from the one writing the file (see
+   * {@link #exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter,int)}).
+   *
+   * @param db
+   *          Database the table to export belongs to
+   * @param tableName
+   *          Name of the table to export
+   * @param f
+   *          New file to create
+   * @param header
+   *          If <code>true</code> the first line contains the column names
+   * @param delim
+   *          The column delimiter, <code>null</code> for default (comma)
+   * @param quote
+   *          The quote character
+   * @param filter
+   *          valid export filter
+   * @param numThreads
+   *          the max number of threads to use for the export
+   *
+   * @see #exportFile(Database,String,File,boolean,String,char,ExportFilter,int,Charset)
+   * @see Builder
+   */
+  public static void exportFile(Database db, String tableName,
+      File f, boolean header, String delim, char quote,
+      ExportFilter filter, int numThreads) throws IOException {
+    exportFile(db, tableName, f, header, delim, quote, filter, numThreads,
+               Charset.defaultCharset());
+  }
+
+  /**
+   * Copy a table into a new delimited text file written with the given
+   * charset, optionally reading the table on a separate thread from the one
+   * writing the file (see
+   * {@link #exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter,int)}).
+   *
+   * @param db
+   *          Database the table to export belongs to
+   * @param tableName
+   *          Name of the table to export
+   * @param f
+   *          New file to create
+   * @param header
+   *          If <code>true</code> the first line contains the column names
+   * @param delim
+   *          The column delimiter, <code>null</code> for default (comma)
+   * @param quote
+   *          The quote character
+   * @param filter
+   *          valid export filter
+   * @param numThreads
+   *          the max number of threads to use for the export
+   * @param charset
+   *          the charset used to encode the new file, <code>null</code> for
+   *          the platform default
+   *
+   * @see Builder
+   */
+  public static void exportFile(Database db, String tableName,
+      File f, boolean header, String delim, char quote,
+      ExportFilter filter, int numThreads, Charset charset)
+      throws IOException {
+    if(charset == null) {
+      charset = Charset.defaultCharset();
+    }
     BufferedWriter out = null;
     try {
-      out = new BufferedWriter(new FileWriter(f));
-      exportWriter(db, tableName, out, header, delim, quote, filter);
+      out = new BufferedWriter(
+          new OutputStreamWriter(new FileOutputStream(f), charset),
+          FILE_BUFFER_SIZE);
+      exportWriter(CursorBuilder.createCursor(db.getTable(tableName)), out,
+                   header, delim, quote, filter, numThreads);
       out.close();
     } finally {
       ByteUtil.closeQuietly(out);
@@ -284,109 +509,447 @@ public class ExportUtil {
       char quote, ExportFilter filter)
       throws IOException 
   {
-    String delimiter = (delim == null) ? DEFAULT_DELIMITER : delim;
+    exportWriter(cursor, out, header, delim, quote, filter, 1);
+  }
 
-    // create pattern which will indicate whether or not a value needs to be
-    // quoted or not (contains delimiter, separator, or newline)
-    Pattern needsQuotePattern = Pattern.compile(
-        "(?:" + Pattern.quote(delimiter) + ")|(?:" + 
-        Pattern.quote("" + quote) + ")|(?:[\n\r])");
+  /**
+   * Copy a table in this database into a new delimited text file.  If the
+   * given number of threads is greater than 1, the rows are read and
+   * formatted on a separate thread while the calling thread writes the
+   * formatted rows to the given writer (in which case the filter will be
+   * invoked on the separate thread).
+   *
+   * @param cursor
+   *          Cursor to export
+   * @param out
+   *          Writer to export to
+   * @param header
+   *          If <code>true</code> the first line contains the column names
+   * @param delim
+   *          The column delimiter, <code>null</code> for default (comma)
+   * @param quote
+   *          The quote character
+   * @param filter
+   *          valid export filter
+   * @param numThreads
+   *          the max number of threads to use for the export
+   *
+   * @see Builder
+   */
+  public static void exportWriter(Cursor cursor,
+      BufferedWriter out, boolean header, String delim,
+      char quote, ExportFilter filter, int numThreads)
+      throws IOException
+  {
+    RowWriter rowWriter = new RowWriter(cursor, out, header, delim, quote,
+                                        filter);
+    if(numThreads > 1) {
+      rowWriter.exportInBackground();
+    } else {
+      rowWriter.export();
+    }
+    out.flush();
+  }
 
-    List<? extends Column> origCols = cursor.getTable().getColumns();
-    List<Column> columns = new ArrayList<Column>(origCols);
-    columns = filter.filterColumns(columns);
+  private static IOException toIOException(Throwable t) {
+    if(t instanceof IOException) {
+      return (IOException)t;
+    }
+    if(t instanceof RuntimeException) {
+      throw (RuntimeException)t;
+    }
+    if(t instanceof Error) {
+      throw (Error)t;
+    }
+    return new IOException(t);
+  }
 
-    Collection<String> columnNames = null;
-    if(!origCols.equals(columns)) {
+  /**
+   * Formats the rows of a cursor as delimited text and writes them to a
+   * Writer.  The rows are formatted into large chunks of text (without the
+   * use of any intermediate Strings for the common value types) which are
+   * then written to the Writer.  The rows may be read and formatted on a
+   * separate thread from the one writing the chunks.
+   */
+  private static final class RowWriter
+  {
+    private final Cursor _cursor;
+    private final BufferedWriter _out;
+    private final boolean _header;
+    private final String _delim;
+    private final char _quote;
+    private final ExportFilter _filter;
+    private final String _lineSep = System.lineSeparator();
+    private final List<Column> _columns;
+    private final Collection<String> _columnNames;
+    /** whether or not formatted numbers and booleans may need to be quoted
+        (i.e. the delimiter or quote character is a char which could appear
+        in the formatted value) */
+    private final boolean _checkSimpleValues;
+    /** buffer used to copy the formatted chunks to the Writer */
+    private char[] _copyBuf;
 
-      // columns have been filtered
-      columnNames = new HashSet<String>();
-      for (Column c : columns) {
-        columnNames.add(c.getName());
-      }
-    }
+    private RowWriter(Cursor cursor, BufferedWriter out, boolean header,
+                      String delim, char quote, ExportFilter filter)
+      throws IOException
+    {
+      _cursor = cursor;
+      _out = out;
+      _header = header;
+      _delim = ((delim == null) ? DEFAULT_DELIMITER : delim);
+      _quote = quote;
+      _filter = filter;
 
-    // print the header row (if desired)
-    if (header) {
-      for (Iterator<Column> iter = columns.iterator(); iter.hasNext();) {
+      List<? extends Column> origCols = cursor.getTable().getColumns();
+      List<Column> columns = new ArrayList<Column>(origCols);
+      _columns = filter.filterColumns(columns);
 
-        writeValue(out, iter.next().getName(), quote, needsQuotePattern);
+      Collection<String> columnNames = null;
+      if(!origCols.equals(_columns)) {
 
-        if (iter.hasNext()) {
-          out.write(delimiter);
+        // columns have been filtered
+        columnNames = new HashSet<String>();
+        for (Column c : _columns) {
+          columnNames.add(c.getName());
         }
       }
-      out.newLine();
+      _columnNames = columnNames;
+
+      _checkSimpleValues = (containsAny(_delim, "-0123456789truefals") ||
+                            ("-0123456789truefals".indexOf(_quote) >= 0));
     }
 
-    // print the data rows
-    Object[] unfilteredRowData = new Object[columns.size()];
-    Row row;
-    while ((row = cursor.getNextRow(columnNames)) != null) {
+    private static boolean containsAny(String str, String chars) {
+      for(int i = 0; i < str.length(); ++i) {
+        if(chars.indexOf(str.charAt(i)) >= 0) {
+          return true;
+        }
+      }
+      return false;
+    }
 
-      // fill raw row data in array
-      for (int i = 0; i < columns.size(); i++) {
-        unfilteredRowData[i] = columns.get(i).getRowValue(row);
+    /**
+     * Reads, formats and writes all the rows using the current thread.
+     */
+    public void export() throws IOException {
+      StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+      try {
+        formatRows(chunk, null);
+      } catch(InterruptedException e) {
+        // can't happen without a queue
+        throw new IllegalStateException(e);
       }
+      writeChunk(chunk);
+    }
 
-      // apply filter
-      Object[] rowData = filter.filterRow(unfilteredRowData);
-      if(rowData == null) {
-        continue;
+    /**
+     * Reads and formats the rows on a separate thread, while the current
+     * thread writes the formatted chunks.
+     */
+    public void exportInBackground() throws IOException {
+      final BlockingQueue<StringBuilder> pending =
+        new ArrayBlockingQueue<StringBuilder>(MAX_PENDING_CHUNKS);
+      final BlockingQueue<StringBuilder> free =
+        new ArrayBlockingQueue<StringBuilder>(MAX_PENDING_CHUNKS + 2);
+      final Throwable[] error = new Throwable[1];
+      final ChunkQueue queue = new ChunkQueue(pending, free);
+
+      // note, the reader thread is never interrupted (interrupting a thread
+      // which is reading from the database closes the database's file
+      // channel), instead it checks for cancellation between rows
+      Thread reader = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            formatRows(new StringBuilder(CHUNK_SIZE + 1024), queue);
+          } catch(Throwable t) {
+            synchronized(error) {
+              error[0] = t;
+            }
+          }
+          queue.finish();
+        }
+      }, "jackcess-export");
+      reader.setDaemon(true);
+      reader.start();
+
+      boolean success = false;
+      try {
+        StringBuilder chunk = null;
+        while((chunk = queue.next(reader)) != END_CHUNK) {
+          writeChunk(chunk);
+          chunk.setLength(0);
+          free.offer(chunk);
+        }
+        success = true;
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while exporting table", e);
+      } finally {
+        if(!success) {
+          queue.cancel();
+        }
+        // don't let the reader use the cursor after this export returns
+        join(reader);
       }
 
-      // print row
-      for (int i = 0; i < columns.size(); i++) {
+      synchronized(error) {
+        if(error[0] != null) {
+          throw toIOException(error[0]);
+        }
+      }
+    }
 
-        Object obj = rowData[i];
-        if(obj != null) {
+    /**
+     * Formats the header (if desired) and all the rows of the cursor into the
+     * given chunk.  If a queue is given, full chunks are handed off to the
+     * queue (and the final chunk is added to the queue), otherwise full
+     * chunks are written directly.
+     */
+    private void formatRows(StringBuilder chunk, ChunkQueue queue)
+      throws IOException, InterruptedException
+    {
+      // print the header row (if desired)
+      if (_header) {
+        for (int i = 0; i < _columns.size(); ++i) {
+          if (i > 0) {
+            chunk.append(_delim);
+          }
+          appendText(chunk, _columns.get(i).getName());
+        }
+        chunk.append(_lineSep);
+      }
 
-          String value = null;
-          if(obj instanceof byte[]) {
+      // print the data rows
+      int numCols = _columns.size();
+      Object[] unfilteredRowData = new Object[numCols];
+      Row row;
+      while ((row = _cursor.getNextRow(_columnNames)) != null) {
 
-            value = ByteUtil.toHexString((byte[])obj);
+        if((queue != null) && queue.isCancelled()) {
+          return;
+        }
 
-          } else {
+        // fill raw row data in array
+        for (int i = 0; i < numCols; i++) {
+          unfilteredRowData[i] = _columns.get(i).getRowValue(row);
+        }
+
+        // apply filter
+        Object[] rowData = _filter.filterRow(unfilteredRowData);
+        if(rowData == null) {
+          continue;
+        }
 
-            value = String.valueOf(rowData[i]);
+        // print row
+        for (int i = 0; i < numCols; i++) {
+          if (i > 0) {
+            chunk.append(_delim);
+          }
+          Object obj = rowData[i];
+          if(obj != null) {
+            appendValue(chunk, obj);
           }
+        }
+        chunk.append(_lineSep);
 
-          writeValue(out, value, quote, needsQuotePattern);
+        if(chunk.length() >= CHUNK_SIZE) {
+          if(queue != null) {
+            chunk = queue.handOff(chunk);
+            if(chunk == null) {
+              // writer has given up
+              return;
+            }
+          } else {
+            writeChunk(chunk);
+            chunk.setLength(0);
+          }
         }
+      }
+
+      if(queue != null) {
+        queue.handOff(chunk);
+      }
+    }
+
+    /**
+     * Appends the given (non-{@code null}) value, using type specific
+     * formatting where possible.  The formatted value is the same as the
+     * result of {@code String.valueOf(obj)} (except for byte[], which is
+     * formatted as hex).
+     */
+    private void appendValue(StringBuilder chunk, Object obj) {
+      if(obj instanceof String) {
+        appendText(chunk, (String)obj);
+      } else if(_checkSimpleValues) {
+        appendText(chunk, toText(obj));
+      } else if((obj instanceof Integer) || (obj instanceof Short) ||
+                (obj instanceof Byte)) {
+        chunk.append(((Number)obj).intValue());
+      } else if(obj instanceof Long) {
+        chunk.append(((Long)obj).longValue());
+      } else if(obj instanceof Boolean) {
+        chunk.append(((Boolean)obj).booleanValue());
+      } else {
+        appendText(chunk, toText(obj));
+      }
+    }
+
+    private static String toText(Object obj) {
+      return ((obj instanceof byte[]) ? ByteUtil.toHexString((byte[])obj) :
+              String.valueOf(obj));
+    }
+
+    /**
+     * Appends the given text, quoting it if necessary.
+     */
+    private void appendText(StringBuilder chunk, String value) {
+      if(!needsQuote(value)) {
+
+        // no quotes necessary
+        chunk.append(value);
+        return;
+      }
+
+      // wrap the value in quotes and handle internal quotes
+      chunk.append(_quote);
+      for (int i = 0; i < value.length(); ++i) {
+        char c = value.charAt(i);
 
-        if (i < columns.size() - 1) {
-          out.write(delimiter);
+        if (c == _quote) {
+          chunk.append(_quote);
         }
+        chunk.append(c);
       }
+      chunk.append(_quote);
+    }
 
-      out.newLine();
+    /**
+     * Returns {@code true} if the given value contains the delimiter, the
+     * quote character or a newline, {@code false} otherwise.
+     */
+    private boolean needsQuote(String value) {
+      if(_delim.isEmpty()) {
+        // an empty delimiter "matches" everything
+        return true;
+      }
+      char delimStart = _delim.charAt(0);
+      for (int i = 0; i < value.length(); ++i) {
+        char c = value.charAt(i);
+        if((c == _quote) || (c == '\n') || (c == '\r') ||
+           ((c == delimStart) && value.startsWith(_delim, i))) {
+          return true;
+        }
+      }
+      return false;
     }
 
-    out.flush();
+    private void writeChunk(StringBuilder chunk) throws IOException {
+      int len = chunk.length();
+      if((_copyBuf == null) || (_copyBuf.length < len)) {
+        _copyBuf = new char[Math.max(len, CHUNK_SIZE + 1024)];
+      }
+      chunk.getChars(0, len, _copyBuf, 0);
+      _out.write(_copyBuf, 0, len);
+    }
   }
 
-  private static void writeValue(BufferedWriter out, String value, char quote,
-                                 Pattern needsQuotePattern) 
-    throws IOException
+  /**
+   * Hands off formatted chunks from the reading thread to the writing thread,
+   * recycling the chunks which have already been written.
+   */
+  private static final class ChunkQueue
   {
-    if(!needsQuotePattern.matcher(value).find()) {
+    private final BlockingQueue<StringBuilder> _pending;
+    private final BlockingQueue<StringBuilder> _free;
+    /** set by the writing thread when it gives up */
+    private volatile boolean _cancelled;
 
-      // no quotes necessary
-      out.write(value);
-      return;
+    private ChunkQueue(BlockingQueue<StringBuilder> pending,
+                       BlockingQueue<StringBuilder> free) {
+      _pending = pending;
+      _free = free;
     }
 
-    // wrap the value in quotes and handle internal quotes
-    out.write(quote);
-    for (int i = 0; i < value.length(); ++i) {
-      char c = value.charAt(i);
+    public boolean isCancelled() {
+      return _cancelled;
+    }
+
+    public void cancel() {
+      _cancelled = true;
+    }
 
-      if (c == quote) {
-        out.write(quote);
+    /**
+     * Hands off the given chunk to the writing thread and returns an empty
+     * chunk, or {@code null} if the writing thread has given up.
+     */
+    public StringBuilder handOff(StringBuilder chunk)
+      throws InterruptedException
+    {
+      if(!offer(chunk)) {
+        return null;
       }
-      out.write(c);
+      StringBuilder next = _free.poll();
+      return ((next != null) ? next : new StringBuilder(CHUNK_SIZE + 1024));
+    }
+
+    /**
+     * Marks the end of the formatted rows (unless the writing thread has
+     * already given up).
+     */
+    public void finish() {
+      try {
+        offer(END_CHUNK);
+      } catch(InterruptedException e) {
+        // no one interrupts the reading thread, but if it happens anyway
+        // there is nothing left to do but give up
+        _cancelled = true;
+      }
+    }
+
+    /**
+     * Returns the next chunk handed off by the given reading thread.
+     */
+    public StringBuilder next(Thread reader) throws InterruptedException {
+      while(true) {
+        StringBuilder chunk = _pending.poll(QUEUE_WAIT_MILLIS,
+                                            TimeUnit.MILLISECONDS);
+        if(chunk != null) {
+          return chunk;
+        }
+        if(!reader.isAlive() && _pending.isEmpty()) {
+          throw new IllegalStateException(
+              "Export reader thread exited unexpectedly");
+        }
+      }
+    }
+
+    private boolean offer(StringBuilder chunk) throws InterruptedException {
+      while(!_cancelled) {
+        if(_pending.offer(chunk, QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Waits for the given thread to exit, preserving any interrupt of the
+   * current thread.
+   */
+  static void join(Thread thread) {
+    boolean interrupted = false;
+    while(thread.isAlive()) {
+      try {
+        thread.join();
+      } catch(InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if(interrupted) {
+      Thread.currentThread().interrupt();
     }
-    out.write(quote);
   }
 
 
@@ -403,6 +966,8 @@ public class ExportUtil {
     private char _quote = DEFAULT_QUOTE_CHAR;
     private ExportFilter _filter = SimpleExportFilter.INSTANCE;
     private boolean _header;
+    private int _numThreads = 1;
+    private Charset _charset;
 
     public Builder(Database db) {
       this(db, null);
@@ -458,32 +1023,52 @@ public class ExportUtil {
     }
 
     /**
-     * @see ExportUtil#exportAll(Database,File,String,boolean,String,char,ExportFilter)
+     * Sets the max number of threads to use for the export (default 1).
+     * @see ExportUtil#exportAll(Database,File,String,boolean,String,char,ExportFilter,int)
+     * @see ExportUtil#exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter,int)
+     */
+    public Builder setNumThreads(int numThreads) {
+      _numThreads = numThreads;
+      return this;
+    }
+
+    /**
+     * Sets the charset used to encode exported files (default is the
+     * platform default charset).  Not used by {@link #exportWriter}, where
+     * the encoding is up to the given writer.
+     * @see ExportUtil#exportFile(Database,String,File,boolean,String,char,ExportFilter,int,Charset)
+     */
+    public Builder setCharset(Charset charset) {
+      _charset = charset;
+      return this;
+    }
+
+    /**
+     * @see ExportUtil#exportAll(Database,File,String,boolean,String,char,ExportFilter,int,Charset)
      */
     public void exportAll(File dir) throws IOException {
-      ExportUtil.exportAll(_db, dir, _ext, _header, _delim, _quote, _filter);
+      ExportUtil.exportAll(_db, dir, _ext, _header, _delim, _quote, _filter,
+                           _numThreads, _charset);
     }
 
     /**
-     * @see ExportUtil#exportFile(Database,String,File,boolean,String,char,ExportFilter)
+     * @see ExportUtil#exportFile(Database,String,File,boolean,String,char,ExportFilter,int,Charset)
      */
     public void exportFile(File f) throws IOException {
       ExportUtil.exportFile(_db, _tableName, f, _header, _delim, _quote,
-                            _filter);
+                            _filter, _numThreads, _charset);
     }
 
     /**
-     * @see ExportUtil#exportWriter(Database,String,BufferedWriter,boolean,String,char,ExportFilter)
-     * @see ExportUtil#exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter)
+     * @see ExportUtil#exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter,int)
      */
     public void exportWriter(BufferedWriter writer) throws IOException {
-      if(_cursor != null) {
-        ExportUtil.exportWriter(_cursor, writer, _header, _delim, 
-                                _quote, _filter);
-      } else {
-        ExportUtil.exportWriter(_db, _tableName, writer, _header, _delim, 
-                                _quote, _filter);
+      Cursor cursor = _cursor;
+      if(cursor == null) {
+        cursor = CursorBuilder.createCursor(_db.getTable(_tableName));
       }
+      ExportUtil.exportWriter(cursor, writer, _header, _delim, _quote,
+                              _filter, _numThreads);
     }
   }
 
@@ -0,0 +1,207 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.Index;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.impl.TableImpl;
+import com.healthmarketscience.jackcess.impl.query.FilterPlanner;
+
+/**
+ * Builder style class for finding the rows of a table which match a set of
+ * conditions, using the best available index to limit the rows which are
+ * read, e.g.:
+ * <pre>
+ *   for(Row row : new FilterBuilder(table)
+ *         .addEquals("Status", "Open")
+ *         .addGreaterThan("Created", startDate)
+ *         .toIterable()) {
+ *     ...
+ *   }
+ * </pre>
+ * or, using a filter expression:
+ * <pre>
+ *   new FilterBuilder(table)
+ *     .addExpression("[Status]='Open' AND [Created] &gt; #1/1/2020#")
+ *     .toIterable();
+ * </pre>
+ * Equality conditions on the leading columns of an index (optionally
+ * followed by a range condition on the next index column) are used to read
+ * only the matching range of the index (instead of scanning the whole
+ * table).  All the conditions are always applied to the rows read, so the
+ * results are the same whether or not an index is used.  Note that the
+ * order of the returned rows depends on the chosen index.
+ *
+ * @author James Ahlborn
+ * @usage _general_class_
+ */
+public class FilterBuilder
+{
+  private final FilterPlanner _planner;
+
+  public FilterBuilder(Table table) {
+    _planner = new FilterPlanner((TableImpl)table);
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is equal to the
+   * given value (using expression semantics, e.g. text comparisons are case
+   * insensitive).
+   */
+  public FilterBuilder addEquals(String colName, Object value) {
+    _planner.addCondition(colName, FilterPlanner.Op.EQ, value);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is less than the
+   * given value.
+   */
+  public FilterBuilder addLessThan(String colName, Object value) {
+    _planner.addCondition(colName, FilterPlanner.Op.LT, value);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is less than or
+   * equal to the given value.
+   */
+  public FilterBuilder addLessThanOrEqual(String colName, Object value) {
+    _planner.addCondition(colName, FilterPlanner.Op.LE, value);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is greater than
+   * the given value.
+   */
+  public FilterBuilder addGreaterThan(String colName, Object value) {
+    _planner.addCondition(colName, FilterPlanner.Op.GT, value);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is greater than or
+   * equal to the given value.
+   */
+  public FilterBuilder addGreaterThanOrEqual(String colName, Object value) {
+    _planner.addCondition(colName, FilterPlanner.Op.GE, value);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows where the given column is between the
+   * given values (inclusive).
+   */
+  public FilterBuilder addBetween(String colName, Object lower, Object upper) {
+    _planner.addCondition(colName, FilterPlanner.Op.GE, lower);
+    _planner.addCondition(colName, FilterPlanner.Op.LE, upper);
+    return this;
+  }
+
+  /**
+   * Adds a condition matching rows which contain all the values in the given
+   * row pattern.  See {@link RowFilter#matchPattern(Map)} for details on the
+   * rowPattern.
+   */
+  public FilterBuilder addPattern(Map<String,?> rowPattern) {
+    _planner.addPattern(rowPattern);
+    return this;
+  }
+
+  /**
+   * Adds a boolean filter expression, where the columns of the table are
+   * referenced as identifiers.  Any top-level "AND"ed comparisons of a
+   * column with a constant value are used for choosing the index.
+   *
+   * @throws IOException if the expression cannot be parsed
+   */
+  public FilterBuilder addExpression(String expr) throws IOException {
+    _planner.addExpression(expr);
+    return this;
+  }
+
+  /**
+   * Adds an arbitrary filter (which is not used for choosing the index).
+   */
+  public FilterBuilder addFilter(RowFilter filter) {
+    _planner.addFilter(filter);
+    return this;
+  }
+
+  /**
+   * Returns the index which will be used to find the matching rows, or
+   * {@code null} if the table will be scanned.
+   */
+  public Index getIndex() {
+    return _planner.getIndex();
+  }
+
+  /**
+   * Returns a cursor over the rows of the table which <i>may</i> match the
+   * conditions of this builder.  The conditions must still be applied to the
+   * rows of the cursor (see {@link #toRowFilter}).
+   */
+  public Cursor toCursor() throws IOException {
+    return _planner.createCursor();
+  }
+
+  /**
+   * Returns a RowFilter which applies all the conditions of this builder.
+   */
+  public RowFilter toRowFilter() {
+    return new RowFilter() {
+      @Override
+      public boolean matches(Row row) {
+        return _planner.matches(row);
+      }
+    };
+  }
+
+  /**
+   * Returns an Iterable over the rows of the table which match the
+   * conditions of this builder.
+   */
+  public Iterable<Row> toIterable() throws IOException {
+    return toRowFilter().apply(toCursor());
+  }
+
+  /**
+   * Returns a Stream over the rows of the table which match the conditions
+   * of this builder.
+   */
+  public Stream<Row> stream() throws IOException {
+    return toRowFilter().filter(toCursor());
+  }
+
+  /**
+   * Returns the first row of the table found which matches the conditions of
+   * this builder, or {@code null} if there are no matching rows.
+   */
+  public Row findFirstRow() throws IOException {
+    for(Row row : toIterable()) {
+      return row;
+    }
+    return null;
+  }
+}
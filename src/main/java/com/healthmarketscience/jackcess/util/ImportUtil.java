@@ -17,19 +17,34 @@ limitations under the License.
 package com.healthmarketscience.jackcess.util;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.healthmarketscience.jackcess.BulkLoader;
+import com.healthmarketscience.jackcess.Column;
 import com.healthmarketscience.jackcess.ColumnBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
@@ -49,12 +64,34 @@ import com.healthmarketscience.jackcess.impl.DatabaseImpl;
  */
 public class ImportUtil
 {
-  /** Batch commit size for copying other result sets into this database */
-  private static final int COPY_TABLE_BATCH_SIZE = 200;
-
   /** the platform line separator */
   static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
+  /** batch size for writing rows to a table (when not bulk loading) */
+  private static final int COPY_TABLE_BATCH_SIZE = 200;
+  /** number of parsed rows handed from the parsing thread to the loading
+      thread at a time */
+  private static final int ROW_BATCH_SIZE = 256;
+  /** max number of parsed row batches waiting to be loaded when the input is
+      parsed on a separate thread */
+  private static final int MAX_PENDING_BATCHES = 4;
+  /** batch which marks the end of the parsed rows */
+  private static final List<Object[]> END_BATCH = new ArrayList<Object[]>(0);
+  /** regex chars which prevent a delimiter from being treated as a literal
+      string */
+  private static final String REGEX_META_CHARS = ".[]{}()*+?^$|";
+  /** formatter for the date/time values recognized when inferring column
+      types (ISO local dates with optional times) */
+  private static final DateTimeFormatter INFER_DATE_FORMAT =
+    new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE)
+    .optionalStart()
+    .optionalStart().appendLiteral('T').optionalEnd()
+    .optionalStart().appendLiteral(' ').optionalEnd()
+    .append(DateTimeFormatter.ISO_LOCAL_TIME)
+    .optionalEnd()
+    .toFormatter();
+
   private ImportUtil() {}
 
   /**
@@ -151,12 +188,42 @@ public class ImportUtil
    *
    * @return the name of the imported table
    *
+   * @see #importResultSet(ResultSet,Database,String,ImportFilter,boolean,boolean)
    * @see Builder
    */
   public static String importResultSet(ResultSet source, Database db,
                                        String name, ImportFilter filter,
                                        boolean useExistingTable)
     throws SQLException, IOException
+  {
+    return importResultSet(source, db, name, filter, useExistingTable, false);
+  }
+
+  /**
+   * Copy an existing JDBC ResultSet into a new (or optionally existing) table
+   * in this database.
+   *
+   * @param name Name of the new table to create
+   * @param source ResultSet to copy from
+   * @param filter valid import filter
+   * @param useExistingTable if {@code true} use current table if it already
+   *                         exists, otherwise, create new table with unique
+   *                         name
+   * @param bulkLoad if {@code true}, the rows are added using a {@link
+   *                 BulkLoader} (all or none of the rows are added, see the
+   *                 BulkLoader for the memory requirements), otherwise the
+   *                 rows are added in batches (and any rows added before a
+   *                 failure are kept)
+   *
+   * @return the name of the imported table
+   *
+   * @see Builder
+   */
+  public static String importResultSet(ResultSet source, Database db,
+                                       String name, ImportFilter filter,
+                                       boolean useExistingTable,
+                                       boolean bulkLoad)
+    throws SQLException, IOException
   {
     ResultSetMetaData md = source.getMetaData();
 
@@ -167,26 +234,21 @@ public class ImportUtil
       table = createUniqueTable(db, name, columns, md, filter);
     }
 
-    List<Object[]> rows = new ArrayList<Object[]>(COPY_TABLE_BATCH_SIZE);
     int numColumns = md.getColumnCount();
 
-    while (source.next()) {
-      Object[] row = new Object[numColumns];
-      for (int i = 0; i < row.length; i++) {
-        row[i] = source.getObject(i + 1);
-      }
-      row = filter.filterRow(row);
-      if(row == null) {
-        continue;
-      }
-      rows.add(row);
-      if (rows.size() == COPY_TABLE_BATCH_SIZE) {
-        table.addRows(rows);
-        rows.clear();
+    try(RowLoader loader = new RowLoader(table, bulkLoad)) {
+      while (source.next()) {
+        Object[] row = new Object[numColumns];
+        for (int i = 0; i < row.length; i++) {
+          row[i] = source.getObject(i + 1);
+        }
+        row = filter.filterRow(row);
+        if(row == null) {
+          continue;
+        }
+        loader.addRow(row);
       }
-    }
-    if (rows.size() > 0) {
-      table.addRows(rows);
+      loader.finish();
     }
 
     return table.getName();
@@ -294,12 +356,53 @@ public class ImportUtil
                                   boolean useExistingTable,
                                   boolean header)
     throws IOException
+  {
+    return importFile(f, db, name, delim, quote, filter, useExistingTable,
+                      header, 0, 1, false);
+  }
+
+  /**
+   * Copy a delimited text file into a new table in this database.
+   * <p>
+   * Equivalent to:
+   * {@code  importReader(new BufferedReader(new FileReader(f)), db, name, delim, "'", filter, useExistingTable, header, typeSampleSize, numThreads, bulkLoad);}
+   *
+   * @param name Name of the new table to create
+   * @param f Source file to import
+   * @param delim Regular expression representing the delimiter string.
+   * @param quote the quote character
+   * @param filter valid import filter
+   * @param useExistingTable if {@code true} use current table if it already
+   *                         exists, otherwise, create new table with unique
+   *                         name
+   * @param header if {@code false} the first line is not a header row, only
+   *               valid if useExistingTable is {@code true}
+   * @param typeSampleSize number of rows to sample when inferring the column
+   *                       types of a new table, if {@code 0}, all columns
+   *                       are created as TEXT columns
+   * @param numThreads if greater than 1, the input is parsed on one separate
+   *                   thread while the current thread loads the rows
+   * @param bulkLoad if {@code true}, the rows are added using a {@link
+   *                 BulkLoader}, otherwise the rows are added in batches
+   * @return the name of the imported table
+   *
+   * @see #importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
+   * @see Builder
+   */
+  public static String importFile(File f, Database db, String name,
+                                  String delim, char quote,
+                                  ImportFilter filter,
+                                  boolean useExistingTable,
+                                  boolean header, int typeSampleSize,
+                                  int numThreads, boolean bulkLoad)
+    throws IOException
   {
     BufferedReader in = null;
     try {
       in = new BufferedReader(new FileReader(f));
       return importReader(in, db, name, delim, quote, filter,
-                          useExistingTable, header);
+                          useExistingTable, header, typeSampleSize,
+                          numThreads, bulkLoad);
     } finally {
       ByteUtil.closeQuietly(in);
     }
@@ -435,26 +538,101 @@ public class ImportUtil
                                     boolean useExistingTable, boolean header)
     throws IOException
   {
-    String line = in.readLine();
-    if(DatabaseImpl.isBlank(line)) {
+    return importReader(in, db, name, delim, quote, filter, useExistingTable,
+                        header, 0, 1, false);
+  }
+
+  /**
+   * Copy a delimited text file into a new (or optionally exixsting) table in
+   * this database.
+   * <p>
+   * If a new table is created and the given typeSampleSize is greater than
+   * 0, the first typeSampleSize rows are used to infer the types of the new
+   * columns.  Columns whose non-empty sample values are all integers (which
+   * fit in an int), decimal numbers, booleans ("true"/"false") or ISO local
+   * dates/date-times (e.g. "2020-01-31" or "2020-01-31T13:45:00") are
+   * created as LONG, DOUBLE, BOOLEAN or SHORT_DATE_TIME columns,
+   * respectively.  Numbers with leading zeros (e.g. zip codes like "02134")
+   * are not treated as numbers.  All other columns are created as TEXT
+   * columns.  When typed columns are in use, the values for such columns are
+   * parsed before they are given to the filter (empty values are converted
+   * to {@code null}).  If a later row contains a value which cannot be parsed
+   * as the type inferred for its column (e.g. "n/a" in a LONG column), the
+   * import fails with an IOException (the new table is left in the
+   * database, with none of the rows if bulk loading, otherwise with the rows
+   * added before the failure).  If the input may contain such values, use a
+   * larger typeSampleSize (or {@code 0}).  When importing into
+   * an existing table, values which cannot be parsed are left as Strings
+   * (which will then be converted by the Table if possible).
+   *
+   * @param name Name of the new table to create
+   * @param in Source reader to import
+   * @param delim Regular expression representing the delimiter string.
+   * @param quote the quote character
+   * @param filter valid import filter
+   * @param useExistingTable if {@code true} use current table if it already
+   *                         exists, otherwise, create new table with unique
+   *                         name
+   * @param header if {@code false} the first line is not a header row, only
+   *               valid if useExistingTable is {@code true}
+   * @param typeSampleSize number of rows to sample when inferring the column
+   *                       types of a new table, if {@code 0}, all columns
+   *                       are created as TEXT columns
+   * @param numThreads if greater than 1, the input is parsed on one separate
+   *                   thread while the current thread loads the rows (in
+   *                   which case the reader will be accessed on the separate
+   *                   thread, which is always finished before this method
+   *                   returns).  Neither the parsing nor the loading can be
+   *                   split up any further, so no more than 2 threads are
+   *                   ever used.
+   * @param bulkLoad if {@code true}, the rows are added using a {@link
+   *                 BulkLoader} (all or none of the rows are added, see the
+   *                 BulkLoader for the memory requirements), otherwise the
+   *                 rows are added in batches (and any rows added before a
+   *                 failure are kept)
+   *
+   * @return the name of the imported table
+   *
+   * @see Builder
+   */
+  public static String importReader(BufferedReader in, Database db,
+                                    String name, String delim, char quote,
+                                    ImportFilter filter,
+                                    boolean useExistingTable, boolean header,
+                                    int typeSampleSize, int numThreads,
+                                    boolean bulkLoad)
+    throws IOException
+  {
+    LineTokenizer tokenizer = new LineTokenizer(in, delim, quote);
+    if(!tokenizer.readLine() || tokenizer.isLineBlank()) {
       return null;
     }
 
-    Pattern delimPat = Pattern.compile(delim);
-
     try {
       name = TableBuilder.escapeIdentifier(name);
       Table table = null;
+      List<Object[]> sampleRows = new ArrayList<Object[]>();
+      DataType[] types = null;
       if(!useExistingTable || ((table = db.getTable(name)) == null)) {
 
         List<ColumnBuilder> columns = new LinkedList<ColumnBuilder>();
-        Object[] columnNames = splitLine(line, delimPat, quote, in, 0);
+        Object[] columnNames = tokenizer.splitLine(0);
+
+        if(typeSampleSize > 0) {
+          for(int i = 0; (i < typeSampleSize) && tokenizer.readLine(); ++i) {
+            sampleRows.add(tokenizer.splitLine(columnNames.length));
+          }
+          types = inferTypes(sampleRows, columnNames.length);
+        }
 
         for (int i = 0; i < columnNames.length; i++) {
-          columns.add(new ColumnBuilder((String)columnNames[i], DataType.TEXT)
-                      .escapeName()
-                      .setLength((short)DataType.TEXT.getMaxSize())
-                      .toColumn());
+          DataType type = ((types != null) ? types[i] : DataType.TEXT);
+          ColumnBuilder column =
+            new ColumnBuilder((String)columnNames[i], type).escapeName();
+          if(type == DataType.TEXT) {
+            column.setLength((short)DataType.TEXT.getMaxSize());
+          }
+          columns.add(column.toColumn());
         }
 
         table = createUniqueTable(db, name, columns, null, filter);
@@ -463,33 +641,28 @@ public class ImportUtil
         header = true;
       }
 
-      List<Object[]> rows = new ArrayList<Object[]>(COPY_TABLE_BATCH_SIZE);
       int numColumns = table.getColumnCount();
 
       if(!header) {
         // first line is _not_ a header line
-        Object[] data = splitLine(line, delimPat, quote, in, numColumns);
-        data = filter.filterRow(data);
-        if(data != null) {
-          rows.add(data);
-        }
+        sampleRows.add(tokenizer.splitLine(numColumns));
       }
 
-      while ((line = in.readLine()) != null)
-      {
-        Object[] data = splitLine(line, delimPat, quote, in, numColumns);
-        data = filter.filterRow(data);
-        if(data == null) {
-          continue;
-        }
-        rows.add(data);
-        if (rows.size() == COPY_TABLE_BATCH_SIZE) {
-          table.addRows(rows);
-          rows.clear();
+      RowParser parser = new RowParser(
+          tokenizer, numColumns, sampleRows,
+          ((typeSampleSize > 0) ? table.getColumns() : null),
+          (types != null));
+
+      try(RowLoader loader = new RowLoader(table, bulkLoad)) {
+        if(numThreads > 1) {
+          loadInBackground(parser, filter, loader);
+        } else {
+          Object[] data = null;
+          while((data = parser.nextRow()) != null) {
+            loadRow(data, filter, loader);
+          }
         }
-      }
-      if (rows.size() > 0) {
-        table.addRows(rows);
+        loader.finish();
       }
 
       return table.getName();
@@ -499,82 +672,702 @@ public class ImportUtil
     }
   }
 
+  private static void loadRow(Object[] data, ImportFilter filter,
+                              RowLoader loader)
+    throws SQLException, IOException
+  {
+    data = filter.filterRow(data);
+    if(data != null) {
+      loader.addRow(data);
+    }
+  }
+
   /**
-   * Splits the given line using the given delimiter pattern and quote
-   * character.  May read additional lines for quotes spanning newlines.
+   * Parses the rows on a separate thread, while the current thread filters
+   * and loads the parsed rows.
    */
-  private static Object[] splitLine(String line, Pattern delim, char quote,
-                                    BufferedReader in, int numColumns)
-    throws IOException
+  private static void loadInBackground(
+      final RowParser parser, ImportFilter filter, RowLoader loader)
+    throws SQLException, IOException
   {
-    List<String> tokens = new ArrayList<String>();
-    StringBuilder sb = new StringBuilder();
-    Matcher m = delim.matcher(line);
-    int idx = 0;
+    final Throwable[] error = new Throwable[1];
+    final BatchQueue queue = new BatchQueue();
+
+    // note, the reader thread is never interrupted (interrupting a thread
+    // which is reading from a channel closes the channel), instead it checks
+    // for cancellation between rows
+    Thread reader = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          List<Object[]> batch = new ArrayList<Object[]>(ROW_BATCH_SIZE);
+          Object[] data = null;
+          while(!queue.isCancelled() && ((data = parser.nextRow()) != null)) {
+            batch.add(data);
+            if(batch.size() >= ROW_BATCH_SIZE) {
+              if(!queue.offer(batch)) {
+                // loader has given up
+                return;
+              }
+              batch = new ArrayList<Object[]>(ROW_BATCH_SIZE);
+            }
+          }
+          if(!batch.isEmpty() && !queue.offer(batch)) {
+            return;
+          }
+        } catch(Throwable t) {
+          synchronized(error) {
+            error[0] = t;
+          }
+        }
+        queue.finish();
+      }
+    }, "jackcess-import");
+    reader.setDaemon(true);
+    reader.start();
 
-    while(idx < line.length()) {
+    boolean success = false;
+    try {
+      List<Object[]> batch = null;
+      while((batch = queue.next(reader)) != END_BATCH) {
+        for(Object[] data : batch) {
+          loadRow(data, filter, loader);
+        }
+      }
+      success = true;
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while importing rows", e);
+    } finally {
+      if(!success) {
+        queue.cancel();
+      }
+      // don't let the reader use the input after this import returns
+      ExportUtil.join(reader);
+    }
 
-      if(line.charAt(idx) == quote) {
+    synchronized(error) {
+      Throwable t = error[0];
+      if(t instanceof IOException) {
+        throw (IOException)t;
+      }
+      if(t instanceof RuntimeException) {
+        throw (RuntimeException)t;
+      }
+      if(t instanceof Error) {
+        throw (Error)t;
+      }
+      if(t != null) {
+        throw new IOException(t);
+      }
+    }
+  }
+
+  /**
+   * Returns the column types inferred from the given sample rows.
+   */
+  private static DataType[] inferTypes(List<Object[]> sampleRows,
+                                       int numColumns)
+  {
+    DataType[] types = new DataType[numColumns];
+    for(int i = 0; i < numColumns; ++i) {
+
+      boolean isInt = true;
+      boolean isDouble = true;
+      boolean isBoolean = true;
+      boolean isDate = true;
+      boolean hasValue = false;
+
+      for(Object[] row : sampleRows) {
+        String value = (String)row[i];
+        if((value == null) || value.isEmpty()) {
+          continue;
+        }
+        hasValue = true;
+        isInt = isInt && (parseInt(value) != null);
+        isDouble = isDouble && (parseDouble(value) != null);
+        isBoolean = isBoolean && (parseBoolean(value) != null);
+        isDate = isDate && (parseDate(value) != null);
+        if(!isDouble && !isBoolean && !isDate) {
+          break;
+        }
+      }
+
+      DataType type = DataType.TEXT;
+      if(hasValue) {
+        if(isInt) {
+          type = DataType.LONG;
+        } else if(isDouble) {
+          type = DataType.DOUBLE;
+        } else if(isBoolean) {
+          type = DataType.BOOLEAN;
+        } else if(isDate) {
+          type = DataType.SHORT_DATE_TIME;
+        }
+      }
+      types[i] = type;
+    }
+    return types;
+  }
 
-        // find quoted value
-        sb.setLength(0);
+  /**
+   * Returns the parsed value of the given string for a column of the given
+   * type, {@code null} for an empty string, or the original string if it
+   * cannot be parsed.
+   */
+  private static Object parseValue(DataType type, String value) {
+    if(value.isEmpty()) {
+      return null;
+    }
+    Object parsed = null;
+    switch(type) {
+    case LONG:
+      parsed = parseInt(value);
+      break;
+    case DOUBLE:
+      parsed = parseDouble(value);
+      break;
+    case BOOLEAN:
+      parsed = parseBoolean(value);
+      break;
+    case SHORT_DATE_TIME:
+      parsed = parseDate(value);
+      break;
+    default:
+      // leave as is
+    }
+    return ((parsed != null) ? parsed : value);
+  }
+
+  private static Integer parseInt(String value) {
+    int len = value.length();
+    int idx = 0;
+    boolean negative = false;
+    char c = value.charAt(0);
+    if((c == '-') || (c == '+')) {
+      negative = (c == '-');
+      ++idx;
+    }
+    // at most 10 digits fit in an int
+    if((idx == len) || ((len - idx) > 10) || hasLeadingZero(value, idx)) {
+      return null;
+    }
+    long result = 0L;
+    for(; idx < len; ++idx) {
+      c = value.charAt(idx);
+      if((c < '0') || (c > '9')) {
+        return null;
+      }
+      result = (result * 10L) + (c - '0');
+    }
+    if(negative) {
+      result = -result;
+    }
+    if((result < Integer.MIN_VALUE) || (result > Integer.MAX_VALUE)) {
+      return null;
+    }
+    return (int)result;
+  }
+
+  private static Double parseDouble(String value) {
+    // only accept plain decimal numbers (Double.parseDouble accepts various
+    // other formats, e.g. "NaN", "0x1p3", "1d")
+    int len = value.length();
+    int idx = 0;
+    char c = value.charAt(0);
+    if((c == '-') || (c == '+')) {
+      ++idx;
+    }
+    if(hasLeadingZero(value, idx)) {
+      return null;
+    }
+    int numDigits = 0;
+    boolean seenDot = false;
+    for(; idx < len; ++idx) {
+      c = value.charAt(idx);
+      if((c >= '0') && (c <= '9')) {
+        ++numDigits;
+      } else if((c == '.') && !seenDot) {
+        seenDot = true;
+      } else {
+        break;
+      }
+    }
+    if(numDigits == 0) {
+      return null;
+    }
+    if((idx < len) && ((c == 'e') || (c == 'E'))) {
+      ++idx;
+      if((idx < len) && (((c = value.charAt(idx)) == '-') || (c == '+'))) {
         ++idx;
-        while(true) {
+      }
+      int numExpDigits = 0;
+      for(; idx < len; ++idx) {
+        c = value.charAt(idx);
+        if((c < '0') || (c > '9')) {
+          break;
+        }
+        ++numExpDigits;
+      }
+      if(numExpDigits == 0) {
+        return null;
+      }
+    }
+    if(idx < len) {
+      return null;
+    }
+    return Double.valueOf(value);
+  }
+
+  /**
+   * Returns {@code true} if the number starting at the given index has a
+   * leading zero (e.g. a zip code like "02134"), in which case it is treated
+   * as text (parsing it as a number would lose the leading zeros).
+   */
+  private static boolean hasLeadingZero(String value, int idx) {
+    return ((value.length() > (idx + 1)) && (value.charAt(idx) == '0') &&
+            Character.isDigit(value.charAt(idx + 1)));
+  }
 
-          int endIdx = line.indexOf(quote, idx);
+  private static Boolean parseBoolean(String value) {
+    if("true".equalsIgnoreCase(value)) {
+      return Boolean.TRUE;
+    }
+    if("false".equalsIgnoreCase(value)) {
+      return Boolean.FALSE;
+    }
+    return null;
+  }
 
-          if(endIdx >= 0) {
+  private static LocalDateTime parseDate(String value) {
+    // quick check for the basic "yyyy-MM-dd" prefix before parsing
+    if((value.length() < 10) || (value.charAt(4) != '-') ||
+       (value.charAt(7) != '-')) {
+      return null;
+    }
+    try {
+      TemporalAccessor ta = INFER_DATE_FORMAT.parse(value);
+      if(ta.isSupported(ChronoField.HOUR_OF_DAY)) {
+        return LocalDateTime.from(ta);
+      }
+      return LocalDate.from(ta).atStartOfDay();
+    } catch(DateTimeParseException e) {
+      return null;
+    }
+  }
 
-            sb.append(line, idx, endIdx);
-            ++endIdx;
-            if((endIdx < line.length()) && (line.charAt(endIdx) == quote)) {
+  /**
+   * Returns the given regular expression as a literal string if it does not
+   * contain any special regular expression constructs, {@code null}
+   * otherwise.
+   */
+  static String toLiteralDelimiter(String delim) {
+    StringBuilder sb = new StringBuilder(delim.length());
+    for(int i = 0; i < delim.length(); ++i) {
+      char c = delim.charAt(i);
+      if(c == '\\') {
+        if(++i >= delim.length()) {
+          return null;
+        }
+        c = delim.charAt(i);
+        if(c == 't') {
+          c = '\t';
+        } else if(Character.isLetterOrDigit(c)) {
+          // character class, back reference, etc.
+          return null;
+        }
+      } else if(REGEX_META_CHARS.indexOf(c) >= 0) {
+        return null;
+      }
+      sb.append(c);
+    }
+    return ((sb.length() > 0) ? sb.toString() : null);
+  }
 
-              // embedded quote
-              sb.append(quote);
-              // keep searching
-              idx = endIdx + 1;
+  /**
+   * Reads lines from a Reader and splits them into values using a delimiter
+   * and quote character.  The lines are read directly from the Reader into
+   * a reusable line buffer, and literal delimiters (the common case) are
+   * found with simple char scans instead of a regular expression.
+   */
+  private static final class LineTokenizer
+  {
+    private final Reader _in;
+    private final char _quote;
+    /** the delimiter, if it is a literal string */
+    private final String _delim;
+    /** the delimiter matcher, if the delimiter is a regular expression */
+    private final Matcher _delimMatcher;
+    private final char[] _buf = new char[8192];
+    private int _bufPos;
+    private int _bufLen;
+    /** whether or not the last line ended with '\r' (in which case a
+        following '\n' is part of the line terminator) */
+    private boolean _skipLF;
+    private final StringBuilder _line = new StringBuilder();
+    private final StringBuilder _field = new StringBuilder();
+    private final List<String> _tokens = new ArrayList<String>();
+    private int _delimEnd;
+
+    private LineTokenizer(Reader in, String delim, char quote) {
+      _in = in;
+      _quote = quote;
+      _delim = toLiteralDelimiter(delim);
+      _delimMatcher = ((_delim == null) ?
+                       Pattern.compile(delim).matcher(_line) : null);
+    }
+
+    /**
+     * Reads the next line (using the same line terminators as {@link
+     * BufferedReader#readLine}) into the line buffer.
+     *
+     * @return {@code true} if a line was read, {@code false} if the end of
+     *         the input was reached
+     */
+    public boolean readLine() throws IOException {
+      _line.setLength(0);
+      boolean gotChars = false;
+      while(true) {
+        if(_bufPos >= _bufLen) {
+          _bufLen = _in.read(_buf, 0, _buf.length);
+          _bufPos = 0;
+          if(_bufLen <= 0) {
+            _bufLen = 0;
+            return gotChars;
+          }
+        }
+        if(_skipLF) {
+          _skipLF = false;
+          if(_buf[_bufPos] == '\n') {
+            ++_bufPos;
+            continue;
+          }
+        }
+        gotChars = true;
+        int start = _bufPos;
+        while(_bufPos < _bufLen) {
+          char c = _buf[_bufPos];
+          if((c == '\n') || (c == '\r')) {
+            _line.append(_buf, start, _bufPos - start);
+            ++_bufPos;
+            _skipLF = (c == '\r');
+            return true;
+          }
+          ++_bufPos;
+        }
+        _line.append(_buf, start, _bufPos - start);
+      }
+    }
+
+    public boolean isLineBlank() {
+      for(int i = 0; i < _line.length(); ++i) {
+        if(!Character.isWhitespace(_line.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Splits the current line using the delimiter and quote character.  May
+     * read additional lines for quotes spanning newlines.
+     */
+    public Object[] splitLine(int numColumns) throws IOException {
+      _tokens.clear();
+      StringBuilder line = _line;
+      int idx = 0;
+
+      while(idx < line.length()) {
+
+        if(line.charAt(idx) == _quote) {
+
+          // find quoted value
+          _field.setLength(0);
+          ++idx;
+          while(true) {
+
+            int endIdx = indexOf(line, _quote, idx);
+
+            if(endIdx >= 0) {
+
+              _field.append(line, idx, endIdx);
+              ++endIdx;
+              if((endIdx < line.length()) && (line.charAt(endIdx) == _quote)) {
+
+                // embedded quote
+                _field.append(_quote);
+                // keep searching
+                idx = endIdx + 1;
+
+              } else {
+
+                // done
+                idx = endIdx;
+                break;
+              }
 
             } else {
 
-              // done
-              idx = endIdx;
-              break;
+              // line wrap
+              _field.append(line, idx, line.length());
+              _field.append(LINE_SEPARATOR);
+
+              idx = 0;
+              if(!readLine()) {
+                throw new EOFException("Missing end of quoted value " +
+                                       _field);
+              }
             }
+          }
+
+          _tokens.add(_field.toString());
+
+          // skip next delim
+          idx = ((findDelim(idx) >= 0) ? _delimEnd : line.length());
+
+        } else {
+
+          int delimStart = findDelim(idx);
+          if(delimStart >= 0) {
+
+            // next unquoted value
+            _tokens.add(line.substring(idx, delimStart));
+            idx = _delimEnd;
 
           } else {
 
-            // line wrap
-            sb.append(line, idx, line.length());
-            sb.append(LINE_SEPARATOR);
+            // trailing token
+            _tokens.add(line.substring(idx));
+            idx = line.length();
+          }
+        }
+      }
 
-            idx = 0;
-            line = in.readLine();
-            if(line == null) {
-              throw new EOFException("Missing end of quoted value " + sb);
+      return _tokens.toArray(new Object[Math.max(_tokens.size(), numColumns)]);
+    }
+
+    private static int indexOf(StringBuilder line, char c, int idx) {
+      for(; idx < line.length(); ++idx) {
+        if(line.charAt(idx) == c) {
+          return idx;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Returns the start of the next delimiter at or after the given index
+     * (and sets {@code _delimEnd}), or -1 if there is no such delimiter.
+     */
+    private int findDelim(int idx) {
+      if(_delimMatcher != null) {
+        if(_delimMatcher.find(idx)) {
+          _delimEnd = _delimMatcher.end();
+          return _delimMatcher.start();
+        }
+        return -1;
+      }
+      int start = ((_delim.length() == 1) ?
+                   indexOf(_line, _delim.charAt(0), idx) :
+                   _line.indexOf(_delim, idx));
+      if(start >= 0) {
+        _delimEnd = start + _delim.length();
+      }
+      return start;
+    }
+  }
+
+  /**
+   * Produces the parsed rows for an import, first returning any rows which
+   * were already read (e.g. for type sampling), followed by the rest of the
+   * rows from the tokenizer.  If typed columns are given, the values of the
+   * rows are converted to the appropriate types.  If the types were inferred
+   * from the sampled rows, values which cannot be converted are rejected
+   * (before any of the rows are loaded).
+   */
+  private static final class RowParser
+  {
+    private final LineTokenizer _tokenizer;
+    private final int _numColumns;
+    private final List<Object[]> _readRows;
+    private int _readRowIdx;
+    private int _rowNum;
+    private final List<? extends Column> _columns;
+    private final DataType[] _types;
+    private final boolean _inferredTypes;
+
+    private RowParser(LineTokenizer tokenizer, int numColumns,
+                      List<Object[]> readRows, List<? extends Column> columns,
+                      boolean inferredTypes)
+    {
+      _tokenizer = tokenizer;
+      _numColumns = numColumns;
+      _readRows = readRows;
+      _columns = columns;
+      DataType[] types = null;
+      if(columns != null) {
+        types = new DataType[columns.size()];
+        for(int i = 0; i < types.length; ++i) {
+          types[i] = columns.get(i).getType();
+        }
+      }
+      _types = types;
+      _inferredTypes = inferredTypes;
+    }
+
+    /**
+     * @return the next parsed row, or {@code null} if there are no more
+     *         rows
+     */
+    public Object[] nextRow() throws IOException {
+      Object[] row = null;
+      if(_readRowIdx < _readRows.size()) {
+        row = _readRows.get(_readRowIdx);
+        _readRows.set(_readRowIdx++, null);
+        if(row.length < _numColumns) {
+          row = Arrays.copyOf(row, _numColumns);
+        }
+      } else if(_tokenizer.readLine()) {
+        row = _tokenizer.splitLine(_numColumns);
+      } else {
+        return null;
+      }
+      ++_rowNum;
+
+      if(_types != null) {
+        int numValues = Math.min(row.length, _types.length);
+        for(int i = 0; i < numValues; ++i) {
+          if(row[i] != null) {
+            row[i] = parseValue(_types[i], (String)row[i]);
+            if(_inferredTypes && (row[i] instanceof String) &&
+               (_types[i] != DataType.TEXT)) {
+              throw new IOException(
+                  "Value '" + row[i] + "' in row " + _rowNum + " of column '" +
+                  _columns.get(i).getName() + "' cannot be parsed as " +
+                  _types[i] + " (the type inferred from the sampled rows)," +
+                  " use a larger type sample size");
             }
           }
         }
+      }
+      return row;
+    }
+  }
+
+  /**
+   * Adds the imported rows to a table, either using a {@link BulkLoader} or
+   * in batches using the normal row addition.
+   */
+  private static final class RowLoader implements Closeable
+  {
+    private final Table _table;
+    private final BulkLoader _bulkLoader;
+    private final List<Object[]> _rows;
+
+    private RowLoader(Table table, boolean bulkLoad) {
+      _table = table;
+      _bulkLoader = (bulkLoad ? table.newBulkLoader() : null);
+      _rows = (bulkLoad ? null :
+               new ArrayList<Object[]>(COPY_TABLE_BATCH_SIZE));
+    }
+
+    public void addRow(Object[] row) throws IOException {
+      if(_bulkLoader != null) {
+        _bulkLoader.addRow(row);
+        return;
+      }
+      _rows.add(row);
+      if(_rows.size() == COPY_TABLE_BATCH_SIZE) {
+        _table.addRows(_rows);
+        _rows.clear();
+      }
+    }
+
+    /**
+     * Adds any remaining rows (or commits the bulk load).
+     */
+    public void finish() throws IOException {
+      if(_bulkLoader != null) {
+        _bulkLoader.commit();
+        return;
+      }
+      if(!_rows.isEmpty()) {
+        _table.addRows(_rows);
+        _rows.clear();
+      }
+    }
 
-        tokens.add(sb.toString());
+    @Override
+    public void close() throws IOException {
+      if(_bulkLoader != null) {
+        _bulkLoader.close();
+      }
+    }
+  }
 
-        // skip next delim
-        idx = (m.find(idx) ? m.end() : line.length());
+  /**
+   * Hands off parsed row batches from the parsing thread to the loading
+   * thread.
+   */
+  private static final class BatchQueue
+  {
+    private final BlockingQueue<List<Object[]>> _pending =
+      new ArrayBlockingQueue<List<Object[]>>(MAX_PENDING_BATCHES);
+    /** set by the loading thread when it gives up */
+    private volatile boolean _cancelled;
 
-      } else if(m.find(idx)) {
+    public boolean isCancelled() {
+      return _cancelled;
+    }
 
-        // next unquoted value
-        tokens.add(line.substring(idx, m.start()));
-        idx = m.end();
+    public void cancel() {
+      _cancelled = true;
+    }
 
-      } else {
+    /**
+     * Hands off the given batch to the loading thread.
+     * @return {@code false} if the loading thread has given up
+     */
+    public boolean offer(List<Object[]> batch) throws InterruptedException {
+      while(!_cancelled) {
+        if(_pending.offer(batch, ExportUtil.QUEUE_WAIT_MILLIS,
+                          TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    }
 
-        // trailing token
-        tokens.add(line.substring(idx));
-        idx = line.length();
+    /**
+     * Marks the end of the parsed rows (unless the loading thread has
+     * already given up).
+     */
+    public void finish() {
+      try {
+        offer(END_BATCH);
+      } catch(InterruptedException e) {
+        // no one interrupts the parsing thread, but if it happens anyway
+        // there is nothing left to do but give up
+        _cancelled = true;
       }
     }
 
-    return tokens.toArray(new Object[Math.max(tokens.size(), numColumns)]);
+    /**
+     * Returns the next batch handed off by the given parsing thread.
+     */
+    public List<Object[]> next(Thread reader) throws InterruptedException {
+      while(true) {
+        List<Object[]> batch = _pending.poll(ExportUtil.QUEUE_WAIT_MILLIS,
+                                             TimeUnit.MILLISECONDS);
+        if(batch != null) {
+          return batch;
+        }
+        if(!reader.isAlive() && _pending.isEmpty()) {
+          throw new IllegalStateException(
+              "Import reader thread exited unexpectedly");
+        }
+      }
+    }
   }
 
   /**
@@ -610,6 +1403,9 @@ public class ImportUtil
     private ImportFilter _filter = SimpleImportFilter.INSTANCE;
     private boolean _useExistingTable;
     private boolean _header = true;
+    private int _typeSampleSize;
+    private int _numThreads = 1;
+    private boolean _bulkLoad;
 
     public Builder(Database db) {
       this(db, null);
@@ -656,29 +1452,65 @@ public class ImportUtil
     }
 
     /**
-     * @see ImportUtil#importResultSet(ResultSet,Database,String,ImportFilter,boolean)
+     * Sets the number of rows to sample when inferring the column types of a
+     * new table (default 0, which creates all columns as TEXT columns).  If a
+     * row after the sampled rows has a value which does not match the type
+     * inferred for its column (e.g. "n/a" in a LONG column), the import
+     * fails, so the sample size should cover any such values.
+     * @see ImportUtil#importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
+     */
+    public Builder setTypeSampleSize(int typeSampleSize) {
+      _typeSampleSize = typeSampleSize;
+      return this;
+    }
+
+    /**
+     * Sets the max number of threads to use for a file/reader import
+     * (default 1).  Any value greater than 1 parses the input on one separate
+     * thread, so no more than 2 threads are ever used.
+     * @see ImportUtil#importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
+     */
+    public Builder setNumThreads(int numThreads) {
+      _numThreads = numThreads;
+      return this;
+    }
+
+    /**
+     * Sets whether or not the rows are added using a {@link BulkLoader}
+     * (default {@code false}).
+     * @see ImportUtil#importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
+     */
+    public Builder setBulkLoad(boolean bulkLoad) {
+      _bulkLoad = bulkLoad;
+      return this;
+    }
+
+    /**
+     * @see ImportUtil#importResultSet(ResultSet,Database,String,ImportFilter,boolean,boolean)
      */
     public String importResultSet(ResultSet source)
       throws SQLException, IOException
     {
       return ImportUtil.importResultSet(source, _db, _tableName, _filter,
-                                        _useExistingTable);
+                                        _useExistingTable, _bulkLoad);
     }
 
     /**
-     * @see ImportUtil#importFile(File,Database,String,String,char,ImportFilter,boolean,boolean)
+     * @see ImportUtil#importFile(File,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
      */
     public String importFile(File f) throws IOException {
       return ImportUtil.importFile(f, _db, _tableName, _delim, _quote, _filter,
-                                   _useExistingTable, _header);
+                                   _useExistingTable, _header, _typeSampleSize,
+                                   _numThreads, _bulkLoad);
     }
 
     /**
-     * @see ImportUtil#importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean)
+     * @see ImportUtil#importReader(BufferedReader,Database,String,String,char,ImportFilter,boolean,boolean,int,int,boolean)
      */
     public String importReader(BufferedReader reader) throws IOException {
       return ImportUtil.importReader(reader, _db, _tableName, _delim, _quote,
-                                     _filter, _useExistingTable, _header);
+                                     _filter, _useExistingTable, _header,
+                                     _typeSampleSize, _numThreads, _bulkLoad);
     }
   }
 
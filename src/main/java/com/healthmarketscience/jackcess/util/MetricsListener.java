@@ -0,0 +1,135 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Table;
+
+/**
+ * Receives notifications of the low-level operations performed by a {@link
+ * Database}, e.g. for gathering operational metrics.  Times are reported in
+ * nanoseconds (as measured by {@link System#nanoTime}).  The default
+ * implementation is {@link SimpleMetricsListener}, which ignores all
+ * notifications.  When no listener is configured, no timing information is
+ * gathered.
+ * <p>
+ * Implementations should be fast, as the methods are invoked inline with the
+ * operations being measured.  Note that while a Database is not generally
+ * thread-safe, some read operations may be performed concurrently (see
+ * {@link Table#parallelStream}), so implementations which are used with
+ * concurrent reads must be thread-safe.
+ *
+ * @author James Ahlborn
+ * @usage _intermediate_class_
+ */
+public interface MetricsListener
+{
+  /**
+   * Called after a page is read from the underlying file.  Pages served from
+   * a cache are not included.
+   *
+   * @param pageNumber the number of the page read
+   * @param nanos the time taken to read the page (not including any
+   *              decoding)
+   */
+  public void pageRead(int pageNumber, long nanos);
+
+  /**
+   * Called after one or more consecutive pages are written to the underlying
+   * file.
+   *
+   * @param pageNumber the number of the first page written
+   * @param numPages the number of pages written
+   * @param nanos the time taken to write the pages
+   */
+  public void pagesWritten(int pageNumber, int numPages, long nanos);
+
+  /**
+   * Called after a new page is allocated in the underlying file.
+   *
+   * @param pageNumber the number of the new page
+   * @param nanos the time taken to extend the file
+   */
+  public void pageAllocated(int pageNumber, long nanos);
+
+  /**
+   * Called after a page is decoded by the database's codec handler (only
+   * called for databases which require page decoding).
+   *
+   * @param pageNumber the number of the page decoded
+   * @param nanos the time taken to decode the page
+   */
+  public void pageDecoded(int pageNumber, long nanos);
+
+  /**
+   * Called after a page is encoded by the database's codec handler (only
+   * called for databases which require page encoding).
+   *
+   * @param pageNumber the number of the page encoded
+   * @param nanos the time taken to encode the page
+   */
+  public void pageEncoded(int pageNumber, long nanos);
+
+  /**
+   * Called when an index page is requested from the index page cache.
+   *
+   * @param table the table which owns the index
+   * @param hit {@code true} if the page was already cached, {@code false} if
+   *            it needed to be read
+   */
+  public void indexPageAccessed(Table table, boolean hit);
+
+  /**
+   * Called when an index page is split because it has grown too large.
+   *
+   * @param table the table which owns the index
+   */
+  public void indexPageSplit(Table table);
+
+  /**
+   * Called when the data of a row is read from the given table, whether the
+   * row is read whole or one value at a time (e.g. via a {@link
+   * com.healthmarketscience.jackcess.RowView}).  Called once each time a
+   * cursor moves to a row whose data is accessed, not once per value.
+   */
+  public void rowRead(Table table);
+
+  /**
+   * Called when a row is added to the given table.
+   */
+  public void rowInserted(Table table);
+
+  /**
+   * Called when a row is updated in the given table.
+   */
+  public void rowUpdated(Table table);
+
+  /**
+   * Called when a row is deleted from the given table.
+   */
+  public void rowDeleted(Table table);
+
+  /**
+   * Called when a page of a long value (MEMO, OLE, etc.) which is stored
+   * outside of the row is fetched.
+   *
+   * @param column the column containing the long value
+   * @param pageNumber the number of the page fetched
+   */
+  public void longValuePageRead(Column column, int pageNumber);
+}
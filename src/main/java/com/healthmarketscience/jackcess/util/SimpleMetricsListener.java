@@ -0,0 +1,97 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.Table;
+
+/**
+ * Simple concrete implementation of MetricsListener which ignores all
+ * notifications.  Useful as a base class for listeners which are only
+ * interested in some of the notifications.
+ *
+ * @author James Ahlborn
+ * @usage _intermediate_class_
+ */
+public class SimpleMetricsListener implements MetricsListener
+{
+  public static final SimpleMetricsListener INSTANCE =
+    new SimpleMetricsListener();
+
+  public SimpleMetricsListener() {
+  }
+
+  @Override
+  public void pageRead(int pageNumber, long nanos) {
+    // nothing to do
+  }
+
+  @Override
+  public void pagesWritten(int pageNumber, int numPages, long nanos) {
+    // nothing to do
+  }
+
+  @Override
+  public void pageAllocated(int pageNumber, long nanos) {
+    // nothing to do
+  }
+
+  @Override
+  public void pageDecoded(int pageNumber, long nanos) {
+    // nothing to do
+  }
+
+  @Override
+  public void pageEncoded(int pageNumber, long nanos) {
+    // nothing to do
+  }
+
+  @Override
+  public void indexPageAccessed(Table table, boolean hit) {
+    // nothing to do
+  }
+
+  @Override
+  public void indexPageSplit(Table table) {
+    // nothing to do
+  }
+
+  @Override
+  public void rowRead(Table table) {
+    // nothing to do
+  }
+
+  @Override
+  public void rowInserted(Table table) {
+    // nothing to do
+  }
+
+  @Override
+  public void rowUpdated(Table table) {
+    // nothing to do
+  }
+
+  @Override
+  public void rowDeleted(Table table) {
+    // nothing to do
+  }
+
+  @Override
+  public void longValuePageRead(Column column, int pageNumber) {
+    // nothing to do
+  }
+}
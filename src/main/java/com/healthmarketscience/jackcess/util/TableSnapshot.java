@@ -0,0 +1,341 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.healthmarketscience.jackcess.RowId;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.impl.PageChannel;
+import com.healthmarketscience.jackcess.impl.RowIdImpl;
+import com.healthmarketscience.jackcess.impl.TableImpl;
+import com.healthmarketscience.jackcess.impl.UsageMap;
+
+/**
+ * Compact record of the state of the rows of a table at a point in time,
+ * which can be used to find the rows which have been inserted, updated or
+ * deleted since the snapshot was taken, e.g.:
+ * <pre>
+ *   // initial sync
+ *   byte[] token = TableSnapshot.create(table).toBytes();
+ *   ...
+ *   // later, find what changed
+ *   TableSnapshot.Changes changes =
+ *     TableSnapshot.fromBytes(token).getChanges(table);
+ *   for(RowId rowId : changes.getUpdated()) {
+ *     Row row = CursorBuilder.createCursor(table).findRow(rowId) ...
+ *   }
+ *   token = changes.getSnapshot().toBytes();
+ * </pre>
+ * The snapshot contains a checksum of the raw data of every row on the data
+ * pages owned by the table (following overflow rows), so finding the changes
+ * reads the data pages of the table but does not need to decode any rows
+ * (or keep a copy of the row data).
+ * <p>
+ * Note that changes are reported per RowId, so if a row is deleted and its
+ * row slot is re-used by a new row, the change will be reported as an
+ * update.  Changes which only modify the contents of "long value" data
+ * (OLE/MEMO data stored outside the row) without modifying the row itself
+ * are not detected.
+ *
+ * @author James Ahlborn
+ * @usage _general_class_
+ */
+public final class TableSnapshot
+{
+  /** version of the serialized snapshot format */
+  private static final byte FORMAT_VERSION = 1;
+  /** row checksum for a missing (or deleted) row */
+  private static final int NO_ROW = 0;
+  private static final int[] NO_ROWS = new int[0];
+
+  private final int _tableDefPageNumber;
+  /** the data page numbers, in ascending order */
+  private final int[] _pageNumbers;
+  /** the row checksums for each data page, indexed by row number */
+  private final int[][] _rowChecksums;
+
+  private TableSnapshot(int tableDefPageNumber, int[] pageNumbers,
+                        int[][] rowChecksums) {
+    _tableDefPageNumber = tableDefPageNumber;
+    _pageNumbers = pageNumbers;
+    _rowChecksums = rowChecksums;
+  }
+
+  /**
+   * Creates a snapshot of the current state of the rows of the given table.
+   */
+  public static TableSnapshot create(Table table) throws IOException {
+    TableImpl tableImpl = (TableImpl)table;
+    PageChannel pageChannel = tableImpl.getPageChannel();
+
+    List<Integer> pageNumbers = new ArrayList<Integer>();
+    List<int[]> rowChecksums = new ArrayList<int[]>();
+
+    pageChannel.startRead();
+    try {
+      TableImpl.RowState rowState = tableImpl.createRowState();
+      UsageMap.PageCursor pageCursor = tableImpl.getOwnedPagesCursor();
+      CRC32 crc = new CRC32();
+
+      int pageNumber = 0;
+      while((pageNumber = pageCursor.getNextPage()) !=
+            RowIdImpl.LAST_PAGE_NUMBER) {
+
+        TableImpl.positionAtRowHeader(
+            rowState, new RowIdImpl(pageNumber, RowIdImpl.INVALID_ROW_NUMBER));
+        int rowsOnPage = rowState.getRowsOnHeaderPage();
+        if(rowsOnPage == 0) {
+          // not a data page (or no rows)
+          continue;
+        }
+
+        int[] checksums = new int[rowsOnPage];
+        for(int i = 0; i < rowsOnPage; ++i) {
+          ByteBuffer rowBuffer = TableImpl.positionAtRowData(
+              rowState, new RowIdImpl(pageNumber, i));
+          if(rowBuffer != null) {
+            crc.reset();
+            crc.update(rowBuffer);
+            checksums[i] = toChecksum(crc.getValue());
+          }
+        }
+
+        pageNumbers.add(pageNumber);
+        rowChecksums.add(checksums);
+      }
+    } finally {
+      pageChannel.finishRead();
+    }
+
+    // owned pages are iterated in page order
+    int[] pageNumArr = new int[pageNumbers.size()];
+    for(int i = 0; i < pageNumArr.length; ++i) {
+      pageNumArr[i] = pageNumbers.get(i);
+    }
+    return new TableSnapshot(tableImpl.getTableDefPageNumber(), pageNumArr,
+                             rowChecksums.toArray(new int[0][]));
+  }
+
+  /**
+   * Re-creates a snapshot from the bytes returned by {@link #toBytes}.
+   *
+   * @throws IllegalArgumentException if the given bytes are not a valid
+   *         snapshot
+   */
+  public static TableSnapshot fromBytes(byte[] bytes) {
+    try {
+      ByteBuffer bb = ByteBuffer.wrap(bytes);
+      byte version = bb.get();
+      if(version != FORMAT_VERSION) {
+        throw new IllegalArgumentException(
+            "Unsupported snapshot version " + version);
+      }
+      int tableDefPageNumber = bb.getInt();
+      int numPages = bb.getInt();
+      int[] pageNumbers = new int[numPages];
+      int[][] rowChecksums = new int[numPages][];
+      for(int i = 0; i < numPages; ++i) {
+        pageNumbers[i] = bb.getInt();
+        int[] checksums = new int[bb.getShort()];
+        for(int j = 0; j < checksums.length; ++j) {
+          checksums[j] = bb.getInt();
+        }
+        rowChecksums[i] = checksums;
+      }
+      if(bb.hasRemaining()) {
+        throw new IllegalArgumentException("Unexpected trailing bytes");
+      }
+      return new TableSnapshot(tableDefPageNumber, pageNumbers, rowChecksums);
+    } catch(BufferUnderflowException | NegativeArraySizeException e) {
+      throw new IllegalArgumentException("Invalid snapshot", e);
+    }
+  }
+
+  /**
+   * Returns a compact, serialized version of this snapshot, which can be
+   * restored using {@link #fromBytes}.
+   */
+  public byte[] toBytes() {
+    int len = 1 + 4 + 4;
+    for(int[] checksums : _rowChecksums) {
+      len += 4 + 2 + (checksums.length * 4);
+    }
+
+    ByteBuffer bb = ByteBuffer.allocate(len);
+    bb.put(FORMAT_VERSION)
+      .putInt(_tableDefPageNumber)
+      .putInt(_pageNumbers.length);
+    for(int i = 0; i < _pageNumbers.length; ++i) {
+      int[] checksums = _rowChecksums[i];
+      bb.putInt(_pageNumbers[i]).putShort((short)checksums.length);
+      for(int checksum : checksums) {
+        bb.putInt(checksum);
+      }
+    }
+    return bb.array();
+  }
+
+  /**
+   * Returns the rows which have changed in the given table since this
+   * snapshot was taken, along with a new snapshot of the current state of
+   * the table.
+   *
+   * @throws IllegalArgumentException if this snapshot was not taken from the
+   *         given table
+   */
+  public Changes getChanges(Table table) throws IOException {
+    TableImpl tableImpl = (TableImpl)table;
+    if(tableImpl.getTableDefPageNumber() != _tableDefPageNumber) {
+      throw new IllegalArgumentException(
+          "Snapshot was not taken from table " + table.getName());
+    }
+
+    TableSnapshot cur = create(table);
+    Changes changes = new Changes(cur);
+
+    // merge the (sorted) page numbers of the two snapshots
+    int oldIdx = 0;
+    int curIdx = 0;
+    while((oldIdx < _pageNumbers.length) ||
+          (curIdx < cur._pageNumbers.length)) {
+
+      int oldPageNum = ((oldIdx < _pageNumbers.length) ?
+                        _pageNumbers[oldIdx] : Integer.MAX_VALUE);
+      int curPageNum = ((curIdx < cur._pageNumbers.length) ?
+                        cur._pageNumbers[curIdx] : Integer.MAX_VALUE);
+
+      if(oldPageNum == curPageNum) {
+        changes.compare(oldPageNum, _rowChecksums[oldIdx++],
+                        cur._rowChecksums[curIdx++]);
+      } else if(oldPageNum < curPageNum) {
+        changes.compare(oldPageNum, _rowChecksums[oldIdx++], NO_ROWS);
+      } else {
+        changes.compare(curPageNum, NO_ROWS, cur._rowChecksums[curIdx++]);
+      }
+    }
+
+    return changes;
+  }
+
+  /**
+   * Returns the number of rows in this snapshot.
+   */
+  public int getRowCount() {
+    int count = 0;
+    for(int[] checksums : _rowChecksums) {
+      for(int checksum : checksums) {
+        if(checksum != NO_ROW) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static int toChecksum(long crc) {
+    int checksum = (int)crc;
+    // NO_ROW is reserved for missing rows
+    return ((checksum != NO_ROW) ? checksum : 1);
+  }
+
+  /**
+   * The rows which changed in a table between two snapshots.
+   */
+  public static final class Changes
+  {
+    private final TableSnapshot _snapshot;
+    private final List<RowId> _inserted = new ArrayList<RowId>();
+    private final List<RowId> _updated = new ArrayList<RowId>();
+    private final List<RowId> _deleted = new ArrayList<RowId>();
+
+    private Changes(TableSnapshot snapshot) {
+      _snapshot = snapshot;
+    }
+
+    /**
+     * Returns a snapshot of the state of the table when these changes were
+     * computed (to be used for finding subsequent changes).
+     */
+    public TableSnapshot getSnapshot() {
+      return _snapshot;
+    }
+
+    /**
+     * Returns the ids of the rows which were added to the table.
+     */
+    public List<RowId> getInserted() {
+      return Collections.unmodifiableList(_inserted);
+    }
+
+    /**
+     * Returns the ids of the rows which were modified.
+     */
+    public List<RowId> getUpdated() {
+      return Collections.unmodifiableList(_updated);
+    }
+
+    /**
+     * Returns the ids of the rows which were removed from the table (these
+     * rows can no longer be read).
+     */
+    public List<RowId> getDeleted() {
+      return Collections.unmodifiableList(_deleted);
+    }
+
+    /**
+     * Returns {@code true} if no rows were changed, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+      return (_inserted.isEmpty() && _updated.isEmpty() && _deleted.isEmpty());
+    }
+
+    private void compare(int pageNumber, int[] oldChecksums,
+                         int[] curChecksums) {
+      int numRows = Math.max(oldChecksums.length, curChecksums.length);
+      for(int i = 0; i < numRows; ++i) {
+        int oldChecksum = ((i < oldChecksums.length) ?
+                           oldChecksums[i] : NO_ROW);
+        int curChecksum = ((i < curChecksums.length) ?
+                           curChecksums[i] : NO_ROW);
+        if(oldChecksum == curChecksum) {
+          continue;
+        }
+        RowId rowId = new RowIdImpl(pageNumber, i);
+        if(oldChecksum == NO_ROW) {
+          _inserted.add(rowId);
+        } else if(curChecksum == NO_ROW) {
+          _deleted.add(rowId);
+        } else {
+          _updated.add(rowId);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Changes[inserted=" + _inserted + ", updated=" + _updated +
+        ", deleted=" + _deleted + "]";
+    }
+  }
+}
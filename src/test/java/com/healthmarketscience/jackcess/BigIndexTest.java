@@ -17,14 +17,19 @@ limitations under the License.
 package com.healthmarketscience.jackcess;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import junit.framework.TestCase;
 
 import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
+import com.healthmarketscience.jackcess.impl.DatabaseImpl;
 import com.healthmarketscience.jackcess.impl.TableImpl;
 import com.healthmarketscience.jackcess.impl.IndexImpl;
+import com.healthmarketscience.jackcess.impl.IndexPageCache;
+import com.healthmarketscience.jackcess.impl.IndexPageCacheManager;
 import static com.healthmarketscience.jackcess.TestUtil.*;
 
 /**
@@ -196,4 +201,236 @@ public class BigIndexTest extends TestCase {
     }
   }
 
+  public void testSharedIndexPageCache() throws Exception
+  {
+    for (final TestDB testDB : TestDB.getSupportedForBasename(Basename.BIG_INDEX)) {
+
+      TestUtil.setTestAutoSync(false);
+      try {
+
+        DatabaseImpl db = (DatabaseImpl)openMem(testDB);
+        int pageSize = db.getFormat().PAGE_SIZE;
+        db.setIndexPageCacheSize(16L * pageSize);
+        IndexPageCacheManager manager = db.getIndexPageCacheManager();
+
+        TableImpl t = db.getTable("Table1");
+        IndexImpl index = t.getIndex("col1");
+        IndexPageCache pageCache = index.getIndexData().getPageCache();
+
+        String extraText = " some random text to fill out the index and make it fill up pages with lots of extra bytes so i will keep typing until i think that i probably have enough text in the index entry so that i do not need to add as many entries in order";
+
+        List<String> values = new ArrayList<String>();
+        Random rand = new Random(13L);
+        for(int i = 0; i < 1000; ++i) {
+          String nextVal = "" + rand.nextInt(Integer.MAX_VALUE) + extraText;
+          values.add(nextVal);
+          t.addRow(nextVal, "this is some row data " + i);
+        }
+
+        index.getIndexData().validate();
+
+        // lookups of the same entry should be served from the cache
+        Cursor cursor = CursorBuilder.createCursor(index);
+        Map<String,Object> entry =
+          Collections.<String,Object>singletonMap("col1", values.get(500));
+        assertTrue(cursor.findFirstRow(entry));
+        long missCount = pageCache.getMissCount();
+        for(int i = 0; i < 10; ++i) {
+          assertTrue(cursor.findFirstRow(entry));
+        }
+        assertEquals(missCount, pageCache.getMissCount());
+        assertTrue(pageCache.getHitCount() > 0);
+
+        // a full scan must load all the leaf pages, but only the pinned pages
+        // and the budget should remain cached
+        int rowCount = 0;
+        for(Row row : CursorBuilder.createCursor(index)) {
+          ++rowCount;
+        }
+        assertEquals(1000, rowCount);
+        long numLoaded = pageCache.getMissCount() - missCount;
+        assertTrue(numLoaded > 16);
+        assertTrue(pageCache.getCachedPageCount() < numLoaded);
+        assertTrue((pageCache.getCachedPageCount() * (long)pageSize) <=
+                   manager.getCurrentBytes());
+        assertTrue(pageCache.getHitCount() <= manager.getHitCount());
+
+        index.getIndexData().validate();
+
+        db.close();
+
+      } finally {
+        TestUtil.clearTestAutoSync();
+      }
+    }
+  }
+
+  public void testBulkLoader() throws Exception
+  {
+    for (final TestDB testDB : TestDB.getSupportedForBasename(Basename.BIG_INDEX)) {
+
+      TestUtil.setTestAutoSync(false);
+      try {
+
+        Database db = openMem(testDB);
+        TableImpl t = (TableImpl)db.getTable("Table1");
+        IndexImpl index = t.getIndex("col1");
+
+        String extraText = " some random text to fill out the index and make it fill up pages with lots of extra bytes so i will keep typing until i think that i probably have enough text in the index entry so that i do not need to add as many entries in order";
+
+        List<String> values = new ArrayList<String>();
+        Random rand = new Random(13L);
+        try(BulkLoader loader = t.newBulkLoader()) {
+          for(int i = 0; i < 2000; ++i) {
+            String nextVal = "" + rand.nextInt(Integer.MAX_VALUE) + extraText;
+            values.add(nextVal);
+            loader.addRow(nextVal, "this is some row data " + i);
+          }
+          assertEquals(2000, loader.getRowCount());
+          loader.commit();
+        }
+
+        index.getIndexData().validate();
+        assertEquals(2000, t.getRowCount());
+        assertEquals(2000, index.getIndexData().getEntryCount());
+
+        Collections.sort(values);
+        List<String> indexValues = new ArrayList<String>();
+        for(Row row : CursorBuilder.createCursor(index)) {
+          indexValues.add(row.getString("col1"));
+        }
+        assertEquals(values, indexValues);
+
+        // unique index (with autonumbers)
+        Table t2 = new TableBuilder("BulkTable")
+          .addColumn(new ColumnBuilder("id", DataType.LONG)
+                     .setAutoNumber(true))
+          .addColumn(new ColumnBuilder("code", DataType.TEXT))
+          .addColumn(new ColumnBuilder("data", DataType.TEXT))
+          .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                    .addColumns("id").setPrimaryKey())
+          .addIndex(new IndexBuilder("CodeIdx")
+                    .addColumns("code").setUnique())
+          .toTable(db);
+
+        try(BulkLoader loader = t2.newBulkLoader()) {
+          for(int i = 999; i >= 0; --i) {
+            Map<String,Object> row = loader.addRowFromMap(
+                createExpectedRow("code", "code" + i, "data", "data " + i));
+            assertEquals(1000 - i, row.get("id"));
+          }
+
+          try {
+            loader.addRow(null, "code500", "dupe");
+            fail("ConstraintViolationException should have been thrown");
+          } catch(ConstraintViolationException expected) {
+            // success
+          }
+
+          loader.addRow(null, "code1000", "data 1000");
+          assertEquals(1001, loader.getRowCount());
+          loader.commit();
+
+          try {
+            loader.addRow(null, "code1001", "data 1001");
+            fail("IllegalStateException should have been thrown");
+          } catch(IllegalStateException expected) {
+            // success
+          }
+        }
+
+        assertEquals(1001, t2.getRowCount());
+        for(Index idx : t2.getIndexes()) {
+          ((IndexImpl)idx).getIndexData().validate();
+          assertEquals(1001, ((IndexImpl)idx).getIndexData().getEntryCount());
+        }
+
+        int id = 0;
+        for(Row row : CursorBuilder.createCursor(t2.getPrimaryKeyIndex())) {
+          assertEquals(++id, row.get("id"));
+        }
+        assertEquals(1001, id);
+
+        Row row = CursorBuilder.findRowByPrimaryKey(t2, 1001);
+        assertEquals("code1000", row.getString("code"));
+
+        // a load which is not committed is discarded
+        int numPages = ((TableImpl)t2).getApproximateOwnedPageCount();
+        for(int j = 0; j < 3; ++j) {
+          try(BulkLoader loader = t2.newBulkLoader()) {
+            for(int i = 0; i < 500; ++i) {
+              loader.addRow(null, "uncommitted" + i, "data " + i);
+            }
+          }
+        }
+        assertEquals(1001, t2.getRowCount());
+        id = 0;
+        for(Row r : t2) {
+          ++id;
+        }
+        assertEquals(1001, id);
+        for(Index idx : t2.getIndexes()) {
+          ((IndexImpl)idx).getIndexData().validate();
+          assertEquals(1001, ((IndexImpl)idx).getIndexData().getEntryCount());
+        }
+        assertNull(CursorBuilder.findRow(
+                       t2, createExpectedRow("code", "uncommitted0")));
+        // the space used by the discarded rows is re-used
+        assertTrue(((TableImpl)t2).getApproximateOwnedPageCount() <
+                   (numPages * 2));
+
+        // the long values of discarded rows are released
+        Table t3 = new TableBuilder("MemoTable")
+          .addColumn(new ColumnBuilder("id", DataType.LONG)
+                     .setAutoNumber(true))
+          .addColumn(new ColumnBuilder("memo", DataType.MEMO))
+          .toTable(db);
+        StringBuilder memo = new StringBuilder();
+        while(memo.length() < 3000) {
+          memo.append(extraText);
+        }
+        numPages = ((TableImpl)t3).getApproximateOwnedPageCount();
+        for(int j = 0; j < 3; ++j) {
+          try(BulkLoader loader = t3.newBulkLoader()) {
+            for(int i = 0; i < 200; ++i) {
+              loader.addRow(null, memo.toString() + i);
+            }
+          }
+          // only the (re-usable) data pages are left
+          assertTrue(((TableImpl)t3).getApproximateOwnedPageCount() <=
+                     (numPages + 2));
+        }
+        assertEquals(0, t3.getRowCount());
+        assertEquals(1, t3.addRow(null, "memo")[0]);
+
+        // other table modifications are not allowed during a bulk load
+        BulkLoader loader = t2.newBulkLoader();
+        loader.addRow(null, "code1002", "data 1002");
+        // the autonumbers of the discarded rows were re-used
+        assertEquals(1003, t2.addRow(null, "code1001", "data 1001")[0]);
+        try {
+          loader.addRow(null, "code1003", "data 1003");
+          fail("IllegalStateException should have been thrown");
+        } catch(IllegalStateException expected) {
+          // success
+        }
+        try {
+          loader.commit();
+          fail("IllegalStateException should have been thrown");
+        } catch(IllegalStateException expected) {
+          // success
+        }
+        loader.close();
+        assertEquals(1002, t2.getRowCount());
+        assertNull(CursorBuilder.findRow(
+                       t2, createExpectedRow("code", "code1002")));
+
+        db.close();
+
+      } finally {
+        TestUtil.clearTestAutoSync();
+      }
+    }
+  }
+
 }
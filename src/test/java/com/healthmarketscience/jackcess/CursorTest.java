@@ -16,9 +16,11 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +38,7 @@ import com.healthmarketscience.jackcess.util.CaseInsensitiveColumnMatcher;
 import com.healthmarketscience.jackcess.util.ColumnMatcher;
 import com.healthmarketscience.jackcess.util.RowFilterTest;
 import com.healthmarketscience.jackcess.util.SimpleColumnMatcher;
+import com.healthmarketscience.jackcess.util.SimpleMetricsListener;
 import junit.framework.TestCase;
 import static com.healthmarketscience.jackcess.TestUtil.*;
 
@@ -1204,6 +1207,135 @@ public class CursorTest extends TestCase {
     }
   }
 
+  public void testColumnProjection() throws Exception {
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+      Database db = createTestTable(fileFormat);
+
+      Table table = db.getTable("test");
+      Cursor cursor = CursorBuilder.createCursor(table);
+
+      List<String> expectedValues = new ArrayList<String>();
+      for(Map<String,Object> row : createTestTableData()) {
+        expectedValues.add((String)row.get("value"));
+      }
+
+      List<String> foundValues = new ArrayList<String>();
+      for(Row row : cursor.newIterable().setColumnNames(
+              Collections.singleton("value"))) {
+        assertEquals(1, row.size());
+        foundValues.add(row.getString("value"));
+      }
+      assertEquals(expectedValues, foundValues);
+
+      cursor.beforeFirst();
+      assertTrue(cursor.moveToNextRow());
+      Row row = cursor.getCurrentRow(Arrays.asList("id", "bogus"));
+      assertEquals(createExpectedRow("id", 0), row);
+
+      // projection should pick up columns added during iteration
+      Iterator<Row> iter = cursor.newIterable()
+        .setColumnNames(Arrays.asList("value", "extra")).iterator();
+      assertEquals(createExpectedRow("value", "data0"), iter.next());
+      new ColumnBuilder("extra", DataType.LONG).addToTable(table);
+      assertEquals(createExpectedRow("value", "data1", "extra", null),
+                   iter.next());
+
+      db.close();
+    }
+  }
+
+  public void testRowView() throws Exception {
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+      Database db = createMem(fileFormat);
+
+      Table table = new TableBuilder("test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("b", DataType.BYTE))
+        .addColumn(new ColumnBuilder("s", DataType.INT))
+        .addColumn(new ColumnBuilder("f", DataType.FLOAT))
+        .addColumn(new ColumnBuilder("d", DataType.DOUBLE))
+        .addColumn(new ColumnBuilder("flag", DataType.BOOLEAN))
+        .addColumn(new ColumnBuilder("m", DataType.MONEY))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .toTable(db);
+
+      for(int i = 0; i < 60; ++i) {
+        if((i % 5) == 4) {
+          table.addRow(i, null, null, null, null, false, null, null);
+        } else {
+          table.addRow(i, -i, i * 100, i + 0.5f, i * -1.25d, ((i % 2) == 0),
+                       i * 10, "row " + i);
+        }
+      }
+
+      // force some rows to overflow onto other pages
+      Cursor cursor = CursorBuilder.createCursor(table);
+      while(cursor.moveToNextRow()) {
+        Row row = cursor.getCurrentRow();
+        if(((Integer)row.get("id") % 3) == 0) {
+          row.put("data", createString(255));
+          cursor.updateCurrentRowFromMap(row);
+        }
+      }
+
+      new ColumnBuilder("extra", DataType.LONG).addToTable(table);
+      table.addRow(60, 1, 2, 3.0f, 4.0d, true, 6, "last", 7);
+
+      Column idCol = table.getColumn("id");
+      Column extraCol = table.getColumn("extra");
+      RowView view = cursor.getCurrentRowView();
+      assertSame(view, cursor.getCurrentRowView());
+
+      cursor.beforeFirst();
+      int numRows = 0;
+      while(cursor.moveToNextRow()) {
+        Row row = cursor.getCurrentRow();
+        assertEquals(row.getId(), view.getId());
+        assertEquals(row.getInt("id").intValue(), view.getInt(idCol));
+        assertEquals(row.getInt("id").longValue(), view.getLong("id"));
+        assertEquals(row.getInt("id").doubleValue(), view.getDouble("id"));
+
+        for(String colName : Arrays.asList("b", "s", "f", "d", "m", "data",
+                                            "extra")) {
+          Object value = row.get(colName);
+          assertEquals(value == null, view.isNull(colName));
+          assertEquals(value, view.get(colName));
+          if(value instanceof Number) {
+            Number num = (Number)value;
+            assertEquals(num.intValue(), view.getInt(colName));
+            assertEquals(num.longValue(), view.getLong(colName));
+            assertEquals(num.doubleValue(), view.getDouble(colName));
+          } else if(value == null) {
+            assertNull(view.getString(colName));
+            if(!"data".equals(colName)) {
+              assertEquals(0, view.getInt(colName));
+              assertEquals(0.0d, view.getDouble(colName));
+            }
+          } else {
+            assertEquals(value, view.getString(colName));
+          }
+        }
+
+        assertFalse(view.isNull("flag"));
+        assertEquals(row.getBoolean("flag").booleanValue(),
+                     view.getBoolean("flag"));
+        assertEquals(row.get("extra") == null, view.isNull(extraCol));
+        ++numRows;
+      }
+      assertEquals(61, numRows);
+
+      cursor.afterLast();
+      try {
+        view.getInt(idCol);
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+
+      db.close();
+    }
+  }
+
   public void testFindByRowId() throws Exception {
     for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
       Database db = createTestTable(fileFormat);
@@ -1572,6 +1704,158 @@ public class CursorTest extends TestCase {
     assertEquals(expectedIds, foundIds);
   }
 
+  public void testIndexOnlyCursor() throws Exception
+  {
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+
+      Database db = createMem(fileFormat);
+
+      Table t = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("status", DataType.INT))
+        .addColumn(new ColumnBuilder("amount", DataType.NUMERIC)
+                   .setPrecision(10).setScale(2))
+        .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+        .addColumn(new ColumnBuilder("ratio", DataType.DOUBLE))
+        .addColumn(new ColumnBuilder("flag", DataType.BOOLEAN))
+        .addColumn(new ColumnBuilder("code", DataType.BYTE))
+        .addColumn(new ColumnBuilder("guid", DataType.GUID))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .addIndex(new IndexBuilder("statusIdx")
+                  .addColumns(true, "status")
+                  .addColumns(false, "created"))
+        .addIndex(new IndexBuilder("amountIdx")
+                  .addColumns(false, "amount")
+                  .addColumns(true, "ratio"))
+        .addIndex(new IndexBuilder("flagIdx")
+                  .addColumns(false, "flag")
+                  .addColumns(false, "code")
+                  .addColumns(true, "guid"))
+        .addIndex(new IndexBuilder("dataIdx")
+                  .addColumns(true, "status")
+                  .addColumns(true, "data")
+                  .addColumns(true, "id"))
+        .toTable(db);
+
+      for(int i = 0; i < 200; ++i) {
+        t.addRow(i,
+                 ((i % 3 == 0) ? null : (short)((i % 7) - 3)),
+                 ((i % 5 == 0) ? null :
+                  BigDecimal.valueOf(((i * 37) % 20000) - 10000, 2)),
+                 ((i % 4 == 0) ? null :
+                  new Date(-2209161600000L + ((i - 100) * 86400000L * 3) +
+                           (i * 61000L))),
+                 ((i % 6 == 0) ? null : ((i - 100) / 7.0d)),
+                 (i % 2 == 0),
+                 ((i % 9 == 0) ? null : (byte)(i * 13)),
+                 ((i % 8 == 0) ? null :
+                  String.format("{%08X-0000-0000-0000-%012X}", i * 7919, i)),
+                 "data" + (i % 13));
+      }
+
+      doIndexOnlyScan(t, IndexBuilder.PRIMARY_KEY_NAME, "id");
+      doIndexOnlyScan(t, "statusIdx", "status", "created");
+      doIndexOnlyScan(t, "statusIdx", "created");
+      doIndexOnlyScan(t, "amountIdx", "amount", "ratio");
+      doIndexOnlyScan(t, "flagIdx", "flag", "code", "guid");
+      doIndexOnlyScan(t, "dataIdx", "status");
+
+      // text values cannot be read from the index
+      doIndexOnlyScanFailure(t, "dataIdx", "data");
+      doIndexOnlyScanFailure(t, "dataIdx", "id");
+      // only index columns can be read
+      doIndexOnlyScanFailure(t, "statusIdx", "id");
+
+      // lookups still work (even if the entry values must be read from the
+      // table rows)
+      IndexCursor c = t.newCursor().setIndexByName("dataIdx")
+        .setIndexOnly(true).toIndexCursor();
+      assertTrue(c.findFirstRowByEntry((short)1, "data4", 4));
+      assertEquals((short)1, c.getCurrentRowValue(t.getColumn("status")));
+      assertFalse(c.findFirstRowByEntry((short)1, "data4", 5));
+
+      // changes to the table are reflected in the index
+      Cursor cursor = CursorBuilder.createCursor(t);
+      for(Row row : cursor) {
+        if((row.getInt("id") % 10) == 0) {
+          cursor.deleteCurrentRow();
+        }
+      }
+      doIndexOnlyScan(t, "statusIdx", "status", "created");
+      doIndexOnlyScan(t, "flagIdx", "flag", "code", "guid");
+
+      db.close();
+    }
+  }
+
+  private static void doIndexOnlyScan(Table t, String idxName,
+                                      String... colNames)
+    throws Exception
+  {
+    final int[] counts = new int[2];
+    t.getDatabase().setMetricsListener(new SimpleMetricsListener() {
+        @Override
+        public void pageRead(int pageNumber, long nanos) {
+          ++counts[0];
+        }
+        @Override
+        public void rowRead(Table table) {
+          ++counts[1];
+        }
+      });
+
+    List<String> cols = Arrays.asList(colNames);
+    for(boolean forward : Arrays.asList(true, false)) {
+
+      List<Row> expectedRows = new ArrayList<Row>();
+      for(Row row : t.newCursor().setIndexByName(idxName).toCursor()
+            .newIterable().setForward(forward).setColumnNames(cols)) {
+        expectedRows.add(row);
+      }
+      assertTrue(counts[1] > 0);
+
+      for(int i = 0; i < 2; ++i) {
+        counts[0] = 0;
+        counts[1] = 0;
+
+        Cursor c = t.newCursor().setIndexByName(idxName)
+          .setIndexOnly(true).toCursor();
+        List<Row> foundRows = new ArrayList<Row>();
+        for(Row row : c.newIterable().setForward(forward)
+              .setColumnNames(cols)) {
+          foundRows.add(row);
+          assertEquals(row.get(colNames[0]),
+                       c.getCurrentRowValue(t.getColumn(colNames[0])));
+        }
+
+        assertEquals(expectedRows, foundRows);
+        assertEquals(0, counts[1]);
+        if(i > 0) {
+          // all the index pages are cached
+          assertEquals(0, counts[0]);
+        }
+      }
+    }
+
+    t.getDatabase().setMetricsListener(null);
+  }
+
+  private static void doIndexOnlyScanFailure(Table t, String idxName,
+                                             String colName)
+    throws Exception
+  {
+    Cursor c = t.newCursor().setIndexByName(idxName)
+      .setIndexOnly(true).toCursor();
+    try {
+      c.newIterable().addColumnNames(colName).iterator().next();
+      fail("IllegalArgumentException should have been thrown");
+    } catch(IllegalArgumentException expected) {
+      // success
+    }
+  }
+
   private static void doFindByRow(Index idx, Integer id, Object... rowPairs)
     throws Exception
   {
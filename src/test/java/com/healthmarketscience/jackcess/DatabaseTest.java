@@ -26,8 +26,10 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +37,10 @@ import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static com.healthmarketscience.jackcess.Database.*;
@@ -44,8 +50,12 @@ import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
 import com.healthmarketscience.jackcess.impl.RowIdImpl;
 import com.healthmarketscience.jackcess.impl.RowImpl;
 import com.healthmarketscience.jackcess.impl.TableImpl;
+import com.healthmarketscience.jackcess.impl.complex.ComplexColumnInfoImpl;
+import com.healthmarketscience.jackcess.query.Query;
 import com.healthmarketscience.jackcess.util.LinkResolver;
+import com.healthmarketscience.jackcess.util.MemFileChannel;
 import com.healthmarketscience.jackcess.util.RowFilterTest;
+import com.healthmarketscience.jackcess.util.SimpleMetricsListener;
 import junit.framework.TestCase;
 import static com.healthmarketscience.jackcess.TestUtil.*;
 
@@ -554,6 +564,27 @@ public class DatabaseTest extends TestCase
     }
   }
 
+  public void testMemoryMapped() throws Exception
+  {
+    for (final TestDB testDB : TestDB.getSupportedForBasename(Basename.OVERFLOW, true)) {
+      Database mdb = open(testDB);
+      Database mappedDb = new DatabaseBuilder(testDB.getFile())
+        .setReadOnly(true)
+        .setMemoryMapped(true)
+        .setCharset(testDB.getExpectedCharset())
+        .open();
+      assertTrue(((DatabaseImpl)mappedDb).getPageChannel().isMemoryMapped());
+
+      for(String tableName : mdb.getTableNames()) {
+        assertEquals(RowFilterTest.toList(mdb.getTable(tableName)),
+                     RowFilterTest.toList(mappedDb.getTable(tableName)));
+      }
+
+      mappedDb.close();
+      mdb.close();
+    }
+  }
+
 
   public void testUsageMapPromotion() throws Exception {
     for (final TestDB testDB : TestDB.getSupportedForBasename(Basename.PROMOTION)) {
@@ -587,6 +618,59 @@ public class DatabaseTest extends TestCase
   }
 
 
+  public void testParallelStream() throws Exception {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = createMem(fileFormat);
+
+      Table t = new TableBuilder("test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .addColumn(new ColumnBuilder("memo", DataType.MEMO))
+        .toTable(db);
+
+      String lval = createString(1000);
+      ((DatabaseImpl)db).getPageChannel().startWrite();
+      try {
+        for(int i = 0; i < 2000; ++i) {
+          t.addRow(i, "row" + i, ((i % 3) == 0) ? lval + i : null);
+        }
+      } finally {
+        ((DatabaseImpl)db).getPageChannel().finishWrite();
+      }
+
+      // delete some rows to make sure they are skipped
+      Cursor c = CursorBuilder.createCursor(t);
+      while(c.moveToNextRow()) {
+        if((c.getCurrentRow().getInt("id") % 7) == 0) {
+          c.deleteCurrentRow();
+        }
+      }
+
+      List<Row> expectedRows = t.stream().collect(Collectors.toList());
+      assertTrue(expectedRows.size() > 1000);
+      assertEquals(expectedRows, t.parallelStream()
+                   .collect(Collectors.toList()));
+
+      assertEquals(expectedRows.size(), t.parallelStream()
+                   .filter(r -> r.getString("data").startsWith("row"))
+                   .count());
+
+      List<Integer> expectedIds = expectedRows.stream()
+        .map(r -> r.getInt("id"))
+        .collect(Collectors.toList());
+      assertEquals(expectedIds, ((TableImpl)t).parallelStream(
+                       Collections.singleton("id"))
+                   .map(r -> {
+                       assertEquals(1, r.size());
+                       return r.getInt("id");
+                     })
+                   .collect(Collectors.toList()));
+
+      db.close();
+    }
+  }
+
+
   public void testLargeTableDef() throws Exception {
     for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
       Database db = create(fileFormat);
@@ -1082,6 +1166,506 @@ public class DatabaseTest extends TestCase
     }
   }
 
+  public void testTableLookup() throws Exception {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = createFile(fileFormat);
+
+      // more tables than the lookup used to cache
+      for(int i = 0; i < 60; ++i) {
+        new TableBuilder("Table" + i)
+          .addColumn(new ColumnBuilder("id", DataType.LONG))
+          .addColumn(new ColumnBuilder("data", DataType.TEXT))
+          .addIndex(new IndexBuilder("DataIdx").addColumns("data"))
+          .toTable(db);
+      }
+
+      File dbFile = db.getFile();
+      db.close();
+
+      db = DatabaseBuilder.open(dbFile);
+
+      assertNull(db.getTable("Table60"));
+      assertEquals(60, db.getTableNames().size());
+      for(int i = 59; i >= 0; --i) {
+        assertEquals("Table" + i, db.getTable("TABLE" + i).getName());
+      }
+      assertTrue(db.getSystemTableNames().contains("MSysObjects"));
+
+      // new tables are visible once the lookup is loaded
+      new TableBuilder("Table60")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .toTable(db);
+      assertEquals("Table60", db.getTable("table60").getName());
+      assertEquals(61, db.getTableNames().size());
+
+      // grow an index whose usage map has not been read yet
+      Table t = db.getTable("Table7");
+      for(int i = 0; i < 1000; ++i) {
+        t.addRow(i, "row data value " + i);
+      }
+      assertTrue(((TableImpl)t).getApproximateOwnedPageCount() > 10);
+
+      db.close();
+
+      db = DatabaseBuilder.open(dbFile);
+      t = db.getTable("Table7");
+      Cursor c = CursorBuilder.createCursor(t.getIndex("DataIdx"));
+      assertTrue(c.findFirstRow(t.getColumn("data"), "row data value 500"));
+      assertEquals(500, c.getCurrentRowValue(t.getColumn("id")));
+      assertEquals(1000, t.getRowCount());
+
+      db.close();
+    }
+  }
+
+  public void testMetricsListener() throws Exception
+  {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+
+      CountingMetricsListener metrics = new CountingMetricsListener();
+      Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(MemFileChannel.newChannel())
+        .setMetricsListener(metrics)
+        .create();
+      assertSame(metrics, db.getMetricsListener());
+
+      Table t = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+        .addColumn(new ColumnBuilder("name", DataType.TEXT))
+        .addColumn(new ColumnBuilder("memo", DataType.MEMO))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .addIndex(new IndexBuilder("NameIdx").addColumns("name"))
+        .toTable(db);
+
+      // creating the table also adds rows to the system tables
+      int rowsInserted = metrics._rowsInserted;
+      String longMemo = createNonAsciiString(5000);
+      for(int i = 0; i < 500; ++i) {
+        t.addRow(null, createString(100) + i,
+                 (((i % 100) == 0) ? longMemo : null));
+      }
+      assertEquals(500, metrics._rowsInserted - rowsInserted);
+      assertTrue(metrics._pagesWritten > 0);
+      assertTrue(metrics._pagesAllocated > 0);
+      assertTrue(metrics._indexPageSplits > 0);
+
+      int rowsRead = metrics._rowsRead;
+      int numRows = 0;
+      int numLongValues = 0;
+      for(Row row : t) {
+        ++numRows;
+        if(row.get("memo") != null) {
+          assertEquals(longMemo, row.get("memo"));
+          ++numLongValues;
+        }
+      }
+      assertEquals(500, numRows);
+      assertEquals(500, metrics._rowsRead - rowsRead);
+      assertEquals(5, numLongValues);
+      assertTrue(metrics._longValuePagesRead >= numLongValues);
+
+      // rows read a value at a time are counted once per row
+      rowsRead = metrics._rowsRead;
+      Cursor rc = CursorBuilder.createCursor(t);
+      RowView rowView = rc.getCurrentRowView();
+      while(rc.moveToNextRow()) {
+        assertTrue(rowView.getInt("id") > 0);
+        assertNotNull(rowView.getString("name"));
+        rc.getCurrentRowValue(t.getColumn("memo"));
+      }
+      assertEquals(500, metrics._rowsRead - rowsRead);
+
+      Cursor c = CursorBuilder.createCursor(t.getIndex("NameIdx"));
+      c.moveToNextRow();
+      c.updateCurrentRow(Column.KEEP_VALUE, "updated", Column.KEEP_VALUE);
+      c.moveToNextRow();
+      c.deleteCurrentRow();
+      assertEquals(1, metrics._rowsUpdated);
+      assertEquals(1, metrics._rowsDeleted);
+      assertTrue(metrics._indexPageHits > 0);
+
+      // metrics can be disabled
+      db.setMetricsListener(null);
+      assertSame(SimpleMetricsListener.INSTANCE, db.getMetricsListener());
+      rowsRead = metrics._rowsRead;
+      for(Row row : t) {
+        assertNotNull(row);
+      }
+      assertEquals(rowsRead, metrics._rowsRead);
+
+      db.close();
+    }
+  }
+
+  public void testConcurrentReads() throws Exception
+  {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+
+      // use a small index page cache so that index pages are purged while
+      // being read by other threads
+      final Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(MemFileChannel.newChannel())
+        .setConcurrentReads(true)
+        .setIndexPageCacheSize(16 * 1024)
+        .create();
+      assertTrue(db.isConcurrentReads());
+
+      final int numRows = 2000;
+      Table t = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+        .addColumn(new ColumnBuilder("name", DataType.TEXT))
+        .addColumn(new ColumnBuilder("value", DataType.LONG))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .addIndex(new IndexBuilder("NameIdx").addColumns("name"))
+        .toTable(db);
+      for(int i = 0; i < numRows; ++i) {
+        t.addRow(null, "name" + i, i);
+      }
+
+      final Table other = new TableBuilder("Other")
+        .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .toTable(db);
+
+      ExecutorService exec = Executors.newFixedThreadPool(7);
+      try {
+        List<Future<?>> results = new ArrayList<Future<?>>();
+        for(int i = 0; i < 4; ++i) {
+          final int seed = i;
+          results.add(exec.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+              Table t = db.getTable("Test");
+              IndexCursor pkCursor = CursorBuilder.createCursor(
+                  t.getPrimaryKeyIndex());
+              IndexCursor nameCursor = CursorBuilder.createCursor(
+                  t.getIndex("NameIdx"));
+              for(int j = 0; j < 5; ++j) {
+                int count = 0;
+                for(Row row : CursorBuilder.createCursor(t)) {
+                  assertEquals("name" + row.getInt("value"),
+                               row.getString("name"));
+                  ++count;
+                }
+                assertEquals(numRows, count);
+
+                for(int k = seed; k < numRows; k += 37) {
+                  Row row = pkCursor.findRowByEntry(k + 1);
+                  assertEquals(k, (int)row.getInt("value"));
+                  row = nameCursor.findRowByEntry("name" + k);
+                  assertEquals(k, (int)row.getInt("value"));
+                }
+              }
+              return null;
+            }
+          }));
+        }
+        results.add(exec.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for(int i = 0; i < 500; ++i) {
+              other.addRow(null, createString(100) + i);
+            }
+            return null;
+          }
+        }));
+        // the table names may be read while new tables are being added
+        results.add(exec.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for(int i = 0; i < 20; ++i) {
+              new TableBuilder("New" + i)
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .toTable(db);
+            }
+            return null;
+          }
+        }));
+        results.add(exec.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for(int i = 0; i < 200; ++i) {
+              assertTrue(db.getSystemTableNames().size() > 0);
+              assertTrue(db.getTableNames().contains("Test"));
+            }
+            return null;
+          }
+        }));
+
+        for(Future<?> result : results) {
+          result.get();
+        }
+      } finally {
+        exec.shutdown();
+      }
+
+      assertEquals(500, other.getRowCount());
+      assertEquals(500, CursorBuilder.createCursor(other).moveNextRows(1000));
+      assertEquals(22, db.getTableNames().size());
+
+      db.close();
+    }
+  }
+
+  public void testCompact() throws Exception
+  {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+
+      Database db = createFile(fileFormat);
+      Table parent = new TableBuilder("Parent")
+        .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+        .addColumn(new ColumnBuilder("name", DataType.TEXT)
+                   .putProperty(PropertyMap.CAPTION_PROP, "The Name"))
+        .addColumn(new ColumnBuilder("notes", DataType.MEMO))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .addIndex(new IndexBuilder("NameIdx").addColumns(false, "name")
+                  .setUnique())
+        .putProperty(PropertyMap.DESCRIPTION_PROP, "parent table")
+        .toTable(db);
+      Table child = new TableBuilder("Child")
+        .addColumn(new ColumnBuilder("id", DataType.LONG).setAutoNumber(true))
+        .addColumn(new ColumnBuilder("parentId", DataType.LONG))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .toTable(db);
+      new RelationshipBuilder("Parent", "Child")
+        .addColumns("id", "parentId")
+        .setReferentialIntegrity()
+        .setCascadeDeletes()
+        .toRelationship(db);
+      db.createLinkedTable("Linked", "linkee.mdb", "Table1");
+      db.getSummaryProperties().put(PropertyMap.TITLE_PROP, "compacted");
+      db.getSummaryProperties().save();
+
+      for(int i = 0; i < 1000; ++i) {
+        parent.addRow(null, "name" + i,
+                      (((i % 10) == 0) ? createString(3000) : "note " + i));
+        child.addRow(null, i + 1, "data" + i);
+        child.addRow(null, i + 1, "data" + i);
+      }
+      // delete most parent rows (cascading to the child rows)
+      Cursor cursor = CursorBuilder.createCursor(parent);
+      for(Row row : cursor) {
+        if((row.getInt("id") % 3) != 0) {
+          cursor.deleteCurrentRow();
+        }
+      }
+      assertEquals(333, parent.getRowCount());
+      assertEquals(666, child.getRowCount());
+
+      File compactFile = createTempFile(false);
+      db.compact(compactFile);
+      db.flush();
+
+      try {
+        db.compact(db.getFile());
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+
+      Database compactDb = new DatabaseBuilder(compactFile).open();
+      assertEquals(fileFormat, compactDb.getFileFormat());
+      assertTrue(compactFile.length() < db.getFile().length());
+
+      Table newParent = compactDb.getTable("Parent");
+      Table newChild = compactDb.getTable("Child");
+      assertEquals(RowFilterTest.toList(CursorBuilder.createCursor(parent)),
+                   RowFilterTest.toList(CursorBuilder.createCursor(newParent)));
+      assertEquals(RowFilterTest.toList(CursorBuilder.createCursor(child)),
+                   RowFilterTest.toList(CursorBuilder.createCursor(newChild)));
+
+      assertEquals("The Name", newParent.getColumn("name").getProperties()
+                   .getValue(PropertyMap.CAPTION_PROP));
+      assertEquals("parent table", newParent.getProperties()
+                   .getValue(PropertyMap.DESCRIPTION_PROP));
+      assertEquals("compacted", compactDb.getSummaryProperties()
+                   .getValue(PropertyMap.TITLE_PROP));
+
+      Index nameIdx = newParent.getIndex("NameIdx");
+      assertTrue(nameIdx.isUnique());
+      assertFalse(nameIdx.getColumns().get(0).isAscending());
+      Row row = CursorBuilder.findRowByPrimaryKey(newParent, 999);
+      assertEquals("name998", row.getString("name"));
+      assertNotNull(CursorBuilder.findRowByEntry(
+                        newChild.getForeignKeyIndex(newParent), 999));
+
+      List<Relationship> rels = compactDb.getRelationships(newParent, newChild);
+      assertEquals(1, rels.size());
+      Relationship rel = rels.get(0);
+      assertTrue(rel.hasReferentialIntegrity());
+      assertTrue(rel.cascadeDeletes());
+      assertFalse(rel.cascadeUpdates());
+
+      TableMetaData linked = compactDb.getTableMetaData("Linked");
+      assertTrue(linked.isLinked());
+      assertEquals("linkee.mdb", linked.getLinkedDbName());
+      assertEquals("Table1", linked.getLinkedTableName());
+
+      // as with Access, the autonumber continues after the last existing row
+      assertEquals(1000, newParent.addRow(null, "new", null)[0]);
+
+      compactDb.close();
+      db.close();
+    }
+
+    for (final TestDB testDB : TestDB.getSupportedForBasename(Basename.QUERY)) {
+      Database db = open(testDB);
+      File compactFile = createTempFile(false);
+      db.compact(compactFile);
+      Database compactDb = new DatabaseBuilder(compactFile).open();
+
+      Map<String,String> queries = new LinkedHashMap<String,String>();
+      for(Query query : db.getQueries()) {
+        queries.put(query.getName(), query.toSQLString());
+      }
+      Map<String,String> newQueries = new LinkedHashMap<String,String>();
+      for(Query query : compactDb.getQueries()) {
+        newQueries.put(query.getName(), query.toSQLString());
+      }
+      assertFalse(queries.isEmpty());
+      assertEquals(queries, newQueries);
+      assertEquals(db.getTableNames(), compactDb.getTableNames());
+
+      compactDb.close();
+      db.close();
+    }
+
+    for (final TestDB testDB : TestDB.getSupportedForBasename(
+             Basename.COMPLEX)) {
+      Database db = open(testDB);
+      File compactFile = createTempFile(false);
+      db.compact(compactFile);
+      Database compactDb = new DatabaseBuilder(compactFile).open();
+
+      int numComplexCols = 0;
+      for(Table table : db) {
+        Table newTable = compactDb.getTable(table.getName());
+        for(Column col : table.getColumns()) {
+          if(col.getType() != DataType.COMPLEX_TYPE) {
+            continue;
+          }
+          ++numComplexCols;
+
+          // the complex values are kept as foreign keys into a copy of the
+          // table of values
+          assertEquals(DataType.LONG,
+                       newTable.getColumn(col.getName()).getType());
+          List<Integer> fks = new ArrayList<Integer>();
+          for(Row row : table) {
+            fks.add(((Number)row.get(col.getName())).intValue());
+          }
+          List<Integer> newFks = new ArrayList<Integer>();
+          for(Row row : newTable) {
+            newFks.add(row.getInt(col.getName()));
+          }
+          assertEquals(fks, newFks);
+
+          Table flatTable = ((ComplexColumnInfoImpl<?>)col.getComplexInfo())
+            .getFlatTable();
+          Table newFlatTable = compactDb.getTable(flatTable.getName());
+          assertEquals(flatTable.getRowCount(), newFlatTable.getRowCount());
+          Iterator<Row> newRows = newFlatTable.iterator();
+          for(Row row : flatTable) {
+            Row newRow = newRows.next();
+            for(Column flatCol : flatTable.getColumns()) {
+              Object value = row.get(flatCol.getName());
+              Object newValue = newRow.get(flatCol.getName());
+              if(value instanceof byte[]) {
+                assertTrue(Arrays.equals((byte[])value, (byte[])newValue));
+              } else {
+                assertEquals(value, newValue);
+              }
+            }
+          }
+        }
+      }
+      assertTrue(numComplexCols > 0);
+
+      compactDb.close();
+      db.close();
+    }
+  }
+
+  private static final class CountingMetricsListener
+    extends SimpleMetricsListener
+  {
+    private int _pagesWritten;
+    private int _pagesAllocated;
+    private int _indexPageHits;
+    private int _indexPageSplits;
+    private int _rowsRead;
+    private int _rowsInserted;
+    private int _rowsUpdated;
+    private int _rowsDeleted;
+    private int _longValuePagesRead;
+
+    @Override
+    public void pagesWritten(int pageNumber, int numPages, long nanos) {
+      _pagesWritten += numPages;
+    }
+
+    @Override
+    public void pageAllocated(int pageNumber, long nanos) {
+      ++_pagesAllocated;
+    }
+
+    @Override
+    public void indexPageAccessed(Table table, boolean hit) {
+      if(hit) {
+        ++_indexPageHits;
+      }
+    }
+
+    @Override
+    public void indexPageSplit(Table table) {
+      ++_indexPageSplits;
+    }
+
+    @Override
+    public void rowRead(Table table) {
+      ++_rowsRead;
+    }
+
+    @Override
+    public void rowInserted(Table table) {
+      ++_rowsInserted;
+    }
+
+    @Override
+    public void rowUpdated(Table table) {
+      ++_rowsUpdated;
+    }
+
+    @Override
+    public void rowDeleted(Table table) {
+      ++_rowsDeleted;
+    }
+
+    @Override
+    public void longValuePageRead(Column column, int pageNumber) {
+      ++_longValuePagesRead;
+    }
+  }
+
   private static void checkRawValue(String expected, Object val)
   {
     if(expected != null) {
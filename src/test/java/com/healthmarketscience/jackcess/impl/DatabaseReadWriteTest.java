@@ -16,12 +16,15 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import com.healthmarketscience.jackcess.Column;
 import com.healthmarketscience.jackcess.ColumnBuilder;
@@ -29,12 +32,14 @@ import com.healthmarketscience.jackcess.Cursor;
 import com.healthmarketscience.jackcess.CursorBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
 import static com.healthmarketscience.jackcess.Database.*;
 import com.healthmarketscience.jackcess.Row;
 import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.TableBuilder;
 import static com.healthmarketscience.jackcess.TestUtil.*;
 import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
+import com.healthmarketscience.jackcess.util.MemFileChannel;
 import com.healthmarketscience.jackcess.util.RowFilterTest;
 import junit.framework.TestCase;
 
@@ -92,6 +97,146 @@ public class DatabaseReadWriteTest extends TestCase
       }
   }
 
+  public void testWriteAndReadWithPageCache() throws Exception {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+      Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(MemFileChannel.newChannel())
+        .setPageCacheSize(64 * 1024)
+        .create();
+      PageCache cache = ((DatabaseImpl)db).getPageChannel().getPageCache();
+      assertNotNull(cache);
+
+      doTestWriteAndRead(db);
+
+      // re-read everything to make sure writes were reflected in the cache
+      Table table = db.getTable("Test");
+      table.reset();
+      assertEquals(1000, RowFilterTest.toList(table).size());
+      for(Row row : table) {
+        row.put("A", "Bob");
+        table.updateRow(row);
+      }
+      table.reset();
+      for(Row row : table) {
+        assertEquals("Bob", row.get("A"));
+      }
+
+      assertTrue(cache.getHitCount() > 0);
+      assertTrue(cache.getCurrentBytes() <= cache.getMaxBytes());
+
+      db.close();
+    }
+  }
+
+  public void testReadAhead() throws Exception {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+      Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(MemFileChannel.newChannel())
+        .setReadAheadPages(8)
+        .create();
+      PageChannel pageChannel = ((DatabaseImpl)db).getPageChannel();
+      PageCache readAheadCache = pageChannel.getReadAheadCache();
+      assertNotNull(readAheadCache);
+
+      doTestWriteAndRead(db);
+
+      // update rows while scanning, pages read ahead must not be stale
+      Table table = db.getTable("Test");
+      Cursor cursor = CursorBuilder.createCursor(table);
+      for(Row row : cursor) {
+        row.put("A", "Bob");
+        cursor.updateCurrentRowFromMap(row);
+      }
+      cursor.reset();
+      int numRows = 0;
+      for(Row row : cursor) {
+        assertEquals("Bob", row.get("A"));
+        ++numRows;
+      }
+      assertEquals(1000, numRows);
+
+      // pages with buffered modifications are read as usual
+      pageChannel.startWrite();
+      try {
+        Object[] row = createTestRow();
+        for (int i = 0; i < 100; i++) {
+          table.addRow(row);
+        }
+        cursor.reset();
+        assertEquals(1100, RowFilterTest.toList(cursor).size());
+      } finally {
+        pageChannel.finishWrite();
+      }
+
+      assertTrue(readAheadCache.getHitCount() > 0);
+      assertTrue(readAheadCache.getCurrentBytes() <=
+                 readAheadCache.getMaxBytes());
+
+      pageChannel.setReadAheadPages(1);
+      assertEquals(0, pageChannel.getReadAheadPages());
+      assertNull(pageChannel.getReadAheadCache());
+      cursor.reset();
+      assertEquals(1100, RowFilterTest.toList(cursor).size());
+
+      db.close();
+    }
+  }
+
+  public void testWriteBehind() throws Exception {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+      MemFileChannel channel = MemFileChannel.newChannel();
+      Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(channel)
+        .create();
+      createTestTable(db);
+      TableImpl table = (TableImpl)db.getTable("Test");
+      PageChannel pageChannel = ((DatabaseImpl)db).getPageChannel();
+      JetFormat format = pageChannel.getFormat();
+      ByteBuffer tdefPage = pageChannel.createPageBuffer();
+      long tdefOffset = (long)table.getTableDefPageNumber() * format.PAGE_SIZE;
+
+      pageChannel.startWrite();
+      try {
+        Object[] row = createTestRow();
+        for (int i = 0; i < 100; i++) {
+          table.addRow(row);
+        }
+
+        // the modified pages are buffered, but are visible to readers
+        table.reset();
+        assertEquals(100, RowFilterTest.toList(table).size());
+        tdefPage.clear();
+        channel.read(tdefPage, tdefOffset);
+        assertEquals(0, tdefPage.getInt(format.OFFSET_NUM_ROWS));
+
+      } finally {
+        pageChannel.finishWrite();
+      }
+
+      // buffered pages are written when the outermost write completes
+      tdefPage.clear();
+      channel.read(tdefPage, tdefOffset);
+      assertEquals(100, tdefPage.getInt(format.OFFSET_NUM_ROWS));
+
+      db.close();
+    }
+  }
+
   public void testWriteAndReadInBatch() throws Exception {
     for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
       Database db = createMem(fileFormat);
@@ -234,6 +379,110 @@ public class DatabaseReadWriteTest extends TestCase
     }
   }
 
+  public void testFreeSpaceReuse() throws Exception
+  {
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = createMem(fileFormat);
+
+      TableImpl t = (TableImpl)new TableBuilder("test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG)
+                   .setAutoNumber(true))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT)
+                   .setLength(JetFormat.TEXT_FIELD_MAX_LENGTH))
+        .setPrimaryKey("id")
+        .toTable(db);
+
+      Map<Integer,String> expected = new TreeMap<Integer,String>();
+      String str = createString(100);
+      for(int i = 0; i < 500; ++i) {
+        String data = "data " + i + "_" + str;
+        Object[] row = t.addRow(Column.AUTO_NUMBER, data);
+        expected.put((Integer)row[0], data);
+      }
+      int initPageCount = t.getApproximateOwnedPageCount();
+
+      // use the table as a queue, deleting the oldest rows and adding new
+      // rows (some of which grow into overflow rows)
+      for(int i = 0; i < 60; ++i) {
+        Cursor c = CursorBuilder.createCursor(t.getPrimaryKeyIndex());
+        for(int j = 0; j < 200; ++j) {
+          assertTrue(c.moveToNextRow());
+          Integer id = (Integer)c.getCurrentRowValue(t.getColumn("id"));
+          assertNotNull(expected.remove(id));
+          c.deleteCurrentRow();
+        }
+
+        for(int j = 0; j < 200; ++j) {
+          String data = "data " + i + "_" + j + "_" + str;
+          Object[] row = t.addRow(Column.AUTO_NUMBER, data);
+          expected.put((Integer)row[0], data);
+        }
+
+        // grow some of the remaining rows (some repeatedly)
+        int j = 0;
+        for(Map.Entry<Integer,String> e : expected.entrySet()) {
+          if((j++ % 50) != 0) {
+            continue;
+          }
+          String data = e.getValue() + "_" + i;
+          Row row = CursorBuilder.findRowByPrimaryKey(t, e.getKey());
+          row.put("data", data);
+          t.updateRow(row);
+          e.setValue(data);
+        }
+      }
+
+      // the table stops growing once the churn has settled
+      assertTrue(t.getApproximateOwnedPageCount() <= (initPageCount + 3));
+
+      assertEquals(500, t.getRowCount());
+      Map<Integer,String> found = new TreeMap<Integer,String>();
+      for(Row row : t) {
+        found.put(row.getInt("id"), row.getString("data"));
+      }
+      assertEquals(expected, found);
+
+      for(Map.Entry<Integer,String> e : expected.entrySet()) {
+        Row row = CursorBuilder.findRowByPrimaryKey(t, e.getKey());
+        assertEquals(e.getValue(), row.get("data"));
+      }
+
+      // small rows use up the row slots of a page before its space, so the
+      // slots of deleted rows must be re-used
+      Table queue = new TableBuilder("queue")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .toTable(db);
+      for(int i = 0; i < 1000; ++i) {
+        queue.addRow(i);
+      }
+      initPageCount = ((TableImpl)queue).getApproximateOwnedPageCount();
+      int nextId = 1000;
+      for(int i = 0; i < 50; ++i) {
+        Cursor c = CursorBuilder.createCursor(queue);
+        for(int j = 0; j < 1000; ++j) {
+          assertTrue(c.moveToNextRow());
+          c.deleteCurrentRow();
+        }
+        for(int j = 0; j < 1000; ++j) {
+          queue.addRow(nextId++);
+        }
+      }
+      assertEquals(1000, queue.getRowCount());
+      // (the new rows fill the re-used slots, so they are not in table order)
+      List<Integer> ids = new ArrayList<Integer>();
+      for(Row row : CursorBuilder.createCursor(queue)) {
+        ids.add(row.getInt("id"));
+      }
+      Collections.sort(ids);
+      assertEquals(nextId - 1000, (int)ids.get(0));
+      assertEquals(nextId - 1, (int)ids.get(999));
+      assertTrue(((TableImpl)queue).getApproximateOwnedPageCount() <=
+                 (initPageCount + 2));
+
+      db.close();
+    }
+  }
+
   public void testDateMath()
   {
     long now = System.currentTimeMillis();
@@ -16,7 +16,9 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -153,6 +155,183 @@ public class IndexCodesTest extends TestCase {
          entryToString(startPos));
   }
 
+  public void testSimpleAsciiCodes() throws Exception
+  {
+    for(GeneralLegacyIndexCodes codes : Arrays.asList(
+            GeneralLegacyIndexCodes.GEN_LEG_INSTANCE,
+            GeneralIndexCodes.GEN_INSTANCE,
+            General97IndexCodes.GEN_97_INSTANCE)) {
+
+      ByteUtil.ByteStream expected = new ByteUtil.ByteStream();
+      StringBuilder str = new StringBuilder();
+      for(char c = 0; c <= GeneralLegacyIndexCodes.LAST_ASCII_CHAR; ++c) {
+        GeneralLegacyIndexCodes.CharHandler ch = codes.getCharHandler(c);
+        if(ch.getType() == GeneralLegacyIndexCodes.Type.SIMPLE) {
+          expected.write(ch.getInlineBytes());
+          str.append(c);
+        }
+      }
+      assertTrue(str.length() > 0);
+
+      ByteUtil.ByteStream bout = new ByteUtil.ByteStream();
+      bout.write(0x42);
+      assertTrue(codes.writeSimpleAsciiCodes(str, str.length(), bout));
+      assertEquals(expected.getLength() + 1, bout.getLength());
+      assertTrue(Arrays.equals(
+                     expected.toByteArray(),
+                     Arrays.copyOfRange(bout.getBytes(), 1, bout.getLength())));
+
+      // non-simple chars are not handled
+      bout.reset();
+      str.append('\u00e9');
+      assertFalse(codes.writeSimpleAsciiCodes(str, str.length(), bout));
+      assertEquals(0, bout.getLength());
+    }
+  }
+
+  public void testCodesReader() throws Exception
+  {
+    String[] codesFiles = {"index_codes_genleg.txt",
+                           "index_codes_ext_genleg.txt",
+                           "index_codes_gen.txt",
+                           "index_codes_ext_gen.txt",
+                           "index_codes_gen_97.txt"};
+    for(String codesFile : codesFiles) {
+      String codesFilePath = DatabaseImpl.RESOURCE_PATH + codesFile;
+      char firstChar = (codesFile.contains("_ext_") ?
+                        GeneralLegacyIndexCodes.FIRST_EXT_CHAR :
+                        GeneralLegacyIndexCodes.FIRST_CHAR);
+      char lastChar = (codesFile.contains("_ext_") ?
+                       GeneralLegacyIndexCodes.LAST_EXT_CHAR :
+                       GeneralLegacyIndexCodes.LAST_CHAR);
+
+      GeneralLegacyIndexCodes.CharHandler[] handlers =
+        GeneralLegacyIndexCodes.loadCodes(codesFilePath, firstChar, lastChar);
+      assertEquals((lastChar - firstChar) + 1, handlers.length);
+
+      BufferedReader reader = openCodesFile(codesFilePath);
+      try {
+        for(int i = firstChar; i <= lastChar; ++i) {
+          GeneralLegacyIndexCodes.CharHandler ch = handlers[i - firstChar];
+          if(Character.isSurrogate((char)i)) {
+            assertSame(GeneralLegacyIndexCodes.SURROGATE_CHAR_HANDLER, ch);
+            continue;
+          }
+          checkCharHandler(codesFile + ":" + i, reader.readLine(), ch);
+        }
+      } finally {
+        reader.close();
+      }
+    }
+
+    String mappingsFilePath = DatabaseImpl.RESOURCE_PATH +
+      "index_mappings_ext_gen_97.txt";
+    char firstMapChar = 338;
+    short[] mappings = General97IndexCodes.loadMappings(
+        mappingsFilePath, firstMapChar, (char)8482);
+    short[] expectedMappings = new short[mappings.length];
+    BufferedReader reader = openCodesFile(mappingsFilePath);
+    try {
+      String mappingLine = null;
+      while((mappingLine = reader.readLine()) != null) {
+        mappingLine = mappingLine.trim();
+        if(mappingLine.length() == 0) {
+          continue;
+        }
+        String[] codes = mappingLine.split(",");
+        expectedMappings[Integer.parseInt(codes[0]) - firstMapChar] =
+          (short)Integer.parseInt(codes[1]);
+      }
+    } finally {
+      reader.close();
+    }
+    assertTrue(Arrays.equals(expectedMappings, mappings));
+  }
+
+  private static BufferedReader openCodesFile(String codesFilePath)
+    throws Exception
+  {
+    return new BufferedReader(
+        new InputStreamReader(
+            DatabaseImpl.getResourceAsStream(codesFilePath), "US-ASCII"));
+  }
+
+  /**
+   * Checks the given CharHandler against the given codes line, parsed the
+   * way the codes files were originally parsed (String.split and
+   * Integer.parseInt).
+   */
+  private static void checkCharHandler(
+      String msg, String codeLine, GeneralLegacyIndexCodes.CharHandler ch)
+  {
+    String prefix = codeLine.substring(0, 1);
+    String[] codes = codeLine.substring(1).split(",", -1);
+    assertEquals(msg, prefix, ch.getType().getPrefixCode());
+
+    byte[] inlineBytes = null;
+    byte[] extraBytes = null;
+    byte[] unprintableBytes = null;
+    byte extraByteModifier = 0;
+    byte crazyFlag = 0;
+    switch(ch.getType()) {
+    case SIMPLE:
+    case SIGNIFICANT:
+      assertEquals(msg, 1, codes.length);
+      inlineBytes = codesToBytes(codes[0]);
+      break;
+    case INTERNATIONAL:
+      assertEquals(msg, 2, codes.length);
+      inlineBytes = codesToBytes(codes[0]);
+      extraBytes = codesToBytes(codes[1]);
+      break;
+    case UNPRINTABLE:
+      assertEquals(msg, 1, codes.length);
+      unprintableBytes = codesToBytes(codes[0]);
+      break;
+    case UNPRINTABLE_EXT:
+      assertEquals(msg, 1, codes.length);
+      extraByteModifier = codesToBytes(codes[0])[0];
+      break;
+    case INTERNATIONAL_EXT:
+      assertEquals(msg, 3, codes.length);
+      inlineBytes = codesToBytes(codes[0]);
+      extraBytes = codesToBytes(codes[1]);
+      crazyFlag = ("1".equals(codes[2]) ?
+                   GeneralLegacyIndexCodes.CRAZY_CODE_1 :
+                   GeneralLegacyIndexCodes.CRAZY_CODE_2);
+      break;
+    case IGNORED:
+      break;
+    default:
+      fail(msg + ": unknown type " + ch.getType());
+    }
+
+    assertTrue(msg, Arrays.equals(inlineBytes, ch.getInlineBytes()));
+    assertTrue(msg, Arrays.equals(extraBytes, ch.getExtraBytes()));
+    assertTrue(msg, Arrays.equals(unprintableBytes,
+                                  ch.getUnprintableBytes()));
+    assertEquals(msg, extraByteModifier, ch.getExtraByteModifier());
+    assertEquals(msg, crazyFlag, ch.getCrazyFlag());
+  }
+
+  private static byte[] codesToBytes(String codes)
+  {
+    if(codes.length() == 0) {
+      return null;
+    }
+    if((codes.length() % 2) != 0) {
+      // stripped a leading 0
+      codes = "0" + codes;
+    }
+    byte[] bytes = new byte[codes.length() / 2];
+    for(int i = 0; i < bytes.length; ++i) {
+      int charIdx = i*2;
+      bytes[i] = (byte)(Integer.parseInt(codes.substring(charIdx, charIdx + 2),
+                                         16));
+    }
+    return bytes;
+  }
+
 
   //////
   //
@@ -16,7 +16,12 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.ByteBuffer;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -24,12 +29,16 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
 import static com.healthmarketscience.jackcess.Database.*;
 import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.RowView;
 import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.TableBuilder;
 import static com.healthmarketscience.jackcess.TestUtil.*;
@@ -118,6 +127,110 @@ public class LongValueTest extends TestCase
     }    
   }
 
+  public void testStreamLongValue() throws Exception {
+
+    Random rand = new Random(42L);
+    byte[] bigBytes = new byte[100000];
+    rand.nextBytes(bigBytes);
+    StringBuilder sb = new StringBuilder();
+    for(int i = 0; i < 30000; ++i) {
+      sb.append((char)((i % 7 == 0) ? ('\u0400' + (i % 64)) :
+                       ('a' + (i % 26))));
+    }
+    String bigStr = sb.toString();
+    byte[] smallBytes = new byte[]{1, 2, 3, 4};
+    String smallStr = "small text";
+
+    for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+
+      Table table = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("memo", DataType.MEMO))
+        .addColumn(new ColumnBuilder("ole", DataType.OLE))
+        .toTable(db);
+
+      String jet3Str = ((fileFormat == FileFormat.V1997) ?
+                        bigStr.replaceAll("[^a-z]", "x") : bigStr);
+
+      // values written from streams
+      table.addRow(1, new StringReader(jet3Str),
+                   new ByteArrayInputStream(bigBytes));
+      table.addRow(2, new StringReader(smallStr),
+                   new ByteArrayInputStream(smallBytes));
+      table.addRow(3, null, null);
+      // values written normally
+      table.addRow(4, jet3Str, bigBytes);
+
+      Cursor cursor = CursorBuilder.createCursor(table);
+      RowView rowView = cursor.getCurrentRowView();
+      while(cursor.moveToNextRow()) {
+        Row row = cursor.getCurrentRow();
+        int id = row.getInt("id");
+        String expectedStr = ((id == 2) ? smallStr :
+                              ((id == 3) ? null : jet3Str));
+        byte[] expectedBytes = ((id == 2) ? smallBytes :
+                                ((id == 3) ? null : bigBytes));
+
+        assertEquals(expectedStr, row.getString("memo"));
+        assertTrue(Arrays.equals(expectedBytes, row.getBytes("ole")));
+
+        assertEquals(expectedStr, readAll(rowView.getCharacterStream("memo")));
+        assertTrue(Arrays.equals(expectedBytes,
+                                 readAll(rowView.getBinaryStream("ole"))));
+      }
+
+      cursor.reset();
+      assertTrue(cursor.moveToNextRow());
+      InputStream in = rowView.getBinaryStream("ole");
+      assertEquals(50000L, in.skip(50000L));
+      byte[] rest = readAll(in);
+      assertTrue(Arrays.equals(Arrays.copyOfRange(bigBytes, 50000,
+                                                  bigBytes.length), rest));
+
+      try {
+        rowView.getCharacterStream("ole");
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+      try {
+        rowView.getBinaryStream("id");
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+
+      db.close();
+    }
+  }
+
+  private static byte[] readAll(InputStream in) throws Exception {
+    if(in == null) {
+      return null;
+    }
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    byte[] buf = new byte[1000];
+    int numRead = 0;
+    while((numRead = in.read(buf)) >= 0) {
+      bout.write(buf, 0, numRead);
+    }
+    return bout.toByteArray();
+  }
+
+  private static String readAll(Reader in) throws Exception {
+    if(in == null) {
+      return null;
+    }
+    StringBuilder sb = new StringBuilder();
+    char[] buf = new char[1000];
+    int numRead = 0;
+    while((numRead = in.read(buf)) >= 0) {
+      sb.append(buf, 0, numRead);
+    }
+    return sb.toString();
+  }
+
   public void testManyMemos() throws Exception {
     for (final FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
       Database db = createMem(fileFormat);
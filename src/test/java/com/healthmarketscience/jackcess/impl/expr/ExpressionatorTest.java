@@ -30,6 +30,7 @@ import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.TestUtil;
 import com.healthmarketscience.jackcess.expr.EvalContext;
 import com.healthmarketscience.jackcess.expr.Expression;
+import com.healthmarketscience.jackcess.expr.Function;
 import com.healthmarketscience.jackcess.expr.FunctionLookup;
 import com.healthmarketscience.jackcess.expr.Identifier;
 import com.healthmarketscience.jackcess.expr.NumericConfig;
@@ -490,6 +491,63 @@ public class ExpressionatorTest extends TestCase
     doTestEvalFail("=(3 + 5) Rnd()", "multiple expressions");
   }
 
+  public void testConstantFolding() throws Exception
+  {
+    final int[] numCalls = new int[1];
+    final Function countFunc = new FunctionSupport.Func1("CountIt") {
+      @Override
+      protected Value eval1(EvalContext ctx, Value param) {
+        ++numCalls[0];
+        return param;
+      }
+    };
+    final Value[] curVal = new Value[1];
+
+    TestContext tc = new TestContext() {
+      @Override
+      public FunctionLookup getFunctionLookup() {
+        return new FunctionLookup() {
+          @Override
+          public Function getFunction(String name) {
+            if("CountIt".equalsIgnoreCase(name)) {
+              return countFunc;
+            }
+            return DefaultFunctions.LOOKUP.getFunction(name);
+          }
+        };
+      }
+
+      @Override
+      public Value getIdentifierValue(Identifier identifier) {
+        return curVal[0];
+      }
+    };
+
+    String exprStr = "[x] * CountIt(2 + 3) + CountIt([x]) + (CountIt(1) * 2)";
+    Expression expr = Expressionator.parse(
+        Expressionator.Type.DEFAULT_VALUE, exprStr, null, tc);
+    assertFalse(expr.isConstant());
+
+    for(int i = 1; i <= 3; ++i) {
+      curVal[0] = ValueSupport.toValue(i);
+      assertEquals((i * 5) + i + 2, expr.eval(tc));
+    }
+
+    // the constant sub-expressions are only evaluated once
+    assertEquals(5, numCalls[0]);
+
+    // folding does not change the structure of the expression
+    assertEquals("<EBinaryOp>{<EBinaryOp>{<EBinaryOp>{<EObjValue>{[x]} * " +
+                 "<EFunc>{CountIt(<EBinaryOp>{<ELiteralValue>{2} + " +
+                 "<ELiteralValue>{3}})}} + " +
+                 "<EFunc>{CountIt(<EObjValue>{[x]})}} + " +
+                 "<EParen>{(<EBinaryOp>{" +
+                 "<EFunc>{CountIt(<ELiteralValue>{1})} * " +
+                 "<ELiteralValue>{2}})}}",
+                 expr.toDebugString(tc));
+    assertEquals(exprStr, expr.toCleanString(tc));
+  }
+
   private static void doTestEvalFail(String exprStr, String msgStr) {
     try {
       eval(exprStr);
@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.query;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -23,8 +24,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.healthmarketscience.jackcess.ColumnBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
 import com.healthmarketscience.jackcess.TestUtil;
 import com.healthmarketscience.jackcess.impl.query.QueryImpl;
 import com.healthmarketscience.jackcess.impl.query.QueryImpl.Row;
@@ -33,6 +38,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import static com.healthmarketscience.jackcess.impl.query.QueryFormat.*;
 
+import static com.healthmarketscience.jackcess.TestUtil.*;
 import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
 
 
@@ -561,6 +567,108 @@ public class QueryTest extends TestCase
                  query.toSQLString());
   }
 
+  public void testExecuteSelectQuery() throws Exception
+  {
+    for(final Database.FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+
+      Table customers = new TableBuilder("Customers")
+        .addColumn(new ColumnBuilder("name", DataType.TEXT))
+        .addColumn(new ColumnBuilder("region", DataType.TEXT))
+        .toTable(db);
+      customers.addRow("Alice", "East");
+      customers.addRow("Bob", "West");
+      customers.addRow("Carol", "East");
+
+      Table orders = new TableBuilder("Orders")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("cust", DataType.TEXT))
+        .addColumn(new ColumnBuilder("amount", DataType.DOUBLE))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .toTable(db);
+      orders.addRow(1, "Alice", 10.0d);
+      orders.addRow(2, "bob", 5.0d);
+      orders.addRow(3, "Alice", 20.0d);
+      orders.addRow(4, "Bob", 7.5d);
+      orders.addRow(5, "Alice", 1.0d);
+
+      // grouped inner join with a parameter
+      SelectQuery query = (SelectQuery)newQuery(
+          Query.Type.SELECT,
+          newRow(PARAMETER_ATTRIBUTE, null, DataType.LONG.getValue(),
+                 "[MinId]", null),
+          newRow(TABLE_ATTRIBUTE, null, "Customers", null),
+          newRow(TABLE_ATTRIBUTE, null, "Orders", null),
+          newRow(COLUMN_ATTRIBUTE, "Customers.name", null, null),
+          newRow(COLUMN_ATTRIBUTE, "Sum(Orders.amount)", "total", null),
+          newRow(COLUMN_ATTRIBUTE, "Count(*)", "cnt", null),
+          newRow(JOIN_ATTRIBUTE, "Customers.name = Orders.cust", 1,
+                 "Customers", "Orders"),
+          newRow(WHERE_ATTRIBUTE, "Orders.id >= [MinId]", null, null),
+          newRow(GROUPBY_ATTRIBUTE, "Customers.name", null, null),
+          newRow(ORDERBY_ATTRIBUTE, "Sum(Orders.amount)", "D", null));
+
+      List<com.healthmarketscience.jackcess.Row> rows =
+        new QueryExecutor(db, query).setParameter("minid", 2).execute();
+      assertEquals(Arrays.asList(
+                       createExpectedRow("name", "Alice", "total", 21.0d,
+                                         "cnt", 2),
+                       createExpectedRow("name", "Bob", "total", 12.5d,
+                                         "cnt", 2)),
+                   rows);
+
+      // outer join with star columns and top
+      query = (SelectQuery)newQuery(
+          Query.Type.SELECT,
+          newRow(FLAG_ATTRIBUTE, null, TOP_SELECT_TYPE, "4", null),
+          newRow(TABLE_ATTRIBUTE, null, "Customers", null),
+          newRow(TABLE_ATTRIBUTE, null, "Orders", "O"),
+          newRow(COLUMN_ATTRIBUTE, "Customers.*", null, null),
+          newRow(COLUMN_ATTRIBUTE, "O.amount * 2", null, null),
+          newRow(JOIN_ATTRIBUTE, "Customers.name = O.cust", 2,
+                 "Customers", "O"),
+          newRow(WHERE_ATTRIBUTE, "(Customers.region) = \"East\"", null,
+                 null),
+          newRow(ORDERBY_ATTRIBUTE, "Customers.name", null, null),
+          newRow(ORDERBY_ATTRIBUTE, "O.amount", "D", null));
+
+      rows = new QueryExecutor(db, query).execute();
+      assertEquals(Arrays.asList(
+                       createExpectedRow("name", "Alice", "region", "East",
+                                         "Expr1000", 40.0d),
+                       createExpectedRow("name", "Alice", "region", "East",
+                                         "Expr1000", 20.0d),
+                       createExpectedRow("name", "Alice", "region", "East",
+                                         "Expr1000", 2.0d),
+                       createExpectedRow("name", "Carol", "region", "East",
+                                         "Expr1000", null)),
+                   rows);
+
+      try {
+        new QueryExecutor(db, (SelectQuery)newQuery(
+            Query.Type.SELECT,
+            newRow(TABLE_ATTRIBUTE, null, "Orders", null),
+            newRow(COLUMN_ATTRIBUTE, "Orders.id", null, null),
+            newRow(WHERE_ATTRIBUTE, "Orders.id > [MinId]", null, null)))
+          .execute();
+        fail("IOException should have been thrown");
+      } catch(IOException e) {
+        // success
+      }
+
+      db.close();
+    }
+
+    // the tables of the stored query are empty, but the query should still
+    // be executable
+    for(final TestDB testDB : TestDB.getSupportedForBasename(Basename.QUERY)) {
+      Database db = TestUtil.open(testDB);
+      assertTrue(new QueryExecutor(db, "SelectQuery").execute().isEmpty());
+      db.close();
+    }
+  }
+
   private static void addJoinRows(SelectQuery query, int... joins)
   {
     removeRows(query, JOIN_ATTRIBUTE);
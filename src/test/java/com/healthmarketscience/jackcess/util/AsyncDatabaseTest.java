@@ -0,0 +1,130 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import junit.framework.TestCase;
+import static com.healthmarketscience.jackcess.TestUtil.*;
+import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
+
+/**
+ * @author James Ahlborn
+ */
+public class AsyncDatabaseTest extends TestCase
+{
+  public AsyncDatabaseTest(String name) {
+    super(name);
+  }
+
+  public void testAsyncDatabase() throws Exception
+  {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for(final Database.FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+        Database db = create(fileFormat);
+        Table table = new TableBuilder("Test")
+          .addColumn(new ColumnBuilder("id", DataType.LONG))
+          .addColumn(new ColumnBuilder("data", DataType.TEXT))
+          .toTable(db);
+
+        AsyncDatabase adb = new AsyncDatabase(db, executor);
+
+        // operations are performed in order, even on a multi-threaded
+        // executor
+        List<CompletableFuture<?>> adds = new ArrayList<CompletableFuture<?>>();
+        for(int i = 0; i < 100; ++i) {
+          List<Object[]> rows = new ArrayList<Object[]>();
+          for(int j = 0; j < 10; ++j) {
+            int id = (i * 10) + j;
+            rows.add(new Object[]{id, "row " + id});
+          }
+          adds.add(adb.addRows(table, rows));
+        }
+        adds.add(adb.addRow(table, 1000, "row 1000"));
+        CompletableFuture.allOf(adds.toArray(new CompletableFuture<?>[0]))
+          .get(30, TimeUnit.SECONDS);
+
+        final List<Integer> ids = new ArrayList<Integer>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        AsyncCursor cursor = adb.newCursor("Test").get(30, TimeUnit.SECONDS);
+        long numRows = cursor.forEachBatch(64, rows -> {
+            maxInFlight.set(Math.max(maxInFlight.get(),
+                                     inFlight.incrementAndGet()));
+            // handle the batch "later" on another thread
+            return CompletableFuture.runAsync(() -> {
+                for(Row row : rows) {
+                  ids.add(row.getInt("id"));
+                }
+                inFlight.decrementAndGet();
+              }, executor);
+          }).get(30, TimeUnit.SECONDS);
+
+        assertEquals(1001L, numRows);
+        assertEquals(1, maxInFlight.get());
+        for(int i = 0; i < ids.size(); ++i) {
+          assertEquals(i, (int)ids.get(i));
+        }
+
+        assertTrue(cursor.getNextRows(10).get(30, TimeUnit.SECONDS)
+                   .isEmpty());
+
+        try {
+          adb.newCursor("Missing").get(30, TimeUnit.SECONDS);
+          fail("ExecutionException should have been thrown");
+        } catch(ExecutionException e) {
+          assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+
+        adb.close().get(30, TimeUnit.SECONDS);
+      }
+
+      for(final TestDB testDB : SUPPORTED_DBS_TEST_FOR_READ) {
+        AsyncDatabase adb = AsyncDatabase.open(
+            new DatabaseBuilder(testDB.getFile()).setReadOnly(true))
+          .get(30, TimeUnit.SECONDS);
+        assertNotNull(adb.getTable("Table1").get(30, TimeUnit.SECONDS));
+        adb.close().get(30, TimeUnit.SECONDS);
+
+        // dedicated thread is shutdown after close
+        try {
+          adb.getTable("Table1").get(30, TimeUnit.SECONDS);
+          fail("ExecutionException should have been thrown");
+        } catch(ExecutionException e) {
+          // success
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
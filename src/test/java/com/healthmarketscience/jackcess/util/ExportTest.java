@@ -17,15 +17,21 @@ limitations under the License.
 package com.healthmarketscience.jackcess.util;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 
 import static com.healthmarketscience.jackcess.Database.*;
 import com.healthmarketscience.jackcess.ColumnBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
 import com.healthmarketscience.jackcess.DateTimeType;
 import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.TableBuilder;
@@ -126,4 +132,135 @@ public class ExportTest extends TestCase
     }
   }
 
+  public void testParallelExport() throws Exception
+  {
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+      if(fileFormat == FileFormat.GENERIC_JET4) {
+        // cannot be created directly
+        continue;
+      }
+
+      Database db = new DatabaseBuilder()
+        .setFileFormat(fileFormat)
+        .setChannel(MemFileChannel.newChannel())
+        .setConcurrentReads(true)
+        .create();
+
+      // enough rows to span multiple formatted chunks
+      String[] tableNames = {"t1", "t2", "t3"};
+      for(int i = 0; i < tableNames.length; ++i) {
+        Table t = new TableBuilder(tableNames[i])
+          .addColumn(new ColumnBuilder("id", DataType.LONG))
+          .addColumn(new ColumnBuilder("name", DataType.TEXT))
+          .addColumn(new ColumnBuilder("num", DataType.INT))
+          .addColumn(new ColumnBuilder("amount", DataType.DOUBLE))
+          .addColumn(new ColumnBuilder("flag", DataType.BOOLEAN))
+          .toTable(db);
+        for(int j = 0; j < 3000; ++j) {
+          String name = ((j % 3 == 0) ? "plain " + j :
+                         ((j % 3 == 1) ? "quo\"te,d\n" + j : null));
+          t.addRow(j, name, (short)(j - 1500), j * -0.25d, (j % 2 == 0));
+        }
+      }
+
+      File seqDir = Files.createTempDirectory("export_seq").toFile();
+      File parDir = Files.createTempDirectory("export_par").toFile();
+      try {
+        new ExportUtil.Builder(db)
+          .setHeader(true)
+          .exportAll(seqDir);
+        new ExportUtil.Builder(db)
+          .setHeader(true)
+          .setNumThreads(3)
+          .exportAll(parDir);
+
+        for(String tableName : tableNames) {
+          String expected = readFile(new File(seqDir, tableName + ".csv"));
+          assertEquals(expected,
+                       readFile(new File(parDir, tableName + ".csv")));
+
+          StringWriter out = new StringWriter();
+          new ExportUtil.Builder(db, tableName)
+            .setHeader(true)
+            .setNumThreads(2)
+            .exportWriter(new BufferedWriter(out));
+          assertEquals(expected, out.toString());
+        }
+
+        // a failed write cancels the background reader without closing the
+        // database
+        try {
+          new ExportUtil.Builder(db, tableNames[0])
+            .setNumThreads(2)
+            .exportWriter(new BufferedWriter(new StringWriter() {
+              @Override
+              public void write(char[] cbuf, int off, int len) {
+                throw new IllegalStateException("write failed");
+              }
+            }, 16));
+          fail("IllegalStateException should have been thrown");
+        } catch(IllegalStateException e) {
+          assertEquals("write failed", e.getMessage());
+        }
+        assertEquals(3000, db.getTable(tableNames[1]).getRowCount());
+        assertEquals(3000, countRows(db.getTable(tableNames[1])));
+      } finally {
+        for(File dir : new File[]{seqDir, parDir}) {
+          for(File f : dir.listFiles()) {
+            f.delete();
+          }
+          dir.delete();
+        }
+      }
+
+      db.close();
+    }
+  }
+
+  public void testExportCharset() throws Exception
+  {
+    Database db = create(FileFormat.V2003);
+
+    Table t = new TableBuilder("test")
+      .addColumn(new ColumnBuilder("id", DataType.LONG))
+      .addColumn(new ColumnBuilder("name", DataType.TEXT))
+      .toTable(db);
+    t.addRow(1, "caf\u00e9");
+    t.addRow(2, "\u20ac 5 \u00fcber");
+
+    String expected = "1,caf\u00e9" + NL + "2,\u20ac 5 \u00fcber" + NL;
+
+    File f = File.createTempFile("export_charset", ".csv");
+    try {
+      for(Charset charset : new Charset[]{StandardCharsets.UTF_8,
+                                          StandardCharsets.UTF_16LE}) {
+        new ExportUtil.Builder(db, "test")
+          .setCharset(charset)
+          .exportFile(f);
+        assertEquals(expected, readFile(f, charset));
+        assertTrue(Arrays.equals(expected.getBytes(charset),
+                                 Files.readAllBytes(f.toPath())));
+      }
+
+      // unmappable chars are replaced, not dropped or mangled
+      new ExportUtil.Builder(db, "test")
+        .setCharset(StandardCharsets.ISO_8859_1)
+        .exportFile(f);
+      assertEquals("1,caf\u00e9" + NL + "2,? 5 \u00fcber" + NL,
+                   readFile(f, StandardCharsets.ISO_8859_1));
+    } finally {
+      f.delete();
+    }
+
+    db.close();
+  }
+
+  private static String readFile(File f) throws Exception {
+    return readFile(f, Charset.defaultCharset());
+  }
+
+  private static String readFile(File f, Charset charset) throws Exception {
+    return new String(Files.readAllBytes(f.toPath()), charset);
+  }
+
 }
@@ -0,0 +1,218 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Index;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import junit.framework.TestCase;
+import static com.healthmarketscience.jackcess.TestUtil.*;
+import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
+
+/**
+ * @author James Ahlborn
+ */
+public class FilterBuilderTest extends TestCase
+{
+  private static final String[] STATUSES = {"Open", "Closed", "Pending"};
+  private static final LocalDateTime BASE_DATE =
+    LocalDateTime.of(2020, 1, 1, 0, 0);
+  private static final int NUM_ROWS = 200;
+
+  public FilterBuilderTest(String name) {
+    super(name);
+  }
+
+  public void testFilterBuilder() throws Exception
+  {
+    for(final Database.FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+
+      Table table = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("status", DataType.TEXT))
+        .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+        .addColumn(new ColumnBuilder("amount", DataType.LONG))
+        .addColumn(new ColumnBuilder("score", DataType.DOUBLE))
+        .addColumn(new ColumnBuilder("small", DataType.INT))
+        .addColumn(new ColumnBuilder("price", DataType.MONEY))
+        .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                  .addColumns("id").setPrimaryKey())
+        .addIndex(new IndexBuilder("StatusCreated")
+                  .addColumns("status", "created"))
+        .addIndex(new IndexBuilder("Amount").addColumns("amount"))
+        .addIndex(new IndexBuilder("ScoreDesc").addColumns(false, "score"))
+        .addIndex(new IndexBuilder("Small").addColumns("small"))
+        .addIndex(new IndexBuilder("Price").addColumns("price"))
+        .toTable(db);
+
+      for(int i = 0; i < NUM_ROWS; ++i) {
+        table.addRow(i, STATUSES[i % 3], BASE_DATE.plusDays(i % 50),
+                     i % 37, (double)i, (short)(i % 101),
+                     new BigDecimal((i % 7) + ".0001"));
+      }
+
+      // equality on the leading column plus range on the next column
+      assertFilter(new FilterBuilder(table)
+                   .addEquals("status", "Open")
+                   .addGreaterThan("created", BASE_DATE.plusDays(9)),
+                   "StatusCreated",
+                   i -> (((i % 3) == 0) && ((i % 50) > 9)));
+
+      // same thing as an expression (text comparisons are case insensitive)
+      assertFilter(new FilterBuilder(table)
+                   .addExpression(
+                       "[status]='open' AND [created] > #1/10/2020#"),
+                   "StatusCreated",
+                   i -> (((i % 3) == 0) && ((i % 50) > 9)));
+
+      assertFilter(new FilterBuilder(table)
+                   .addExpression("(Test.amount Between 10 And 12) AND " +
+                                  "(id Mod 2 = 0)"),
+                   "Amount",
+                   i -> ((i % 37) >= 10) && ((i % 37) <= 12) &&
+                   ((i % 2) == 0));
+
+      assertFilter(new FilterBuilder(table).addBetween("amount", 10, 12),
+                   "Amount",
+                   i -> ((i % 37) >= 10) && ((i % 37) <= 12));
+
+      // descending index
+      assertFilter(new FilterBuilder(table)
+                   .addGreaterThanOrEqual("score", 150)
+                   .addLessThan("score", 160.0d),
+                   "ScoreDesc",
+                   i -> ((i >= 150) && (i < 160)));
+      assertFilter(new FilterBuilder(table)
+                   .addExpression("[score] < 5"),
+                   "ScoreDesc",
+                   i -> (i < 5));
+
+      // unique lookup is preferred
+      assertFilter(new FilterBuilder(table)
+                   .addEquals("id", 42).addEquals("amount", 42 % 37),
+                   IndexBuilder.PRIMARY_KEY_NAME,
+                   i -> (i == 42));
+
+      // text range and "or" conditions can't use an index
+      assertFilter(new FilterBuilder(table)
+                   .addGreaterThan("status", "Open"),
+                   null,
+                   i -> ((i % 3) == 2));
+      assertFilter(new FilterBuilder(table)
+                   .addExpression("[amount] = 3 OR [amount] = 4"),
+                   null,
+                   i -> (((i % 37) == 3) || ((i % 37) == 4)));
+
+      // non-integral values are not used for integer indexes
+      assertFilter(new FilterBuilder(table).addLessThan("amount", 1.5d),
+                   null,
+                   i -> ((i % 37) <= 1));
+
+      // row patterns use exact matching
+      assertFilter(new FilterBuilder(table)
+                   .addPattern(Collections.singletonMap("status", "open")),
+                   "StatusCreated",
+                   i -> false);
+      assertFilter(new FilterBuilder(table)
+                   .addPattern(Collections.singletonMap("status", "Open"))
+                   .addFilter(RowFilter.matchPattern(
+                                  table.getColumn("amount"), 5)),
+                   "StatusCreated",
+                   i -> (((i % 3) == 0) && ((i % 37) == 5)));
+
+      // values which are not exactly representable in the column are not
+      // used for the index
+      assertFilter(new FilterBuilder(table).addLessThan("amount", 1L << 40),
+                   null,
+                   i -> true);
+      assertFilter(new FilterBuilder(table)
+                   .addGreaterThanOrEqual("small", 100)
+                   .addLessThan("small", 100000),
+                   "Small",
+                   i -> ((i % 101) >= 100));
+      assertFilter(new FilterBuilder(table)
+                   .addGreaterThanOrEqual("small", 99)
+                   .addLessThan("small", 101),
+                   "Small",
+                   i -> ((i % 101) >= 99));
+      assertFilter(new FilterBuilder(table).addLessThan("price", 0.1d),
+                   null,
+                   i -> ((i % 7) == 0));
+      assertFilter(new FilterBuilder(table)
+                   .addLessThan("price", new BigDecimal("0.25")),
+                   "Price",
+                   i -> ((i % 7) == 0));
+
+      assertEquals(42, new FilterBuilder(table).addEquals("id", 42)
+                   .findFirstRow().get("id"));
+      assertNull(new FilterBuilder(table).addEquals("id", NUM_ROWS)
+                 .findFirstRow());
+
+      // table cursors use unique indexes for finding rows
+      Cursor cursor = CursorBuilder.createCursor(table);
+      assertTrue(cursor.findFirstRow(createExpectedRow("id", 42)));
+      assertEquals(42, cursor.getCurrentRow().get("id"));
+      assertFalse(cursor.findFirstRow(createExpectedRow("id", 43,
+                                                        "amount", 2)));
+      assertEquals(42, cursor.getCurrentRow().get("id"));
+      assertTrue(cursor.findNextRow(createExpectedRow("status", "Open")));
+      assertEquals(45, cursor.getCurrentRow().get("id"));
+      assertEquals(7, CursorBuilder.findRow(
+                       table, createExpectedRow("id", 7)).get("amount"));
+
+      db.close();
+    }
+  }
+
+  private static void assertFilter(FilterBuilder fb, String expectedIndex,
+                                   IntPredicate expected)
+    throws Exception
+  {
+    Index index = fb.getIndex();
+    assertEquals(expectedIndex, ((index != null) ? index.getName() : null));
+
+    List<Integer> expectedIds = new ArrayList<Integer>();
+    for(int i = 0; i < NUM_ROWS; ++i) {
+      if(expected.test(i)) {
+        expectedIds.add(i);
+      }
+    }
+
+    List<Integer> foundIds = new ArrayList<Integer>();
+    for(Row row : fb.toIterable()) {
+      foundIds.add(row.getInt("id"));
+    }
+    Collections.sort(foundIds);
+
+    assertEquals(expectedIds, foundIds);
+  }
+}
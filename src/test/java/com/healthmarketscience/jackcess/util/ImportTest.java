@@ -16,13 +16,17 @@ limitations under the License.
 
 package com.healthmarketscience.jackcess.util;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.File;
+import java.io.StringReader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +37,8 @@ import com.healthmarketscience.jackcess.ColumnBuilder;
 import com.healthmarketscience.jackcess.DataType;
 import com.healthmarketscience.jackcess.Database;
 import static com.healthmarketscience.jackcess.Database.*;
+import com.healthmarketscience.jackcess.DateTimeType;
+import com.healthmarketscience.jackcess.Row;
 import com.healthmarketscience.jackcess.Table;
 import com.healthmarketscience.jackcess.TableBuilder;
 import com.healthmarketscience.jackcess.impl.JetFormatTest;
@@ -201,6 +207,149 @@ public class ImportTest extends TestCase
     }
   }
 
+  public void testImportInferTypes() throws Exception
+  {
+    StringBuilder input = new StringBuilder()
+      .append("id;amount;flag;created;label;mixed\r\n")
+      .append("1;13.25;true;2020-01-31;some text;12\r\n")
+      .append("-2;-3.45E-4;FALSE;2020-02-01T13:45:10;\"quoted;\"\"value\";\n")
+      .append(";7;;;\"multi\nline\";abc\r\n");
+    for(int i = 3; i < 2000; ++i) {
+      input.append(i).append(';').append(i * 0.5d).append(';')
+        .append(i % 2 == 0).append(";2021-06-15 08:30;name").append(i)
+        .append(';').append(i).append("\n");
+    }
+
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+      db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+
+      String tableName = new ImportUtil.Builder(db, "test")
+        .setDelimiter(";")
+        .setTypeSampleSize(3)
+        .importReader(new BufferedReader(
+                          new StringReader(input.toString())));
+      Table t = db.getTable(tableName);
+
+      List<DataType> types = new ArrayList<DataType>();
+      for(Column c : t.getColumns()) {
+        types.add(c.getType());
+      }
+      assertEquals(Arrays.asList(DataType.LONG, DataType.DOUBLE,
+                                 DataType.BOOLEAN, DataType.SHORT_DATE_TIME,
+                                 DataType.TEXT, DataType.TEXT),
+                   types);
+
+      List<Row> rows = toList(t);
+      assertEquals(2000, rows.size());
+      assertEquals(createExpectedRow(
+                       "id", 1, "amount", 13.25d, "flag", true,
+                       "created", LocalDateTime.of(2020, 1, 31, 0, 0),
+                       "label", "some text", "mixed", "12"),
+                   rows.get(0));
+      assertEquals(createExpectedRow(
+                       "id", -2, "amount", -3.45E-4, "flag", false,
+                       "created", LocalDateTime.of(2020, 2, 1, 13, 45, 10),
+                       "label", "quoted;\"value", "mixed", null),
+                   rows.get(1));
+      assertEquals(createExpectedRow(
+                       "id", null, "amount", 7d, "flag", false,
+                       "created", null,
+                       "label", "multi" + ImportUtil.LINE_SEPARATOR + "line",
+                       "mixed", "abc"),
+                   rows.get(2));
+      assertEquals(createExpectedRow(
+                       "id", 1999, "amount", 999.5d, "flag", false,
+                       "created", LocalDateTime.of(2021, 6, 15, 8, 30),
+                       "label", "name1999", "mixed", "1999"),
+                   rows.get(1999));
+
+      // parsing on a separate thread should produce the same table
+      tableName = new ImportUtil.Builder(db, "test")
+        .setDelimiter(";")
+        .setTypeSampleSize(3)
+        .setNumThreads(2)
+        .importReader(new BufferedReader(
+                          new StringReader(input.toString())));
+      assertEquals("test2", tableName);
+      assertEquals(rows, toList(db.getTable(tableName)));
+
+      // as should bulk loading
+      tableName = new ImportUtil.Builder(db, "test")
+        .setDelimiter(";")
+        .setTypeSampleSize(3)
+        .setBulkLoad(true)
+        .importReader(new BufferedReader(
+                          new StringReader(input.toString())));
+      assertEquals("test3", tableName);
+      assertEquals(rows, toList(db.getTable(tableName)));
+
+      // a value after the sampled rows which doesn't match the inferred type
+      // fails the import (a bulk load does not load any rows)
+      String badInput = input + "n/a;1.5;true;2021-06-15;x;y\n";
+      for(int numThreads = 1; numThreads <= 2; ++numThreads) {
+        for(boolean bulkLoad : new boolean[]{false, true}) {
+          ImportUtil.Builder builder = new ImportUtil.Builder(db, "bad")
+            .setDelimiter(";")
+            .setTypeSampleSize(3)
+            .setNumThreads(numThreads)
+            .setBulkLoad(bulkLoad);
+          try {
+            builder.importReader(
+                new BufferedReader(new StringReader(badInput)));
+            fail("IOException should have been thrown");
+          } catch(IOException e) {
+            assertTrue(e.getMessage().contains("'n/a' in row 2001"));
+          }
+        }
+      }
+      // (rows are otherwise added in batches, so the earlier batches are kept)
+      assertTrue(db.getTable("bad").getRowCount() > 0);
+      assertEquals(0, toList(db.getTable("bad2")).size());
+      assertTrue(db.getTable("bad3").getRowCount() > 0);
+      assertEquals(0, toList(db.getTable("bad4")).size());
+
+      // numbers with leading zeros are kept as text
+      tableName = new ImportUtil.Builder(db, "zips")
+        .setDelimiter(";")
+        .setTypeSampleSize(3)
+        .importReader(new BufferedReader(new StringReader(
+                          "zip;num\n02134;0\n10001;0.5\n-007;-0.25\n")));
+      t = db.getTable(tableName);
+      assertEquals(DataType.TEXT, t.getColumn("zip").getType());
+      assertEquals(DataType.DOUBLE, t.getColumn("num").getType());
+      List<String> zips = new ArrayList<String>();
+      for(Row row : t) {
+        zips.add(row.getString("zip"));
+      }
+      assertEquals(Arrays.asList("02134", "10001", "-007"), zips);
+
+      db.close();
+    }
+  }
+
+  public void testImportRegexDelimiter() throws Exception
+  {
+    for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+
+      String tableName = new ImportUtil.Builder(db, "test")
+        .setDelimiter("\\s*,\\s*")
+        .importReader(new BufferedReader(new StringReader(
+                          "col1 , col2,col3\na,  b ,c\n\"d, e\" ,f")));
+      Table t = db.getTable(tableName);
+
+      assertTable(createExpectedTable(
+                      createExpectedRow("col1", "a", "col2", "b",
+                                        "col3", "c"),
+                      createExpectedRow("col1", "d, e", "col2", "f",
+                                        "col3", null)),
+                  t);
+
+      db.close();
+    }
+  }
+
   public void testCopySqlHeaders() throws Exception
   {
     for (final FileFormat fileFormat : JetFormatTest.SUPPORTED_FILEFORMATS) {
@@ -264,6 +413,14 @@ public class ImportTest extends TestCase
   }
 
 
+  private static List<Row> toList(Table t) throws Exception {
+    List<Row> rows = new ArrayList<Row>();
+    for(Row row : t) {
+      rows.add(row);
+    }
+    return rows;
+  }
+
   private static class TestResultSet implements InvocationHandler
   {
     private List<Integer> _types = new ArrayList<Integer>();
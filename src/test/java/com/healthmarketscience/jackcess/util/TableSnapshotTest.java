@@ -0,0 +1,152 @@
+/*
+Copyright (c) 2026 James Ahlborn
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.healthmarketscience.jackcess.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.RowId;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import junit.framework.TestCase;
+import static com.healthmarketscience.jackcess.TestUtil.*;
+import static com.healthmarketscience.jackcess.impl.JetFormatTest.*;
+
+/**
+ * @author James Ahlborn
+ */
+public class TableSnapshotTest extends TestCase
+{
+  public TableSnapshotTest(String name) {
+    super(name);
+  }
+
+  public void testTableSnapshot() throws Exception
+  {
+    for(final Database.FileFormat fileFormat : SUPPORTED_FILEFORMATS) {
+      Database db = create(fileFormat);
+
+      Table table = new TableBuilder("Test")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .addColumn(new ColumnBuilder("data", DataType.TEXT))
+        .toTable(db);
+      Table other = new TableBuilder("Other")
+        .addColumn(new ColumnBuilder("id", DataType.LONG))
+        .toTable(db);
+
+      for(int i = 0; i < 300; ++i) {
+        table.addRow(i, "row " + i);
+      }
+
+      Map<RowId,Integer> rowIds = new HashMap<RowId,Integer>();
+      for(Row row : table) {
+        rowIds.put(row.getId(), row.getInt("id"));
+      }
+
+      TableSnapshot snapshot = TableSnapshot.create(table);
+      assertEquals(300, snapshot.getRowCount());
+      byte[] token = snapshot.toBytes();
+
+      TableSnapshot.Changes changes =
+        TableSnapshot.fromBytes(token).getChanges(table);
+      assertTrue(changes.isEmpty());
+
+      Cursor cursor = CursorBuilder.createCursor(table);
+      for(Row row : cursor) {
+        int id = row.getInt("id");
+        if(id == 5) {
+          // update which moves the row data to an overflow row
+          row.put("data", createString(200));
+          cursor.updateCurrentRowFromMap(row);
+        } else if((id % 50) == 7) {
+          row.put("data", "updated " + id);
+          cursor.updateCurrentRowFromMap(row);
+        } else if((id % 100) == 9) {
+          cursor.deleteCurrentRow();
+        }
+      }
+      table.addRow(300, "row 300");
+      table.addRow(301, "row 301");
+
+      changes = TableSnapshot.fromBytes(token).getChanges(table);
+      assertEquals(ids(5, 7, 57, 107, 157, 207, 257),
+                   readIds(table, changes.getUpdated()));
+      assertEquals(ids(300, 301), readIds(table, changes.getInserted()));
+      Set<Integer> deletedIds = new TreeSet<Integer>();
+      for(RowId rowId : changes.getDeleted()) {
+        deletedIds.add(rowIds.get(rowId));
+      }
+      assertEquals(ids(9, 109, 209), deletedIds);
+      assertEquals(299, changes.getSnapshot().getRowCount());
+
+      // modify the overflow row again (only the overflow data changes)
+      token = changes.getSnapshot().toBytes();
+      cursor = CursorBuilder.createCursor(table);
+      assertTrue(cursor.findFirstRow(table.getColumn("id"), 5));
+      Row row = cursor.getCurrentRow();
+      row.put("data", createString(199));
+      cursor.updateCurrentRowFromMap(row);
+
+      changes = TableSnapshot.fromBytes(token).getChanges(table);
+      assertEquals(ids(5), readIds(table, changes.getUpdated()));
+      assertTrue(changes.getInserted().isEmpty());
+      assertTrue(changes.getDeleted().isEmpty());
+
+      try {
+        TableSnapshot.fromBytes(token).getChanges(other);
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+
+      try {
+        TableSnapshot.fromBytes(Arrays.copyOf(token, token.length - 3));
+        fail("IllegalArgumentException should have been thrown");
+      } catch(IllegalArgumentException e) {
+        // success
+      }
+
+      db.close();
+    }
+  }
+
+  private static Set<Integer> ids(Integer... ids) {
+    return new TreeSet<Integer>(Arrays.asList(ids));
+  }
+
+  private static Set<Integer> readIds(Table table, Collection<RowId> rowIds)
+    throws Exception
+  {
+    Set<Integer> ids = new TreeSet<Integer>();
+    Cursor cursor = CursorBuilder.createCursor(table);
+    for(RowId rowId : rowIds) {
+      assertTrue(cursor.findRow(rowId));
+      ids.add(cursor.getCurrentRow().getInt("id"));
+    }
+    return ids;
+  }
+}